@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core;
+
+import java.util.List;
+
+/**
+ * Appender that can process several events in one call, for example with a single write to the underlying device or
+ * a single network round trip.
+ * <p>
+ * Components that already hold a batch of events, like the background thread of an AsyncAppender or of the
+ * asynchronous AppenderRefs of a configuration, pass the whole batch to {@link #append(List)} instead of calling
+ * {@link #append(LogEvent)} for each event. The events in the batch have already been accepted by the level and
+ * filters of the AppenderRef and by the filters of the Appender itself. Only the last event of a batch may have its
+ * {@linkplain LogEvent#isEndOfBatch() end of batch} flag set.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public interface BatchAppender extends Appender {
+
+    /**
+     * Logs a batch of LogEvents, in order. The events and the list are only valid for the duration of this call: an
+     * implementation that keeps them must take a snapshot with {@link LogEvent#toImmutable()}.
+     * <p>
+     * If an event cannot be written, an implementation that knows how far it got should throw a
+     * {@link org.apache.logging.log4j.core.appender.BatchAppenderLoggingException BatchAppenderLoggingException}, so
+     * that callers do not report or retry the events that were already written. Any other exception means that none
+     * of the events may have been written.
+     * </p>
+     *
+     * @param events The LogEvents, never empty.
+     */
+    void append(List<LogEvent> events);
+}
@@ -27,6 +27,7 @@ import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.AbstractLifeCycle;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.ConfigurationException;
+import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.message.Message;
 import org.apache.logging.log4j.status.StatusLogger;
 
@@ -61,9 +62,12 @@ public abstract class AbstractManager implements AutoCloseable {
 
     private final LoggerContext loggerContext;
 
+    private final Lock lock;
+
     protected AbstractManager(final LoggerContext loggerContext, final String name) {
         this.loggerContext = loggerContext;
         this.name = name;
+        this.lock = Constants.MANAGER_REENTRANT_LOCK ? new ReentrantLock() : null;
         LOGGER.debug("Starting {} {}", this.getClass().getSimpleName(), name);
     }
 
@@ -200,6 +204,69 @@ public abstract class AbstractManager implements AutoCloseable {
         return loggerContext;
     }
 
+    /**
+     * Returns the lock that guards the resources of this manager, or {@code null} if this manager synchronizes on
+     * itself. A lock is only used when system property "log4j2.managerReentrantLock" is set to {@code true}.
+     * <p>
+     * Subclasses that protect state shared with the methods of their superclass should do so with
+     * {@link #runLocked(Object, LockedOperation, Object, Object, int, int) runLocked}, which acquires this lock if it
+     * is non-null and synchronizes on the manager otherwise; mixing the two can deadlock.
+     * </p>
+     *
+     * @return the lock of this manager or {@code null}
+     * @see Constants#MANAGER_REENTRANT_LOCK
+     * @since 2.14.0
+     */
+    public final Lock getLock() {
+        return lock;
+    }
+
+    /**
+     * Runs the specified operation while holding the {@linkplain #getLock() lock} of the specified target if it is a
+     * manager that has one, and while synchronizing on the target otherwise.
+     *
+     * @param target the object to lock, usually a manager
+     * @param operation the operation to run
+     * @param a the first argument of the operation
+     * @param b the second argument of the operation
+     * @param offset the offset argument of the operation
+     * @param length the length argument of the operation
+     * @param <T> the type of the target
+     * @param <A> the type of the first argument
+     * @param <B> the type of the second argument
+     * @return the result of the operation
+     * @since 2.14.0
+     */
+    public static <T, A, B> boolean runLocked(final T target, final LockedOperation<? super T, A, B> operation,
+            final A a, final B b, final int offset, final int length) {
+        final Lock lock = target instanceof AbstractManager ? ((AbstractManager) target).lock : null;
+        if (lock == null) {
+            synchronized (target) {
+                return operation.run(target, a, b, offset, length);
+            }
+        }
+        lock.lock();
+        try {
+            return operation.run(target, a, b, offset, length);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs the specified operation, which takes no arguments, while holding the lock of the specified target.
+     *
+     * @param target the object to lock, usually a manager
+     * @param operation the operation to run
+     * @param <T> the type of the target
+     * @return the result of the operation
+     * @see #runLocked(Object, LockedOperation, Object, Object, int, int)
+     * @since 2.14.0
+     */
+    public static <T> boolean runLocked(final T target, final LockedOperation<? super T, Void, Void> operation) {
+        return runLocked(target, operation, null, null, 0, 0);
+    }
+
     /**
      * Called to signify that this Manager is no longer required by an Appender.
      * @deprecated In 2.7, use {@link #close()}.
@@ -246,4 +313,32 @@ public abstract class AbstractManager implements AutoCloseable {
         log(Level.WARN, message, throwable);
     }
 
+    /**
+     * An operation that {@link AbstractManager#runLocked(Object, LockedOperation, Object, Object, int, int) runLocked}
+     * runs while holding the lock of its target.
+     * <p>
+     * Operations used on the logging path are kept in constants and do not capture any state, so that running them
+     * does not allocate: everything an operation works on is passed to it as an argument.
+     * </p>
+     *
+     * @param <T> the type of the target
+     * @param <A> the type of the first argument
+     * @param <B> the type of the second argument
+     * @since 2.14.0
+     */
+    @FunctionalInterface
+    public interface LockedOperation<T, A, B> {
+
+        /**
+         * Runs this operation while the target is locked.
+         *
+         * @param target the locked target
+         * @param a the first argument, or {@code null} if unused
+         * @param b the second argument, or {@code null} if unused
+         * @param offset the offset argument, or zero if unused
+         * @param length the length argument, or zero if unused
+         * @return the result of the operation, {@code true} if it has none
+         */
+        boolean run(T target, A a, B b, int offset, int length);
+    }
 }
@@ -17,8 +17,10 @@
 package org.apache.logging.log4j.core.appender;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.logging.log4j.core.BatchAppender;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
@@ -31,7 +33,8 @@ import org.apache.logging.log4j.core.util.Constants;
  *
  * @param <M> The kind of {@link OutputStreamManager} under management
  */
-public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager> extends AbstractAppender {
+public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager> extends AbstractAppender
+        implements BatchAppender {
 
     /**
      * Subclasses can extend this abstract Builder.
@@ -86,6 +89,14 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
      */
     private final boolean immediateFlush;
 
+    /**
+     * Set while this thread appends a batch: the immediate flush is then done once at the end of the batch. Without
+     * thread locals, batches are flushed once per event like single events.
+     */
+    private final ThreadLocal<Boolean> appendingBatch = Constants.ENABLE_THREADLOCALS
+            ? new ThreadLocal<Boolean>()
+            : null;
+
     private final M manager;
 
     /**
@@ -185,6 +196,57 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
         }
     }
 
+    /**
+     * Actual writing occurs here. All events of the batch are written to the manager before it is flushed, so with
+     * <code>immediateFlush</code> the underlying stream is flushed once per batch instead of once per event.
+     *
+     * @param events The LogEvents.
+     * @since 2.14.0
+     */
+    @Override
+    public void append(final List<LogEvent> events) {
+        // without immediateFlush the last event flushes if it is the end of the batch, as for single events
+        final boolean flushOnce = immediateFlush && appendingBatch != null;
+        if (flushOnce) {
+            appendingBatch.set(Boolean.TRUE);
+        }
+        int appended = 0;
+        try {
+            for (; appended < events.size(); appended++) {
+                append(events.get(appended));
+            }
+        } catch (final RuntimeException ex) {
+            if (flushOnce) {
+                flushAfterFailure();
+            }
+            throw new BatchAppenderLoggingException(appended, ex);
+        } finally {
+            if (flushOnce) {
+                appendingBatch.remove();
+            }
+        }
+        if (flushOnce) {
+            manager.flush();
+        }
+    }
+
+    /**
+     * Flushes the events of the batch that were written before a failure, the failure itself is reported instead of
+     * any flush error.
+     */
+    private void flushAfterFailure() {
+        appendingBatch.remove();
+        try {
+            manager.flush();
+        } catch (final RuntimeException ignored) {
+            // the append failure is reported
+        }
+    }
+
+    private boolean shouldFlush(final LogEvent event) {
+        return event.isEndOfBatch() || (immediateFlush && (appendingBatch == null || appendingBatch.get() == null));
+    }
+
     private void tryAppend(final LogEvent event) {
         if (Constants.ENABLE_DIRECT_ENCODERS) {
             directEncodeEvent(event);
@@ -195,7 +257,7 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
 
     protected void directEncodeEvent(final LogEvent event) {
         getLayout().encode(event, manager);
-        if (this.immediateFlush || event.isEndOfBatch()) {
+        if (shouldFlush(event)) {
             manager.flush();
         }
     }
@@ -203,7 +265,7 @@ public abstract class AbstractOutputStreamAppender<M extends OutputStreamManager
     protected void writeByteArrayToManager(final LogEvent event) {
         final byte[] bytes = getLayout().toByteArray(event);
         if (bytes != null && bytes.length > 0) {
-            manager.write(bytes, this.immediateFlush || event.isEndOfBatch());
+            manager.write(bytes, shouldFlush(event));
         }
     }
 }
@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.LoaderUtil;
+
+/**
+ * Writes a file in whole, aligned blocks from a direct {@link ByteBuffer}, bypassing the page cache with
+ * {@code com.sun.nio.file.ExtendedOpenOption.DIRECT} where the JDK and the file system support it.
+ * <p>
+ * Callers fill the {@linkplain #getBuffer() buffer} and call {@link #drain()} when it is full: only the complete
+ * blocks are written and the partial tail block is moved to the start of the buffer. {@link #flush()} also writes the
+ * tail block, padded with zeros; the next drain or flush overwrites that block in place. {@link #close()} truncates
+ * the padding away so the file holds exactly the bytes written.
+ * </p>
+ * <p>
+ * On a JDK without {@code ExtendedOpenOption.DIRECT} (before Java 10), or when the file system rejects it, the file
+ * is opened without it and the same block-aligned writes go through the page cache.
+ * </p>
+ * <p>
+ * This class is not thread safe: the owning manager serializes access to it. The buffer is allocated once and reused
+ * when the writer is {@linkplain #open(Path, boolean) opened} again on another file, for example after a rollover.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class AlignedBlockWriter implements Closeable {
+
+    /**
+     * The block size used when the file system block size cannot be determined.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+    private static final OpenOption DIRECT = findDirectOption();
+    private static final Method GET_BLOCK_SIZE = findMethod(FileStore.class, "getBlockSize");
+    private static final Method ALIGNED_SLICE = findMethod(ByteBuffer.class, "alignedSlice", int.class);
+
+    private final int blockSize;
+    private final ByteBuffer buffer;
+    private final boolean directRequested;
+    private FileChannel channel;
+    private boolean direct;
+    // file offset of the first byte of the buffer, always a multiple of the block size
+    private long blockPosition;
+
+    /**
+     * Creates a writer with a buffer of at least the specified size, rounded up to a whole number of blocks. The
+     * block size is that of the file store holding the specified file, or its parent directory if the file does not
+     * exist yet.
+     *
+     * @param path a file on the file store the writer will write to.
+     * @param bufferSize the minimum buffer size in bytes.
+     * @param directIo whether to try to open files with {@code ExtendedOpenOption.DIRECT}.
+     */
+    public AlignedBlockWriter(final Path path, final int bufferSize, final boolean directIo) {
+        this.directRequested = directIo && DIRECT != null;
+        this.blockSize = directRequested ? blockSize(path) : DEFAULT_BLOCK_SIZE;
+        final int blocks = Math.max(1, (bufferSize + blockSize - 1) / blockSize);
+        this.buffer = allocateAligned(blocks * blockSize, blockSize);
+    }
+
+    /**
+     * Returns {@code true} if this JDK supports {@code ExtendedOpenOption.DIRECT}.
+     *
+     * @return whether direct I/O can be requested.
+     */
+    public static boolean isDirectIoSupported() {
+        return DIRECT != null;
+    }
+
+    /**
+     * Opens the specified file, closing any file opened before. When appending, the partial last block of the file
+     * is read back into the buffer so that new data continues it.
+     *
+     * @param path the file to write.
+     * @param append whether to append to the file or truncate it.
+     * @throws IOException if the file cannot be opened.
+     */
+    public void open(final Path path, final boolean append) throws IOException {
+        close();
+        channel = openChannel(path);
+        buffer.clear();
+        if (!append) {
+            channel.truncate(0);
+            blockPosition = 0;
+            return;
+        }
+        final long length = channel.size();
+        blockPosition = length - length % blockSize;
+        final int tail = (int) (length - blockPosition);
+        if (tail > 0) {
+            final ByteBuffer block = buffer.duplicate();
+            block.limit(blockSize);
+            while (block.position() < tail && channel.read(block, blockPosition + block.position()) > 0) {
+                // the first read normally returns the whole partial block
+            }
+            buffer.position(tail);
+        }
+    }
+
+    private FileChannel openChannel(final Path path) throws IOException {
+        final Set<OpenOption> options = new HashSet<>();
+        options.add(StandardOpenOption.CREATE);
+        options.add(StandardOpenOption.READ);
+        options.add(StandardOpenOption.WRITE);
+        if (directRequested) {
+            options.add(DIRECT);
+            try {
+                final FileChannel directChannel = FileChannel.open(path, options);
+                direct = true;
+                return directChannel;
+            } catch (final IOException | UnsupportedOperationException | IllegalArgumentException ex) {
+                LOGGER.warn("Unable to open {} for direct I/O, writing through the page cache: {}", path, ex);
+                options.remove(DIRECT);
+            }
+        }
+        direct = false;
+        return FileChannel.open(path, options);
+    }
+
+    /**
+     * Returns the buffer to fill. Its position is the number of bytes not yet written to the file.
+     *
+     * @return the buffer.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns the block size, the unit in which the file is written.
+     *
+     * @return the block size in bytes.
+     */
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Returns {@code true} if the current file was opened with {@code ExtendedOpenOption.DIRECT}.
+     *
+     * @return whether writes bypass the page cache.
+     */
+    public boolean isDirect() {
+        return direct;
+    }
+
+    /**
+     * Returns {@code true} if a file is open.
+     *
+     * @return whether a file is open.
+     */
+    public boolean isOpen() {
+        return channel != null;
+    }
+
+    /**
+     * Returns the logical length of the file: the bytes written so far, including those still in the buffer.
+     *
+     * @return the length of the file once closed.
+     */
+    public long getLength() {
+        return blockPosition + buffer.position();
+    }
+
+    /**
+     * Writes the complete blocks in the buffer to the file and moves the partial tail block to the start of the
+     * buffer.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public void drain() throws IOException {
+        final int end = buffer.position();
+        final int full = end - end % blockSize;
+        if (full == 0) {
+            return;
+        }
+        write(full);
+        buffer.limit(end).position(full);
+        buffer.compact();
+        blockPosition += full;
+    }
+
+    /**
+     * Writes the buffer to the file, the partial tail block padded with zeros.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    public void flush() throws IOException {
+        drain();
+        final int tail = buffer.position();
+        if (tail == 0) {
+            return;
+        }
+        for (int i = tail; i < blockSize; i++) {
+            buffer.put(i, (byte) 0);
+        }
+        write(blockSize);
+    }
+
+    private void write(final int length) throws IOException {
+        final ByteBuffer blocks = buffer.duplicate();
+        blocks.position(0).limit(length);
+        long position = blockPosition;
+        while (blocks.hasRemaining()) {
+            position += channel.write(blocks, position);
+        }
+    }
+
+    /**
+     * Flushes the buffer, truncates the padding of the last block and closes the file. Does nothing if no file is
+     * open.
+     *
+     * @throws IOException if the file cannot be written or closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel == null) {
+            return;
+        }
+        try {
+            flush();
+            channel.truncate(getLength());
+        } finally {
+            try {
+                channel.close();
+            } finally {
+                channel = null;
+                blockPosition = 0;
+                buffer.clear();
+            }
+        }
+    }
+
+    private static ByteBuffer allocateAligned(final int capacity, final int alignment) {
+        if (ALIGNED_SLICE != null) {
+            try {
+                final ByteBuffer raw = ByteBuffer.allocateDirect(capacity + alignment);
+                final ByteBuffer aligned = (ByteBuffer) ALIGNED_SLICE.invoke(raw, alignment);
+                aligned.limit(capacity);
+                return aligned.slice();
+            } catch (final Exception ex) {
+                LOGGER.debug("Unable to align direct buffer: {}", ex.toString());
+            }
+        }
+        return ByteBuffer.allocateDirect(capacity);
+    }
+
+    private static int blockSize(final Path path) {
+        if (GET_BLOCK_SIZE == null) {
+            return DEFAULT_BLOCK_SIZE;
+        }
+        try {
+            Path existing = path.toAbsolutePath();
+            while (existing != null && !Files.exists(existing)) {
+                existing = existing.getParent();
+            }
+            if (existing == null) {
+                return DEFAULT_BLOCK_SIZE;
+            }
+            final long size = (Long) GET_BLOCK_SIZE.invoke(Files.getFileStore(existing));
+            return size > 0 && size <= Integer.MAX_VALUE && Long.bitCount(size) == 1 ? (int) size
+                    : DEFAULT_BLOCK_SIZE;
+        } catch (final Exception ex) {
+            LOGGER.debug("Unable to determine the block size of {}: {}", path, ex.toString());
+            return DEFAULT_BLOCK_SIZE;
+        }
+    }
+
+    private static OpenOption findDirectOption() {
+        try {
+            final Class<?> options = LoaderUtil.loadClass("com.sun.nio.file.ExtendedOpenOption");
+            for (final Object option : options.getEnumConstants()) {
+                if ("DIRECT".equals(((Enum<?>) option).name())) {
+                    return (OpenOption) option;
+                }
+            }
+        } catch (final ClassNotFoundException | LinkageError ex) {
+            // not available on this JDK
+        }
+        return null;
+    }
+
+    private static Method findMethod(final Class<?> type, final String name, final Class<?>... parameterTypes) {
+        try {
+            return type.getMethod(name, parameterTypes);
+        } catch (final NoSuchMethodException ex) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AlignedBlockWriter[blockSize=" + blockSize + ", bufferSize=" + buffer.capacity() + ", direct="
+                + direct + ", length=" + getLength() + "]";
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.core.appender;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.BlockingQueue;
@@ -33,10 +34,13 @@ import org.apache.logging.log4j.core.async.ArrayBlockingQueueFactory;
 import org.apache.logging.log4j.core.async.AsyncQueueFullMessageUtil;
 import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
 import org.apache.logging.log4j.core.async.AsyncQueueFullPolicyFactory;
+import org.apache.logging.log4j.core.async.AsyncQueueMetrics;
 import org.apache.logging.log4j.core.async.BlockingQueueFactory;
 import org.apache.logging.log4j.core.async.DiscardingAsyncQueueFullPolicy;
 import org.apache.logging.log4j.core.async.EventRoute;
 import org.apache.logging.log4j.core.async.InternalAsyncUtil;
+import org.apache.logging.log4j.core.async.MpscLogEventQueue;
+import org.apache.logging.log4j.core.async.MutableLogEventPool;
 import org.apache.logging.log4j.core.config.AppenderControl;
 import org.apache.logging.log4j.core.config.AppenderRef;
 import org.apache.logging.log4j.core.config.Configuration;
@@ -51,6 +55,11 @@ import org.apache.logging.log4j.core.config.plugins.PluginElement;
 import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
 import org.apache.logging.log4j.core.filter.AbstractFilterable;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.core.time.Instant;
+import org.apache.logging.log4j.core.time.MutableInstant;
+import org.apache.logging.log4j.core.util.Clock;
+import org.apache.logging.log4j.core.util.ClockFactory;
 import org.apache.logging.log4j.core.util.Log4jThread;
 import org.apache.logging.log4j.spi.AbstractLogger;
 
@@ -63,6 +72,7 @@ import org.apache.logging.log4j.spi.AbstractLogger;
 public final class AsyncAppender extends AbstractAppender {
 
     private static final int DEFAULT_QUEUE_SIZE = 1024;
+    private static final int MAX_BATCH_SIZE = 256;
     private static final LogEvent SHUTDOWN_LOG_EVENT = new AbstractLogEvent() {
         private static final long serialVersionUID = -1761035149477086330L;
     };
@@ -77,16 +87,26 @@ public final class AsyncAppender extends AbstractAppender {
     private final AppenderRef[] appenderRefs;
     private final String errorRef;
     private final boolean includeLocation;
+    private final MutableLogEventPool eventPool;
     private AppenderControl errorAppender;
     private AsyncThread thread;
     private AsyncQueueFullPolicy asyncQueueFullPolicy;
+    private AsyncQueueMetrics queueMetrics;
 
     private AsyncAppender(final String name, final Filter filter, final AppenderRef[] appenderRefs,
             final String errorRef, final int queueSize, final boolean blocking, final boolean ignoreExceptions,
             final long shutdownTimeout, final Configuration config, final boolean includeLocation,
-            final BlockingQueueFactory<LogEvent> blockingQueueFactory, final Property[] properties) {
+            final BlockingQueueFactory<LogEvent> blockingQueueFactory, final boolean pooledEvents,
+            final Property[] properties) {
         super(name, filter, null, ignoreExceptions, properties);
         this.queue = blockingQueueFactory.create(queueSize);
+        if (queue instanceof MpscLogEventQueue) {
+            ((MpscLogEventQueue) queue).setIncludeLocation(includeLocation);
+        }
+        // a MpscLogEventQueue copies events into its own preallocated slots
+        this.eventPool = pooledEvents && !(queue instanceof MpscLogEventQueue)
+                ? new MutableLogEventPool(queueSize + MAX_BATCH_SIZE)
+                : null;
         this.queueSize = queueSize;
         this.blocking = blocking;
         this.shutdownTimeout = shutdownTimeout;
@@ -123,6 +143,7 @@ public final class AsyncAppender extends AbstractAppender {
             throw new ConfigurationException("No appenders are available for AsyncAppender " + getName());
         }
         asyncQueueFullPolicy = AsyncQueueFullPolicyFactory.create();
+        queueMetrics = AsyncQueueMetrics.create(getName());
 
         thread.start();
         super.start();
@@ -145,6 +166,9 @@ public final class AsyncAppender extends AbstractAppender {
             LOGGER.trace("AsyncAppender: {} discarded {} events.", asyncQueueFullPolicy,
                 DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy));
         }
+        if (queueMetrics != null) {
+            LOGGER.debug("AsyncAppender: {}", queueMetrics);
+        }
         setStopped();
         return true;
     }
@@ -159,8 +183,7 @@ public final class AsyncAppender extends AbstractAppender {
         if (!isStarted()) {
             throw new IllegalStateException("AsyncAppender " + getName() + " is not active");
         }
-        final Log4jLogEvent memento = Log4jLogEvent.createMemento(logEvent, includeLocation);
-        InternalAsyncUtil.makeMessageImmutable(logEvent.getMessage());
+        final LogEvent memento = snapshot(logEvent);
         if (!transfer(memento)) {
             if (blocking) {
                 if (AbstractLogger.getRecursionDepth() > 1) { // LOG4J2-1518, LOG4J2-2031
@@ -169,13 +192,57 @@ public final class AsyncAppender extends AbstractAppender {
                     logMessageInCurrentThread(logEvent);
                 } else {
                     // delegate to the event router (which may discard, enqueue and block, or log in current thread)
-                    final EventRoute route = asyncQueueFullPolicy.getRoute(thread.getId(), memento.getLevel());
+                    final EventRoute route = asyncQueueFullPolicy.getRoute(thread.getId(), logEvent.getLevel());
                     route.logMessage(this, memento);
+                    if (route == EventRoute.ENQUEUE) {
+                        return;
+                    }
                 }
             } else {
                 error("Appender " + getName() + " is unable to write primary appenders. queue is full");
                 logToErrorAppenderIfNecessary(false, memento);
             }
+            releaseEvent(memento);
+        }
+    }
+
+    /**
+     * Returns the event to put in the queue. A {@link MpscLogEventQueue} copies events into preallocated slots
+     * itself, so for that queue no memento is created. With {@code pooledEvents}, the event is copied into a pooled
+     * {@link MutableLogEvent} unless all pooled instances are in use.
+     */
+    private LogEvent snapshot(final LogEvent logEvent) {
+        if (queue instanceof MpscLogEventQueue) {
+            return logEvent;
+        }
+        if (eventPool != null) {
+            final MutableLogEvent pooled = eventPool.acquire();
+            if (pooled != null) {
+                // the location, if needed, is calculated in the caller thread
+                pooled.copyFrom(logEvent, includeLocation);
+                return pooled;
+            }
+        }
+        final Log4jLogEvent memento = Log4jLogEvent.createMemento(logEvent, includeLocation);
+        InternalAsyncUtil.makeMessageImmutable(logEvent.getMessage());
+        return memento;
+    }
+
+    /**
+     * Returns a pooled snapshot to the pool once it has been passed to the appenders or dropped.
+     */
+    private void releaseEvent(final LogEvent event) {
+        if (eventPool != null && event instanceof MutableLogEvent) {
+            eventPool.release((MutableLogEvent) event);
+        }
+    }
+
+    /**
+     * Makes the queue slots of events that have been passed to the appenders available again.
+     */
+    private void releaseQueueSlots() {
+        if (queue instanceof MpscLogEventQueue) {
+            ((MpscLogEventQueue) queue).release();
         }
     }
 
@@ -208,6 +275,9 @@ public final class AsyncAppender extends AbstractAppender {
         } catch (final InterruptedException e) {
             final boolean appendSuccessful = handleInterruptedException(logEvent);
             logToErrorAppenderIfNecessary(appendSuccessful, logEvent);
+            if (!appendSuccessful) {
+                releaseEvent(logEvent);
+            }
         }
     }
 
@@ -273,7 +343,7 @@ public final class AsyncAppender extends AbstractAppender {
         }
 
         return new AsyncAppender(name, filter, appenderRefs, errorRef, size, blocking, ignoreExceptions,
-            shutdownTimeout, config, includeLocation, new ArrayBlockingQueueFactory<LogEvent>(), null);
+            shutdownTimeout, config, includeLocation, new ArrayBlockingQueueFactory<LogEvent>(), false, null);
     }
 
     @PluginBuilderFactory
@@ -317,6 +387,9 @@ public final class AsyncAppender extends AbstractAppender {
         @PluginElement(BlockingQueueFactory.ELEMENT_TYPE)
         private BlockingQueueFactory<LogEvent> blockingQueueFactory = new ArrayBlockingQueueFactory<>();
 
+        @PluginBuilderAttribute
+        private boolean pooledEvents = false;
+
         public Builder setAppenderRefs(final AppenderRef[] appenderRefs) {
             this.appenderRefs = appenderRefs;
             return this;
@@ -367,10 +440,25 @@ public final class AsyncAppender extends AbstractAppender {
             return this;
         }
 
+        /**
+         * If true, the AsyncAppender copies events into a pool of reusable events instead of creating an immutable
+         * snapshot of each event. Appenders that keep a reference to an event after {@code append} returns must then
+         * take a snapshot themselves.
+         *
+         * @param pooledEvents whether to reuse pooled events
+         * @return this builder
+         * @since 2.14.0
+         */
+        public Builder setPooledEvents(final boolean pooledEvents) {
+            this.pooledEvents = pooledEvents;
+            return this;
+        }
+
         @Override
         public AsyncAppender build() {
             return new AsyncAppender(name, getFilter(), appenderRefs, errorRef, bufferSize, blocking, ignoreExceptions,
-                shutdownTimeout, configuration, includeLocation, blockingQueueFactory, getPropertyArray());
+                shutdownTimeout, configuration, includeLocation, blockingQueueFactory, pooledEvents,
+                getPropertyArray());
         }
     }
 
@@ -382,6 +470,12 @@ public final class AsyncAppender extends AbstractAppender {
         private volatile boolean shutdown = false;
         private final List<AppenderControl> appenders;
         private final BlockingQueue<LogEvent> queue;
+        private final Clock clock = ClockFactory.getClock();
+        private final MutableInstant now = new MutableInstant();
+        // per batch: which events an appender has processed, and the events an appender failed to process
+        private final boolean[] delivered = new boolean[MAX_BATCH_SIZE];
+        private final List<LogEvent> failed = new ArrayList<>();
+        private final List<LogEvent> undelivered = new ArrayList<>();
 
         public AsyncThread(final List<AppenderControl> appenders, final BlockingQueue<LogEvent> queue) {
             super("AsyncAppender-" + THREAD_SEQUENCE.getAndIncrement());
@@ -392,26 +486,41 @@ public final class AsyncAppender extends AbstractAppender {
 
         @Override
         public void run() {
+            final List<LogEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
             while (!shutdown) {
-                LogEvent event;
                 try {
-                    event = queue.take();
-                    if (event == SHUTDOWN_LOG_EVENT) {
-                        shutdown = true;
-                        continue;
-                    }
+                    batch.add(queue.take());
                 } catch (final InterruptedException ex) {
                     break; // LOG4J2-830
                 }
-                event.setEndOfBatch(queue.isEmpty());
-                final boolean success = callAppenders(event);
-                if (!success && errorAppender != null) {
-                    try {
-                        errorAppender.callAppender(event);
-                    } catch (final Exception ex) {
-                        // Silently accept the error.
+                // drain whatever else is available so the queue is visited once per batch instead of once per event
+                queue.drainTo(batch, MAX_BATCH_SIZE - 1);
+                final int backlog = queueMetrics == null ? 0 : queue.size();
+                while (batch.remove(SHUTDOWN_LOG_EVENT)) {
+                    shutdown = true;
+                }
+                final int size = batch.size();
+                if (size > 0) {
+                    for (int i = 0; i < size; i++) {
+                        batch.get(i).setEndOfBatch(i == size - 1 && queue.isEmpty());
+                    }
+                    final List<LogEvent> undeliveredEvents = callAppenders(batch);
+                    if (!undeliveredEvents.isEmpty() && errorAppender != null) {
+                        try {
+                            errorAppender.callAppender(undeliveredEvents);
+                        } catch (final Exception ex) {
+                            // Silently accept the error.
+                        }
+                    }
+                    if (queueMetrics != null) {
+                        recordQueueMetrics(batch, backlog);
+                    }
+                    for (int i = 0; i < size; i++) {
+                        releaseEvent(batch.get(i));
                     }
                 }
+                batch.clear();
+                releaseQueueSlots();
             }
             // Process any remaining items in the queue.
             LOGGER.trace("AsyncAppender.AsyncThread shutting down. Processing remaining {} queue events.",
@@ -421,10 +530,11 @@ public final class AsyncAppender extends AbstractAppender {
             while (!queue.isEmpty()) {
                 try {
                     final LogEvent event = queue.take();
-                    if (event instanceof Log4jLogEvent) {
-                        final Log4jLogEvent logEvent = (Log4jLogEvent) event;
-                        logEvent.setEndOfBatch(queue.isEmpty());
-                        callAppenders(logEvent);
+                    if (event != SHUTDOWN_LOG_EVENT) {
+                        event.setEndOfBatch(queue.isEmpty());
+                        callAppenders(event);
+                        releaseEvent(event);
+                        releaseQueueSlots();
                         count++;
                     } else {
                         ignored++;
@@ -439,6 +549,21 @@ public final class AsyncAppender extends AbstractAppender {
                 + "Processed {} and ignored {} events since shutdown started.", queue.size(), count, ignored);
         }
 
+        /**
+         * Records the latency and queue depth of the processed batch. The events carry no enqueue time, so the
+         * latency is measured from the event timestamp, with the precision of the configured {@code Clock}.
+         */
+        private void recordQueueMetrics(final List<LogEvent> batch, final int backlog) {
+            now.initFrom(clock);
+            final int size = batch.size();
+            for (int i = 0; i < size; i++) {
+                final Instant instant = batch.get(i).getInstant();
+                final long latency = (now.getEpochMillisecond() - instant.getEpochMillisecond()) * 1_000_000L
+                        + now.getNanoOfMillisecond() - instant.getNanoOfMillisecond();
+                queueMetrics.recordLatency(latency, backlog + size - 1 - i);
+            }
+        }
+
         /**
          * Calls {@link AppenderControl#callAppender(LogEvent) callAppender} on all registered {@code AppenderControl}
          * objects, and returns {@code true} if at least one appender call was successful, {@code false} otherwise. Any
@@ -460,6 +585,54 @@ public final class AsyncAppender extends AbstractAppender {
             return success;
         }
 
+        /**
+         * Calls {@link AppenderControl#callAppender(List, List) callAppender} with the batch on all registered
+         * {@code AppenderControl} objects, so that a {@link org.apache.logging.log4j.core.BatchAppender BatchAppender}
+         * receives the whole batch in one call. Returns the events of the batch for which no appender call was
+         * successful, in order. Any exceptions are silently ignored.
+         *
+         * @param batch the events to forward to the registered appenders
+         * @return the events that no appender processed; only valid until the next call
+         */
+        List<LogEvent> callAppenders(final List<LogEvent> batch) {
+            final int size = batch.size();
+            Arrays.fill(delivered, 0, size, false);
+            for (final AppenderControl control : appenders) {
+                failed.clear();
+                try {
+                    control.callAppender(batch, failed);
+                    Arrays.fill(delivered, 0, size, true);
+                } catch (final Exception ex) {
+                    // If no appender is successful for an event the error appender will get it.
+                    if (!failed.isEmpty()) {
+                        markDelivered(batch, failed);
+                    }
+                }
+            }
+            failed.clear();
+            undelivered.clear();
+            for (int i = 0; i < size; i++) {
+                if (!delivered[i]) {
+                    undelivered.add(batch.get(i));
+                }
+            }
+            return undelivered;
+        }
+
+        /**
+         * Marks the events of the batch that are not in the ordered list of failed events as delivered.
+         */
+        private void markDelivered(final List<LogEvent> batch, final List<LogEvent> failedEvents) {
+            int next = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                if (next < failedEvents.size() && failedEvents.get(next) == batch.get(i)) {
+                    next++;
+                } else {
+                    delivered[i] = true;
+                }
+            }
+        }
+
         public void shutdown() {
             shutdown = true;
             if (queue.isEmpty()) {
@@ -521,6 +694,17 @@ public final class AsyncAppender extends AbstractAppender {
         return queue.remainingCapacity();
     }
 
+    /**
+     * Returns the latency and queue depth histograms of this appender's queue, or {@code null} if queue metrics are
+     * disabled or the appender has not been started.
+     *
+     * @return the queue metrics, or {@code null}
+     * @since 2.14.0
+     */
+    public AsyncQueueMetrics getQueueMetrics() {
+        return queueMetrics;
+    }
+
     /**
      * Returns the number of elements in the queue.
      *
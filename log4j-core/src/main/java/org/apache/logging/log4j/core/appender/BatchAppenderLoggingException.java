@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+/**
+ * Thrown from a {@link org.apache.logging.log4j.core.BatchAppender BatchAppender} when an event of a batch could not be
+ * written. The events before that event were written; that event and the events after it were not.
+ *
+ * @since 2.14.0
+ */
+public class BatchAppenderLoggingException extends AppenderLoggingException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int appendedCount;
+
+    /**
+     * Constructs an exception with an underlying cause.
+     *
+     * @param appendedCount The number of events at the start of the batch that were written.
+     * @param cause The underlying cause of the exception
+     */
+    public BatchAppenderLoggingException(final int appendedCount, final Throwable cause) {
+        super(cause, "Unable to write event %d of the batch", appendedCount);
+        this.appendedCount = appendedCount;
+    }
+
+    /**
+     * Returns the number of events at the start of the batch that were written.
+     *
+     * @return the number of events at the start of the batch that were written
+     */
+    public int getAppendedCount() {
+        return appendedCount;
+    }
+}
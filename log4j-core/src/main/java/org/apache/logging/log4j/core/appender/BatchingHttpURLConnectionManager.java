@@ -0,0 +1,458 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.net.ssl.SslConfiguration;
+import org.apache.logging.log4j.core.util.ExecutorServices;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+
+/**
+ * Sends log events over HTTP in batches: events are accumulated until the batch holds {@code batchSize} events or
+ * {@code batchBytes} bytes, or until {@code lingerMillis} have passed since its first event, and each batch is sent
+ * in a single request.
+ * <p>
+ * Batches are sent by up to {@code maxInFlight} sender threads. The response of every request is read completely, so
+ * the JDK keeps the connection alive and reuses it for the next request to the same server; the number of idle
+ * connections kept per server is set by the {@code http.maxConnections} system property. When all senders are busy,
+ * the thread that completes the next batch waits for one to finish. Failed requests are retried by the sender thread
+ * with an exponential backoff; a batch that still fails after {@code maxRetries} retries is dropped and reported to
+ * the status logger.
+ * </p>
+ * <p>
+ * With a {@link SpillBuffer}, a batch that still fails is written to disk instead, as the request body that would
+ * have been sent. After the next successful request, the sender thread replays the spilled batches, oldest first,
+ * until one fails again. Spilled batches are sent without the per-event header lookups of their first event.
+ * </p>
+ * <p>
+ * Header values that need a lookup are resolved against the first event of each batch. With a {@code lingerMillis}
+ * of zero or less, every event is sent as soon as it is added, in a batch of one.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public class BatchingHttpURLConnectionManager extends HttpURLConnectionManager {
+
+    /**
+     * How the records of a batch are joined in the request body.
+     */
+    public enum BatchFormat {
+
+        /**
+         * One record per line, each terminated by a line feed, for example newline delimited JSON.
+         */
+        NEWLINE,
+
+        /**
+         * A JSON array of the records, which must be JSON values, for example from a {@code JsonLayout}.
+         */
+        JSON_ARRAY
+    }
+
+    /**
+     * The content encoding of compressed batches.
+     */
+    public static final String GZIP_ENCODING = "gzip";
+
+    private static final long MAX_BACKOFF_SHIFT = 16;
+
+    private final int batchSize;
+    private final int batchBytes;
+    private final long lingerMillis;
+    private final BatchFormat batchFormat;
+    private final boolean compress;
+    private final int maxInFlight;
+    private final int maxRetries;
+    private final long retryBackoffMillis;
+    private final Semaphore inFlight;
+    private final ThreadPoolExecutor senders;
+    private final ScheduledThreadPoolExecutor lingerTimer;
+    private final AtomicLong sentEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final SpillBuffer spillBuffer;
+    private final AtomicBoolean replaying = new AtomicBoolean();
+    private volatile String spillContentType;
+    // guarded by this
+    private Batch batch;
+
+    public BatchingHttpURLConnectionManager(final Configuration configuration, final LoggerContext loggerContext,
+            final String name, final URL url, final String method, final int connectTimeoutMillis,
+            final int readTimeoutMillis, final Property[] headers, final SslConfiguration sslConfiguration,
+            final boolean verifyHostname, final int batchSize, final int batchBytes, final long lingerMillis,
+            final BatchFormat batchFormat, final boolean compress, final int maxInFlight, final int maxRetries,
+            final long retryBackoffMillis, final SpillBufferConfiguration spillBufferConfiguration) {
+        super(configuration, loggerContext, name, url, method, connectTimeoutMillis, readTimeoutMillis, headers,
+                sslConfiguration, verifyHostname);
+        this.batchSize = Math.max(1, batchSize);
+        this.batchBytes = Math.max(1, batchBytes);
+        this.lingerMillis = lingerMillis;
+        this.batchFormat = batchFormat == null ? BatchFormat.NEWLINE : batchFormat;
+        this.compress = compress;
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryBackoffMillis = Math.max(0, retryBackoffMillis);
+        this.inFlight = new Semaphore(this.maxInFlight);
+        this.senders = new ThreadPoolExecutor(this.maxInFlight, this.maxInFlight, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(), Log4jThreadFactory.createDaemonThreadFactory("HttpSender-" + name));
+        this.lingerTimer = new ScheduledThreadPoolExecutor(1,
+                Log4jThreadFactory.createDaemonThreadFactory("HttpLinger-" + name));
+        this.lingerTimer.setRemoveOnCancelPolicy(true);
+        SpillBuffer spill = null;
+        if (spillBufferConfiguration != null) {
+            try {
+                spill = SpillBuffer.open(spillBufferConfiguration, "Http-" + name);
+            } catch (final IOException ex) {
+                LOGGER.error("{} could not open its spill buffer, failed batches will be dropped", name, ex);
+            }
+        }
+        this.spillBuffer = spill;
+    }
+
+    @Override
+    public void send(final Layout<?> layout, final LogEvent event) throws IOException {
+        final byte[] record = layout.toByteArray(event);
+        Batch full = null;
+        Batch next = null;
+        synchronized (this) {
+            if (batch != null && batch.count > 0 && batch.length + record.length > batchBytes) {
+                full = batch;
+                batch = null;
+            }
+            if (batch == null) {
+                batch = new Batch(layout.getContentType(), event.toImmutable());
+                if (lingerMillis > 0) {
+                    batch.linger = lingerTimer.schedule(new Linger(batch), lingerMillis, TimeUnit.MILLISECONDS);
+                }
+            }
+            batch.add(record);
+            if (batch.count >= batchSize || batch.length >= batchBytes || lingerMillis <= 0) {
+                next = batch;
+                batch = null;
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        if (next != null) {
+            dispatch(next);
+        }
+    }
+
+    /**
+     * Sends the batch being accumulated, if any, without waiting for it to fill up.
+     */
+    public void flush() {
+        final Batch current;
+        synchronized (this) {
+            current = batch;
+            batch = null;
+        }
+        if (current != null) {
+            dispatch(current);
+        }
+    }
+
+    private void dispatch(final Batch toSend) {
+        if (toSend.linger != null) {
+            toSend.linger.cancel(false);
+        }
+        try {
+            inFlight.acquire();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            dropped(toSend, ex);
+            return;
+        }
+        try {
+            senders.execute(new Sender(toSend));
+        } catch (final RuntimeException ex) {
+            inFlight.release();
+            dropped(toSend, ex);
+        }
+    }
+
+    private void sendWithRetries(final Batch toSend) {
+        byte[] body = null;
+        try {
+            body = toSend.body();
+            final String contentEncoding = compress ? GZIP_ENCODING : null;
+            for (int attempt = 0;; attempt++) {
+                try {
+                    send(openConnection(toSend.contentType, contentEncoding, toSend.event), body, 0, body.length);
+                    sentEvents.addAndGet(toSend.count);
+                    spillContentType = toSend.contentType;
+                    replaySpilled();
+                    return;
+                } catch (final IOException ex) {
+                    if (attempt >= maxRetries) {
+                        failed(toSend, body, ex);
+                        return;
+                    }
+                    final long backoff = retryBackoffMillis << Math.min(attempt, MAX_BACKOFF_SHIFT);
+                    LOGGER.debug("{} retrying batch of {} events in {} ms: {}", getName(), toSend.count, backoff,
+                            ex.toString());
+                    Thread.sleep(backoff);
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            failed(toSend, body, ex);
+        } catch (final IOException | RuntimeException ex) {
+            failed(toSend, body, ex);
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    private void failed(final Batch toSend, final byte[] body, final Exception ex) {
+        if (body != null && spillBuffer != null && spillBuffer.append(body, 0, body.length)) {
+            spillContentType = toSend.contentType;
+            LOGGER.warn("{} spilled a batch of {} events to disk: {}", getName(), toSend.count, ex.toString());
+            return;
+        }
+        dropped(toSend, ex);
+    }
+
+    /**
+     * Sends spilled batches, oldest first, until there are none left or one fails. Only one sender replays at a time.
+     */
+    private void replaySpilled() {
+        if (spillBuffer == null || spillBuffer.isEmpty() || !replaying.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            final String contentEncoding = compress ? GZIP_ENCODING : null;
+            ByteBuffer record;
+            while ((record = spillBuffer.peek()) != null) {
+                final byte[] body = new byte[record.remaining()];
+                record.get(body);
+                send(openConnection(spillContentType, contentEncoding, null), body, 0, body.length);
+                spillBuffer.remove();
+            }
+        } catch (final IOException | RuntimeException ex) {
+            LOGGER.debug("{} stopped replaying spilled batches: {}", getName(), ex.toString());
+        } finally {
+            replaying.set(false);
+        }
+    }
+
+    private void dropped(final Batch toSend, final Exception ex) {
+        droppedEvents.addAndGet(toSend.count);
+        LOGGER.error("{} dropped a batch of {} events: {}", getName(), toSend.count, ex.toString(), ex);
+    }
+
+    /**
+     * Returns the number of events sent successfully.
+     *
+     * @return the number of events sent
+     */
+    public long getSentEventCount() {
+        return sentEvents.get();
+    }
+
+    /**
+     * Returns the number of events dropped after their batch could not be sent.
+     *
+     * @return the number of events dropped
+     */
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public int getBatchBytes() {
+        return batchBytes;
+    }
+
+    public long getLingerMillis() {
+        return lingerMillis;
+    }
+
+    public BatchFormat getBatchFormat() {
+        return batchFormat;
+    }
+
+    public boolean isCompress() {
+        return compress;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public long getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    /**
+     * Returns the spill buffer.
+     *
+     * @return the spill buffer, or null if failed batches are dropped.
+     */
+    public SpillBuffer getSpillBuffer() {
+        return spillBuffer;
+    }
+
+    /**
+     * Sends the pending batch and waits up to the specified timeout for all batches to be sent.
+     */
+    @Override
+    protected boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        flush();
+        lingerTimer.shutdownNow();
+        final boolean stopped = ExecutorServices.shutdown(senders, timeout, timeUnit, toString());
+        if (spillBuffer != null) {
+            spillBuffer.close();
+        }
+        return stopped;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + getName() + "]";
+    }
+
+    /**
+     * The records of a batch, joined in the batch format.
+     */
+    private final class Batch {
+        private final String contentType;
+        private final LogEvent event;
+        private byte[] buffer = new byte[1024];
+        private int length;
+        private int count;
+        private ScheduledFuture<?> linger;
+
+        Batch(final String contentType, final LogEvent event) {
+            this.contentType = contentType;
+            this.event = event;
+            if (batchFormat == BatchFormat.JSON_ARRAY) {
+                buffer[length++] = '[';
+            }
+        }
+
+        void add(final byte[] record) {
+            int end = record.length;
+            if (batchFormat == BatchFormat.JSON_ARRAY) {
+                // layouts terminate records with a line separator, which is not part of the JSON value
+                while (end > 0 && (Character.isWhitespace(record[end - 1]) || record[end - 1] == ',')) {
+                    end--;
+                }
+                ensureCapacity(end + 2);
+                if (count > 0) {
+                    buffer[length++] = ',';
+                }
+                System.arraycopy(record, 0, buffer, length, end);
+                length += end;
+            } else {
+                final boolean terminated = end > 0 && record[end - 1] == '\n';
+                ensureCapacity(end + 1);
+                System.arraycopy(record, 0, buffer, length, end);
+                length += end;
+                if (!terminated) {
+                    buffer[length++] = '\n';
+                }
+            }
+            count++;
+        }
+
+        private void ensureCapacity(final int extra) {
+            if (length + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, length + extra));
+            }
+        }
+
+        byte[] body() throws IOException {
+            if (batchFormat == BatchFormat.JSON_ARRAY) {
+                ensureCapacity(1);
+                buffer[length++] = ']';
+            }
+            if (!compress) {
+                return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+            }
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(length / 4 + 64);
+            try (final GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                gzip.write(buffer, 0, length);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    /**
+     * Sends a batch that reached its linger time before it filled up.
+     */
+    private final class Linger implements Runnable {
+        private final Batch lingering;
+
+        Linger(final Batch lingering) {
+            this.lingering = lingering;
+        }
+
+        @Override
+        public void run() {
+            synchronized (BatchingHttpURLConnectionManager.this) {
+                if (batch != lingering) {
+                    return;
+                }
+                batch = null;
+            }
+            dispatch(lingering);
+        }
+    }
+
+    /**
+     * Sends a batch from a sender thread.
+     */
+    private final class Sender implements Runnable {
+        private final Batch toSend;
+
+        Sender(final Batch toSend) {
+            this.toSend = toSend;
+        }
+
+        @Override
+        public void run() {
+            sendWithRetries(toSend);
+        }
+    }
+}
@@ -80,6 +80,9 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
         @PluginBuilderAttribute
         private String fileGroup;
 
+        @PluginBuilderAttribute
+        private boolean directBuffer;
+
         @Override
         public FileAppender build() {
             boolean bufferedIo = isBufferedIo();
@@ -94,7 +97,7 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             final Layout<? extends Serializable> layout = getOrCreateLayout();
 
             final FileManager manager = FileManager.getFileManager(fileName, append, locking, bufferedIo, createOnDemand,
-                    advertiseUri, layout, bufferSize, filePermissions, fileOwner, fileGroup, getConfiguration());
+                    advertiseUri, layout, bufferSize, filePermissions, fileOwner, fileGroup, directBuffer, getConfiguration());
             if (manager == null) {
                 return null;
             }
@@ -140,6 +143,10 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             return fileGroup;
         }
 
+        public boolean isDirectBuffer() {
+            return directBuffer;
+        }
+
         public B withAdvertise(final boolean advertise) {
             this.advertise = advertise;
             return asBuilder();
@@ -185,6 +192,19 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             return asBuilder();
         }
 
+        /**
+         * Sets whether the manager buffers events in a direct buffer written to the file channel, avoiding a copy of
+         * every event into a native buffer by the JDK.
+         *
+         * @param directBuffer whether to use a direct buffer
+         * @return this builder
+         * @since 2.14.0
+         */
+        public B withDirectBuffer(final boolean directBuffer) {
+            this.directBuffer = directBuffer;
+            return asBuilder();
+        }
+
     }
 
     private static final int DEFAULT_BUFFER_SIZE = 8192;
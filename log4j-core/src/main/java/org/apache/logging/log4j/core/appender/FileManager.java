@@ -52,6 +52,27 @@ public class FileManager extends OutputStreamManager {
 
     private static final FileManagerFactory FACTORY = new FileManagerFactory();
 
+    private static final LockedOperation<FileManager, byte[], Void> WRITE =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length, false);
+                return true;
+            };
+    private static final LockedOperation<FileManager, byte[], Void> WRITE_AND_FLUSH =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length, true);
+                return true;
+            };
+    private static final LockedOperation<FileManager, byte[], Void> WRITE_TO_DESTINATION =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeToDestinationLocked(bytes, offset, length);
+                return true;
+            };
+    private static final LockedOperation<FileManager, ByteBuffer, ByteBuffer> WRITE_BUFFERS =
+            (manager, buf, next, offset, length) -> {
+                manager.writeToDestinationLocked(buf, next);
+                return true;
+            };
+
     private final boolean isAppend;
     private final boolean createOnDemand;
     private final boolean isLocking;
@@ -170,17 +191,45 @@ public class FileManager extends OutputStreamManager {
      * @param configuration The configuration.
      * @return A FileManager for the File.
      */
-    public static FileManager getFileManager(final String fileName, final boolean append, boolean locking,
+    public static FileManager getFileManager(final String fileName, final boolean append, final boolean locking,
             final boolean bufferedIo, final boolean createOnDemand, final String advertiseUri,
             final Layout<? extends Serializable> layout,
             final int bufferSize, final String filePermissions, final String fileOwner, final String fileGroup,
             final Configuration configuration) {
+        return getFileManager(fileName, append, locking, bufferedIo, createOnDemand, advertiseUri, layout, bufferSize,
+                filePermissions, fileOwner, fileGroup, false, configuration);
+    }
+
+    /**
+     * Returns the FileManager.
+     * @param fileName The name of the file to manage.
+     * @param append true if the file should be appended to, false if it should be overwritten.
+     * @param locking true if the file should be locked while writing, false otherwise.
+     * @param bufferedIo true if the contents should be buffered as they are written.
+     * @param createOnDemand true if you want to lazy-create the file (a.k.a. on-demand.)
+     * @param advertiseUri the URI to use when advertising the file
+     * @param layout The layout
+     * @param bufferSize buffer size for buffered IO
+     * @param filePermissions File permissions
+     * @param fileOwner File owner
+     * @param fileGroup File group
+     * @param directBuffer true to buffer the contents in a direct buffer written to the file channel.
+     * @param configuration The configuration.
+     * @return A FileManager for the File.
+     * @since 2.14.0
+     */
+    public static FileManager getFileManager(final String fileName, final boolean append, boolean locking,
+            final boolean bufferedIo, final boolean createOnDemand, final String advertiseUri,
+            final Layout<? extends Serializable> layout,
+            final int bufferSize, final String filePermissions, final String fileOwner, final String fileGroup,
+            final boolean directBuffer, final Configuration configuration) {
 
         if (locking && bufferedIo) {
             locking = false;
         }
         return narrow(FileManager.class, getManager(fileName, new FactoryData(append, locking, bufferedIo, bufferSize,
-                createOnDemand, advertiseUri, layout, filePermissions, fileOwner, fileGroup, configuration), FACTORY));
+                createOnDemand, advertiseUri, layout, filePermissions, fileOwner, fileGroup, directBuffer,
+                configuration), FACTORY));
     }
 
     @Override
@@ -189,6 +238,7 @@ public class FileManager extends OutputStreamManager {
         LOGGER.debug("Now writing to {} at {}", filename, new Date());
         final File file = new File(filename);
         final FileOutputStream fos = new FileOutputStream(file, isAppend);
+        final OutputStream os = wrapOutputStream(fos);
         if (file.exists() && file.length() == 0) {
             try {
                 FileTime now = FileTime.fromMillis(System.currentTimeMillis());
@@ -196,9 +246,22 @@ public class FileManager extends OutputStreamManager {
             } catch (Exception ex) {
                 LOGGER.warn("Unable to set current file tiem for {}", filename);
             }
-            writeHeader(fos);
+            writeHeader(os);
         }
         defineAttributeView(Paths.get(filename));
+        return os;
+    }
+
+    /**
+     * Wraps the stream of a newly opened file, before the header is written. This implementation returns the stream
+     * unchanged.
+     *
+     * @param fos the stream of the file.
+     * @return the stream to write to.
+     * @throws IOException if the stream cannot be wrapped.
+     * @since 2.14.0
+     */
+    protected OutputStream wrapOutputStream(final FileOutputStream fos) throws IOException {
         return fos;
     }
 
@@ -216,8 +279,11 @@ public class FileManager extends OutputStreamManager {
     }
 
     @Override
-    protected synchronized void write(final byte[] bytes, final int offset, final int length,
-            final boolean immediateFlush) {
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        runLocked(this, immediateFlush ? WRITE_AND_FLUSH : WRITE, bytes, null, offset, length);
+    }
+
+    private void writeLocked(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
         if (isLocking) {
             try {
                 @SuppressWarnings("resource")
@@ -250,7 +316,11 @@ public class FileManager extends OutputStreamManager {
      * @since 2.8
      */
     @Override
-    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+    protected void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        runLocked(this, WRITE_TO_DESTINATION, bytes, null, offset, length);
+    }
+
+    private void writeToDestinationLocked(final byte[] bytes, final int offset, final int length) {
         if (isLocking) {
             try {
                 @SuppressWarnings("resource")
@@ -274,6 +344,75 @@ public class FileManager extends OutputStreamManager {
         }
     }
 
+    /**
+     * Overrides {@link OutputStreamManager#writeToDestination(ByteBuffer)} to write a direct buffer to the file
+     * channel without copying it, with support for file locking.
+     *
+     * @param buf the buffer to write, consumed up to its limit
+     * @since 2.14.0
+     */
+    @Override
+    protected void writeToDestination(final ByteBuffer buf) {
+        runLocked(this, WRITE_BUFFERS, buf, null, 0, 0);
+    }
+
+    /**
+     * Overrides {@link OutputStreamManager#writeToDestination(ByteBuffer, byte[], int, int)} to write the buffer and
+     * the array with a single gathering write to the file channel.
+     *
+     * @param buf the buffered bytes, consumed up to its limit
+     * @param bytes the array containing data
+     * @param offset from where to write
+     * @param length how many bytes to write
+     * @since 2.14.0
+     */
+    @Override
+    protected void writeToDestination(final ByteBuffer buf, final byte[] bytes, final int offset, final int length) {
+        runLocked(this, WRITE_BUFFERS, buf, ByteBuffer.wrap(bytes, offset, length), 0, 0);
+    }
+
+    private void writeToDestinationLocked(final ByteBuffer buf, final ByteBuffer next) {
+        try {
+            final OutputStream os = getOutputStream();
+            if (!(os instanceof FileOutputStream)) {
+                // the stream was wrapped, e.g. to compress: it must see every byte
+                if (next == null) {
+                    super.writeToDestination(buf);
+                } else {
+                    super.writeToDestination(buf, next.array(), next.arrayOffset() + next.position(),
+                            next.remaining());
+                }
+                return;
+            }
+            @SuppressWarnings("resource")
+            final FileChannel channel = ((FileOutputStream) os).getChannel();
+            if (isLocking) {
+                // lock the whole file, see writeToDestinationLocked(byte[], int, int)
+                try (final FileLock lock = channel.lock(0, Long.MAX_VALUE, false)) {
+                    writeFully(channel, buf, next);
+                }
+            } else {
+                writeFully(channel, buf, next);
+            }
+        } catch (final IOException ex) {
+            throw new AppenderLoggingException("Error writing to channel " + getName(), ex);
+        }
+    }
+
+    private static void writeFully(final FileChannel channel, final ByteBuffer buf, final ByteBuffer next)
+            throws IOException {
+        if (next == null) {
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            return;
+        }
+        final ByteBuffer[] buffers = {buf, next};
+        while (next.hasRemaining()) {
+            channel.write(buffers);
+        }
+    }
+
     /**
      * Returns the name of the File being managed.
      * @return The name of the File being managed.
@@ -379,6 +518,7 @@ public class FileManager extends OutputStreamManager {
         private final String filePermissions;
         private final String fileOwner;
         private final String fileGroup;
+        private final boolean directBuffer;
 
         /**
          * Constructor.
@@ -392,12 +532,13 @@ public class FileManager extends OutputStreamManager {
          * @param filePermissions File permissions
          * @param fileOwner File owner
          * @param fileGroup File group
+         * @param directBuffer Whether to use a direct buffer
          * @param configuration the configuration
          */
         public FactoryData(final boolean append, final boolean locking, final boolean bufferedIo, final int bufferSize,
                 final boolean createOnDemand, final String advertiseURI, final Layout<? extends Serializable> layout,
                 final String filePermissions, final String fileOwner, final String fileGroup,
-                final Configuration configuration) {
+                final boolean directBuffer, final Configuration configuration) {
             super(configuration);
             this.append = append;
             this.locking = locking;
@@ -409,6 +550,7 @@ public class FileManager extends OutputStreamManager {
             this.filePermissions = filePermissions;
             this.fileOwner = fileOwner;
             this.fileGroup = fileGroup;
+            this.directBuffer = directBuffer;
         }
     }
 
@@ -430,7 +572,8 @@ public class FileManager extends OutputStreamManager {
                 FileUtils.makeParentDirs(file);
                 final boolean writeHeader = !data.append || !file.exists();
                 final int actualSize = data.bufferedIo ? data.bufferSize : Constants.ENCODER_BYTE_BUFFER_SIZE;
-                final ByteBuffer byteBuffer = ByteBuffer.wrap(new byte[actualSize]);
+                final ByteBuffer byteBuffer = data.directBuffer ? ByteBuffer.allocateDirect(actualSize)
+                        : ByteBuffer.wrap(new byte[actualSize]);
                 final FileOutputStream fos = data.createOnDemand ? null : new FileOutputStream(file, data.append);
                 final FileManager fm = new FileManager(data.getLoggerContext(), name, fos, data.append, data.locking,
                         data.createOnDemand, data.advertiseURI, data.layout,
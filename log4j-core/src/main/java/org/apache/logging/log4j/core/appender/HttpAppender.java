@@ -26,6 +26,7 @@ import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.BatchingHttpURLConnectionManager.BatchFormat;
 import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
@@ -36,11 +37,18 @@ import org.apache.logging.log4j.core.config.plugins.validation.constraints.Requi
 import org.apache.logging.log4j.core.net.ssl.SslConfiguration;
 
 /**
- * Sends log events over HTTP.
+ * Sends log events over HTTP, one event per request or, with a {@code batchSize}, in batches.
+ *
+ * @see BatchingHttpURLConnectionManager
  */
 @Plugin(name = "Http", category = Node.CATEGORY, elementType = Appender.ELEMENT_TYPE, printObject = true)
 public final class HttpAppender extends AbstractAppender {
 
+    private static final int DEFAULT_BATCH_BYTES = 1024 * 1024;
+    private static final long DEFAULT_LINGER_MILLIS = 1000;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+    private static final long DEFAULT_RETRY_BACKOFF_MILLIS = 100;
+
     /**
      * Builds HttpAppender instances.
      * @param <B> The type to build
@@ -70,11 +78,47 @@ public final class HttpAppender extends AbstractAppender {
         @PluginBuilderAttribute
         private boolean verifyHostname = true;
 
+        @PluginBuilderAttribute
+        private int batchSize;
+
+        @PluginBuilderAttribute
+        private int batchBytes = DEFAULT_BATCH_BYTES;
+
+        @PluginBuilderAttribute
+        private long lingerMillis = DEFAULT_LINGER_MILLIS;
+
+        @PluginBuilderAttribute
+        private BatchFormat batchFormat = BatchFormat.NEWLINE;
+
+        @PluginBuilderAttribute
+        private boolean compress;
+
+        @PluginBuilderAttribute
+        private int maxInFlight = 1;
+
+        @PluginBuilderAttribute
+        private int maxRetries = DEFAULT_MAX_RETRIES;
+
+        @PluginBuilderAttribute
+        private long retryBackoffMillis = DEFAULT_RETRY_BACKOFF_MILLIS;
+
+        @PluginElement("SpillBuffer")
+        private SpillBufferConfiguration spillBuffer;
+
         @Override
         public HttpAppender build() {
-            final HttpManager httpManager = new HttpURLConnectionManager(getConfiguration(),
-                    getConfiguration().getLoggerContext(), getName(), url, method, connectTimeoutMillis,
-                    readTimeoutMillis, headers, sslConfiguration, verifyHostname);
+            final HttpManager httpManager;
+            if (batchSize > 0) {
+                httpManager = new BatchingHttpURLConnectionManager(getConfiguration(),
+                        getConfiguration().getLoggerContext(), getName(), url, method, connectTimeoutMillis,
+                        readTimeoutMillis, headers, sslConfiguration, verifyHostname, batchSize, batchBytes,
+                        lingerMillis, batchFormat, compress, maxInFlight, maxRetries, retryBackoffMillis,
+                        spillBuffer);
+            } else {
+                httpManager = new HttpURLConnectionManager(getConfiguration(),
+                        getConfiguration().getLoggerContext(), getName(), url, method, connectTimeoutMillis,
+                        readTimeoutMillis, headers, sslConfiguration, verifyHostname);
+            }
             return new HttpAppender(getName(), getLayout(), getFilter(), isIgnoreExceptions(), httpManager,
                     getPropertyArray());
         }
@@ -107,6 +151,42 @@ public final class HttpAppender extends AbstractAppender {
             return verifyHostname;
         }
 
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public int getBatchBytes() {
+            return batchBytes;
+        }
+
+        public long getLingerMillis() {
+            return lingerMillis;
+        }
+
+        public BatchFormat getBatchFormat() {
+            return batchFormat;
+        }
+
+        public boolean isCompress() {
+            return compress;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public int getMaxRetries() {
+            return maxRetries;
+        }
+
+        public long getRetryBackoffMillis() {
+            return retryBackoffMillis;
+        }
+
+        public SpillBufferConfiguration getSpillBuffer() {
+            return spillBuffer;
+        }
+
         public B setUrl(final URL url) {
             this.url = url;
             return asBuilder();
@@ -141,6 +221,65 @@ public final class HttpAppender extends AbstractAppender {
             this.verifyHostname = verifyHostname;
             return asBuilder();
         }
+
+        /**
+         * Sets the maximum number of events sent in one request. Zero, the default, sends each event in its own
+         * request as soon as it is appended.
+         *
+         * @param batchSize the maximum number of events per request
+         * @return this builder
+         * @since 2.14.0
+         */
+        public B setBatchSize(final int batchSize) {
+            this.batchSize = batchSize;
+            return asBuilder();
+        }
+
+        public B setBatchBytes(final int batchBytes) {
+            this.batchBytes = batchBytes;
+            return asBuilder();
+        }
+
+        public B setLingerMillis(final long lingerMillis) {
+            this.lingerMillis = lingerMillis;
+            return asBuilder();
+        }
+
+        public B setBatchFormat(final BatchFormat batchFormat) {
+            this.batchFormat = batchFormat;
+            return asBuilder();
+        }
+
+        public B setCompress(final boolean compress) {
+            this.compress = compress;
+            return asBuilder();
+        }
+
+        public B setMaxInFlight(final int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return asBuilder();
+        }
+
+        public B setMaxRetries(final int maxRetries) {
+            this.maxRetries = maxRetries;
+            return asBuilder();
+        }
+
+        public B setRetryBackoffMillis(final long retryBackoffMillis) {
+            this.retryBackoffMillis = retryBackoffMillis;
+            return asBuilder();
+        }
+
+        /**
+         * Keeps batches that cannot be sent after all retries on disk, to be sent after the next successful request.
+         * Only used when batching.
+         *
+         * @since 2.14.0
+         */
+        public B setSpillBuffer(final SpillBufferConfiguration spillBuffer) {
+            this.spillBuffer = spillBuffer;
+            return asBuilder();
+        }
     }
 
     /**
@@ -75,6 +75,24 @@ public class HttpURLConnectionManager extends HttpManager {
 
     @Override
     public void send(final Layout<?> layout, final LogEvent event) throws IOException {
+        final HttpURLConnection urlConnection = openConnection(layout.getContentType(), null, event);
+        final byte[] msg = layout.toByteArray(event);
+        send(urlConnection, msg, 0, msg.length);
+    }
+
+    /**
+     * Creates a connection to the URL of this manager with the configured method, timeouts, SSL settings and headers.
+     * Header values that need a lookup are resolved against the specified event.
+     *
+     * @param contentType the content type of the request body, or {@code null}
+     * @param contentEncoding the content encoding of the request body, or {@code null}
+     * @param event the event to resolve header lookups against, or {@code null}
+     * @return the connection, not yet connected
+     * @throws IOException if the connection cannot be created
+     * @since 2.14.0
+     */
+    protected HttpURLConnection openConnection(final String contentType, final String contentEncoding,
+            final LogEvent event) throws IOException {
         final HttpURLConnection urlConnection = (HttpURLConnection)url.openConnection();
         urlConnection.setAllowUserInteraction(false);
         urlConnection.setDoOutput(true);
@@ -86,8 +104,11 @@ public class HttpURLConnectionManager extends HttpManager {
         if (readTimeoutMillis > 0) {
             urlConnection.setReadTimeout(readTimeoutMillis);
         }
-        if (layout.getContentType() != null) {
-            urlConnection.setRequestProperty("Content-Type", layout.getContentType());
+        if (contentType != null) {
+            urlConnection.setRequestProperty("Content-Type", contentType);
+        }
+        if (contentEncoding != null) {
+            urlConnection.setRequestProperty("Content-Encoding", contentEncoding);
         }
         for (final Property header : headers) {
             urlConnection.setRequestProperty(
@@ -100,12 +121,26 @@ public class HttpURLConnectionManager extends HttpManager {
         if (isHttps && !verifyHostname) {
             ((HttpsURLConnection)urlConnection).setHostnameVerifier(LaxHostnameVerifier.INSTANCE);
         }
+        return urlConnection;
+    }
 
-        final byte[] msg = layout.toByteArray(event);
-        urlConnection.setFixedLengthStreamingMode(msg.length);
+    /**
+     * Writes the specified request body to the specified connection and reads the whole response, so that the
+     * underlying connection can be kept alive and reused for the next request to the same server.
+     *
+     * @param urlConnection the connection returned by {@link #openConnection(String, String, LogEvent)}
+     * @param body the array containing the request body
+     * @param offset the offset of the request body in the array
+     * @param length the length of the request body
+     * @throws IOException if the request fails or the server responds with an error
+     * @since 2.14.0
+     */
+    protected void send(final HttpURLConnection urlConnection, final byte[] body, final int offset, final int length)
+            throws IOException {
+        urlConnection.setFixedLengthStreamingMode(length);
         urlConnection.connect();
         try (OutputStream os = urlConnection.getOutputStream()) {
-            os.write(msg);
+            os.write(body, offset, length);
         }
 
         final byte[] buffer = new byte[1024];
@@ -61,6 +61,9 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
         @PluginBuilderAttribute("regionLength")
         private int regionLength = MemoryMappedFileManager.DEFAULT_REGION_LENGTH;
 
+        @PluginBuilderAttribute("preMapThreshold")
+        private float preMapThreshold;
+
         @PluginBuilderAttribute("advertise")
         private boolean advertise;
 
@@ -81,9 +84,13 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
                 LOGGER.error("No filename provided for MemoryMappedFileAppender with name " + name);
                 return null;
             }
+            if (preMapThreshold != 0 && !MemoryMappedFileManager.isValidPreMapThreshold(preMapThreshold)) {
+                LOGGER.warn("MemoryMappedAppender[{}] Ignoring invalid preMapThreshold {}: it must be greater than 0 "
+                        + "and less than 1", name, preMapThreshold);
+            }
             final Layout<? extends Serializable> layout = getOrCreateLayout();
             final MemoryMappedFileManager manager = MemoryMappedFileManager.getFileManager(fileName, append, isImmediateFlush(),
-                    actualRegionLength, advertiseURI, layout);
+                    actualRegionLength, preMapThreshold, advertiseURI, layout);
             if (manager == null) {
                 return null;
             }
@@ -107,6 +114,14 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
             return asBuilder();
         }
 
+        /**
+         * @since 2.14.0
+         */
+        public B setPreMapThreshold(final float preMapThreshold) {
+            this.preMapThreshold = preMapThreshold;
+            return asBuilder();
+        }
+
         public B setAdvertise(final boolean advertise) {
             this.advertise = advertise;
             return asBuilder();
@@ -254,7 +269,7 @@ public final class MemoryMappedFileAppender extends AbstractOutputStreamAppender
     /**
      * Converts the specified region length to a valid value.
      */
-    private static int determineValidRegionLength(final String name, final int regionLength) {
+    static int determineValidRegionLength(final String name, final int regionLength) {
         if (regionLength > MAX_REGION_LENGTH) {
             LOGGER.info("MemoryMappedAppender[{}] Reduced region length from {} to max length: {}", name, regionLength,
                     MAX_REGION_LENGTH);
@@ -32,10 +32,17 @@ import java.security.PrivilegedExceptionAction;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.util.Closer;
 import org.apache.logging.log4j.core.util.FileUtils;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 import org.apache.logging.log4j.core.util.NullOutputStream;
 
 //Lines too long...
@@ -44,6 +51,11 @@ import org.apache.logging.log4j.core.util.NullOutputStream;
  * Extends OutputStreamManager but instead of using a buffered output stream, this class maps a region of a file into
  * memory and writes to this memory region.
  * <p>
+ * If a pre-map threshold is configured, the next region is mapped ahead of time on a background thread once the
+ * current region is filled up to the threshold, so that moving to the next region does not have to wait for the file
+ * to be extended and mapped. Regions that are no longer used are unmapped on the same background thread.
+ * </p>
+ * <p>
  *
  * @see <a href="http://www.codeproject.com/Tips/683614/Things-to-Know-about-Memory-Mapped-File-in-Java">
  *      http://www.codeproject.com/Tips/683614/Things-to-Know-about-Memory-Mapped-File-in-Java</a>
@@ -64,6 +76,25 @@ public class MemoryMappedFileManager extends OutputStreamManager {
     private static final int MAX_REMAP_COUNT = 10;
     private static final MemoryMappedFileManagerFactory FACTORY = new MemoryMappedFileManagerFactory();
     private static final double NANOS_PER_MILLISEC = 1000.0 * 1000.0;
+    private static final long PRE_MAP_SHUTDOWN_TIMEOUT_MILLIS = 10000;
+
+    private static final LockedOperation<MemoryMappedFileManager, byte[], Void> WRITE =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length);
+                return true;
+            };
+    private static final LockedOperation<MemoryMappedFileManager, Void, Void> REMAP =
+            (manager, a, b, offset, length) -> {
+                manager.remapLocked();
+                return true;
+            };
+    private static final LockedOperation<MemoryMappedFileManager, Void, Void> FORCE =
+            (manager, a, b, offset, length) -> {
+                manager.mappedBuffer.force();
+                return true;
+            };
+    private static final LockedOperation<MemoryMappedFileManager, Void, Void> CLOSE_OUTPUT_STREAM =
+            (manager, a, b, offset, length) -> manager.closeOutputStreamLocked();
 
     private final boolean immediateFlush;
     private final int regionLength;
@@ -72,19 +103,53 @@ public class MemoryMappedFileManager extends OutputStreamManager {
     private final ThreadLocal<Boolean> isEndOfBatch = new ThreadLocal<>();
     private MappedByteBuffer mappedBuffer;
     private long mappingOffset;
+    private final float preMapThreshold;
+    private final ExecutorService preMapExecutor; // null if regions are not mapped ahead
+    private Future<MappedByteBuffer> nextRegion;
+    private int preMapPosition = Integer.MAX_VALUE;
+    private final AtomicLong remapCount = new AtomicLong();
+    private final AtomicLong remapNanos = new AtomicLong();
 
     protected MemoryMappedFileManager(final RandomAccessFile file, final String fileName, final OutputStream os,
             final boolean immediateFlush, final long position, final int regionLength, final String advertiseURI,
             final Layout<? extends Serializable> layout, final boolean writeHeader) throws IOException {
+        this(file, fileName, os, immediateFlush, position, regionLength, 0, advertiseURI, layout, writeHeader);
+    }
+
+    /**
+     * @since 2.14.0
+     */
+    protected MemoryMappedFileManager(final RandomAccessFile file, final String fileName, final OutputStream os,
+            final boolean immediateFlush, final long position, final int regionLength, final float preMapThreshold,
+            final String advertiseURI, final Layout<? extends Serializable> layout, final boolean writeHeader)
+            throws IOException {
         super(os, fileName, layout, writeHeader, ByteBuffer.wrap(new byte[0]));
         this.immediateFlush = immediateFlush;
         this.randomAccessFile = Objects.requireNonNull(file, "RandomAccessFile");
         this.regionLength = regionLength;
         this.advertiseURI = advertiseURI;
         this.isEndOfBatch.set(Boolean.FALSE);
+        this.preMapThreshold = isValidPreMapThreshold(preMapThreshold) ? preMapThreshold : 0;
+        this.preMapExecutor = this.preMapThreshold > 0
+                ? Executors.newSingleThreadExecutor(
+                        Log4jThreadFactory.createDaemonThreadFactory("MemoryMappedFileManager"))
+                : null;
         this.mappedBuffer = mmap(randomAccessFile.getChannel(), getFileName(), position, regionLength);
         this.byteBuffer = mappedBuffer;
         this.mappingOffset = position;
+        updatePreMapPosition();
+    }
+
+    /**
+     * Returns {@code true} if the specified threshold enables mapping regions ahead of time: the fraction of a region
+     * that must be filled before the next region is mapped must be greater than zero and less than one.
+     *
+     * @param preMapThreshold the pre-map threshold
+     * @return whether the threshold enables mapping regions ahead of time
+     * @since 2.14.0
+     */
+    public static boolean isValidPreMapThreshold(final float preMapThreshold) {
+        return preMapThreshold > 0 && preMapThreshold < 1;
     }
 
     /**
@@ -101,8 +166,28 @@ public class MemoryMappedFileManager extends OutputStreamManager {
     public static MemoryMappedFileManager getFileManager(final String fileName, final boolean append,
             final boolean immediateFlush, final int regionLength, final String advertiseURI,
             final Layout<? extends Serializable> layout) {
+        return getFileManager(fileName, append, immediateFlush, regionLength, 0, advertiseURI, layout);
+    }
+
+    /**
+     * Returns the MemoryMappedFileManager.
+     *
+     * @param fileName The name of the file to manage.
+     * @param append true if the file should be appended to, false if it should be overwritten.
+     * @param immediateFlush true if the contents should be flushed to disk on every write
+     * @param regionLength The mapped region length.
+     * @param preMapThreshold The fraction of a region that must be filled before the next region is mapped on a
+     *            background thread, or 0 to map the next region when the current region is full.
+     * @param advertiseURI the URI to use when advertising the file
+     * @param layout The layout.
+     * @return A MemoryMappedFileManager for the File.
+     * @since 2.14.0
+     */
+    public static MemoryMappedFileManager getFileManager(final String fileName, final boolean append,
+            final boolean immediateFlush, final int regionLength, final float preMapThreshold,
+            final String advertiseURI, final Layout<? extends Serializable> layout) {
         return narrow(MemoryMappedFileManager.class, getManager(fileName, new FactoryData(append, immediateFlush,
-                regionLength, advertiseURI, layout), FACTORY));
+                regionLength, preMapThreshold, advertiseURI, layout), FACTORY));
     }
 
     public Boolean isEndOfBatch() {
@@ -114,7 +199,11 @@ public class MemoryMappedFileManager extends OutputStreamManager {
     }
 
     @Override
-    protected synchronized void write(final byte[] bytes, int offset, int length, final boolean immediateFlush) {
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        runLocked(this, WRITE, bytes, null, offset, length);
+    }
+
+    private void writeLocked(final byte[] bytes, int offset, int length) {
         while (length > mappedBuffer.remaining()) {
             final int chunk = mappedBuffer.remaining();
             mappedBuffer.put(bytes, offset, chunk);
@@ -123,12 +212,100 @@ public class MemoryMappedFileManager extends OutputStreamManager {
             remap();
         }
         mappedBuffer.put(bytes, offset, length);
+        if (mappedBuffer.position() >= preMapPosition) {
+            preMapNextRegion();
+        }
 
         // no need to call flush() if force is true,
         // already done in AbstractOutputStreamAppender.append
     }
 
-    private synchronized void remap() {
+    private void remap() {
+        runLocked(this, REMAP);
+    }
+
+    private void remapLocked() {
+        final long startNanos = System.nanoTime();
+        if (nextRegion == null || !switchToNextRegion()) {
+            remapInPlace();
+        }
+        updatePreMapPosition();
+        remapCount.incrementAndGet();
+        remapNanos.addAndGet(System.nanoTime() - startNanos);
+    }
+
+    private void updatePreMapPosition() {
+        preMapPosition = preMapExecutor == null
+                ? Integer.MAX_VALUE
+                : (int) (mappedBuffer.capacity() * preMapThreshold);
+    }
+
+    /**
+     * Extends the file and maps the region following the current region on the background thread.
+     */
+    private void preMapNextRegion() {
+        preMapPosition = Integer.MAX_VALUE;
+        final long offset = mappingOffset + mappedBuffer.capacity();
+        LOGGER.debug("{} {} mapping next region of {} at {}", getClass().getSimpleName(), getName(), getFileName(),
+                offset);
+        nextRegion = preMapExecutor.submit(new Callable<MappedByteBuffer>() {
+            @Override
+            public MappedByteBuffer call() throws Exception {
+                final long fileLength = offset + regionLength;
+                if (randomAccessFile.length() < fileLength) {
+                    randomAccessFile.setLength(fileLength);
+                }
+                return mmap(randomAccessFile.getChannel(), getFileName(), offset, regionLength);
+            }
+        });
+    }
+
+    /**
+     * Replaces the full current region with the region that was mapped ahead of time, and unmaps the current region
+     * on the background thread. Returns {@code false} if the pre-mapped region cannot be used.
+     */
+    private boolean switchToNextRegion() {
+        final Future<MappedByteBuffer> next = nextRegion;
+        nextRegion = null;
+        final MappedByteBuffer nextBuffer;
+        try {
+            nextBuffer = next.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logError("Interrupted while waiting for the next region", ex);
+            return false;
+        } catch (final Exception ex) {
+            logError("Unable to map the next region", ex);
+            return false;
+        }
+        if (mappedBuffer.hasRemaining()) {
+            // an encoder left a few bytes at the end of the region unused:
+            // the next region does not start at the current position
+            unmapInBackground(nextBuffer);
+            return false;
+        }
+        final MappedByteBuffer previous = mappedBuffer;
+        mappingOffset += previous.capacity();
+        mappedBuffer = nextBuffer;
+        this.byteBuffer = nextBuffer;
+        unmapInBackground(previous);
+        return true;
+    }
+
+    private void unmapInBackground(final MappedByteBuffer buffer) {
+        preMapExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    unsafeUnmap(buffer);
+                } catch (final Exception ex) {
+                    logError("Unable to unmap MappedBuffer", ex);
+                }
+            }
+        });
+    }
+
+    private void remapInPlace() {
         final long offset = this.mappingOffset + mappedBuffer.position();
         final int length = mappedBuffer.remaining() + regionLength;
         try {
@@ -152,14 +329,23 @@ public class MemoryMappedFileManager extends OutputStreamManager {
     }
 
     @Override
-    public synchronized void flush() {
-        mappedBuffer.force();
+    public void flush() {
+        runLocked(this, FORCE);
     }
 
     @Override
-    public synchronized boolean closeOutputStream() {
+    public boolean closeOutputStream() {
+        return runLocked(this, CLOSE_OUTPUT_STREAM);
+    }
+
+    private boolean closeOutputStreamLocked() {
+        if (preMapExecutor != null) {
+            stopPreMapping();
+        }
         final long position = mappedBuffer.position();
         final long length = mappingOffset + position;
+        LOGGER.debug("{} {} remapped {} times in {} millis", getClass().getSimpleName(), getName(), remapCount.get(),
+                (float) (remapNanos.get() / NANOS_PER_MILLISEC));
         try {
             unsafeUnmap(mappedBuffer);
         } catch (final Exception ex) {
@@ -177,6 +363,26 @@ public class MemoryMappedFileManager extends OutputStreamManager {
         }
     }
 
+    private void stopPreMapping() {
+        preMapExecutor.shutdown();
+        try {
+            if (!preMapExecutor.awaitTermination(PRE_MAP_SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("{} {} timed out waiting for regions to be mapped or unmapped", getClass().getSimpleName(),
+                        getName());
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (nextRegion != null && nextRegion.isDone()) {
+            try {
+                unsafeUnmap(nextRegion.get());
+            } catch (final Exception ex) {
+                logError("Unable to unmap the next region", ex);
+            }
+        }
+        nextRegion = null;
+    }
+
     public static MappedByteBuffer mmap(final FileChannel fileChannel, final String fileName, final long start,
             final int size) throws IOException {
         for (int i = 1;; i++) {
@@ -210,7 +416,15 @@ public class MemoryMappedFileManager extends OutputStreamManager {
         }
     }
 
-    private static void unsafeUnmap(final MappedByteBuffer mbb) throws PrivilegedActionException {
+    /**
+     * Unmaps the specified buffer without waiting for it to be garbage collected. The buffer must not be accessed
+     * afterwards.
+     *
+     * @param mbb the buffer to unmap
+     * @throws PrivilegedActionException if the buffer could not be unmapped
+     * @since 2.14.0
+     */
+    public static void unsafeUnmap(final MappedByteBuffer mbb) throws PrivilegedActionException {
         LOGGER.debug("MMapAppender unmapping old buffer...");
         final long startNanos = System.nanoTime();
         AccessController.doPrivileged(new PrivilegedExceptionAction<Object>() {
@@ -246,6 +460,38 @@ public class MemoryMappedFileManager extends OutputStreamManager {
         return regionLength;
     }
 
+    /**
+     * Returns the fraction of a region that must be filled before the next region is mapped on a background thread,
+     * or 0 if the next region is mapped when the current region is full.
+     *
+     * @return the pre-map threshold
+     * @since 2.14.0
+     */
+    public float getPreMapThreshold() {
+        return preMapThreshold;
+    }
+
+    /**
+     * Returns the number of times writers moved to a new region.
+     *
+     * @return the number of remaps
+     * @since 2.14.0
+     */
+    public long getRemapCount() {
+        return remapCount.get();
+    }
+
+    /**
+     * Returns the total time writers spent moving to a new region. With a pre-map threshold, this is mostly the time
+     * spent waiting for regions that were not mapped yet.
+     *
+     * @return the remap time in nanoseconds
+     * @since 2.14.0
+     */
+    public long getRemapTimeNanos() {
+        return remapNanos.get();
+    }
+
     /**
      * Returns {@code true} if the content of the buffer should be forced to the storage device on every write,
      * {@code false} otherwise.
@@ -278,6 +524,10 @@ public class MemoryMappedFileManager extends OutputStreamManager {
 
     @Override
     public ByteBuffer getByteBuffer() {
+        // encoders write to the buffer directly: check the pre-map threshold before each event
+        if (mappedBuffer.position() >= preMapPosition) {
+            preMapNextRegion();
+        }
         return mappedBuffer;
     }
 
@@ -294,6 +544,7 @@ public class MemoryMappedFileManager extends OutputStreamManager {
         private final boolean append;
         private final boolean immediateFlush;
         private final int regionLength;
+        private final float preMapThreshold;
         private final String advertiseURI;
         private final Layout<? extends Serializable> layout;
 
@@ -303,14 +554,16 @@ public class MemoryMappedFileManager extends OutputStreamManager {
          * @param append Append to existing file or truncate.
          * @param immediateFlush forces the memory content to be written to the storage device on every event
          * @param regionLength length of the mapped region
+         * @param preMapThreshold fraction of a region that must be filled before the next region is mapped
          * @param advertiseURI the URI to use when advertising the file
          * @param layout The layout.
          */
         public FactoryData(final boolean append, final boolean immediateFlush, final int regionLength,
-                final String advertiseURI, final Layout<? extends Serializable> layout) {
+                final float preMapThreshold, final String advertiseURI, final Layout<? extends Serializable> layout) {
             this.append = append;
             this.immediateFlush = immediateFlush;
             this.regionLength = regionLength;
+            this.preMapThreshold = preMapThreshold;
             this.advertiseURI = advertiseURI;
             this.layout = layout;
         }
@@ -346,7 +599,7 @@ public class MemoryMappedFileManager extends OutputStreamManager {
                 final long position = (data.append) ? raf.length() : 0;
                 raf.setLength(position + data.regionLength);
                 return new MemoryMappedFileManager(raf, name, os, data.immediateFlush, position, data.regionLength,
-                        data.advertiseURI, data.layout, writeHeader);
+                        data.preMapThreshold, data.advertiseURI, data.layout, writeHeader);
             } catch (final Exception ex) {
                 LOGGER.error("MemoryMappedFileManager (" + name + ") " + ex, ex);
                 Closer.closeSilently(raf);
@@ -35,10 +35,53 @@ import org.apache.logging.log4j.core.util.Constants;
  * allow appenders to reconfigure without requiring a new stream.
  */
 public class OutputStreamManager extends AbstractManager implements ByteBufferDestination {
+    private static final int TRANSFER_ARRAY_SIZE = 8192;
+
+    private static final LockedOperation<OutputStreamManager, byte[], Void> WRITE =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length, false);
+                return true;
+            };
+    private static final LockedOperation<OutputStreamManager, byte[], Void> WRITE_AND_FLUSH =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length, true);
+                return true;
+            };
+    private static final LockedOperation<OutputStreamManager, byte[], Void> WRITE_TO_DESTINATION =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeToDestinationLocked(bytes, offset, length);
+                return true;
+            };
+    private static final LockedOperation<OutputStreamManager, Void, Void> FLUSH_DESTINATION =
+            (manager, a, b, offset, length) -> {
+                manager.flushDestinationLocked();
+                return true;
+            };
+    private static final LockedOperation<OutputStreamManager, ByteBuffer, Void> FLUSH_BUFFER =
+            (manager, buf, b, offset, length) -> {
+                manager.flushBufferLocked(buf);
+                return true;
+            };
+    private static final LockedOperation<OutputStreamManager, Void, Void> FLUSH =
+            (manager, a, b, offset, length) -> {
+                manager.flushBuffer(manager.byteBuffer);
+                manager.flushDestination();
+                return true;
+            };
+    private static final LockedOperation<OutputStreamManager, Void, Void> CLOSE_OUTPUT_STREAM =
+            (manager, a, b, offset, length) -> manager.closeOutputStreamLocked();
+    private static final LockedOperation<OutputStreamManager, ByteBuffer, Void> WRITE_BYTES =
+            (manager, data, b, offset, length) -> {
+                ByteBufferDestinationHelper.writeToUnsynchronized(data, manager);
+                return true;
+            };
+
     protected final Layout<?> layout;
     protected ByteBuffer byteBuffer;
     private volatile OutputStream outputStream;
     private boolean skipFooter;
+    // copies direct buffers to streams without a channel, allocated on first use
+    private byte[] transferArray;
 
     protected OutputStreamManager(final OutputStream os, final String streamName, final Layout<?> layout,
             final boolean writeHeader) {
@@ -216,7 +259,11 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
      * @param immediateFlush flushes immediately after writing.
      * @throws AppenderLoggingException if an error occurs.
      */
-    protected synchronized void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        runLocked(this, immediateFlush ? WRITE_AND_FLUSH : WRITE, bytes, null, offset, length);
+    }
+
+    private void writeLocked(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
         if (immediateFlush && byteBuffer.position() == 0) {
             writeToDestination(bytes, offset, length);
             flushDestination();
@@ -224,8 +271,15 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         }
         if (length >= byteBuffer.capacity()) {
             // if request length exceeds buffer capacity, flush the buffer and write the data directly
-            flush();
-            writeToDestination(bytes, offset, length);
+            if (byteBuffer.hasArray()) {
+                flush();
+                writeToDestination(bytes, offset, length);
+            } else {
+                ((Buffer) byteBuffer).flip();
+                writeToDestination(byteBuffer, bytes, offset, length);
+                byteBuffer.clear();
+                flushDestination();
+            }
         } else {
             if (length > byteBuffer.remaining()) {
                 flush();
@@ -245,7 +299,11 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
      * @param length how many bytes to write
      * @since 2.6
      */
-    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+    protected void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        runLocked(this, WRITE_TO_DESTINATION, bytes, null, offset, length);
+    }
+
+    private void writeToDestinationLocked(final byte[] bytes, final int offset, final int length) {
         try {
             getOutputStream().write(bytes, offset, length);
         } catch (final IOException ex) {
@@ -253,11 +311,54 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         }
     }
 
+    /**
+     * Writes the remaining bytes of the specified buffer to the stream. Called to drain a buffer that is not backed by
+     * an array, such as a {@linkplain ByteBuffer#allocateDirect(int) direct buffer}. This implementation copies the
+     * bytes through a small array to {@link #writeToDestination(byte[], int, int)}; subclasses writing to a channel
+     * should override it to write the buffer without the copy.
+     *
+     * @param buf the buffer to write, consumed up to its limit
+     * @since 2.14.0
+     */
+    protected void writeToDestination(final ByteBuffer buf) {
+        if (transferArray == null) {
+            transferArray = new byte[TRANSFER_ARRAY_SIZE];
+        }
+        while (buf.hasRemaining()) {
+            final int length = Math.min(buf.remaining(), transferArray.length);
+            buf.get(transferArray, 0, length);
+            writeToDestination(transferArray, 0, length);
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of the specified buffer followed by the specified section of the specified byte array
+     * to the stream. Called when an event that does not fit a buffer not backed by an array is written. This
+     * implementation writes them one after the other; subclasses writing to a channel should override it to write both
+     * with a single gathering write.
+     *
+     * @param buf the buffered bytes, consumed up to its limit
+     * @param bytes the array containing data
+     * @param offset from where to write
+     * @param length how many bytes to write
+     * @since 2.14.0
+     */
+    protected void writeToDestination(final ByteBuffer buf, final byte[] bytes, final int offset, final int length) {
+        if (buf.hasRemaining()) {
+            writeToDestination(buf);
+        }
+        writeToDestination(bytes, offset, length);
+    }
+
     /**
      * Calls {@code flush()} on the underlying output stream.
      * @since 2.6
      */
-    protected synchronized void flushDestination() {
+    protected void flushDestination() {
+        runLocked(this, FLUSH_DESTINATION);
+    }
+
+    private void flushDestinationLocked() {
         final OutputStream stream = outputStream; // access volatile field only once per method
         if (stream != null) {
             try {
@@ -276,10 +377,18 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
      * @see #flushDestination()
      * @since 2.6
      */
-    protected synchronized void flushBuffer(final ByteBuffer buf) {
+    protected void flushBuffer(final ByteBuffer buf) {
+        runLocked(this, FLUSH_BUFFER, buf, null, 0, 0);
+    }
+
+    private void flushBufferLocked(final ByteBuffer buf) {
         ((Buffer) buf).flip();
         if (buf.remaining() > 0) {
-            writeToDestination(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+            if (buf.hasArray()) {
+                writeToDestination(buf.array(), buf.arrayOffset() + buf.position(), buf.remaining());
+            } else {
+                writeToDestination(buf);
+            }
         }
         buf.clear();
     }
@@ -287,12 +396,15 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
     /**
      * Flushes any buffers.
      */
-    public synchronized void flush() {
-        flushBuffer(byteBuffer);
-        flushDestination();
+    public void flush() {
+        runLocked(this, FLUSH);
+    }
+
+    protected boolean closeOutputStream() {
+        return runLocked(this, CLOSE_OUTPUT_STREAM);
     }
 
-    protected synchronized boolean closeOutputStream() {
+    private boolean closeOutputStreamLocked() {
         flush();
         final OutputStream stream = outputStream; // access volatile field only once per method
         if (stream == null || stream == System.out || stream == System.err) {
@@ -346,8 +458,6 @@ public class OutputStreamManager extends AbstractManager implements ByteBufferDe
         if (data.remaining() == 0) {
           return;
         }
-        synchronized (this) {
-          ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
-        }
+        runLocked(this, WRITE_BYTES, data, null, 0, 0);
     }
 }
@@ -62,6 +62,9 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
         @PluginBuilderAttribute("advertiseURI")
         private String advertiseURI;
 
+        @PluginBuilderAttribute("directBuffer")
+        private boolean directBuffer;
+
         @Override
         public RandomAccessFileAppender build() {
             final String name = getName();
@@ -77,7 +80,7 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
             final Layout<? extends Serializable> layout = getOrCreateLayout();
             final boolean immediateFlush = isImmediateFlush();
             final RandomAccessFileManager manager = RandomAccessFileManager.getFileManager(fileName, append,
-                    immediateFlush, getBufferSize(), advertiseURI, layout, null);
+                    immediateFlush, getBufferSize(), directBuffer, advertiseURI, layout, null);
             if (manager == null) {
                 return null;
             }
@@ -106,6 +109,18 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
             return asBuilder();
         }
 
+        /**
+         * Sets whether the manager buffers events in a direct buffer written to the file channel.
+         *
+         * @param directBuffer whether to use a direct buffer
+         * @return this builder
+         * @since 2.14.0
+         */
+        public B setDirectBuffer(final boolean directBuffer) {
+            this.directBuffer = directBuffer;
+            return asBuilder();
+        }
+
     }
 
     private final String fileName;
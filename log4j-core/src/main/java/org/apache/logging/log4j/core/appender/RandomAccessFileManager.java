@@ -22,6 +22,7 @@ import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -41,6 +42,9 @@ public class RandomAccessFileManager extends OutputStreamManager {
 
     private static final RandomAccessFileManagerFactory FACTORY = new RandomAccessFileManagerFactory();
 
+    private static final LockedOperation<RandomAccessFileManager, Void, Void> CLOSE_OUTPUT_STREAM =
+            (manager, a, b, offset, length) -> manager.closeOutputStreamLocked();
+
     private final String advertiseURI;
     private final RandomAccessFile randomAccessFile;
     private final ThreadLocal<Boolean> isEndOfBatch = new ThreadLocal<>();
@@ -48,7 +52,17 @@ public class RandomAccessFileManager extends OutputStreamManager {
     protected RandomAccessFileManager(final LoggerContext loggerContext, final RandomAccessFile file, final String fileName,
             final OutputStream os, final int bufferSize, final String advertiseURI,
             final Layout<? extends Serializable> layout, final boolean writeHeader) {
-        super(loggerContext, os, fileName, false, layout, writeHeader, ByteBuffer.wrap(new byte[bufferSize]));
+        this(loggerContext, file, fileName, os, ByteBuffer.wrap(new byte[bufferSize]), advertiseURI, layout,
+                writeHeader);
+    }
+
+    /**
+     * @since 2.14.0
+     */
+    protected RandomAccessFileManager(final LoggerContext loggerContext, final RandomAccessFile file, final String fileName,
+            final OutputStream os, final ByteBuffer buffer, final String advertiseURI,
+            final Layout<? extends Serializable> layout, final boolean writeHeader) {
+        super(loggerContext, os, fileName, false, layout, writeHeader, buffer);
         this.randomAccessFile = file;
         this.advertiseURI = advertiseURI;
         this.isEndOfBatch.set(Boolean.FALSE);
@@ -71,10 +85,35 @@ public class RandomAccessFileManager extends OutputStreamManager {
 	public static RandomAccessFileManager getFileManager(final String fileName, final boolean append,
 			final boolean immediateFlush, final int bufferSize, final String advertiseURI,
 			final Layout<? extends Serializable> layout, final Configuration configuration) {
-		return narrow(RandomAccessFileManager.class, getManager(fileName,
-				new FactoryData(append, immediateFlush, bufferSize, advertiseURI, layout, configuration), FACTORY));
+		return getFileManager(fileName, append, immediateFlush, bufferSize, false, advertiseURI, layout,
+				configuration);
 	}
 
+    /**
+     * Returns the RandomAccessFileManager.
+     *
+     * @param fileName The name of the file to manage.
+     * @param append true if the file should be appended to, false if it should
+     *            be overwritten.
+     * @param immediateFlush true if the contents should be flushed to disk on every
+     *            write
+     * @param bufferSize The buffer size.
+     * @param directBuffer true to buffer the contents in a direct buffer written to
+     *            the file channel.
+     * @param advertiseURI the URI to use when advertising the file
+     * @param layout The layout.
+     * @param configuration The configuration.
+     * @return A RandomAccessFileManager for the File.
+     * @since 2.14.0
+     */
+    public static RandomAccessFileManager getFileManager(final String fileName, final boolean append,
+            final boolean immediateFlush, final int bufferSize, final boolean directBuffer,
+            final String advertiseURI, final Layout<? extends Serializable> layout,
+            final Configuration configuration) {
+        return narrow(RandomAccessFileManager.class, getManager(fileName, new FactoryData(append, immediateFlush,
+                bufferSize, directBuffer, advertiseURI, layout, configuration), FACTORY));
+    }
+
     public Boolean isEndOfBatch() {
         return isEndOfBatch.get();
     }
@@ -94,12 +133,44 @@ public class RandomAccessFileManager extends OutputStreamManager {
     }
 
     @Override
-    public synchronized void flush() {
+    protected void writeToDestination(final ByteBuffer buf) {
+        try {
+            final FileChannel channel = randomAccessFile.getChannel();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        } catch (final IOException ex) {
+            final String msg = "Error writing to RandomAccessFile " + getName();
+            throw new AppenderLoggingException(msg, ex);
+        }
+    }
+
+    @Override
+    protected void writeToDestination(final ByteBuffer buf, final byte[] bytes, final int offset, final int length) {
+        final ByteBuffer next = ByteBuffer.wrap(bytes, offset, length);
+        final ByteBuffer[] buffers = {buf, next};
+        try {
+            final FileChannel channel = randomAccessFile.getChannel();
+            while (next.hasRemaining()) {
+                channel.write(buffers);
+            }
+        } catch (final IOException ex) {
+            final String msg = "Error writing to RandomAccessFile " + getName();
+            throw new AppenderLoggingException(msg, ex);
+        }
+    }
+
+    @Override
+    public void flush() {
         flushBuffer(byteBuffer);
     }
 
     @Override
-    public synchronized boolean closeOutputStream() {
+    public boolean closeOutputStream() {
+        return runLocked(this, CLOSE_OUTPUT_STREAM);
+    }
+
+    private boolean closeOutputStreamLocked() {
         flush();
         try {
             randomAccessFile.close();
@@ -150,6 +221,7 @@ public class RandomAccessFileManager extends OutputStreamManager {
         private final boolean append;
         private final boolean immediateFlush;
         private final int bufferSize;
+        private final boolean directBuffer;
         private final String advertiseURI;
         private final Layout<? extends Serializable> layout;
 
@@ -158,14 +230,17 @@ public class RandomAccessFileManager extends OutputStreamManager {
          *
          * @param append Append status.
          * @param bufferSize size of the buffer
+         * @param directBuffer whether the buffer is direct
          * @param configuration The configuration.
          */
         public FactoryData(final boolean append, final boolean immediateFlush, final int bufferSize,
-                final String advertiseURI, final Layout<? extends Serializable> layout, final Configuration configuration) {
+                final boolean directBuffer, final String advertiseURI, final Layout<? extends Serializable> layout,
+                final Configuration configuration) {
             super(configuration);
             this.append = append;
             this.immediateFlush = immediateFlush;
             this.bufferSize = bufferSize;
+            this.directBuffer = directBuffer;
             this.advertiseURI = advertiseURI;
             this.layout = layout;
         }
@@ -202,8 +277,10 @@ public class RandomAccessFileManager extends OutputStreamManager {
                 } else {
                     raf.setLength(0);
                 }
+                final ByteBuffer buffer = data.directBuffer ? ByteBuffer.allocateDirect(data.bufferSize)
+                        : ByteBuffer.wrap(new byte[data.bufferSize]);
                 return new RandomAccessFileManager(data.getLoggerContext(), raf, name,
-                        os, data.bufferSize, data.advertiseURI, data.layout, writeHeader);
+                        os, buffer, data.advertiseURI, data.layout, writeHeader);
             } catch (final Exception ex) {
                 LOGGER.error("RandomAccessFileManager (" + name + ") " + ex, ex);
             }
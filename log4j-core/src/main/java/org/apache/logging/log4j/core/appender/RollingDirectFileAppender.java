@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.Serializable;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.rolling.RollingDirectFileManager;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.net.Advertiser;
+
+/**
+ * An appender that writes whole, aligned blocks to files, bypassing the page cache where the JDK and the file system
+ * support direct I/O, and can roll over at intervals or when the file reaches a size.
+ *
+ * @see AlignedBlockWriter
+ * @since 2.14.0
+ */
+@Plugin(name = "RollingDirectFile", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public final class RollingDirectFileAppender extends AbstractRollingFileAppender<RollingDirectFileManager> {
+
+    /**
+     * Builds RollingDirectFileAppender instances.
+     *
+     * @param <B>
+     *            The type to build
+     */
+    public static class Builder<B extends Builder<B>> extends AbstractRollingFileAppender.Builder<B>
+            implements org.apache.logging.log4j.core.util.Builder<RollingDirectFileAppender> {
+
+        @PluginBuilderAttribute("directIo")
+        private boolean directIo = true;
+
+        public Builder() {
+            super();
+            withBufferSize(RollingDirectFileManager.DEFAULT_BUFFER_SIZE);
+        }
+
+        @Override
+        public RollingDirectFileAppender build() {
+            if (!isValid("RollingDirectFileAppender")) {
+                return null;
+            }
+            final Layout<? extends Serializable> layout = getOrCreateLayout();
+            final RollingDirectFileManager manager = RollingDirectFileManager
+                    .getRollingDirectFileManager(getFileName(), getFilePattern(), isAppend(), getBufferSize(),
+                            directIo, getPolicy(), getStrategy(), getAdvertiseURI(), layout, getFilePermissions(),
+                            getFileOwner(), getFileGroup(), getConfiguration());
+            if (manager == null) {
+                return null;
+            }
+
+            manager.initialize();
+
+            return new RollingDirectFileAppender(getName(), layout, getFilter(), manager, getFileName(),
+                    getFilePattern(), isIgnoreExceptions(), isImmediateFlush(), getAdvertiser(), getPropertyArray());
+        }
+
+        public boolean isDirectIo() {
+            return directIo;
+        }
+
+        public B setDirectIo(final boolean directIo) {
+            this.directIo = directIo;
+            return asBuilder();
+        }
+    }
+
+    private RollingDirectFileAppender(final String name, final Layout<? extends Serializable> layout,
+            final Filter filter, final RollingDirectFileManager manager, final String fileName,
+            final String filePattern, final boolean ignoreExceptions, final boolean immediateFlush,
+            final Advertiser advertiser, final Property[] properties) {
+        super(name, layout, filter, manager, fileName, filePattern, ignoreExceptions, immediateFlush, advertiser,
+                properties);
+    }
+
+    /**
+     * Returns the size of the buffer, a whole number of blocks.
+     *
+     * @return the buffer size in bytes
+     */
+    public int getBufferSize() {
+        return getManager().getBufferSize();
+    }
+
+    @PluginBuilderFactory
+    public static <B extends Builder<B>> B newBuilder() {
+        return new Builder<B>().asBuilder();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.Serializable;
+
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.rolling.RollingMemoryMappedFileManager;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.net.Advertiser;
+
+/**
+ * An appender that writes to memory mapped files and can roll over at intervals or when the file reaches a size.
+ *
+ * @since 2.14.0
+ */
+@Plugin(name = "RollingMemoryMappedFile", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
+public final class RollingMemoryMappedFileAppender extends AbstractRollingFileAppender<RollingMemoryMappedFileManager> {
+
+    /**
+     * Builds RollingMemoryMappedFileAppender instances.
+     *
+     * @param <B>
+     *            The type to build
+     */
+    public static class Builder<B extends Builder<B>> extends AbstractRollingFileAppender.Builder<B>
+            implements org.apache.logging.log4j.core.util.Builder<RollingMemoryMappedFileAppender> {
+
+        @PluginBuilderAttribute("regionLength")
+        private int regionLength = MemoryMappedFileManager.DEFAULT_REGION_LENGTH;
+
+        @Override
+        public RollingMemoryMappedFileAppender build() {
+            if (!isValid("RollingMemoryMappedFileAppender")) {
+                return null;
+            }
+            final String name = getName();
+            final int actualRegionLength = MemoryMappedFileAppender.determineValidRegionLength(name, regionLength);
+
+            final Layout<? extends Serializable> layout = getOrCreateLayout();
+            final RollingMemoryMappedFileManager manager = RollingMemoryMappedFileManager
+                    .getRollingMemoryMappedFileManager(getFileName(), getFilePattern(), isAppend(),
+                            isImmediateFlush(), actualRegionLength, getPolicy(), getStrategy(), getAdvertiseURI(),
+                            layout, getFilePermissions(), getFileOwner(), getFileGroup(), getConfiguration());
+            if (manager == null) {
+                return null;
+            }
+
+            manager.initialize();
+
+            return new RollingMemoryMappedFileAppender(name, layout, getFilter(), manager, getFileName(),
+                    getFilePattern(), isIgnoreExceptions(), false, getAdvertiser(), getPropertyArray());
+        }
+
+        public int getRegionLength() {
+            return regionLength;
+        }
+
+        public B setRegionLength(final int regionLength) {
+            this.regionLength = regionLength;
+            return asBuilder();
+        }
+    }
+
+    private RollingMemoryMappedFileAppender(final String name, final Layout<? extends Serializable> layout,
+            final Filter filter, final RollingMemoryMappedFileManager manager, final String fileName,
+            final String filePattern, final boolean ignoreExceptions, final boolean immediateFlush,
+            final Advertiser advertiser, final Property[] properties) {
+        super(name, layout, filter, manager, fileName, filePattern, ignoreExceptions, immediateFlush, advertiser,
+                properties);
+    }
+
+    /**
+     * Returns the length of the memory mapped region.
+     *
+     * @return the length of the memory mapped region
+     */
+    public int getRegionLength() {
+        return getManager().getRegionLength();
+    }
+
+    @PluginBuilderFactory
+    public static <B extends Builder<B>> B newBuilder() {
+        return new Builder<B>().asBuilder();
+    }
+}
@@ -40,6 +40,8 @@ import org.apache.logging.log4j.core.config.plugins.validation.constraints.Valid
 import org.apache.logging.log4j.core.net.AbstractSocketManager;
 import org.apache.logging.log4j.core.net.Advertiser;
 import org.apache.logging.log4j.core.net.DatagramSocketManager;
+import org.apache.logging.log4j.core.net.LoadBalancedSocketManager;
+import org.apache.logging.log4j.core.net.NioSocketManager;
 import org.apache.logging.log4j.core.net.Protocol;
 import org.apache.logging.log4j.core.net.SocketOptions;
 import org.apache.logging.log4j.core.net.SslSocketManager;
@@ -81,9 +83,18 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         @ValidHost
         private String host = "localhost";
 
+        @PluginBuilderAttribute
+        private String endpoints;
+
         @PluginBuilderAttribute
         private boolean immediateFail = true;
 
+        @PluginBuilderAttribute
+        private LoadBalancedSocketManager.Strategy loadBalancing;
+
+        @PluginBuilderAttribute
+        private boolean nonBlocking;
+
         @PluginBuilderAttribute
         @ValidPort
         private int port;
@@ -95,9 +106,18 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
         @PluginAliases({ "reconnectDelay", "reconnectionDelay", "delayMillis", "reconnectionDelayMillis" })
         private int reconnectDelayMillis;
 
+        @PluginBuilderAttribute
+        private int ringBufferSize = NioSocketManager.DEFAULT_RING_BUFFER_SIZE;
+
+        @PluginBuilderAttribute
+        private NioSocketManager.RingFullPolicy ringFullPolicy = NioSocketManager.RingFullPolicy.DROP;
+
         @PluginElement("SocketOptions")
         private SocketOptions socketOptions;
 
+        @PluginElement("SpillBuffer")
+        private SpillBufferConfiguration spillBuffer;
+
         @PluginElement("SslConfiguration")
         @PluginAliases({ "SslConfig" })
         private SslConfiguration sslConfiguration;
@@ -130,6 +150,41 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return immediateFail;
         }
 
+        /**
+         * @since 2.14.0
+         */
+        public String getEndpoints() {
+            return endpoints;
+        }
+
+        /**
+         * @since 2.14.0
+         */
+        public LoadBalancedSocketManager.Strategy getLoadBalancing() {
+            return loadBalancing;
+        }
+
+        /**
+         * @since 2.14.0
+         */
+        public boolean isNonBlocking() {
+            return nonBlocking;
+        }
+
+        /**
+         * @since 2.14.0
+         */
+        public int getRingBufferSize() {
+            return ringBufferSize;
+        }
+
+        /**
+         * @since 2.14.0
+         */
+        public NioSocketManager.RingFullPolicy getRingFullPolicy() {
+            return ringFullPolicy;
+        }
+
         public B withAdvertise(final boolean advertise) {
             this.advertise = advertise;
             return asBuilder();
@@ -145,11 +200,60 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return asBuilder();
         }
 
+        /**
+         * Sets a comma separated list of {@code host:port} endpoints to balance over instead of the addresses of
+         * the host.
+         *
+         * @since 2.14.0
+         */
+        public B withEndpoints(final String endpoints) {
+            this.endpoints = endpoints;
+            return asBuilder();
+        }
+
         public B withImmediateFail(final boolean immediateFail) {
             this.immediateFail = immediateFail;
             return asBuilder();
         }
 
+        /**
+         * Keeps a non-blocking connection open to every endpoint and spreads events across them with the given
+         * strategy. Only applies to plain TCP.
+         *
+         * @since 2.14.0
+         */
+        public B withLoadBalancing(final LoadBalancedSocketManager.Strategy loadBalancing) {
+            this.loadBalancing = loadBalancing;
+            return asBuilder();
+        }
+
+        /**
+         * Sends events from a dedicated I/O thread over a non-blocking channel instead of writing to the socket on the
+         * logging thread. Only applies to plain TCP.
+         *
+         * @since 2.14.0
+         */
+        public B withNonBlocking(final boolean nonBlocking) {
+            this.nonBlocking = nonBlocking;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.14.0
+         */
+        public B withRingBufferSize(final int ringBufferSize) {
+            this.ringBufferSize = ringBufferSize;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.14.0
+         */
+        public B withRingFullPolicy(final NioSocketManager.RingFullPolicy ringFullPolicy) {
+            this.ringFullPolicy = ringFullPolicy;
+            return asBuilder();
+        }
+
         public B withPort(final int port) {
             this.port = port;
             return asBuilder();
@@ -165,6 +269,16 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return asBuilder();
         }
 
+        /**
+         * Sets the spill buffer used by the "SPILL" ring full policy.
+         *
+         * @since 2.14.0
+         */
+        public B withSpillBuffer(final SpillBufferConfiguration spillBuffer) {
+            this.spillBuffer = spillBuffer;
+            return asBuilder();
+        }
+
         public B withSocketOptions(final SocketOptions socketOptions) {
             this.socketOptions = socketOptions;
             return asBuilder();
@@ -183,6 +297,13 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
             return socketOptions;
         }
 
+        /**
+         * @since 2.14.0
+         */
+        public SpillBufferConfiguration getSpillBuffer() {
+            return spillBuffer;
+        }
+
     }
 
     /**
@@ -218,8 +339,26 @@ public class SocketAppender extends AbstractOutputStreamAppender<AbstractSocketM
                 immediateFlush = true;
             }
 
-            final AbstractSocketManager manager = SocketAppender.createSocketManager(name, actualProtocol, getHost(), getPort(),
-                    getConnectTimeoutMillis(), getSslConfiguration(), getReconnectDelayMillis(), getImmediateFail(), layout, getBufferSize(), getSocketOptions());
+            final boolean plainTcp = actualProtocol == Protocol.TCP && getSslConfiguration() == null;
+            final AbstractSocketManager manager;
+            if (getLoadBalancing() != null && plainTcp) {
+                manager = LoadBalancedSocketManager.getSocketManager(getHost(), getPort(), getEndpoints(),
+                        getLoadBalancing(), getConnectTimeoutMillis(), getReconnectDelayMillis(), layout,
+                        getBufferSize(), getRingBufferSize(), getRingFullPolicy(), getSpillBuffer(),
+                        getSocketOptions());
+            } else if (isNonBlocking() && plainTcp) {
+                manager = NioSocketManager.getSocketManager(getHost(), getPort(), getConnectTimeoutMillis(),
+                        getReconnectDelayMillis(), layout, getBufferSize(), getRingBufferSize(), getRingFullPolicy(),
+                        getSpillBuffer(), getSocketOptions());
+            } else {
+                if (isNonBlocking() || getLoadBalancing() != null) {
+                    AbstractLifeCycle.LOGGER.warn(
+                            "SocketAppender {} ignores nonBlocking and loadBalancing, they only apply to plain TCP",
+                            name);
+                }
+                manager = SocketAppender.createSocketManager(name, actualProtocol, getHost(), getPort(),
+                        getConnectTimeoutMillis(), getSslConfiguration(), getReconnectDelayMillis(), getImmediateFail(), layout, getBufferSize(), getSocketOptions());
+            }
 
             return new SocketAppender(name, layout, getFilter(), manager, isIgnoreExceptions(),
                     !bufferedIo || immediateFlush, getAdvertise() ? getConfiguration().getAdvertiser() : null,
@@ -0,0 +1,431 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * A journal on disk that holds encoded events while the destination of a manager is unavailable.
+ * <p>
+ * Records are appended to memory-mapped segment files of a fixed size in a directory; a new segment is started when
+ * a record does not fit in the current one, and a segment is deleted as soon as all of its records have been removed.
+ * Each record is stored as its length followed by its bytes, and each segment remembers in its header how far it has
+ * been consumed, so records that were not replayed before the application stopped are found again when a buffer with
+ * the same name is opened on the same directory.
+ * </p>
+ * <p>
+ * The number of segments is bounded by {@code maxBytes}; when that limit is reached the {@link OverflowPolicy}
+ * decides whether the new record or the oldest segment is discarded.
+ * </p>
+ * <p>
+ * Records are consumed in order with {@link #peek()} and {@link #remove()}; a record is only removed once the caller
+ * has delivered it. All methods are thread-safe.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class SpillBuffer implements Closeable {
+
+    /**
+     * What to discard when the buffer has reached its maximum size.
+     */
+    public enum OverflowPolicy {
+        /** Reject the record being appended. */
+        DROP_NEWEST,
+        /** Delete the oldest segment, with all the records it still holds, to make room. */
+        DROP_OLDEST
+    }
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final int MAGIC = 0x4C34534A;
+    private static final int READ_POSITION_OFFSET = 4;
+    private static final int HEADER_SIZE = 8;
+    private static final int LENGTH_SIZE = 4;
+    private static final String SUFFIX = ".spill";
+
+    private final Path directory;
+    private final String prefix;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final OverflowPolicy overflowPolicy;
+    // oldest first
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private long nextSequence;
+    private long pendingRecords;
+    private long pendingBytes;
+    private long droppedRecords;
+    private boolean closed;
+
+    /**
+     * Opens a spill buffer, recovering the records left by a previous buffer with the same name.
+     *
+     * @param configuration The configuration.
+     * @param name The name of the buffer, usually the name of the manager; it is part of the file names.
+     * @return the spill buffer.
+     * @throws IOException if the directory or a segment cannot be opened.
+     */
+    public static SpillBuffer open(final SpillBufferConfiguration configuration, final String name)
+            throws IOException {
+        return new SpillBuffer(configuration.getDirectory(), name, configuration.getSegmentSize(),
+                configuration.getMaxBytes(), configuration.getOverflowPolicy());
+    }
+
+    /**
+     * Constructs a spill buffer, recovering the records left by a previous buffer with the same name.
+     *
+     * @param directory The directory of the segment files.
+     * @param name The name of the buffer; it is part of the file names.
+     * @param segmentSize The size in bytes of each segment file.
+     * @param maxBytes The maximum size in bytes of all segment files together.
+     * @param overflowPolicy What to discard when the buffer is full.
+     * @throws IOException if the directory or a segment cannot be opened.
+     */
+    public SpillBuffer(final Path directory, final String name, final int segmentSize, final long maxBytes,
+            final OverflowPolicy overflowPolicy) throws IOException {
+        if (segmentSize <= HEADER_SIZE + LENGTH_SIZE) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.prefix = name.replaceAll("[^A-Za-z0-9._-]", "_") + '-';
+        this.segmentSize = segmentSize;
+        this.maxSegments = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBytes / segmentSize));
+        this.overflowPolicy = overflowPolicy == null ? OverflowPolicy.DROP_NEWEST : overflowPolicy;
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        final List<Long> sequences = new ArrayList<>();
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + SUFFIX)) {
+            for (final Path path : stream) {
+                final String fileName = path.getFileName().toString();
+                try {
+                    sequences.add(Long.valueOf(
+                            fileName.substring(prefix.length(), fileName.length() - SUFFIX.length())));
+                } catch (final NumberFormatException ex) {
+                    // someone else's file
+                }
+            }
+        }
+        Collections.sort(sequences);
+        for (final Long sequence : sequences) {
+            final Path path = segmentPath(sequence);
+            final Segment segment = Segment.open(path, -1);
+            if (segment == null) {
+                LOGGER.warn("Ignoring {}, it is not a spill segment", path);
+                continue;
+            }
+            if (segment.pendingRecords == 0) {
+                segment.delete();
+                continue;
+            }
+            segments.add(segment);
+            pendingRecords += segment.pendingRecords;
+            pendingBytes += segment.pendingBytes;
+            nextSequence = sequence + 1;
+        }
+        if (pendingRecords > 0) {
+            LOGGER.info("Recovered {} spilled records ({} bytes) from {}", pendingRecords, pendingBytes, directory);
+        }
+    }
+
+    private Path segmentPath(final long sequence) {
+        return directory.resolve(prefix + String.format("%019d", sequence) + SUFFIX);
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param bytes The array holding the record.
+     * @param offset The offset of the record in the array.
+     * @param length The length of the record.
+     * @return true if the record was appended, false if it was discarded.
+     */
+    public synchronized boolean append(final byte[] bytes, final int offset, final int length) {
+        if (closed || length <= 0 || length > segmentSize - HEADER_SIZE - LENGTH_SIZE) {
+            droppedRecords++;
+            return false;
+        }
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.writePosition + LENGTH_SIZE + length > segment.capacity) {
+            if (segments.size() >= maxSegments) {
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    droppedRecords++;
+                    return false;
+                }
+                final Segment oldest = segments.removeFirst();
+                droppedRecords += oldest.pendingRecords;
+                pendingRecords -= oldest.pendingRecords;
+                pendingBytes -= oldest.pendingBytes;
+                oldest.delete();
+            }
+            try {
+                segment = Segment.open(segmentPath(nextSequence), segmentSize);
+            } catch (final IOException ex) {
+                LOGGER.error("Unable to create spill segment in {}: {}", directory, ex.toString(), ex);
+                droppedRecords++;
+                return false;
+            }
+            nextSequence++;
+            segments.add(segment);
+        }
+        segment.append(bytes, offset, length);
+        pendingRecords++;
+        pendingBytes += length;
+        return true;
+    }
+
+    /**
+     * Returns the oldest record without removing it. The returned buffer is only valid until the next call to
+     * {@link #remove()}.
+     *
+     * @return a read-only buffer holding the oldest record, or null if there is none.
+     */
+    public synchronized ByteBuffer peek() {
+        final Segment segment = head();
+        return segment == null ? null : segment.peek();
+    }
+
+    /**
+     * Removes the oldest record, usually after the record returned by {@link #peek()} has been delivered.
+     */
+    public synchronized void remove() {
+        final Segment segment = head();
+        if (segment == null) {
+            return;
+        }
+        final int length = segment.remove();
+        pendingRecords--;
+        pendingBytes -= length;
+        if (segment.pendingRecords == 0 && segments.size() > 1) {
+            segments.removeFirst();
+            segment.delete();
+        }
+    }
+
+    private Segment head() {
+        if (closed) {
+            return null;
+        }
+        Segment segment = segments.peekFirst();
+        while (segment != null && segment.pendingRecords == 0 && segments.size() > 1) {
+            segments.removeFirst().delete();
+            segment = segments.peekFirst();
+        }
+        return segment == null || segment.pendingRecords == 0 ? null : segment;
+    }
+
+    public synchronized boolean isEmpty() {
+        return pendingRecords == 0;
+    }
+
+    /**
+     * Returns the number of records waiting to be replayed.
+     *
+     * @return the number of pending records.
+     */
+    public synchronized long getPendingRecords() {
+        return pendingRecords;
+    }
+
+    /**
+     * Returns the number of bytes waiting to be replayed, not counting the framing.
+     *
+     * @return the number of pending bytes.
+     */
+    public synchronized long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * Returns the number of records discarded because they did not fit or because of the overflow policy.
+     *
+     * @return the number of dropped records.
+     */
+    public synchronized long getDroppedRecords() {
+        return droppedRecords;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Closes the segment files. Records that were not removed stay on disk for the next buffer with the same name.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (final Segment segment : segments) {
+            if (segment.pendingRecords == 0) {
+                segment.delete();
+            } else {
+                segment.close();
+            }
+        }
+        segments.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "SpillBuffer [directory=" + directory + ", prefix=" + prefix + ", segmentSize=" + segmentSize
+                + ", maxSegments=" + maxSegments + ", overflowPolicy=" + overflowPolicy + "]";
+    }
+
+    /**
+     * A memory-mapped segment file: a header holding a magic number and the read position, then the records.
+     * Unused space is zero, so the first zero length marks the end of the records.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        private int readPosition;
+        private int writePosition;
+        private long pendingRecords;
+        private long pendingBytes;
+
+        private Segment(final Path path, final FileChannel channel, final MappedByteBuffer buffer) {
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+            this.capacity = buffer.capacity();
+        }
+
+        /**
+         * Creates a segment of the given size, or opens an existing one when the size is negative.
+         *
+         * @return the segment, or null if an existing file is not a segment.
+         */
+        static Segment open(final Path path, final int size) throws IOException {
+            final FileChannel channel = size < 0
+                    ? FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                    : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                            StandardOpenOption.CREATE_NEW);
+            try {
+                final long length = size < 0 ? channel.size() : size;
+                if (length <= HEADER_SIZE || length > Integer.MAX_VALUE) {
+                    channel.close();
+                    return null;
+                }
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+                final Segment segment = new Segment(path, channel, buffer);
+                if (size >= 0) {
+                    buffer.putInt(0, MAGIC);
+                    buffer.putInt(READ_POSITION_OFFSET, HEADER_SIZE);
+                    segment.readPosition = HEADER_SIZE;
+                    segment.writePosition = HEADER_SIZE;
+                    return segment;
+                }
+                if (buffer.getInt(0) != MAGIC) {
+                    channel.close();
+                    return null;
+                }
+                segment.scan();
+                return segment;
+            } catch (final IOException | RuntimeException ex) {
+                channel.close();
+                throw ex;
+            }
+        }
+
+        private void scan() {
+            readPosition = Math.max(HEADER_SIZE, buffer.getInt(READ_POSITION_OFFSET));
+            int position = HEADER_SIZE;
+            while (position + LENGTH_SIZE <= capacity) {
+                final int length = buffer.getInt(position);
+                if (length <= 0 || position + LENGTH_SIZE + length > capacity) {
+                    break;
+                }
+                if (position >= readPosition) {
+                    pendingRecords++;
+                    pendingBytes += length;
+                }
+                position += LENGTH_SIZE + length;
+            }
+            writePosition = position;
+            readPosition = Math.min(readPosition, writePosition);
+        }
+
+        void append(final byte[] bytes, final int offset, final int length) {
+            final ByteBuffer target = buffer.duplicate();
+            target.position(writePosition + LENGTH_SIZE);
+            target.put(bytes, offset, length);
+            // the length goes last: a record only exists once its bytes are in place
+            buffer.putInt(writePosition, length);
+            writePosition += LENGTH_SIZE + length;
+            pendingRecords++;
+            pendingBytes += length;
+        }
+
+        ByteBuffer peek() {
+            final int length = buffer.getInt(readPosition);
+            final ByteBuffer record = buffer.asReadOnlyBuffer();
+            record.limit(readPosition + LENGTH_SIZE + length).position(readPosition + LENGTH_SIZE);
+            return record.slice();
+        }
+
+        int remove() {
+            final int length = buffer.getInt(readPosition);
+            readPosition += LENGTH_SIZE + length;
+            buffer.putInt(READ_POSITION_OFFSET, readPosition);
+            pendingRecords--;
+            pendingBytes -= length;
+            return length;
+        }
+
+        void close() {
+            try {
+                buffer.force();
+                channel.close();
+            } catch (final IOException | RuntimeException ex) {
+                LOGGER.warn("Unable to close spill segment {}: {}", path, ex.toString());
+            }
+        }
+
+        void delete() {
+            try {
+                channel.close();
+                // the mapping itself goes away with the buffer, records handed out by peek() stay readable
+                Files.deleteIfExists(path);
+            } catch (final IOException ex) {
+                LOGGER.debug("Unable to delete spill segment {}, it will be removed on recovery: {}", path,
+                        ex.toString());
+            }
+        }
+    }
+}
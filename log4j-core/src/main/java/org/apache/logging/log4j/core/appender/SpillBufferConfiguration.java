@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.appender.SpillBuffer.OverflowPolicy;
+import org.apache.logging.log4j.core.appender.rolling.FileSize;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
+
+/**
+ * Configures the {@link SpillBuffer} of a network appender: where the segment files go, how large they are, how much
+ * disk space they may use together and what to discard when that space is used up.
+ *
+ * @since 2.14.0
+ */
+@Plugin(name = "SpillBuffer", category = Core.CATEGORY_NAME, printObject = true)
+public final class SpillBufferConfiguration {
+
+    /**
+     * The default size of a segment file (16 MB).
+     */
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+
+    /**
+     * The default maximum size of all segment files together (256 MB).
+     */
+    public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxBytes;
+    private final OverflowPolicy overflowPolicy;
+
+    private SpillBufferConfiguration(final Path directory, final int segmentSize, final long maxBytes,
+            final OverflowPolicy overflowPolicy) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    @Override
+    public String toString() {
+        return "SpillBufferConfiguration [directory=" + directory + ", segmentSize=" + segmentSize + ", maxBytes="
+                + maxBytes + ", overflowPolicy=" + overflowPolicy + "]";
+    }
+
+    @PluginBuilderFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder implements org.apache.logging.log4j.core.util.Builder<SpillBufferConfiguration> {
+
+        @PluginBuilderAttribute
+        @Required(message = "No directory provided for SpillBuffer")
+        private String directory;
+
+        @PluginBuilderAttribute
+        private String segmentSize;
+
+        @PluginBuilderAttribute
+        private String maxSize;
+
+        @PluginBuilderAttribute
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_NEWEST;
+
+        public Builder setDirectory(final String directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Sets the size of a segment file, for example "16 MB".
+         */
+        public Builder setSegmentSize(final String segmentSize) {
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        /**
+         * Sets the maximum size of all segment files together, for example "1 GB".
+         */
+        public Builder setMaxSize(final String maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        public Builder setOverflowPolicy(final OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        @Override
+        public SpillBufferConfiguration build() {
+            final long segment = segmentSize == null ? DEFAULT_SEGMENT_SIZE
+                    : FileSize.parse(segmentSize, DEFAULT_SEGMENT_SIZE);
+            final int actualSegmentSize = (int) Math.min(Integer.MAX_VALUE, segment);
+            final long max = maxSize == null ? DEFAULT_MAX_SIZE : FileSize.parse(maxSize, DEFAULT_MAX_SIZE);
+            final long actualMaxSize = Math.max(actualSegmentSize, max);
+            return new SpillBufferConfiguration(Paths.get(directory), actualSegmentSize, actualMaxSize,
+                    overflowPolicy);
+        }
+    }
+}
@@ -28,6 +28,22 @@ import org.apache.logging.log4j.core.StringLayout;
  */
 public class WriterManager extends AbstractManager {
 
+    private static final LockedOperation<WriterManager, Void, Void> CLOSE_WRITER =
+            (manager, a, b, offset, length) -> {
+                manager.closeWriterLocked();
+                return true;
+            };
+    private static final LockedOperation<WriterManager, Void, Void> FLUSH =
+            (manager, a, b, offset, length) -> {
+                manager.flushLocked();
+                return true;
+            };
+    private static final LockedOperation<WriterManager, String, Void> WRITE =
+            (manager, str, b, offset, length) -> {
+                manager.writeLocked(str);
+                return true;
+            };
+
     /**
      * Creates a Manager.
      *
@@ -62,7 +78,11 @@ public class WriterManager extends AbstractManager {
         }
     }
 
-    protected synchronized void closeWriter() {
+    protected void closeWriter() {
+        runLocked(this, CLOSE_WRITER);
+    }
+
+    private void closeWriterLocked() {
         final Writer w = writer; // access volatile field only once per method
         try {
             w.close();
@@ -74,7 +94,11 @@ public class WriterManager extends AbstractManager {
     /**
      * Flushes any buffers.
      */
-    public synchronized void flush() {
+    public void flush() {
+        runLocked(this, FLUSH);
+    }
+
+    private void flushLocked() {
         try {
             writer.flush();
         } catch (final IOException ex) {
@@ -125,7 +149,11 @@ public class WriterManager extends AbstractManager {
      * @param str the string to write
      * @throws AppenderLoggingException if an error occurs.
      */
-    protected synchronized void write(final String str)  {
+    protected void write(final String str)  {
+        runLocked(this, WRITE, str, null, 0, 0);
+    }
+
+    private void writeLocked(final String str) {
         try {
             writer.write(str);
         } catch (final IOException ex) {
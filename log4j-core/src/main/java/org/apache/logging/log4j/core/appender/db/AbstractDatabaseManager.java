@@ -31,7 +31,25 @@ import org.apache.logging.log4j.core.appender.ManagerFactory;
  * Manager that allows database appenders to have their configuration reloaded without losing events.
  */
 public abstract class AbstractDatabaseManager extends AbstractManager implements Flushable {
-    
+
+    private static final LockedOperation<AbstractDatabaseManager, Void, Void> FLUSH =
+            (manager, a, b, offset, length) -> {
+                manager.flushLocked();
+                return true;
+            };
+    private static final LockedOperation<AbstractDatabaseManager, Void, Void> SHUTDOWN =
+            (manager, a, b, offset, length) -> manager.shutdownLocked();
+    private static final LockedOperation<AbstractDatabaseManager, Void, Void> STARTUP =
+            (manager, a, b, offset, length) -> {
+                manager.startupLocked();
+                return true;
+            };
+    private static final LockedOperation<AbstractDatabaseManager, LogEvent, Serializable> WRITE =
+            (manager, event, serializable, offset, length) -> {
+                manager.writeLocked(event, serializable);
+                return true;
+            };
+
     /**
      * Implementations should extend this class for passing data between the getManager method and the manager factory
      * class.
@@ -147,7 +165,11 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * {@link #shutdown()}. It can also be called manually to flush events to the database.
      */
     @Override
-    public final synchronized void flush() {
+    public final void flush() {
+        runLocked(this, FLUSH);
+    }
+
+    private void flushLocked() {
         if (this.isRunning() && isBuffered()) {
             this.connectAndStart();
             try {
@@ -187,7 +209,11 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * it might throw.
      * @return true if all resources were closed normally, false otherwise.
      */
-    public final synchronized boolean shutdown() {
+    public final boolean shutdown() {
+        return runLocked(this, SHUTDOWN);
+    }
+
+    private boolean shutdownLocked() {
         boolean closed = true;
         this.flush();
         if (this.isRunning()) {
@@ -216,7 +242,11 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * This method is called within the appender when the appender is started. If it has not already been called, it
      * calls {@link #startupInternal()} and catches any exceptions it might throw.
      */
-    public final synchronized void startup() {
+    public final void startup() {
+        runLocked(this, STARTUP);
+    }
+
+    private void startupLocked() {
         if (!this.isRunning()) {
             try {
                 this.startupInternal();
@@ -247,7 +277,7 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * @deprecated since 2.11.0 Use {@link #write(LogEvent, Serializable)}.
      */
     @Deprecated
-    public final synchronized void write(final LogEvent event) {
+    public final void write(final LogEvent event) {
         write(event, null);
     }
     
@@ -257,7 +287,11 @@ public abstract class AbstractDatabaseManager extends AbstractManager implements
      * @param event The event to write to the database.
      * @param serializable Serializable event
      */
-    public final synchronized void write(final LogEvent event, final Serializable serializable) {
+    public final void write(final LogEvent event, final Serializable serializable) {
+        runLocked(this, WRITE, event, serializable, 0, 0);
+    }
+
+    private void writeLocked(final LogEvent event, final Serializable serializable) {
         if (isBuffered()) {
             buffer(event);
         } else {
@@ -336,6 +336,16 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
 
     private static final JdbcDatabaseManagerFactory INSTANCE = new JdbcDatabaseManagerFactory();
 
+    private static final LockedOperation<JdbcDatabaseManager, Void, Void> CONNECT_AND_PREPARE =
+            (manager, a, b, offset, length) -> {
+                try {
+                    manager.connectAndPrepare();
+                } catch (final SQLException e) {
+                    manager.reconnectOn(e);
+                }
+                return true;
+            };
+
     private static void appendColumnName(final int i, final String columnName, final StringBuilder sb) {
         if (i > 1) {
             sb.append(',');
@@ -609,13 +619,7 @@ public final class JdbcDatabaseManager extends AbstractDatabaseManager {
     @Override
     protected void connectAndStart() {
         checkConnection();
-        synchronized (this) {
-            try {
-                connectAndPrepare();
-            } catch (final SQLException e) {
-                reconnectOn(e);
-            }
-        }
+        runLocked(this, CONNECT_AND_PREPARE);
     }
 
     private Reconnector createReconnector() {
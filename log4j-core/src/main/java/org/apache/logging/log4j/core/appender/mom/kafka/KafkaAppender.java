@@ -65,6 +65,9 @@ public final class KafkaAppender extends AbstractAppender {
 		@PluginAttribute(value = "syncSend", defaultBoolean = true)
 		private boolean syncSend;
 
+		@PluginAttribute(value = "batchSize", defaultInt = 0)
+		private int batchSize;
+
 		@SuppressWarnings("resource")
 		@Override
 		public KafkaAppender build() {
@@ -74,7 +77,7 @@ public final class KafkaAppender extends AbstractAppender {
 				return null;
 			}
 			final KafkaManager kafkaManager = KafkaManager.getManager(getConfiguration().getLoggerContext(), getName(),
-					topic, syncSend, getPropertyArray(), key);
+					topic, syncSend, getPropertyArray(), key, batchSize);
 			return new KafkaAppender(getName(), layout, getFilter(), isIgnoreExceptions(), kafkaManager,
 					getPropertyArray(), getRetryCount());
 		}
@@ -102,6 +105,21 @@ public final class KafkaAppender extends AbstractAppender {
 			return asBuilder();
 		}
 
+		public int getBatchSize() {
+			return batchSize;
+		}
+
+		/**
+		 * Sets the number of records to send before waiting for their acknowledgements; 0 (the default) sends each
+		 * record on its own.
+		 *
+		 * @since 2.14.0
+		 */
+		public B setBatchSize(final int batchSize) {
+			this.batchSize = batchSize;
+			return asBuilder();
+		}
+
 		public Integer getRetryCount() {
 			Integer intRetryCount = null;
 			try {
@@ -178,17 +196,16 @@ public final class KafkaAppender extends AbstractAppender {
 
 	private void tryAppend(final LogEvent event) throws ExecutionException, InterruptedException, TimeoutException {
 		final Layout<? extends Serializable> layout = getLayout();
-		byte[] data;
 		if (layout instanceof SerializedLayout) {
 			final byte[] header = layout.getHeader();
 			final byte[] body = layout.toByteArray(event);
-			data = new byte[header.length + body.length];
+			final byte[] data = new byte[header.length + body.length];
 			System.arraycopy(header, 0, data, 0, header.length);
 			System.arraycopy(body, 0, data, header.length, body.length);
+			manager.send(data);
 		} else {
-			data = layout.toByteArray(event);
+			manager.send(layout, event);
 		}
-		manager.send(data);
 	}
 
 	@Override
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+
+package org.apache.logging.log4j.core.appender.mom.kafka;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.lookup.StrLookup;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.util.Constants;
+
+/**
+ * A record key template parsed once into literal text and {@code ${name}} or {@code ${name:-default}} variables, so
+ * that evaluating it for an event only performs the lookups.
+ * <p>
+ * The encoded key is cached: as long as an evaluation yields the same text as the previous one, the same bytes are
+ * returned. Templates with nested or escaped variables are evaluated with the full {@link StrSubstitutor} instead.
+ * </p>
+ */
+final class KafkaKeyTemplate {
+
+	private static final String PREFIX = "${";
+	private static final String SUFFIX = "}";
+	private static final String DEFAULT_DELIMITER = ":-";
+	private static final int MAX_REUSABLE_BUILDER_SIZE = 512;
+
+	private static final ThreadLocal<StringBuilder> BUILDERS = new ThreadLocal<>();
+
+	private final String template;
+	private final StrSubstitutor substitutor;
+	private final byte[] constant;
+	private final boolean parsed;
+	// literals[i] precedes names[i]; there is one more literal than there are names
+	private final String[] literals;
+	private final String[] names;
+	private final String[] defaults;
+	private volatile CachedKey cached;
+
+	private static final class CachedKey {
+		private final String text;
+		private final byte[] bytes;
+
+		CachedKey(final String text) {
+			this.text = text;
+			this.bytes = text.getBytes(StandardCharsets.UTF_8);
+		}
+	}
+
+	/**
+	 * Parses the template.
+	 *
+	 * @param template the key template, may be null.
+	 * @param substitutor the substitutor that resolves variables.
+	 */
+	KafkaKeyTemplate(final String template, final StrSubstitutor substitutor) {
+		this.template = template;
+		this.substitutor = substitutor;
+		final List<String> literalList = new ArrayList<>();
+		final List<String> nameList = new ArrayList<>();
+		final List<String> defaultList = new ArrayList<>();
+		boolean simple = template != null;
+		if (simple && template.contains(PREFIX)) {
+			int position = 0;
+			while (simple) {
+				final int start = template.indexOf(PREFIX, position);
+				if (start < 0) {
+					literalList.add(template.substring(position));
+					break;
+				}
+				final int end = template.indexOf(SUFFIX, start);
+				final boolean escaped = start > 0 && template.charAt(start - 1) == '$';
+				if (end < 0 || escaped || template.indexOf(PREFIX, start + PREFIX.length()) >= 0
+						&& template.indexOf(PREFIX, start + PREFIX.length()) < end) {
+					simple = false;
+					break;
+				}
+				literalList.add(template.substring(position, start));
+				final String variable = template.substring(start + PREFIX.length(), end);
+				final int delimiter = variable.indexOf(DEFAULT_DELIMITER);
+				nameList.add(delimiter < 0 ? variable : variable.substring(0, delimiter));
+				defaultList.add(delimiter < 0 ? null : variable.substring(delimiter + DEFAULT_DELIMITER.length()));
+				position = end + SUFFIX.length();
+			}
+		}
+		this.parsed = simple;
+		this.literals = literalList.toArray(new String[literalList.size()]);
+		this.names = nameList.toArray(new String[nameList.size()]);
+		this.defaults = defaultList.toArray(new String[defaultList.size()]);
+		this.constant = template != null && !template.contains(PREFIX) ? template.getBytes(StandardCharsets.UTF_8)
+				: null;
+	}
+
+	/**
+	 * Evaluates the template.
+	 *
+	 * @param event the event to resolve lookups against, may be null.
+	 * @return the encoded key, or null if there is no template.
+	 */
+	byte[] toBytes(final LogEvent event) {
+		if (constant != null || template == null) {
+			return constant;
+		}
+		if (!parsed) {
+			return encode(substitutor.replace(event, template));
+		}
+		final StringBuilder buffer = getBuilder();
+		final StrLookup resolver = substitutor.getVariableResolver();
+		for (int i = 0; i < names.length; i++) {
+			buffer.append(literals[i]);
+			final String value = resolver == null ? null : resolver.lookup(event, names[i]);
+			if (value != null && value.contains(PREFIX)) {
+				// the value needs recursive substitution
+				return encode(substitutor.replace(event, template));
+			} else if (value != null) {
+				buffer.append(value);
+			} else if (defaults[i] != null) {
+				buffer.append(defaults[i]);
+			} else {
+				buffer.append(PREFIX).append(names[i]).append(SUFFIX);
+			}
+		}
+		buffer.append(literals[names.length]);
+		final CachedKey last = cached;
+		if (last != null && last.text.contentEquals(buffer)) {
+			return last.bytes;
+		}
+		return encode(buffer.toString());
+	}
+
+	private byte[] encode(final String text) {
+		final CachedKey last = cached;
+		if (last != null && last.text.equals(text)) {
+			return last.bytes;
+		}
+		final CachedKey key = new CachedKey(text);
+		cached = key;
+		return key.bytes;
+	}
+
+	private static StringBuilder getBuilder() {
+		if (!Constants.ENABLE_THREADLOCALS) {
+			return new StringBuilder();
+		}
+		StringBuilder result = BUILDERS.get();
+		if (result == null || result.capacity() > MAX_REUSABLE_BUILDER_SIZE) {
+			result = new StringBuilder();
+			BUILDERS.set(result);
+		}
+		result.setLength(0);
+		return result;
+	}
+
+	StrSubstitutor getSubstitutor() {
+		return substitutor;
+	}
+
+	@Override
+	public String toString() {
+		return template;
+	}
+}
@@ -17,7 +17,10 @@
 
 package org.apache.logging.log4j.core.appender.mom.kafka;
 
-import java.nio.charset.StandardCharsets;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
@@ -29,10 +32,16 @@ import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
 import org.apache.kafka.clients.producer.ProducerRecord;
 import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.AbstractManager;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
 import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.layout.ByteBufferDestination;
+import org.apache.logging.log4j.core.layout.ByteBufferDestinationHelper;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.Log4jThread;
 
 public class KafkaManager extends AbstractManager {
@@ -51,21 +60,46 @@ public class KafkaManager extends AbstractManager {
 	private final String topic;
 	private final String key;
 	private final boolean syncSend;
+	private final int batchSize;
+	private volatile KafkaKeyTemplate keyTemplate;
+	private final List<Future<RecordMetadata>> pendingSends = new ArrayList<>();
 	private static final KafkaManagerFactory factory = new KafkaManagerFactory();
 
+	private static final int DEFAULT_VALUE_BUFFER_SIZE = Constants.ENCODER_BYTE_BUFFER_SIZE;
+	private static final int MAX_REUSABLE_VALUE_BUFFER_SIZE = DEFAULT_VALUE_BUFFER_SIZE * 32;
+	private static final ThreadLocal<ValueBuffer> VALUE_BUFFERS = new ThreadLocal<>();
+
 	/*
 	 * The Constructor should have been declared private as all Managers are create
 	 * by the internal factory;
 	 */
 	public KafkaManager(final LoggerContext loggerContext, final String name, final String topic,
 			final boolean syncSend, final Property[] properties, final String key) {
+		this(loggerContext, name, topic, syncSend, properties, key, 0);
+	}
+
+	/**
+	 * Constructs a manager that batches records when {@code batchSize} is positive.
+	 * <p>
+	 * In batching mode the producer keeps its own {@code batch.size}, and a synchronous manager waits for a whole
+	 * batch of acknowledgements at the end of each batch of events (or after {@code batchSize} records) instead of
+	 * waiting for each record.
+	 * </p>
+	 *
+	 * @since 2.14.0
+	 */
+	public KafkaManager(final LoggerContext loggerContext, final String name, final String topic,
+			final boolean syncSend, final Property[] properties, final String key, final int batchSize) {
 		super(loggerContext, name);
 		this.topic = Objects.requireNonNull(topic, "topic");
 		this.syncSend = syncSend;
+		this.batchSize = Math.max(0, batchSize);
 
 		config.setProperty("key.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 		config.setProperty("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
-		config.setProperty("batch.size", "0");
+		if (this.batchSize == 0) {
+			config.setProperty("batch.size", "0");
+		}
 
 		for (final Property property : properties) {
 			config.setProperty(property.getName(), property.getValue());
@@ -78,6 +112,13 @@ public class KafkaManager extends AbstractManager {
 
 	@Override
 	public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+		try {
+			flushPendingSends();
+		} catch (final ExecutionException | TimeoutException e) {
+			LOGGER.error("Unable to write to Kafka in appender [" + getName() + "]", e);
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
 		if (timeout > 0) {
 			closeProducer(timeout, timeUnit);
 		} else {
@@ -111,32 +152,128 @@ public class KafkaManager extends AbstractManager {
 
 	public void send(final byte[] msg) throws ExecutionException, InterruptedException, TimeoutException {
 		if (producer != null) {
-			byte[] newKey = null;
-
-			if (key != null && key.contains("${")) {
-				newKey = getLoggerContext().getConfiguration().getStrSubstitutor().replace(key)
-						.getBytes(StandardCharsets.UTF_8);
-			} else if (key != null) {
-				newKey = key.getBytes(StandardCharsets.UTF_8);
-			}
-
-			final ProducerRecord<byte[], byte[]> newRecord = new ProducerRecord<>(topic, newKey, msg);
+			final ProducerRecord<byte[], byte[]> newRecord = new ProducerRecord<>(topic, getKey(null), msg);
 			if (syncSend) {
 				final Future<RecordMetadata> response = producer.send(newRecord);
 				response.get(timeoutMillis, TimeUnit.MILLISECONDS);
 			} else {
-				producer.send(newRecord, new Callback() {
-					@Override
-					public void onCompletion(final RecordMetadata metadata, final Exception e) {
-						if (e != null) {
-							LOGGER.error("Unable to write to Kafka in appender [" + getName() + "]", e);
-						}
-					}
-				});
+				sendAsync(newRecord);
+			}
+		}
+	}
+
+	/**
+	 * Encodes the event with the layout and sends it, evaluating the key against the event.
+	 * <p>
+	 * Unless batching is enabled this behaves like {@link #send(byte[])}. With batching, a synchronous manager only
+	 * waits for the acknowledgements when the event is the {@linkplain LogEvent#isEndOfBatch() end of a batch} or when
+	 * {@code batchSize} records are outstanding; a failed record is then reported for the whole batch.
+	 * </p>
+	 *
+	 * @param layout the layout that encodes the record value.
+	 * @param event the event to send.
+	 * @since 2.14.0
+	 */
+	public void send(final Layout<?> layout, final LogEvent event)
+			throws ExecutionException, InterruptedException, TimeoutException {
+		if (producer != null) {
+			final ProducerRecord<byte[], byte[]> newRecord = new ProducerRecord<>(topic, getKey(event),
+					encode(layout, event));
+			if (!syncSend) {
+				sendAsync(newRecord);
+			} else if (batchSize == 0) {
+				producer.send(newRecord).get(timeoutMillis, TimeUnit.MILLISECONDS);
+			} else {
+				final boolean flush;
+				synchronized (pendingSends) {
+					pendingSends.add(producer.send(newRecord));
+					flush = event.isEndOfBatch() || pendingSends.size() >= batchSize;
+				}
+				if (flush) {
+					flushPendingSends();
+				}
 			}
 		}
 	}
 
+	/**
+	 * Waits for the acknowledgements of all records sent since the last flush.
+	 *
+	 * @throws ExecutionException if a record could not be sent; the first failure is rethrown, the others are logged.
+	 * @since 2.14.0
+	 */
+	public void flushPendingSends() throws ExecutionException, InterruptedException, TimeoutException {
+		final Future<?>[] futures;
+		synchronized (pendingSends) {
+			if (pendingSends.isEmpty()) {
+				return;
+			}
+			futures = pendingSends.toArray(new Future<?>[pendingSends.size()]);
+			pendingSends.clear();
+		}
+		final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+		ExecutionException failure = null;
+		for (final Future<?> future : futures) {
+			try {
+				future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+			} catch (final ExecutionException e) {
+				if (failure == null) {
+					failure = e;
+				} else {
+					LOGGER.error("Unable to write to Kafka in appender [" + getName() + "]", e.getCause());
+				}
+			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+
+	private byte[] getKey(final LogEvent event) {
+		if (key == null) {
+			return null;
+		}
+		final StrSubstitutor substitutor = getLoggerContext().getConfiguration().getStrSubstitutor();
+		KafkaKeyTemplate template = keyTemplate;
+		if (template == null || template.getSubstitutor() != substitutor) {
+			template = new KafkaKeyTemplate(key, substitutor);
+			keyTemplate = template;
+		}
+		return template.toBytes(event);
+	}
+
+	private static byte[] encode(final Layout<?> layout, final LogEvent event) {
+		final ValueBuffer buffer = getValueBuffer();
+		layout.encode(event, buffer);
+		final ByteBuffer bytes = buffer.getByteBuffer();
+		// the producer keeps a reference to the value until the record is sent, so it gets its own exact-size copy
+		return Arrays.copyOf(bytes.array(), bytes.position());
+	}
+
+	private static ValueBuffer getValueBuffer() {
+		if (!Constants.ENABLE_THREADLOCALS) {
+			return new ValueBuffer();
+		}
+		ValueBuffer result = VALUE_BUFFERS.get();
+		if (result == null || result.getByteBuffer().capacity() > MAX_REUSABLE_VALUE_BUFFER_SIZE) {
+			result = new ValueBuffer();
+			VALUE_BUFFERS.set(result);
+		}
+		result.getByteBuffer().clear();
+		return result;
+	}
+
+	private void sendAsync(final ProducerRecord<byte[], byte[]> newRecord) {
+		producer.send(newRecord, new Callback() {
+			@Override
+			public void onCompletion(final RecordMetadata metadata, final Exception e) {
+				if (e != null) {
+					LOGGER.error("Unable to write to Kafka in appender [" + getName() + "]", e);
+				}
+			}
+		});
+	}
+
 	public void startup() {
 		producer = producerFactory.newKafkaProducer(config);
 	}
@@ -147,11 +284,20 @@ public class KafkaManager extends AbstractManager {
 
 	public static KafkaManager getManager(final LoggerContext loggerContext, final String name, final String topic,
 			final boolean syncSend, final Property[] properties, final String key) {
+		return getManager(loggerContext, name, topic, syncSend, properties, key, 0);
+	}
+
+	/**
+	 * @since 2.14.0
+	 */
+	public static KafkaManager getManager(final LoggerContext loggerContext, final String name, final String topic,
+			final boolean syncSend, final Property[] properties, final String key, final int batchSize) {
 		StringBuilder sb = new StringBuilder(name);
 		for (Property prop : properties) {
 			sb.append(" ").append(prop.getName()).append("=").append(prop.getValue());
 		}
-		return getManager(sb.toString(), factory, new FactoryData(loggerContext, topic, syncSend, properties, key));
+		return getManager(sb.toString(), factory,
+				new FactoryData(loggerContext, topic, syncSend, properties, key, batchSize));
 	}
 
 	private static class FactoryData {
@@ -160,14 +306,16 @@ public class KafkaManager extends AbstractManager {
 		private final boolean syncSend;
 		private final Property[] properties;
 		private final String key;
+		private final int batchSize;
 
 		public FactoryData(final LoggerContext loggerContext, final String topic, final boolean syncSend,
-				final Property[] properties, final String key) {
+				final Property[] properties, final String key, final int batchSize) {
 			this.loggerContext = loggerContext;
 			this.topic = topic;
 			this.syncSend = syncSend;
 			this.properties = properties;
 			this.key = key;
+			this.batchSize = batchSize;
 		}
 
 	}
@@ -175,7 +323,39 @@ public class KafkaManager extends AbstractManager {
 	private static class KafkaManagerFactory implements ManagerFactory<KafkaManager, FactoryData> {
 		@Override
 		public KafkaManager createManager(String name, FactoryData data) {
-			return new KafkaManager(data.loggerContext, name, data.topic, data.syncSend, data.properties, data.key);
+			return new KafkaManager(data.loggerContext, name, data.topic, data.syncSend, data.properties, data.key,
+					data.batchSize);
+		}
+	}
+
+	/**
+	 * Growable heap buffer the layout encodes a record value into.
+	 */
+	private static final class ValueBuffer implements ByteBufferDestination {
+		private ByteBuffer buffer = ByteBuffer.allocate(DEFAULT_VALUE_BUFFER_SIZE);
+
+		@Override
+		public ByteBuffer getByteBuffer() {
+			return buffer;
+		}
+
+		@Override
+		public ByteBuffer drain(final ByteBuffer buf) {
+			final ByteBuffer grown = ByteBuffer.allocate(Math.max(DEFAULT_VALUE_BUFFER_SIZE, buf.capacity() * 2));
+			buf.flip();
+			grown.put(buf);
+			buffer = grown;
+			return grown;
+		}
+
+		@Override
+		public void writeBytes(final ByteBuffer data) {
+			ByteBufferDestinationHelper.writeToUnsynchronized(data, this);
+		}
+
+		@Override
+		public void writeBytes(final byte[] data, final int offset, final int length) {
+			ByteBufferDestinationHelper.writeToUnsynchronized(data, offset, length, this);
 		}
 	}
 
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdUtils;
+import org.apache.logging.log4j.core.appender.rolling.action.ZstdCompressAction;
+
+/**
+ * Compresses the bytes written to it in independent blocks, each written to the underlying stream as a complete unit
+ * of the compression format: a GZIP member or a Zstandard frame. Concatenated units form a valid file, so a file
+ * being written can be decompressed up to its last complete block at any time.
+ * <p>
+ * Only complete blocks are written: {@link #flush()} flushes the blocks written so far, and the last, partial block is
+ * written when the stream is closed.
+ * </p>
+ */
+abstract class BlockCompressingOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final byte[] block;
+    private int count;
+    private boolean closed;
+
+    BlockCompressingOutputStream(final OutputStream out, final int blockSize) {
+        this.out = out;
+        this.block = new byte[blockSize];
+    }
+
+    /**
+     * Compresses the specified data as a complete unit of the compression format.
+     */
+    abstract void compressBlock(byte[] data, int length, OutputStream destination) throws IOException;
+
+    /**
+     * Releases the resources of the compressor.
+     */
+    void end() {
+        // nothing to release by default
+    }
+
+    @Override
+    public void write(final int b) throws IOException {
+        block[count++] = (byte) b;
+        if (count == block.length) {
+            writeBlock();
+        }
+    }
+
+    @Override
+    public void write(final byte[] bytes, int offset, int length) throws IOException {
+        while (length > 0) {
+            final int chunk = Math.min(length, block.length - count);
+            System.arraycopy(bytes, offset, block, count, chunk);
+            count += chunk;
+            offset += chunk;
+            length -= chunk;
+            if (count == block.length) {
+                writeBlock();
+            }
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        compressBlock(block, count, out);
+        count = 0;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (count > 0) {
+                writeBlock();
+            }
+        } finally {
+            try {
+                end();
+            } finally {
+                out.close();
+            }
+        }
+    }
+
+    /**
+     * Writes each block as a GZIP member.
+     */
+    static final class Gzip extends BlockCompressingOutputStream {
+
+        private static final byte[] HEADER = new byte[] {
+                (byte) 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0
+        };
+
+        private final Deflater deflater;
+        private final CRC32 crc = new CRC32();
+        private final byte[] buffer = new byte[8192];
+
+        Gzip(final OutputStream out, final int blockSize, final int compressionLevel) {
+            super(out, blockSize);
+            this.deflater = new Deflater(compressionLevel, true);
+        }
+
+        @Override
+        void compressBlock(final byte[] data, final int length, final OutputStream destination) throws IOException {
+            destination.write(HEADER);
+            deflater.reset();
+            deflater.setInput(data, 0, length);
+            deflater.finish();
+            while (!deflater.finished()) {
+                final int n = deflater.deflate(buffer);
+                destination.write(buffer, 0, n);
+            }
+            crc.reset();
+            crc.update(data, 0, length);
+            writeIntLE((int) crc.getValue(), 0);
+            writeIntLE(length, 4);
+            destination.write(buffer, 0, 8);
+        }
+
+        private void writeIntLE(final int value, final int offset) {
+            buffer[offset] = (byte) value;
+            buffer[offset + 1] = (byte) (value >> 8);
+            buffer[offset + 2] = (byte) (value >> 16);
+            buffer[offset + 3] = (byte) (value >> 24);
+        }
+
+        @Override
+        void end() {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Writes each block as a Zstandard frame. Requires Apache Commons Compress and zstd-jni.
+     */
+    static final class Zstd extends BlockCompressingOutputStream {
+
+        private final int compressionLevel;
+
+        Zstd(final OutputStream out, final int blockSize, final int compressionLevel) throws IOException {
+            super(out, blockSize);
+            if (!ZstdUtils.isZstdCompressionAvailable()) {
+                throw new IOException("Zstandard compression requires zstd-jni (com.github.luben:zstd-jni)");
+            }
+            this.compressionLevel = compressionLevel >= 1 && compressionLevel <= ZstdCompressAction.MAX_LEVEL
+                    ? compressionLevel : ZstdCompressAction.DEFAULT_LEVEL;
+        }
+
+        @Override
+        void compressBlock(final byte[] data, final int length, final OutputStream destination) throws IOException {
+            try (final OutputStream frame = new ZstdCompressorOutputStream(new NonClosingOutputStream(destination),
+                    compressionLevel)) {
+                frame.write(data, 0, length);
+            }
+        }
+    }
+
+    private static final class NonClosingOutputStream extends OutputStream {
+
+        private final OutputStream out;
+
+        NonClosingOutputStream(final OutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() {
+            // the destination stays open for the next frame
+        }
+    }
+}
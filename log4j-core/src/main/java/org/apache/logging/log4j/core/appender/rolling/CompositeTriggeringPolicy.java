@@ -31,7 +31,7 @@ import org.apache.logging.log4j.core.config.plugins.PluginFactory;
  * Triggering policy that wraps other triggering policies.
  */
 @Plugin(name = "Policies", category = Core.CATEGORY_NAME, printObject = true)
-public final class CompositeTriggeringPolicy extends AbstractTriggeringPolicy {
+public final class CompositeTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     private final TriggeringPolicy[] triggeringPolicies;
 
@@ -60,6 +60,44 @@ public final class CompositeTriggeringPolicy extends AbstractTriggeringPolicy {
      * @param event A reference to the currently event.
      * @return true if a rollover should occur, false otherwise.
      */
+    /**
+     * Returns the lowest size threshold of the nested policies, or -1 if one of them does not implement
+     * {@link ThresholdTriggeringPolicy}.
+     *
+     * @return the size threshold
+     * @since 2.14.0
+     */
+    @Override
+    public long getSizeThreshold() {
+        long threshold = Long.MAX_VALUE;
+        for (final TriggeringPolicy triggeringPolicy : triggeringPolicies) {
+            if (!(triggeringPolicy instanceof ThresholdTriggeringPolicy)) {
+                return -1;
+            }
+            threshold = Math.min(threshold, ((ThresholdTriggeringPolicy) triggeringPolicy).getSizeThreshold());
+        }
+        return threshold;
+    }
+
+    /**
+     * Returns the earliest time threshold of the nested policies, or {@link Long#MIN_VALUE} if one of them does not
+     * implement {@link ThresholdTriggeringPolicy}.
+     *
+     * @return the time threshold
+     * @since 2.14.0
+     */
+    @Override
+    public long getTimeThreshold() {
+        long threshold = Long.MAX_VALUE;
+        for (final TriggeringPolicy triggeringPolicy : triggeringPolicies) {
+            if (!(triggeringPolicy instanceof ThresholdTriggeringPolicy)) {
+                return Long.MIN_VALUE;
+            }
+            threshold = Math.min(threshold, ((ThresholdTriggeringPolicy) triggeringPolicy).getTimeThreshold());
+        }
+        return threshold;
+    }
+
     @Override
     public boolean isTriggeringEvent(final LogEvent event) {
         for (final TriggeringPolicy triggeringPolicy : triggeringPolicies) {
@@ -38,7 +38,7 @@ import org.apache.logging.log4j.core.util.CronExpression;
  */
 @Plugin(name = "CronTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
 @Scheduled
-public final class CronTriggeringPolicy extends AbstractTriggeringPolicy {
+public final class CronTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     private static final String defaultSchedule = "0 0 0 * * ?";
     private RollingFileManager manager;
@@ -90,6 +90,26 @@ public final class CronTriggeringPolicy extends AbstractTriggeringPolicy {
         LOGGER.debug(scheduler.toString());
     }
 
+    /**
+     * Returns {@link Long#MAX_VALUE}: the file size never triggers this policy.
+     *
+     * @since 2.14.0
+     */
+    @Override
+    public long getSizeThreshold() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns {@link Long#MAX_VALUE}: this policy never triggers on an event.
+     *
+     * @since 2.14.0
+     */
+    @Override
+    public long getTimeThreshold() {
+        return Long.MAX_VALUE;
+    }
+
     /**
      * Determines whether a rollover should occur.
      *
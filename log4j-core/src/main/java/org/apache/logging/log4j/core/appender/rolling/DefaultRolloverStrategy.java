@@ -29,9 +29,12 @@ import java.util.concurrent.TimeUnit;
 import java.util.zip.Deflater;
 
 import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.appender.rolling.action.AbstractStreamCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.ArchivedFileIndex;
 import org.apache.logging.log4j.core.appender.rolling.action.CompositeAction;
 import org.apache.logging.log4j.core.appender.rolling.action.FileRenameAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.PathCondition;
 import org.apache.logging.log4j.core.appender.rolling.action.PosixViewAttributeAction;
 import org.apache.logging.log4j.core.config.Configuration;
@@ -100,6 +103,15 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         @PluginBuilderAttribute("compressionLevel")
         private String compressionLevelStr;
 
+        @PluginBuilderAttribute("compressionThreads")
+        private int compressionThreads = 1;
+
+        @PluginBuilderAttribute("compressionBlockSize")
+        private int compressionBlockSize = ParallelGzCompressAction.DEFAULT_BLOCK_SIZE;
+
+        @PluginBuilderAttribute("compressionBufferSize")
+        private int compressionBufferSize = AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE;
+
         @PluginElement("Actions")
         private Action[] customActions;
 
@@ -142,10 +154,25 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 }
             }
             final int compressionLevel = Integers.parseInt(compressionLevelStr, Deflater.DEFAULT_COMPRESSION);
+            int threads = compressionThreads;
+            if (threads < 1) {
+                LOGGER.error("Compression threads must be at least 1. Set to 1");
+                threads = 1;
+            }
+            int blockSize = compressionBlockSize;
+            if (blockSize < 1) {
+                LOGGER.error("Compression block size must be positive. Set to " + ParallelGzCompressAction.DEFAULT_BLOCK_SIZE);
+                blockSize = ParallelGzCompressAction.DEFAULT_BLOCK_SIZE;
+            }
+            int bufferSize = compressionBufferSize;
+            if (bufferSize < 1) {
+                LOGGER.error("Compression buffer size must be positive. Set to " + AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE);
+                bufferSize = AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE;
+            }
             // The config object can be null when this object is built programmatically.
             final StrSubstitutor nonNullStrSubstitutor = config != null ? config.getStrSubstitutor() : new StrSubstitutor();
-			return new DefaultRolloverStrategy(minIndex, maxIndex, useMax, compressionLevel, nonNullStrSubstitutor,
-                    customActions, stopCustomActionsOnError, tempCompressedFilePattern);
+			return new DefaultRolloverStrategy(minIndex, maxIndex, useMax, compressionLevel, threads, blockSize,
+                    bufferSize, nonNullStrSubstitutor, customActions, stopCustomActionsOnError, tempCompressedFilePattern);
         }
 
         public String getMax() {
@@ -209,6 +236,56 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             return this;
         }
 
+        public int getCompressionThreads() {
+            return compressionThreads;
+        }
+
+        /**
+         * Defines the number of threads compressing a rolled over file. Formats that support it, currently GZ, are
+         * compressed in parallel when this is greater than 1.
+         *
+         * @param compressionThreads The number of compression threads, defaults to 1.
+         * @return This builder for chaining convenience
+         * @since 2.14.0
+         */
+        public Builder withCompressionThreads(final int compressionThreads) {
+            this.compressionThreads = compressionThreads;
+            return this;
+        }
+
+        public int getCompressionBlockSize() {
+            return compressionBlockSize;
+        }
+
+        /**
+         * Defines the size of the blocks that are compressed independently when compressing in parallel.
+         *
+         * @param compressionBlockSize The block size in bytes, defaults to 128 KB.
+         * @return This builder for chaining convenience
+         * @since 2.14.0
+         */
+        public Builder withCompressionBlockSize(final int compressionBlockSize) {
+            this.compressionBlockSize = compressionBlockSize;
+            return this;
+        }
+
+        public int getCompressionBufferSize() {
+            return compressionBufferSize;
+        }
+
+        /**
+         * Defines the size of the buffer used to read a rolled over file when compressing it to a streaming format,
+         * currently ZST and LZ4.
+         *
+         * @param compressionBufferSize The buffer size in bytes, defaults to 64 KB.
+         * @return This builder for chaining convenience
+         * @since 2.14.0
+         */
+        public Builder withCompressionBufferSize(final int compressionBufferSize) {
+            this.compressionBufferSize = compressionBufferSize;
+            return this;
+        }
+
         public Action[] getCustomActions() {
             return customActions;
         }
@@ -324,6 +401,9 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
     private final int minIndex;
     private final boolean useMax;
     private final int compressionLevel;
+    private final int compressionThreads;
+    private final int compressionBlockSize;
+    private final int compressionBufferSize;
     private final List<Action> customActions;
     private final boolean stopCustomActionsOnError;
     private final PatternProcessor tempCompressedFilePattern;
@@ -358,11 +438,37 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
     protected DefaultRolloverStrategy(final int minIndex, final int maxIndex, final boolean useMax,
             final int compressionLevel, final StrSubstitutor strSubstitutor, final Action[] customActions,
             final boolean stopCustomActionsOnError, final String tempCompressedFilePatternString) {
+        this(minIndex, maxIndex, useMax, compressionLevel, 1, ParallelGzCompressAction.DEFAULT_BLOCK_SIZE,
+                AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE,
+                strSubstitutor, customActions, stopCustomActionsOnError, tempCompressedFilePatternString);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param minIndex The minimum index.
+     * @param maxIndex The maximum index.
+     * @param compressionThreads The number of threads compressing a rolled over file.
+     * @param compressionBlockSize The size of the blocks compressed independently when compressing in parallel.
+     * @param compressionBufferSize The size of the buffer used to read a file compressed to a streaming format.
+     * @param customActions custom actions to perform asynchronously after rollover
+     * @param stopCustomActionsOnError whether to stop executing asynchronous actions if an error occurs
+     * @param tempCompressedFilePatternString File pattern of the working file
+     *                                     used during compression, if null no temporary file are used
+     * @since 2.14.0
+     */
+    protected DefaultRolloverStrategy(final int minIndex, final int maxIndex, final boolean useMax,
+            final int compressionLevel, final int compressionThreads, final int compressionBlockSize,
+            final int compressionBufferSize, final StrSubstitutor strSubstitutor, final Action[] customActions,
+            final boolean stopCustomActionsOnError, final String tempCompressedFilePatternString) {
         super(strSubstitutor);
         this.minIndex = minIndex;
         this.maxIndex = maxIndex;
         this.useMax = useMax;
         this.compressionLevel = compressionLevel;
+        this.compressionThreads = compressionThreads;
+        this.compressionBlockSize = compressionBlockSize;
+        this.compressionBufferSize = compressionBufferSize;
         this.stopCustomActionsOnError = stopCustomActionsOnError;
         this.customActions = customActions == null ? Collections.<Action> emptyList() : Arrays.asList(customActions);
         this.tempCompressedFilePattern =
@@ -373,6 +479,18 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         return this.compressionLevel;
     }
 
+    public int getCompressionThreads() {
+        return this.compressionThreads;
+    }
+
+    public int getCompressionBlockSize() {
+        return this.compressionBlockSize;
+    }
+
+    public int getCompressionBufferSize() {
+        return this.compressionBufferSize;
+    }
+
     public List<Action> getCustomActions() {
         return customActions;
     }
@@ -421,6 +539,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 final Integer key = eligibleFiles.firstKey();
                 LOGGER.debug("Deleting {}", eligibleFiles.get(key).toFile().getAbsolutePath());
                 Files.delete(eligibleFiles.get(key));
+                ArchivedFileIndex.fileDeleted(eligibleFiles.get(key));
                 eligibleFiles.remove(key);
                 renameFiles = true;
             } catch (final IOException ioe) {
@@ -475,6 +594,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             try {
                 final Integer key = eligibleFiles.firstKey();
                 Files.delete(eligibleFiles.get(key));
+                ArchivedFileIndex.fileDeleted(eligibleFiles.get(key));
                 eligibleFiles.remove(key);
             } catch (final IOException ioe) {
                 LOGGER.error("Unable to delete {}, {}", eligibleFiles.firstKey(), ioe.getMessage(), ioe);
@@ -559,13 +679,14 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 }
                 compressAction = new CompositeAction(
                         Arrays.asList(fileExtension.createCompressAction(renameTo, tmpCompressedName,
-                                true, compressionLevel),
+                                true, compressionLevel, compressionThreads, compressionBlockSize,
+                                compressionBufferSize),
                                 new FileRenameAction(tmpCompressedNameFile,
                                         renameToFile, true)),
                         true);
             } else {
                 compressAction = fileExtension.createCompressAction(renameTo, compressedName,
-                        true, compressionLevel);
+                        true, compressionLevel, compressionThreads, compressionBlockSize, compressionBufferSize);
             }
         }
 
@@ -28,9 +28,12 @@ import java.util.concurrent.TimeUnit;
 import java.util.zip.Deflater;
 
 import org.apache.logging.log4j.core.Core;
+import org.apache.logging.log4j.core.appender.rolling.action.AbstractStreamCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.ArchivedFileIndex;
 import org.apache.logging.log4j.core.appender.rolling.action.CompositeAction;
 import org.apache.logging.log4j.core.appender.rolling.action.FileRenameAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.PathCondition;
 import org.apache.logging.log4j.core.appender.rolling.action.PosixViewAttributeAction;
 import org.apache.logging.log4j.core.config.Configuration;
@@ -71,6 +74,18 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
         @PluginBuilderAttribute("compressionLevel")
         private String compressionLevelStr;
 
+        @PluginBuilderAttribute("compressionThreads")
+        private int compressionThreads = 1;
+
+        @PluginBuilderAttribute("compressionBlockSize")
+        private int compressionBlockSize = ParallelGzCompressAction.DEFAULT_BLOCK_SIZE;
+
+        @PluginBuilderAttribute("compressionBufferSize")
+        private int compressionBufferSize = AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE;
+
+        @PluginBuilderAttribute("compressOnWrite")
+        private boolean compressOnWrite;
+
         @PluginElement("Actions")
         private Action[] customActions;
 
@@ -96,8 +111,23 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
                 }
             }
             final int compressionLevel = Integers.parseInt(compressionLevelStr, Deflater.DEFAULT_COMPRESSION);
-            return new DirectWriteRolloverStrategy(maxIndex, compressionLevel, config.getStrSubstitutor(),
-                    customActions, stopCustomActionsOnError, tempCompressedFilePattern);
+            int threads = compressionThreads;
+            if (threads < 1) {
+                LOGGER.error("Compression threads must be at least 1. Set to 1");
+                threads = 1;
+            }
+            int blockSize = compressionBlockSize;
+            if (blockSize < 1) {
+                LOGGER.error("Compression block size must be positive. Set to " + ParallelGzCompressAction.DEFAULT_BLOCK_SIZE);
+                blockSize = ParallelGzCompressAction.DEFAULT_BLOCK_SIZE;
+            }
+            int bufferSize = compressionBufferSize;
+            if (bufferSize < 1) {
+                LOGGER.error("Compression buffer size must be positive. Set to " + AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE);
+                bufferSize = AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE;
+            }
+            return new DirectWriteRolloverStrategy(maxIndex, compressionLevel, threads, blockSize, bufferSize,
+                    compressOnWrite, config.getStrSubstitutor(), customActions, stopCustomActionsOnError, tempCompressedFilePattern);
         }
 
         public String getMaxFiles() {
@@ -130,6 +160,74 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
             return this;
         }
 
+        public int getCompressionThreads() {
+            return compressionThreads;
+        }
+
+        /**
+         * Defines the number of threads compressing a rolled over file. Formats that support it, currently GZ, are
+         * compressed in parallel when this is greater than 1.
+         *
+         * @param compressionThreads The number of compression threads, defaults to 1.
+         * @return This builder for chaining convenience
+         * @since 2.14.0
+         */
+        public Builder withCompressionThreads(final int compressionThreads) {
+            this.compressionThreads = compressionThreads;
+            return this;
+        }
+
+        public int getCompressionBlockSize() {
+            return compressionBlockSize;
+        }
+
+        /**
+         * Defines the size of the blocks that are compressed independently when compressing in parallel.
+         *
+         * @param compressionBlockSize The block size in bytes, defaults to 128 KB.
+         * @return This builder for chaining convenience
+         * @since 2.14.0
+         */
+        public Builder withCompressionBlockSize(final int compressionBlockSize) {
+            this.compressionBlockSize = compressionBlockSize;
+            return this;
+        }
+
+        public int getCompressionBufferSize() {
+            return compressionBufferSize;
+        }
+
+        /**
+         * Defines the size of the buffer used to read a rolled over file when compressing it to a streaming format,
+         * currently ZST and LZ4.
+         *
+         * @param compressionBufferSize The buffer size in bytes, defaults to 64 KB.
+         * @return This builder for chaining convenience
+         * @since 2.14.0
+         */
+        public Builder withCompressionBufferSize(final int compressionBufferSize) {
+            this.compressionBufferSize = compressionBufferSize;
+            return this;
+        }
+
+        public boolean isCompressOnWrite() {
+            return compressOnWrite;
+        }
+
+        /**
+         * Defines whether the active file is compressed while it is written, when the file pattern ends with ".gz" or
+         * ".zst". The file is then compressed in blocks of compressionBlockSize bytes and rolling over does not need
+         * to compress it.
+         *
+         * @param compressOnWrite whether to compress the active file while it is written, defaults to false.
+         * @return This builder for chaining convenience
+         * @since 2.14.0
+         */
+        public Builder withCompressOnWrite(final boolean compressOnWrite) {
+            this.compressOnWrite = compressOnWrite;
+            return this;
+        }
+
         public Action[] getCustomActions() {
             return customActions;
         }
@@ -231,6 +329,10 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
      */
     private final int maxFiles;
     private final int compressionLevel;
+    private final int compressionThreads;
+    private final int compressionBlockSize;
+    private final int compressionBufferSize;
+    private final boolean compressOnWrite;
     private final List<Action> customActions;
     private final boolean stopCustomActionsOnError;
     private volatile String currentFileName;
@@ -265,9 +367,37 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
     protected DirectWriteRolloverStrategy(final int maxFiles, final int compressionLevel,
                                           final StrSubstitutor strSubstitutor, final Action[] customActions,
                                           final boolean stopCustomActionsOnError, final String tempCompressedFilePatternString) {
+        this(maxFiles, compressionLevel, 1, ParallelGzCompressAction.DEFAULT_BLOCK_SIZE,
+                AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE, false, strSubstitutor,
+                customActions, stopCustomActionsOnError, tempCompressedFilePatternString);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param maxFiles The maximum number of files that match the date portion of the pattern to keep.
+     * @param compressionThreads The number of threads compressing a rolled over file.
+     * @param compressionBlockSize The size of the blocks compressed independently when compressing in parallel.
+     * @param compressionBufferSize The size of the buffer used to read a file compressed to a streaming format.
+     * @param compressOnWrite Whether to compress the active file while it is written, if its extension supports it.
+     * @param customActions custom actions to perform asynchronously after rollover
+     * @param stopCustomActionsOnError whether to stop executing asynchronous actions if an error occurs
+     * @param tempCompressedFilePatternString File pattern of the working file
+     *                                     used during compression, if null no temporary file are used
+     * @since 2.14.0
+     */
+    protected DirectWriteRolloverStrategy(final int maxFiles, final int compressionLevel,
+                                          final int compressionThreads, final int compressionBlockSize,
+                                          final int compressionBufferSize, final boolean compressOnWrite,
+                                          final StrSubstitutor strSubstitutor, final Action[] customActions,
+                                          final boolean stopCustomActionsOnError, final String tempCompressedFilePatternString) {
         super(strSubstitutor);
         this.maxFiles = maxFiles;
         this.compressionLevel = compressionLevel;
+        this.compressionThreads = compressionThreads;
+        this.compressionBlockSize = compressionBlockSize;
+        this.compressionBufferSize = compressionBufferSize;
+        this.compressOnWrite = compressOnWrite;
         this.stopCustomActionsOnError = stopCustomActionsOnError;
         this.customActions = customActions == null ? Collections.<Action> emptyList() : Arrays.asList(customActions);
         this.tempCompressedFilePattern =
@@ -278,6 +408,31 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
         return this.compressionLevel;
     }
 
+    public int getCompressionThreads() {
+        return this.compressionThreads;
+    }
+
+    public int getCompressionBlockSize() {
+        return this.compressionBlockSize;
+    }
+
+    public int getCompressionBufferSize() {
+        return this.compressionBufferSize;
+    }
+
+    public boolean isCompressOnWrite() {
+        return this.compressOnWrite;
+    }
+
+    /**
+     * Returns {@code true} if the active file of the specified manager is compressed while it is written: compressing
+     * on write is enabled and supported for the extension of the file pattern.
+     */
+    boolean isCompressingOnWrite(final RollingFileManager manager) {
+        final FileExtension fileExtension = manager.getFileExtension();
+        return compressOnWrite && fileExtension != null && fileExtension.isCompressOnWriteSupported();
+    }
+
     public List<Action> getCustomActions() {
         return customActions;
     }
@@ -301,6 +456,7 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
             try {
                 final Integer key = eligibleFiles.firstKey();
                 Files.delete(eligibleFiles.get(key));
+                ArchivedFileIndex.fileDeleted(eligibleFiles.get(key));
                 eligibleFiles.remove(key);
             } catch (final IOException ioe) {
                 LOGGER.error("Unable to delete {}", eligibleFiles.firstKey(), ioe);
@@ -317,7 +473,8 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
             final int fileIndex = eligibleFiles.size() > 0 ? (nextIndex > 0 ? nextIndex : eligibleFiles.size()) : 1;
             final StringBuilder buf = new StringBuilder(255);
             manager.getPatternProcessor().formatFileName(strSubstitutor, buf, true, fileIndex);
-            final int suffixLength = suffixLength(buf.toString());
+            // files compressed on write keep their extension from the start
+            final int suffixLength = isCompressingOnWrite(manager) ? 0 : suffixLength(buf.toString());
             final String name = suffixLength > 0 ? buf.substring(0, buf.length() - suffixLength) : buf.toString();
             currentFileName = name;
         }
@@ -354,7 +511,7 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
         currentFileName = null;
         nextIndex = fileIndex + 1;
         final FileExtension fileExtension = manager.getFileExtension();
-        if (fileExtension != null) {
+        if (fileExtension != null && !isCompressingOnWrite(manager)) {
             compressedName += fileExtension.getExtension();
             if (tempCompressedFilePattern != null) {
                 final StringBuilder buf = new StringBuilder();
@@ -367,13 +524,14 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
                 }
                 compressAction = new CompositeAction(
                         Arrays.asList(fileExtension.createCompressAction(sourceName, tmpCompressedName,
-                                true, compressionLevel),
+                                true, compressionLevel, compressionThreads, compressionBlockSize,
+                                compressionBufferSize),
                                 new FileRenameAction(tmpCompressedNameFile,
                                         new File(compressedName), true)),
                         true);
             } else {
                 compressAction = fileExtension.createCompressAction(sourceName, compressedName,
-                      true, compressionLevel);
+                      true, compressionLevel, compressionThreads, compressionBlockSize, compressionBufferSize);
             }
         }
 
@@ -400,7 +558,7 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
 
     @Override
     public String toString() {
-        return "DirectWriteRolloverStrategy(maxFiles=" + maxFiles + ')';
+        return "DirectWriteRolloverStrategy(maxFiles=" + maxFiles + ", compressOnWrite=" + compressOnWrite + ')';
     }
 
 }
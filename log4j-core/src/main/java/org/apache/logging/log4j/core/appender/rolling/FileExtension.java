@@ -17,12 +17,18 @@
 package org.apache.logging.log4j.core.appender.rolling;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Objects;
 
+import org.apache.logging.log4j.core.appender.rolling.action.AbstractStreamCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
 import org.apache.logging.log4j.core.appender.rolling.action.CommonsCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.Lz4CompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
 import org.apache.logging.log4j.core.appender.rolling.action.ZipCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ZstdCompressAction;
 
 /**
  *  Enumerates over supported file extensions for compression.
@@ -41,6 +47,28 @@ public enum FileExtension {
                                     final int compressionLevel) {
             return new GzCompressAction(source(renameTo), target(compressedName), deleteSource, compressionLevel);
         }
+
+        @Override
+        Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                    final int compressionLevel, final int compressionThreads,
+                                    final int compressionBlockSize, final int compressionBufferSize) {
+            if (compressionThreads > 1) {
+                return new ParallelGzCompressAction(source(renameTo), target(compressedName), deleteSource,
+                        compressionLevel, compressionThreads, compressionBlockSize);
+            }
+            return createCompressAction(renameTo, compressedName, deleteSource, compressionLevel);
+        }
+
+        @Override
+        boolean isCompressOnWriteSupported() {
+            return true;
+        }
+
+        @Override
+        OutputStream createCompressOnWriteOutputStream(final OutputStream os, final int compressionLevel,
+                                                       final int blockSize) {
+            return new BlockCompressingOutputStream.Gzip(os, blockSize, compressionLevel);
+        }
     },
     BZIP2(".bz2") {
         @Override
@@ -73,6 +101,49 @@ public enum FileExtension {
             // One of "gz", "bzip2", "xz", "pack200", or "deflate".
             return new CommonsCompressAction("xz", source(renameTo), target(compressedName), deleteSource);
         }
+    },
+    ZSTD(".zst") {
+        @Override
+        Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                    final int compressionLevel) {
+            return createCompressAction(renameTo, compressedName, deleteSource, compressionLevel, 1,
+                    ParallelGzCompressAction.DEFAULT_BLOCK_SIZE, AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE);
+        }
+
+        @Override
+        Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                    final int compressionLevel, final int compressionThreads,
+                                    final int compressionBlockSize, final int compressionBufferSize) {
+            return new ZstdCompressAction(source(renameTo), target(compressedName), deleteSource, compressionLevel,
+                    compressionBufferSize);
+        }
+
+        @Override
+        boolean isCompressOnWriteSupported() {
+            return true;
+        }
+
+        @Override
+        OutputStream createCompressOnWriteOutputStream(final OutputStream os, final int compressionLevel,
+                                                       final int blockSize) throws IOException {
+            return new BlockCompressingOutputStream.Zstd(os, blockSize, compressionLevel);
+        }
+    },
+    LZ4(".lz4") {
+        @Override
+        Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                    final int compressionLevel) {
+            return createCompressAction(renameTo, compressedName, deleteSource, compressionLevel, 1,
+                    ParallelGzCompressAction.DEFAULT_BLOCK_SIZE, AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE);
+        }
+
+        @Override
+        Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                    final int compressionLevel, final int compressionThreads,
+                                    final int compressionBlockSize, final int compressionBufferSize) {
+            return new Lz4CompressAction(source(renameTo), target(compressedName), deleteSource, compressionLevel,
+                    compressionBufferSize);
+        }
     };
 
     public static FileExtension lookup(final String fileExtension) {
@@ -103,6 +174,34 @@ public enum FileExtension {
     abstract Action createCompressAction(String renameTo, String compressedName, boolean deleteSource,
                                          int compressionLevel);
 
+    /**
+     * Creates the compress action for this extension, compressing on several threads if the format supports it.
+     * Formats that do not support parallel compression ignore the thread count and block size, and formats that do
+     * not stream through a configurable buffer ignore the buffer size.
+     */
+    Action createCompressAction(final String renameTo, final String compressedName, final boolean deleteSource,
+                                final int compressionLevel, final int compressionThreads,
+                                final int compressionBlockSize, final int compressionBufferSize) {
+        return createCompressAction(renameTo, compressedName, deleteSource, compressionLevel);
+    }
+
+    /**
+     * Returns {@code true} if files with this extension can be compressed while they are written.
+     */
+    boolean isCompressOnWriteSupported() {
+        return false;
+    }
+
+    /**
+     * Wraps the stream of the active file so that the bytes written to it are compressed in independent blocks.
+     *
+     * @throws UnsupportedOperationException if compressing on write is not supported for this extension.
+     */
+    OutputStream createCompressOnWriteOutputStream(final OutputStream os, final int compressionLevel,
+                                                   final int blockSize) throws IOException {
+        throw new UnsupportedOperationException("Cannot compress " + extension + " files on write");
+    }
+
     String getExtension() {
         return extension;
     }
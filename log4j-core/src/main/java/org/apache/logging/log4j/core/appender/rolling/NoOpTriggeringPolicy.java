@@ -28,7 +28,7 @@ import org.apache.logging.log4j.core.config.plugins.PluginFactory;
  * @since 2.11.1
  */
 @Plugin(name = "NoOpTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
-public class NoOpTriggeringPolicy extends AbstractTriggeringPolicy {
+public class NoOpTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
 	public static final NoOpTriggeringPolicy INSTANCE = new NoOpTriggeringPolicy();
 
@@ -42,6 +42,26 @@ public class NoOpTriggeringPolicy extends AbstractTriggeringPolicy {
 		// NoOp
 	}
 
+	/**
+	 * Returns {@link Long#MAX_VALUE}: the file size never triggers this policy.
+	 *
+	 * @since 2.14.0
+	 */
+	@Override
+	public long getSizeThreshold() {
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Returns {@link Long#MAX_VALUE}: this policy never triggers on an event.
+	 *
+	 * @since 2.14.0
+	 */
+	@Override
+	public long getTimeThreshold() {
+		return Long.MAX_VALUE;
+	}
+
 	@Override
 	public boolean isTriggeringEvent(final LogEvent logEvent) {
 		// Never triggers.
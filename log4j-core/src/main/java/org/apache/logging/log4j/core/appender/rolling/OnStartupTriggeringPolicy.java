@@ -30,7 +30,7 @@ import org.apache.logging.log4j.status.StatusLogger;
  * Triggers a rollover on every restart, but only if the file size is greater than zero.
  */
 @Plugin(name = "OnStartupTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
-public class OnStartupTriggeringPolicy extends AbstractTriggeringPolicy {
+public class OnStartupTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     private static final long JVM_START_TIME = initStartTime();
 
@@ -86,6 +86,26 @@ public class OnStartupTriggeringPolicy extends AbstractTriggeringPolicy {
         }
     }
 
+    /**
+     * Returns {@link Long#MAX_VALUE}: the file size never triggers this policy.
+     *
+     * @since 2.14.0
+     */
+    @Override
+    public long getSizeThreshold() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns {@link Long#MAX_VALUE}: this policy never triggers on an event.
+     *
+     * @since 2.14.0
+     */
+    @Override
+    public long getTimeThreshold() {
+        return Long.MAX_VALUE;
+    }
+
     /**
      * Determine if a rollover should be triggered.
      * @param event   A reference to the current event.
@@ -0,0 +1,372 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AlignedBlockWriter;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ConfigurationFactoryData;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.FileUtils;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+
+/**
+ * Extends RollingFileManager but instead of using a buffered output stream, this class writes whole, aligned blocks
+ * from a direct {@code ByteBuffer} with an {@link AlignedBlockWriter}, bypassing the page cache where the JDK and the
+ * file system support direct I/O.
+ * <p>
+ * A flush writes the partial last block padded with zeros and the next write overwrites it, so frequent flushes cost
+ * a block write each: this manager is meant to be used without immediate flush, behind asynchronous loggers that
+ * flush at the end of each batch. The padding is truncated when the file is closed or rolled over.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public class RollingDirectFileManager extends RollingFileManager {
+
+    /**
+     * The default buffer size.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = RollingRandomAccessFileManager.DEFAULT_BUFFER_SIZE;
+
+    private static final RollingDirectFileManagerFactory FACTORY = new RollingDirectFileManagerFactory();
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.wrap(new byte[0]);
+
+    private static final LockedOperation<RollingDirectFileManager, byte[], Void> WRITE =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length);
+                return true;
+            };
+    private static final LockedOperation<RollingDirectFileManager, byte[], Void> WRITE_AND_FLUSH =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length);
+                manager.flushLocked();
+                return true;
+            };
+    private static final LockedOperation<RollingDirectFileManager, Void, Void> DRAIN =
+            (manager, a, b, offset, length) -> {
+                manager.drainLocked();
+                return true;
+            };
+    private static final LockedOperation<RollingDirectFileManager, Void, Void> FLUSH =
+            (manager, a, b, offset, length) -> {
+                manager.flushLocked();
+                return true;
+            };
+    private static final LockedOperation<RollingDirectFileManager, Void, Void> CLOSE_OUTPUT_STREAM =
+            (manager, a, b, offset, length) -> manager.closeOutputStreamLocked();
+
+    private final AlignedBlockWriter writer;
+
+    protected RollingDirectFileManager(final LoggerContext loggerContext, final AlignedBlockWriter writer,
+            final String fileName, final String pattern, final OutputStream os, final boolean append,
+            final long size, final long initialTime, final TriggeringPolicy policy, final RolloverStrategy strategy,
+            final String advertiseURI, final Layout<? extends Serializable> layout, final String filePermissions,
+            final String fileOwner, final String fileGroup) {
+        super(loggerContext, fileName, pattern, os, append, false, size, initialTime, policy, strategy,
+                advertiseURI, layout, filePermissions, fileOwner, fileGroup, false, EMPTY_BUFFER);
+        this.writer = writer;
+        if (writer.isOpen()) {
+            opened();
+        }
+    }
+
+    public static RollingDirectFileManager getRollingDirectFileManager(final String fileName,
+            final String filePattern, final boolean isAppend, final int bufferSize, final boolean directIo,
+            final TriggeringPolicy policy, final RolloverStrategy strategy, final String advertiseURI,
+            final Layout<? extends Serializable> layout, final String filePermissions, final String fileOwner,
+            final String fileGroup, final Configuration configuration) {
+        if (strategy instanceof DirectWriteRolloverStrategy && fileName != null) {
+            LOGGER.error("The fileName attribute must not be specified with the DirectWriteRolloverStrategy");
+            return null;
+        }
+        final String name = fileName == null ? filePattern : fileName;
+        return narrow(RollingDirectFileManager.class, getManager(name, new FactoryData(fileName, filePattern,
+                isAppend, bufferSize, directIo, policy, strategy, advertiseURI, layout, filePermissions, fileOwner,
+                fileGroup, configuration), FACTORY));
+    }
+
+    /**
+     * Publishes the buffer of the newly opened file and writes the header if the file is empty.
+     */
+    private void opened() {
+        this.byteBuffer = writer.getBuffer();
+        this.size = writer.getLength() - byteBuffer.position();
+        if (writer.getLength() == 0 && layout != null) {
+            final byte[] header = layout.getHeader();
+            if (header != null) {
+                writeLocked(header, 0, header.length);
+            }
+        }
+    }
+
+    @Override
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        runLocked(this, immediateFlush ? WRITE_AND_FLUSH : WRITE, bytes, null, offset, length);
+    }
+
+    private void writeLocked(final byte[] bytes, int offset, int length) {
+        if (!writer.isOpen()) {
+            createFileAfterRolloverOrFail();
+        }
+        while (length > byteBuffer.remaining()) {
+            final int chunk = byteBuffer.remaining();
+            byteBuffer.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+            drainLocked();
+        }
+        byteBuffer.put(bytes, offset, length);
+    }
+
+    private void drainLocked() {
+        if (!writer.isOpen()) {
+            createFileAfterRolloverOrFail();
+            return;
+        }
+        try {
+            writer.drain();
+            size = writer.getLength() - byteBuffer.position();
+        } catch (final IOException ex) {
+            throw new AppenderLoggingException("Error writing to " + getFileName(), ex);
+        }
+    }
+
+    private void createFileAfterRolloverOrFail() {
+        try {
+            createFileAfterRollover();
+        } catch (final IOException ex) {
+            throw new AppenderLoggingException("Unable to open file " + getFileName(), ex);
+        }
+    }
+
+    @Override
+    protected void createFileAfterRollover() throws IOException {
+        final File file = new File(getFileName());
+        FileUtils.makeParentDirs(file);
+        writer.open(file.toPath(), isAppend());
+        opened();
+    }
+
+    @Override
+    protected void flushBuffer(final ByteBuffer buffer) {
+        runLocked(this, DRAIN);
+    }
+
+    @Override
+    public ByteBuffer drain(final ByteBuffer buf) {
+        flushBuffer(buf);
+        return byteBuffer;
+    }
+
+    @Override
+    public void flush() {
+        runLocked(this, FLUSH);
+    }
+
+    private void flushLocked() {
+        if (!writer.isOpen()) {
+            return;
+        }
+        try {
+            writer.flush();
+            size = writer.getLength() - byteBuffer.position();
+        } catch (final IOException ex) {
+            throw new AppenderLoggingException("Error flushing " + getFileName(), ex);
+        }
+    }
+
+    @Override
+    public boolean closeOutputStream() {
+        return runLocked(this, CLOSE_OUTPUT_STREAM);
+    }
+
+    private boolean closeOutputStreamLocked() {
+        // the buffer is cleared on close and must not be written to: the next write opens the file again
+        byteBuffer = EMPTY_BUFFER;
+        try {
+            writer.close();
+            return true;
+        } catch (final IOException ex) {
+            logError("Unable to close file", ex);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the size of the buffer, a whole number of blocks.
+     *
+     * @return the buffer size in bytes
+     */
+    public int getBufferSize() {
+        return writer.getBuffer().capacity();
+    }
+
+    /**
+     * Returns the block size in which the file is written.
+     *
+     * @return the block size in bytes
+     */
+    public int getBlockSize() {
+        return writer.getBlockSize();
+    }
+
+    /**
+     * Returns {@code true} if the current file bypasses the page cache.
+     *
+     * @return whether direct I/O is in use
+     */
+    public boolean isDirectIo() {
+        return writer.isDirect();
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+        return byteBuffer;
+    }
+
+    /**
+     * Factory to create a RollingDirectFileManager.
+     */
+    private static class RollingDirectFileManagerFactory implements
+            ManagerFactory<RollingDirectFileManager, FactoryData> {
+
+        /**
+         * Create the RollingDirectFileManager.
+         *
+         * @param name The name of the entity to manage.
+         * @param data The data required to create the entity.
+         * @return a RollingDirectFileManager.
+         */
+        @Override
+        public RollingDirectFileManager createManager(final String name, final FactoryData data) {
+            final File file = new File(name);
+            final AlignedBlockWriter writer = new AlignedBlockWriter(file.toPath(), data.bufferSize, data.directIo);
+            long time = System.currentTimeMillis();
+            try {
+                if (data.fileName != null) {
+                    if (file.exists()) {
+                        time = file.lastModified();
+                    }
+                    FileUtils.makeParentDirs(file);
+                    writer.open(file.toPath(), data.append);
+                }
+                final RollingDirectFileManager manager = new RollingDirectFileManager(data.getLoggerContext(),
+                        writer, name, data.pattern, NullOutputStream.getInstance(), data.append,
+                        writer.getLength(), time, data.policy, data.strategy, data.advertiseURI, data.layout,
+                        data.filePermissions, data.fileOwner, data.fileGroup);
+                if (data.fileName != null && manager.isAttributeViewEnabled()) {
+                    manager.defineAttributeView(file.toPath());
+                }
+                return manager;
+            } catch (final IOException ex) {
+                LOGGER.error("RollingDirectFileManager (" + name + ") " + ex, ex);
+                Closer.closeSilently(writer);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Factory data.
+     */
+    private static class FactoryData extends ConfigurationFactoryData {
+        private final String fileName;
+        private final String pattern;
+        private final boolean append;
+        private final int bufferSize;
+        private final boolean directIo;
+        private final TriggeringPolicy policy;
+        private final RolloverStrategy strategy;
+        private final String advertiseURI;
+        private final Layout<? extends Serializable> layout;
+        private final String filePermissions;
+        private final String fileOwner;
+        private final String fileGroup;
+
+        /**
+         * Create the data for the factory.
+         *
+         * @param fileName The file name.
+         * @param pattern The pattern.
+         * @param append The append flag.
+         * @param bufferSize The minimum buffer size, rounded up to whole blocks.
+         * @param directIo Whether to bypass the page cache where supported.
+         * @param policy The triggering policy.
+         * @param strategy The rollover strategy.
+         * @param advertiseURI the URI to use when advertising the file
+         * @param layout The layout.
+         * @param filePermissions File permissions
+         * @param fileOwner File owner
+         * @param fileGroup File group
+         * @param configuration The configuration.
+         */
+        public FactoryData(final String fileName, final String pattern, final boolean append, final int bufferSize,
+                final boolean directIo, final TriggeringPolicy policy, final RolloverStrategy strategy,
+                final String advertiseURI, final Layout<? extends Serializable> layout, final String filePermissions,
+                final String fileOwner, final String fileGroup, final Configuration configuration) {
+            super(configuration);
+            this.fileName = fileName;
+            this.pattern = pattern;
+            this.append = append;
+            this.bufferSize = bufferSize;
+            this.directIo = directIo;
+            this.policy = policy;
+            this.strategy = strategy;
+            this.advertiseURI = advertiseURI;
+            this.layout = layout;
+            this.filePermissions = filePermissions;
+            this.fileOwner = fileOwner;
+            this.fileGroup = fileGroup;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public TriggeringPolicy getTriggeringPolicy() {
+            return this.policy;
+        }
+
+        public RolloverStrategy getRolloverStrategy() {
+            return this.strategy;
+        }
+    }
+
+    /**
+     * Updates the RollingFileManager's data during a reconfiguration. This method should be considered private.
+     * It is not thread safe and calling it outside of a reconfiguration may lead to errors. This method may be
+     * made protected in a future release.
+     * @param data The data to update.
+     */
+    @Override
+    public void updateData(final Object data) {
+        final FactoryData factoryData = (FactoryData) data;
+        setRolloverStrategy(factoryData.getRolloverStrategy());
+        setPatternProcessor(new PatternProcessor(factoryData.getPattern(), getPatternProcessor()));
+        setTriggeringPolicy(factoryData.getTriggeringPolicy());
+    }
+}
@@ -24,14 +24,11 @@ import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
-import java.util.Collection;
 import java.util.Date;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
@@ -45,10 +42,10 @@ import org.apache.logging.log4j.core.appender.FileManager;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
 import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.ArchivedFileIndex;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.FileUtils;
-import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 
 /**
  * The Rolling File Manager.
@@ -60,11 +57,10 @@ public class RollingFileManager extends FileManager {
     private static final int MIN_DURATION = 100;
     private static final FileTime EPOCH = FileTime.fromMillis(0);
 
-    protected long size;
+    protected volatile long size;
     private long initialTime;
     private volatile PatternProcessor patternProcessor;
     private final Semaphore semaphore = new Semaphore(1);
-    private final Log4jThreadFactory threadFactory = Log4jThreadFactory.createThreadFactory("RollingFileManager");
     private volatile TriggeringPolicy triggeringPolicy;
     private volatile RolloverStrategy rolloverStrategy;
     private volatile boolean renameEmptyFiles = false;
@@ -72,10 +68,30 @@ public class RollingFileManager extends FileManager {
     private volatile String fileName;
     private final boolean directWrite;
 
-    /* This executor pool will create a new Thread for every work async action to be performed. Using it allows
-       us to make sure all the Threads are completed when the Manager is stopped. */
-    private final ExecutorService asyncExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 0, TimeUnit.MILLISECONDS,
-            new EmptyQueue(), threadFactory);
+    private static final LockedOperation<RollingFileManager, byte[], Void> WRITE_TO_DESTINATION =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeToDestinationLocked(bytes, offset, length);
+                return true;
+            };
+    private static final LockedOperation<RollingFileManager, LogEvent, Void> CHECK_ROLLOVER =
+            (manager, event, b, offset, length) -> {
+                if (manager.triggeringPolicy.isTriggeringEvent(event)) {
+                    manager.rollover();
+                }
+                return true;
+            };
+    private static final LockedOperation<RollingFileManager, Date, Date> ROLLOVER_FROM =
+            (manager, prevFileTime, prevRollTime, offset, length) -> {
+                manager.getPatternProcessor().setPrevFileTime(prevFileTime.getTime());
+                manager.getPatternProcessor().setCurrentFileTime(prevRollTime.getTime());
+                manager.rollover();
+                return true;
+            };
+    private static final LockedOperation<RollingFileManager, Void, Void> ROLLOVER =
+            (manager, a, b, offset, length) -> {
+                manager.rolloverLocked();
+                return true;
+            };
 
     private static final AtomicReferenceFieldUpdater<RollingFileManager, TriggeringPolicy> triggeringPolicyUpdater =
             AtomicReferenceFieldUpdater.newUpdater(RollingFileManager.class, TriggeringPolicy.class, "triggeringPolicy");
@@ -229,13 +245,16 @@ public class RollingFileManager extends FileManager {
 
     // override to make visible for unit tests
     @Override
-    protected synchronized void write(final byte[] bytes, final int offset, final int length,
-            final boolean immediateFlush) {
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
         super.write(bytes, offset, length, immediateFlush);
     }
 
     @Override
-    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+    protected void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        runLocked(this, WRITE_TO_DESTINATION, bytes, null, offset, length);
+    }
+
+    private void writeToDestinationLocked(final byte[] bytes, final int offset, final int length) {
         size += length;
         super.writeToDestination(bytes, offset, length);
     }
@@ -265,13 +284,20 @@ public class RollingFileManager extends FileManager {
     }
 
     /**
-     * Determines if a rollover should occur.
+     * Determines if a rollover should occur. If the triggering policy is a {@link ThresholdTriggeringPolicy} the lock
+     * is only taken once the event time or the file size has reached one of its thresholds.
      * @param event The LogEvent.
      */
-    public synchronized void checkRollover(final LogEvent event) {
-        if (triggeringPolicy.isTriggeringEvent(event)) {
-            rollover();
+    public void checkRollover(final LogEvent event) {
+        final TriggeringPolicy policy = triggeringPolicy;
+        if (policy instanceof ThresholdTriggeringPolicy) {
+            final ThresholdTriggeringPolicy thresholds = (ThresholdTriggeringPolicy) policy;
+            if (event.getTimeMillis() < thresholds.getTimeThreshold()
+                    && getFileSize() <= thresholds.getSizeThreshold()) {
+                return;
+            }
         }
+        runLocked(this, CHECK_ROLLOVER, event, null, 0, 0);
     }
 
     @Override
@@ -285,40 +311,25 @@ public class RollingFileManager extends FileManager {
             stopped &= true;
         }
         final boolean status = super.releaseSub(timeout, timeUnit) && stopped;
-        asyncExecutor.shutdown();
+        // The rollover executor is shared with other managers: wait for this manager's pending action only. The
+        // semaphore is held from the start of a rollover until its asynchronous action has completed.
         try {
             // Allow at least the minimum interval to pass so async actions can complete.
             final long millis = timeUnit.toMillis(timeout);
             final long waitInterval = MIN_DURATION < millis ? millis : MIN_DURATION;
 
-            for (int count = 1; count <= MAX_TRIES && !asyncExecutor.isTerminated(); ++count) {
-                asyncExecutor.awaitTermination(waitInterval * count, TimeUnit.MILLISECONDS);
+            boolean completed = false;
+            for (int count = 1; count <= MAX_TRIES && !completed; ++count) {
+                completed = semaphore.tryAcquire(waitInterval * count, TimeUnit.MILLISECONDS);
             }
-            if (asyncExecutor.isTerminated()) {
-                LOGGER.debug("All asynchronous threads have terminated");
+            if (completed) {
+                semaphore.release();
+                LOGGER.debug("All asynchronous actions have completed");
             } else {
-                asyncExecutor.shutdownNow();
-                try {
-                    asyncExecutor.awaitTermination(timeout, timeUnit);
-                    if (asyncExecutor.isTerminated()) {
-                        LOGGER.debug("All asynchronous threads have terminated");
-                    } else {
-                        LOGGER.debug("RollingFileManager shutting down but some asynchronous services may not have completed");
-                    }
-                } catch (final InterruptedException inner) {
-                    LOGGER.warn("RollingFileManager stopped but some asynchronous services may not have completed.");
-                }
-            }
-        } catch (final InterruptedException ie) {
-            asyncExecutor.shutdownNow();
-            try {
-                asyncExecutor.awaitTermination(timeout, timeUnit);
-                if (asyncExecutor.isTerminated()) {
-                    LOGGER.debug("All asynchronous threads have terminated");
-                }
-            } catch (final InterruptedException inner) {
                 LOGGER.warn("RollingFileManager stopped but some asynchronous services may not have completed.");
             }
+        } catch (final InterruptedException ie) {
+            LOGGER.warn("RollingFileManager stopped but some asynchronous services may not have completed.");
             // Preserve interrupt status
             Thread.currentThread().interrupt();
         }
@@ -326,13 +337,15 @@ public class RollingFileManager extends FileManager {
         return status;
     }
 
-    public synchronized void rollover(Date prevFileTime, Date prevRollTime) {
-		getPatternProcessor().setPrevFileTime(prevFileTime.getTime());
-		getPatternProcessor().setCurrentFileTime(prevRollTime.getTime());
-		rollover();
-	}
+    public void rollover(Date prevFileTime, Date prevRollTime) {
+        runLocked(this, ROLLOVER_FROM, prevFileTime, prevRollTime, 0, 0);
+    }
 
-    public synchronized void rollover() {
+    public void rollover() {
+        runLocked(this, ROLLOVER);
+    }
+
+    private void rolloverLocked() {
         if (!hasOutputStream() && !isCreateOnDemand()) {
             return;
         }
@@ -351,6 +364,21 @@ public class RollingFileManager extends FileManager {
         setOutputStream(createOutputStream());
     }
 
+    /**
+     * Compresses the active file while it is written if the DirectWriteRolloverStrategy is configured to do so.
+     */
+    @Override
+    protected OutputStream wrapOutputStream(final FileOutputStream fos) throws IOException {
+        if (rolloverStrategy instanceof DirectWriteRolloverStrategy) {
+            final DirectWriteRolloverStrategy strategy = (DirectWriteRolloverStrategy) rolloverStrategy;
+            if (strategy.isCompressingOnWrite(this)) {
+                return getFileExtension().createCompressOnWriteOutputStream(fos, strategy.getCompressionLevel(),
+                        strategy.getCompressionBlockSize());
+            }
+        }
+        return fos;
+    }
+
     /**
      * Returns the pattern processor.
      * @return The PatternProcessor.
@@ -437,10 +465,13 @@ public class RollingFileManager extends FileManager {
                         logError("Caught error in synchronous task", ex);
                     }
                 }
+                ArchivedFileIndex.fileArchived(Paths.get(descriptor.getActiveFileName()));
 
                 if (success && descriptor.getAsynchronous() != null) {
                     LOGGER.debug("RollingFileManager executing async {}", descriptor.getAsynchronous());
-                    asyncExecutor.execute(new AsyncAction(descriptor.getAsynchronous(), this));
+                    RolloverExecutor.getInstance(getLoggerContext()).execute(
+                            new AsyncAction(descriptor.getAsynchronous(), this),
+                            RolloverExecutor.getPriority(descriptor.getAsynchronous()));
                     releaseRequired = false;
                 }
                 return true;
@@ -706,47 +737,4 @@ public class RollingFileManager extends FileManager {
         return file.lastModified();
     }
 
-    private static class EmptyQueue extends ArrayBlockingQueue<Runnable> {
-
-        /**
-         *
-         */
-        private static final long serialVersionUID = 1L;
-
-        EmptyQueue() {
-            super(1);
-        }
-
-        @Override
-        public int remainingCapacity() {
-            return 0;
-        }
-
-        @Override
-        public boolean add(final Runnable runnable) {
-            throw new IllegalStateException("Queue is full");
-        }
-
-        @Override
-        public void put(final Runnable runnable) throws InterruptedException {
-            /* No point in going into a permanent wait */
-            throw new InterruptedException("Unable to insert into queue");
-        }
-
-        @Override
-        public boolean offer(final Runnable runnable, final long timeout, final TimeUnit timeUnit) throws InterruptedException {
-            Thread.sleep(timeUnit.toMillis(timeout));
-            return false;
-        }
-
-        @Override
-        public boolean addAll(final Collection<? extends Runnable> collection) {
-            if (collection.size() > 0) {
-                throw new IllegalArgumentException("Too many items in collection");
-            }
-            return false;
-        }
-
-    }
-
 }
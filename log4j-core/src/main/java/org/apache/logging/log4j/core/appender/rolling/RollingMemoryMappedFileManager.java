@@ -0,0 +1,410 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.ConfigurationFactoryData;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.appender.MemoryMappedFileManager;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.FileUtils;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+
+/**
+ * Extends RollingFileManager but instead of using a buffered output stream, this class maps a region of the file into
+ * memory and writes to this memory region, like {@link MemoryMappedFileManager}.
+ * <p>
+ * On rollover the file is truncated to the bytes actually written, so the unused tail of the mapped region does not
+ * end up in the rolled file, and the first region of the new file is mapped. Writers are blocked for about as long as
+ * a regular remap.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public class RollingMemoryMappedFileManager extends RollingFileManager {
+
+    private static final RollingMemoryMappedFileManagerFactory FACTORY = new RollingMemoryMappedFileManagerFactory();
+    private static final ByteBuffer EMPTY_BUFFER = ByteBuffer.wrap(new byte[0]);
+
+    private static final LockedOperation<RollingMemoryMappedFileManager, byte[], Void> WRITE =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length);
+                return true;
+            };
+    private static final LockedOperation<RollingMemoryMappedFileManager, Void, Void> REMAP =
+            (manager, a, b, offset, length) -> {
+                manager.remapLocked();
+                return true;
+            };
+    private static final LockedOperation<RollingMemoryMappedFileManager, Void, Void> FLUSH =
+            (manager, a, b, offset, length) -> {
+                manager.flushLocked();
+                return true;
+            };
+    private static final LockedOperation<RollingMemoryMappedFileManager, Void, Void> CLOSE_OUTPUT_STREAM =
+            (manager, a, b, offset, length) -> manager.closeOutputStreamLocked();
+
+    private final boolean immediateFlush;
+    private final int regionLength;
+    private RandomAccessFile randomAccessFile;
+    // volatile so that checkRollover can read the file size without the lock
+    private volatile MappedByteBuffer mappedBuffer;
+    private volatile long mappingOffset;
+
+    protected RollingMemoryMappedFileManager(final LoggerContext loggerContext, final RandomAccessFile raf,
+            final String fileName, final String pattern, final OutputStream os, final boolean append,
+            final boolean immediateFlush, final int regionLength, final long position, final long initialTime,
+            final TriggeringPolicy policy, final RolloverStrategy strategy, final String advertiseURI,
+            final Layout<? extends Serializable> layout, final String filePermissions, final String fileOwner,
+            final String fileGroup) throws IOException {
+        super(loggerContext, fileName, pattern, os, append, false, position, initialTime, policy, strategy,
+                advertiseURI, layout, filePermissions, fileOwner, fileGroup, false, EMPTY_BUFFER);
+        this.immediateFlush = immediateFlush;
+        this.regionLength = regionLength;
+        if (raf != null) {
+            map(raf, position);
+        }
+    }
+
+    public static RollingMemoryMappedFileManager getRollingMemoryMappedFileManager(final String fileName,
+            final String filePattern, final boolean isAppend, final boolean immediateFlush, final int regionLength,
+            final TriggeringPolicy policy, final RolloverStrategy strategy, final String advertiseURI,
+            final Layout<? extends Serializable> layout, final String filePermissions, final String fileOwner,
+            final String fileGroup, final Configuration configuration) {
+        if (strategy instanceof DirectWriteRolloverStrategy && fileName != null) {
+            LOGGER.error("The fileName attribute must not be specified with the DirectWriteRolloverStrategy");
+            return null;
+        }
+        final String name = fileName == null ? filePattern : fileName;
+        return narrow(RollingMemoryMappedFileManager.class, getManager(name, new FactoryData(fileName, filePattern,
+                isAppend, immediateFlush, regionLength, policy, strategy, advertiseURI, layout, filePermissions,
+                fileOwner, fileGroup, configuration), FACTORY));
+    }
+
+    /**
+     * Maps the first region of the specified file, starting at the specified position, and writes the header if the
+     * file is empty.
+     */
+    private void map(final RandomAccessFile raf, final long position) throws IOException {
+        raf.setLength(position + regionLength);
+        this.randomAccessFile = raf;
+        this.mappedBuffer = MemoryMappedFileManager.mmap(raf.getChannel(), getFileName(), position, regionLength);
+        this.byteBuffer = mappedBuffer;
+        this.mappingOffset = position;
+        if (position == 0) {
+            writeHeader();
+        }
+    }
+
+    private void writeHeader() {
+        if (layout == null) {
+            return;
+        }
+        final byte[] header = layout.getHeader();
+        if (header != null) {
+            writeLocked(header, 0, header.length);
+        }
+    }
+
+    @Override
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        runLocked(this, WRITE, bytes, null, offset, length);
+    }
+
+    private void writeLocked(final byte[] bytes, int offset, int length) {
+        if (mappedBuffer == null) {
+            createFileAfterRolloverOrFail();
+        }
+        while (length > mappedBuffer.remaining()) {
+            final int chunk = mappedBuffer.remaining();
+            mappedBuffer.put(bytes, offset, chunk);
+            offset += chunk;
+            length -= chunk;
+            remapLocked();
+        }
+        mappedBuffer.put(bytes, offset, length);
+    }
+
+    private void remap() {
+        runLocked(this, REMAP);
+    }
+
+    private void remapLocked() {
+        if (mappedBuffer == null) {
+            createFileAfterRolloverOrFail();
+            return;
+        }
+        final long offset = this.mappingOffset + mappedBuffer.position();
+        final int length = mappedBuffer.remaining() + regionLength;
+        try {
+            MemoryMappedFileManager.unsafeUnmap(mappedBuffer);
+            randomAccessFile.setLength(randomAccessFile.length() + regionLength);
+            mappedBuffer = MemoryMappedFileManager.mmap(randomAccessFile.getChannel(), getFileName(), offset, length);
+            this.byteBuffer = mappedBuffer;
+            mappingOffset = offset;
+        } catch (final Exception ex) {
+            logError("Unable to remap", ex);
+        }
+    }
+
+    private void createFileAfterRolloverOrFail() {
+        try {
+            createFileAfterRollover();
+        } catch (final IOException ex) {
+            throw new AppenderLoggingException("Unable to map file " + getFileName(), ex);
+        }
+    }
+
+    @Override
+    protected void createFileAfterRollover() throws IOException {
+        final String fileName = getFileName();
+        final File file = new File(fileName);
+        FileUtils.makeParentDirs(file);
+        final RandomAccessFile raf = new RandomAccessFile(fileName, "rw");
+        try {
+            map(raf, isAppend() ? raf.length() : 0);
+        } catch (final IOException ex) {
+            Closer.closeSilently(raf);
+            throw ex;
+        }
+    }
+
+    @Override
+    public long getFileSize() {
+        return mappedBuffer == null ? 0 : mappingOffset + mappedBuffer.position();
+    }
+
+    @Override
+    public void flush() {
+        runLocked(this, FLUSH);
+    }
+
+    private void flushLocked() {
+        if (mappedBuffer != null) {
+            mappedBuffer.force();
+        }
+    }
+
+    @Override
+    public boolean closeOutputStream() {
+        return runLocked(this, CLOSE_OUTPUT_STREAM);
+    }
+
+    private boolean closeOutputStreamLocked() {
+        if (mappedBuffer == null) {
+            return true;
+        }
+        final long position = mappedBuffer.position();
+        final long length = mappingOffset + position;
+        try {
+            MemoryMappedFileManager.unsafeUnmap(mappedBuffer);
+        } catch (final Exception ex) {
+            logError("Unable to unmap MappedBuffer", ex);
+        }
+        // the unmapped buffer must not be written to: the next write maps the file again
+        mappedBuffer = null;
+        byteBuffer = EMPTY_BUFFER;
+        try {
+            LOGGER.debug("RollingMemoryMappedFileManager closing. Setting {} length to {} (offset {} + position {})",
+                    getFileName(), length, mappingOffset, position);
+            // truncate the unused tail of the mapped region
+            randomAccessFile.setLength(length);
+            randomAccessFile.close();
+            return true;
+        } catch (final IOException ex) {
+            logError("Unable to close memory mapped file", ex);
+            return false;
+        } finally {
+            randomAccessFile = null;
+        }
+    }
+
+    /**
+     * Returns the length of the memory mapped region.
+     *
+     * @return the length of the mapped region
+     */
+    public int getRegionLength() {
+        return regionLength;
+    }
+
+    /**
+     * Returns {@code true} if the content of the buffer should be forced to the storage device on every write,
+     * {@code false} otherwise.
+     *
+     * @return whether each write should be force-sync'ed
+     */
+    public boolean isImmediateFlush() {
+        return immediateFlush;
+    }
+
+    @Override
+    protected void flushBuffer(final ByteBuffer buffer) {
+        // do nothing (do not call drain() to avoid spurious remapping)
+    }
+
+    @Override
+    public ByteBuffer getByteBuffer() {
+        return byteBuffer;
+    }
+
+    @Override
+    public ByteBuffer drain(final ByteBuffer buf) {
+        remap();
+        return byteBuffer;
+    }
+
+    /**
+     * Factory to create a RollingMemoryMappedFileManager.
+     */
+    private static class RollingMemoryMappedFileManagerFactory implements
+            ManagerFactory<RollingMemoryMappedFileManager, FactoryData> {
+
+        /**
+         * Create the RollingMemoryMappedFileManager.
+         *
+         * @param name The name of the entity to manage.
+         * @param data The data required to create the entity.
+         * @return a RollingMemoryMappedFileManager.
+         */
+        @Override
+        public RollingMemoryMappedFileManager createManager(final String name, final FactoryData data) {
+            File file = null;
+            long position = 0;
+            long time = System.currentTimeMillis();
+            RandomAccessFile raf = null;
+            try {
+                if (data.fileName != null) {
+                    file = new File(name);
+                    if (!data.append) {
+                        file.delete();
+                    }
+                    if (file.exists()) {
+                        time = file.lastModified();
+                    }
+                    FileUtils.makeParentDirs(file);
+                    raf = new RandomAccessFile(name, "rw");
+                    position = data.append ? raf.length() : 0;
+                }
+                final RollingMemoryMappedFileManager manager = new RollingMemoryMappedFileManager(
+                        data.getLoggerContext(), raf, name, data.pattern, NullOutputStream.getInstance(), data.append,
+                        data.immediateFlush, data.regionLength, position, time, data.policy, data.strategy,
+                        data.advertiseURI, data.layout, data.filePermissions, data.fileOwner, data.fileGroup);
+                if (file != null && manager.isAttributeViewEnabled()) {
+                    manager.defineAttributeView(file.toPath());
+                }
+                return manager;
+            } catch (final IOException ex) {
+                LOGGER.error("RollingMemoryMappedFileManager (" + name + ") " + ex, ex);
+                Closer.closeSilently(raf);
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Factory data.
+     */
+    private static class FactoryData extends ConfigurationFactoryData {
+        private final String fileName;
+        private final String pattern;
+        private final boolean append;
+        private final boolean immediateFlush;
+        private final int regionLength;
+        private final TriggeringPolicy policy;
+        private final RolloverStrategy strategy;
+        private final String advertiseURI;
+        private final Layout<? extends Serializable> layout;
+        private final String filePermissions;
+        private final String fileOwner;
+        private final String fileGroup;
+
+        /**
+         * Create the data for the factory.
+         *
+         * @param fileName The file name.
+         * @param pattern The pattern.
+         * @param append The append flag.
+         * @param immediateFlush forces the memory content to be written to the storage device on every event
+         * @param regionLength length of the mapped region
+         * @param policy The triggering policy.
+         * @param strategy The rollover strategy.
+         * @param advertiseURI the URI to use when advertising the file
+         * @param layout The layout.
+         * @param filePermissions File permissions
+         * @param fileOwner File owner
+         * @param fileGroup File group
+         * @param configuration The configuration.
+         */
+        public FactoryData(final String fileName, final String pattern, final boolean append,
+                final boolean immediateFlush, final int regionLength, final TriggeringPolicy policy,
+                final RolloverStrategy strategy, final String advertiseURI,
+                final Layout<? extends Serializable> layout, final String filePermissions, final String fileOwner,
+                final String fileGroup, final Configuration configuration) {
+            super(configuration);
+            this.fileName = fileName;
+            this.pattern = pattern;
+            this.append = append;
+            this.immediateFlush = immediateFlush;
+            this.regionLength = regionLength;
+            this.policy = policy;
+            this.strategy = strategy;
+            this.advertiseURI = advertiseURI;
+            this.layout = layout;
+            this.filePermissions = filePermissions;
+            this.fileOwner = fileOwner;
+            this.fileGroup = fileGroup;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+
+        public TriggeringPolicy getTriggeringPolicy() {
+            return this.policy;
+        }
+
+        public RolloverStrategy getRolloverStrategy() {
+            return this.strategy;
+        }
+    }
+
+    /**
+     * Updates the RollingFileManager's data during a reconfiguration. This method should be considered private.
+     * It is not thread safe and calling it outside of a reconfiguration may lead to errors. This method may be
+     * made protected in a future release.
+     * @param data The data to update.
+     */
+    @Override
+    public void updateData(final Object data) {
+        final FactoryData factoryData = (FactoryData) data;
+        setRolloverStrategy(factoryData.getRolloverStrategy());
+        setPatternProcessor(new PatternProcessor(factoryData.getPattern(), getPatternProcessor()));
+        setTriggeringPolicy(factoryData.getTriggeringPolicy());
+    }
+}
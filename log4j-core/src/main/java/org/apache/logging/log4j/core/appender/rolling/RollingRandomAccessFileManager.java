@@ -44,6 +44,14 @@ public class RollingRandomAccessFileManager extends RollingFileManager {
 
     private static final RollingRandomAccessFileManagerFactory FACTORY = new RollingRandomAccessFileManagerFactory();
 
+    private static final LockedOperation<RollingRandomAccessFileManager, byte[], Void> WRITE_TO_DESTINATION =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeToDestinationLocked(bytes, offset, length);
+                return true;
+            };
+    private static final LockedOperation<RollingRandomAccessFileManager, Void, Void> CLOSE_OUTPUT_STREAM =
+            (manager, a, b, offset, length) -> manager.closeOutputStreamLocked();
+
     private RandomAccessFile randomAccessFile;
     private final ThreadLocal<Boolean> isEndOfBatch = new ThreadLocal<>();
 
@@ -120,13 +128,16 @@ public class RollingRandomAccessFileManager extends RollingFileManager {
 
     // override to make visible for unit tests
     @Override
-    protected synchronized void write(final byte[] bytes, final int offset, final int length,
-            final boolean immediateFlush) {
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
         super.write(bytes, offset, length, immediateFlush);
     }
 
     @Override
-    protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+    protected void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        runLocked(this, WRITE_TO_DESTINATION, bytes, null, offset, length);
+    }
+
+    private void writeToDestinationLocked(final byte[] bytes, final int offset, final int length) {
         try {
             if (randomAccessFile == null) {
                 final String fileName = getFileName();
@@ -156,12 +167,16 @@ public class RollingRandomAccessFileManager extends RollingFileManager {
     }
 
     @Override
-    public synchronized void flush() {
+    public void flush() {
         flushBuffer(byteBuffer);
     }
 
     @Override
-	public synchronized boolean closeOutputStream() {
+    public boolean closeOutputStream() {
+        return runLocked(this, CLOSE_OUTPUT_STREAM);
+    }
+
+    private boolean closeOutputStreamLocked() {
 		flush();
 		if (randomAccessFile != null) {
 			try {
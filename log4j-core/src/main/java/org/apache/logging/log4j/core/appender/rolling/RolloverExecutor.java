@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.rolling.action.AbstractStreamCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.CommonsCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.CompositeAction;
+import org.apache.logging.log4j.core.appender.rolling.action.DeleteAction;
+import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ZipCompressAction;
+import org.apache.logging.log4j.core.async.LogLinearHistogram;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Runs the asynchronous rollover actions of all rolling file managers of a {@link LoggerContext} on a bounded number
+ * of threads. Pending actions are ordered by {@linkplain #getPriority(Action) priority}, so that cheap deletes are not
+ * held up behind compressions when many appenders roll over at the same time, and in submission order otherwise.
+ * <p>
+ * The number of threads is set with system property {@value #PROPERTY_NAME_THREADS} and defaults to the number of
+ * available processors. Idle threads are stopped after {@value #KEEP_ALIVE_MILLIS} milliseconds.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class RolloverExecutor {
+
+    /**
+     * Name of the system property that sets the number of rollover threads of each logger context.
+     */
+    public static final String PROPERTY_NAME_THREADS = "log4j2.rolloverThreads";
+
+    /**
+     * Priority of actions that only delete files.
+     */
+    public static final int PRIORITY_DELETE = 0;
+
+    /**
+     * Priority of actions that neither compress nor delete files, such as renames.
+     */
+    public static final int PRIORITY_DEFAULT = 1;
+
+    /**
+     * Priority of actions that compress files.
+     */
+    public static final int PRIORITY_COMPRESS = 2;
+
+    static final long KEEP_ALIVE_MILLIS = 1000;
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final String KEY = RolloverExecutor.class.getName();
+
+    private static volatile RolloverExecutor defaultInstance;
+
+    private final String name;
+    private final int threads;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LogLinearHistogram queueDepth = new LogLinearHistogram();
+    private final LogLinearHistogram waitNanos = new LogLinearHistogram();
+    private final LogLinearHistogram durationNanos = new LogLinearHistogram();
+
+    RolloverExecutor(final String name, final int threads) {
+        this.name = name;
+        this.threads = threads;
+        // core threads time out, so the pool holds no threads while no rollover is in progress
+        this.executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_MILLIS, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<Runnable>(), Log4jThreadFactory.createThreadFactory("RolloverExecutor"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Returns the rollover executor of the specified logger context, creating it if necessary.
+     *
+     * @param loggerContext the logger context, may be {@code null}
+     * @return the rollover executor shared by all rolling file managers of the context, or a JVM-wide executor if
+     *         the context is {@code null}
+     */
+    public static RolloverExecutor getInstance(final LoggerContext loggerContext) {
+        if (loggerContext == null) {
+            RolloverExecutor result = defaultInstance;
+            if (result == null) {
+                synchronized (RolloverExecutor.class) {
+                    result = defaultInstance;
+                    if (result == null) {
+                        defaultInstance = result = create("Default");
+                    }
+                }
+            }
+            return result;
+        }
+        final Object existing = loggerContext.getObject(KEY);
+        if (existing instanceof RolloverExecutor) {
+            return (RolloverExecutor) existing;
+        }
+        final RolloverExecutor created = create(loggerContext.getName());
+        final Object raced = loggerContext.putObjectIfAbsent(KEY, created);
+        return raced instanceof RolloverExecutor ? (RolloverExecutor) raced : created;
+    }
+
+    private static RolloverExecutor create(final String name) {
+        final int processors = Runtime.getRuntime().availableProcessors();
+        int threads = PropertiesUtil.getProperties().getIntegerProperty(PROPERTY_NAME_THREADS, processors);
+        if (threads < 1) {
+            LOGGER.warn("Invalid {} {}, using {}", PROPERTY_NAME_THREADS, threads, processors);
+            threads = processors;
+        }
+        LOGGER.debug("Creating RolloverExecutor for {} with {} threads", name, threads);
+        return new RolloverExecutor(name, threads);
+    }
+
+    /**
+     * Returns the priority of an action: {@link #PRIORITY_DELETE} for a {@link DeleteAction},
+     * {@link #PRIORITY_COMPRESS} for the built-in compress actions, the highest priority of the nested actions for a
+     * {@link CompositeAction} and {@link #PRIORITY_DEFAULT} otherwise. Actions with lower values run first.
+     *
+     * @param action the action
+     * @return the priority of the action
+     */
+    public static int getPriority(final Action action) {
+        if (action instanceof DeleteAction) {
+            return PRIORITY_DELETE;
+        }
+        if (action instanceof GzCompressAction || action instanceof ZipCompressAction
+                || action instanceof CommonsCompressAction || action instanceof ParallelGzCompressAction
+                || action instanceof AbstractStreamCompressAction) {
+            return PRIORITY_COMPRESS;
+        }
+        if (action instanceof CompositeAction) {
+            final Action[] actions = ((CompositeAction) action).getActions();
+            if (actions.length == 0) {
+                return PRIORITY_DEFAULT;
+            }
+            int priority = PRIORITY_DELETE;
+            for (final Action nested : actions) {
+                priority = Math.max(priority, getPriority(nested));
+            }
+            return priority;
+        }
+        return PRIORITY_DEFAULT;
+    }
+
+    /**
+     * Runs the specified action on one of the rollover threads.
+     *
+     * @param action the action to run
+     * @param priority the priority of the action, lower values run first
+     */
+    public void execute(final Action action, final int priority) {
+        queueDepth.record(executor.getQueue().size());
+        executor.execute(new Task(action, priority, sequence.getAndIncrement()));
+    }
+
+    /**
+     * Returns the name of the logger context this executor belongs to.
+     *
+     * @return the name of the logger context
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the maximum number of actions run at the same time.
+     *
+     * @return the number of rollover threads
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns the number of actions waiting for a thread.
+     *
+     * @return the number of queued actions
+     */
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of actions being run.
+     *
+     * @return the number of running actions
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * Returns the histogram of the number of actions already waiting when an action was submitted.
+     *
+     * @return the queue depth histogram
+     */
+    public LogLinearHistogram getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Returns the histogram of the times actions waited for a thread, in nanoseconds.
+     *
+     * @return the wait time histogram
+     */
+    public LogLinearHistogram getWaitNanos() {
+        return waitNanos;
+    }
+
+    /**
+     * Returns the histogram of the times actions took to run, in nanoseconds.
+     *
+     * @return the action duration histogram
+     */
+    public LogLinearHistogram getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Discards the recorded queue depths, wait times and durations.
+     */
+    public void reset() {
+        queueDepth.reset();
+        waitNanos.reset();
+        durationNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "RolloverExecutor[name=" + name + ", threads=" + threads + ", queueSize=" + getQueueSize()
+                + ", activeCount=" + getActiveCount() + "]";
+    }
+
+    /**
+     * Queued action, ordered by priority and then by submission order.
+     */
+    private final class Task implements Runnable, Comparable<Task> {
+
+        private final Action action;
+        private final int priority;
+        private final long sequenceNumber;
+        private final long submitNanos = System.nanoTime();
+
+        Task(final Action action, final int priority, final long sequenceNumber) {
+            this.action = action;
+            this.priority = priority;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public void run() {
+            final long start = System.nanoTime();
+            waitNanos.record(start - submitNanos);
+            try {
+                action.run();
+            } finally {
+                durationNanos.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public int compareTo(final Task other) {
+            final int result = Integer.compare(priority, other.priority);
+            return result != 0 ? result : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+}
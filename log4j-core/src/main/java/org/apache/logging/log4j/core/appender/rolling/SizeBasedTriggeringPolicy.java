@@ -26,7 +26,7 @@ import org.apache.logging.log4j.core.config.plugins.PluginFactory;
  *
  */
 @Plugin(name = "SizeBasedTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
-public class SizeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
+public class SizeBasedTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     /**
      * Rollover threshold size in bytes.
@@ -72,6 +72,27 @@ public class SizeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
      * @param event   A reference to the currently event.
      * @return true if a rollover should take place, false otherwise.
      */
+    /**
+     * Returns the maximum file size: a rollover can only be triggered once the file is larger.
+     *
+     * @return the maximum file size in bytes
+     * @since 2.14.0
+     */
+    @Override
+    public long getSizeThreshold() {
+        return maxFileSize;
+    }
+
+    /**
+     * Returns {@link Long#MAX_VALUE}: this policy does not depend on time.
+     *
+     * @since 2.14.0
+     */
+    @Override
+    public long getTimeThreshold() {
+        return Long.MAX_VALUE;
+    }
+
     @Override
     public boolean isTriggeringEvent(final LogEvent event) {
         final boolean triggered = manager.getFileSize() > maxFileSize;
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+/**
+ * A {@link TriggeringPolicy} whose conditions can be described by a file size and a timestamp. The
+ * {@link RollingFileManager} compares them with the current file size and the event time without taking its lock, and
+ * only calls {@link #isTriggeringEvent(org.apache.logging.log4j.core.LogEvent) isTriggeringEvent} under the lock when
+ * one of them has been reached.
+ * <p>
+ * Both thresholds are read by logging threads without synchronization and must be safe to read concurrently, for
+ * example by keeping them in {@code volatile} fields. A policy may return a threshold lower than the exact one (the
+ * locked check decides), but never a higher one. Subclasses that change {@code isTriggeringEvent} must override the
+ * thresholds accordingly.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public interface ThresholdTriggeringPolicy extends TriggeringPolicy {
+
+    /**
+     * Returns the file size in bytes that must be exceeded before this policy can trigger.
+     *
+     * @return the size threshold, {@link Long#MAX_VALUE} if the size never triggers a rollover or a negative value
+     *         if every event must be checked
+     */
+    long getSizeThreshold();
+
+    /**
+     * Returns the event time in milliseconds from which on this policy can trigger.
+     *
+     * @return the time threshold, {@link Long#MAX_VALUE} if time never triggers a rollover or {@link Long#MIN_VALUE}
+     *         if every event must be checked
+     */
+    long getTimeThreshold();
+}
@@ -31,7 +31,7 @@ import org.apache.logging.log4j.core.util.Integers;
  * Rolls a file over based on time.
  */
 @Plugin(name = "TimeBasedTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
-public final class TimeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
+public final class TimeBasedTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
 
     public static class Builder implements org.apache.logging.log4j.core.util.Builder<TimeBasedTriggeringPolicy> {
@@ -80,7 +80,7 @@ public final class TimeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
 
     }
 
-    private long nextRolloverMillis;
+    private volatile long nextRolloverMillis;
     private final int interval;
     private final boolean modulate;
     private final long maxRandomDelayMillis;
@@ -126,6 +126,27 @@ public final class TimeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
      * @param event   A reference to the currently event.
      * @return true if a rollover should occur.
      */
+    /**
+     * Returns {@link Long#MAX_VALUE}: this policy does not depend on the file size.
+     *
+     * @since 2.14.0
+     */
+    @Override
+    public long getSizeThreshold() {
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns the time of the next rollover.
+     *
+     * @return the time of the next rollover in milliseconds
+     * @since 2.14.0
+     */
+    @Override
+    public long getTimeThreshold() {
+        return nextRolloverMillis;
+    }
+
     @Override
     public boolean isTriggeringEvent(final LogEvent event) {
         final long nowMillis = event.getTimeMillis();
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Base class for actions that compress a file by streaming it through a compressor output stream. The source is read
+ * through a {@link FileChannel} in blocks of a configurable size, which are handed to the compressor in a single call.
+ *
+ * @since 2.14.0
+ */
+public abstract class AbstractStreamCompressAction extends AbstractAction {
+
+    /**
+     * Default size of the buffer used to read the source file: 64 KB.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Source file.
+     */
+    private final File source;
+
+    /**
+     * Destination file.
+     */
+    private final File destination;
+
+    /**
+     * If true, attempt to delete file on completion.
+     */
+    private final boolean deleteSource;
+
+    /**
+     * Size of the buffer used to read the source file.
+     */
+    private final int bufferSize;
+
+    /**
+     * Creates new instance.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param bufferSize   size in bytes of the buffer used to read the source file, at least 1.
+     */
+    protected AbstractStreamCompressAction(final File source, final File destination, final boolean deleteSource,
+            final int bufferSize) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(destination, "destination");
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be at least 1: " + bufferSize);
+        }
+        this.source = source;
+        this.destination = destination;
+        this.deleteSource = deleteSource;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Returns the name of the compression format, used in log messages.
+     *
+     * @return the compression format name.
+     */
+    protected abstract String getFormatName();
+
+    /**
+     * Wraps the destination stream in a compressor output stream.
+     *
+     * @param out the destination stream.
+     * @return the compressor output stream.
+     * @throws IOException if the compressor cannot be created.
+     */
+    protected abstract OutputStream createCompressorOutputStream(OutputStream out) throws IOException;
+
+    /**
+     * Compresses.
+     *
+     * @return true if successfully compressed.
+     * @throws IOException on IO exception.
+     */
+    @Override
+    public boolean execute() throws IOException {
+        if (!source.exists()) {
+            return false;
+        }
+        LOGGER.debug("Starting {} compression of {}", getFormatName(), source.getPath());
+        try (final FileChannel input = FileChannel.open(source.toPath(), StandardOpenOption.READ);
+                final OutputStream output = createCompressorOutputStream(new FileOutputStream(destination))) {
+            final ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+            final byte[] array = buffer.array();
+            int n;
+            while ((n = input.read(buffer)) != -1) {
+                output.write(array, 0, n);
+                buffer.clear();
+            }
+            LOGGER.debug("Finished {} compression of {}", getFormatName(), source.getPath());
+        }
+
+        if (deleteSource) {
+            try {
+                if (Files.deleteIfExists(source.toPath())) {
+                    LOGGER.debug("Deleted {}", source.toString());
+                } else {
+                    LOGGER.warn("Unable to delete {} after {} compression. File did not exist", source.toString(),
+                            getFormatName());
+                }
+            } catch (final Exception ex) {
+                LOGGER.warn("Unable to delete {} after {} compression, {}", source.toString(), getFormatName(),
+                        ex.getMessage());
+            }
+        }
+
+        ArchivedFileIndex.fileCompressed(source.toPath(), destination.toPath());
+        return true;
+    }
+
+    /**
+     * Reports exception.
+     *
+     * @param ex exception.
+     */
+    @Override
+    protected void reportException(final Exception ex) {
+        LOGGER.warn("Exception during " + getFormatName() + " compression of '" + source.toString() + "'.", ex);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + '[' + source + " to " + destination
+                + ", deleteSource=" + deleteSource + ", bufferSize=" + bufferSize + ']';
+    }
+
+    public File getSource() {
+        return source;
+    }
+
+    public File getDestination() {
+        return destination;
+    }
+
+    public boolean isDeleteSource() {
+        return deleteSource;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,452 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * In-memory index of the files below a base directory, optionally persisted to disk.
+ * <p>
+ * A {@link DeleteAction} configured with {@code useIndex="true"} evaluates its conditions against this index instead
+ * of walking the file tree on every rollover. The index is built by a full scan (or loaded from its index file) the
+ * first time it is used and is then kept up to date incrementally: the rollover strategies report the files they
+ * create, rename and delete, and only those files have their attributes read again. Changes made to the directory by
+ * other processes are not noticed until {@link #rescan()} is called.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class ArchivedFileIndex {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final String HEADER = "# Log4j archived file index: <size> <lastModifiedMillis> <relativePath>";
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final ConcurrentMap<String, ArchivedFileIndex> INDEXES = new ConcurrentHashMap<>();
+
+    private final Path basePath;
+    private final Set<FileVisitOption> options;
+    private final LinkOption[] linkOptions;
+    private final int maxDepth;
+    private final Path indexFile;
+    private final Map<Path, IndexedFileAttributes> entries = new HashMap<>();
+    private final Set<Path> pending = new LinkedHashSet<>();
+    private boolean dirty;
+
+    private ArchivedFileIndex(final Path basePath, final Set<FileVisitOption> options, final int maxDepth,
+            final Path indexFile) {
+        this.basePath = basePath;
+        this.options = options.isEmpty() ? Collections.<FileVisitOption> emptySet() : EnumSet.copyOf(options);
+        this.linkOptions = options.contains(FileVisitOption.FOLLOW_LINKS) ? new LinkOption[0]
+                : new LinkOption[] {LinkOption.NOFOLLOW_LINKS};
+        this.maxDepth = maxDepth;
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Returns the index of the specified base directory, creating it if necessary. A new index is loaded from the
+     * index file if that file exists, otherwise it is built with a full scan of the base directory.
+     *
+     * @param basePath the base directory
+     * @param options the options used to walk the file tree
+     * @param maxDepth the maximum number of directory levels to index
+     * @param indexFile the file the index is persisted to, may be {@code null}
+     * @return the index of the base directory
+     */
+    public static ArchivedFileIndex getIndex(final Path basePath, final Set<FileVisitOption> options,
+            final int maxDepth, final Path indexFile) {
+        final Path base = normalize(basePath);
+        final String key = base + "|" + maxDepth + "|" + options.contains(FileVisitOption.FOLLOW_LINKS);
+        ArchivedFileIndex index = INDEXES.get(key);
+        if (index == null) {
+            final ArchivedFileIndex created = new ArchivedFileIndex(base, options, maxDepth,
+                    indexFile == null ? null : normalize(indexFile));
+            created.initialize();
+            index = INDEXES.putIfAbsent(key, created);
+            if (index == null) {
+                index = created;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Records that a file was created or replaced, for example by renaming or compressing a log file during rollover.
+     * Its attributes are read the next time an index containing it is used.
+     *
+     * @param path the new file
+     */
+    public static void fileArchived(final Path path) {
+        if (INDEXES.isEmpty()) {
+            return;
+        }
+        final Path file = normalize(path);
+        for (final ArchivedFileIndex index : INDEXES.values()) {
+            index.add(file);
+        }
+    }
+
+    /**
+     * Records that a file was deleted.
+     *
+     * @param path the deleted file
+     */
+    public static void fileDeleted(final Path path) {
+        if (INDEXES.isEmpty()) {
+            return;
+        }
+        final Path file = normalize(path);
+        for (final ArchivedFileIndex index : INDEXES.values()) {
+            index.remove(file);
+        }
+    }
+
+    /**
+     * Records that a file was renamed.
+     *
+     * @param source the previous name of the file
+     * @param destination the new name of the file
+     */
+    public static void fileRenamed(final Path source, final Path destination) {
+        fileDeleted(source);
+        fileArchived(destination);
+    }
+
+    /**
+     * Records that a file was compressed. The source file is dropped from the index if it was deleted.
+     *
+     * @param source the file that was compressed
+     * @param destination the compressed file
+     */
+    public static void fileCompressed(final Path source, final Path destination) {
+        fileArchived(source);
+        fileArchived(destination);
+    }
+
+    private static Path normalize(final Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Returns the absolute, normalized base directory of this index. The paths returned by
+     * {@link #getSortedPaths(PathSorter)} are below this directory.
+     *
+     * @return the base directory
+     */
+    public Path getBasePath() {
+        return basePath;
+    }
+
+    /**
+     * Returns the file this index is persisted to.
+     *
+     * @return the index file, or {@code null} if the index is only kept in memory
+     */
+    public Path getIndexFile() {
+        return indexFile;
+    }
+
+    /**
+     * Returns the number of files in the index, not counting files whose attributes have not been read yet.
+     *
+     * @return the number of indexed files
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the indexed files sorted with the specified sorter. The attributes of files reported since the last
+     * call are read first; files that no longer exist are dropped from the index.
+     *
+     * @param sorter determines the order of the returned list
+     * @return the indexed files and their attributes
+     */
+    public synchronized List<PathWithAttributes> getSortedPaths(final PathSorter sorter) {
+        refreshPending();
+        final List<PathWithAttributes> result = new ArrayList<>(entries.size());
+        for (final Map.Entry<Path, IndexedFileAttributes> entry : entries.entrySet()) {
+            result.add(new PathWithAttributes(entry.getKey(), entry.getValue()));
+        }
+        Collections.sort(result, sorter);
+        return result;
+    }
+
+    /**
+     * Discards the index and rebuilds it with a full scan of the base directory, then persists it.
+     *
+     * @throws IOException if the base directory could not be scanned
+     */
+    public synchronized void rescan() throws IOException {
+        final long start = System.nanoTime();
+        entries.clear();
+        pending.clear();
+        Files.walkFileTree(basePath, options, maxDepth, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                if (!isIndexFile(file)) {
+                    entries.put(file, new IndexedFileAttributes(attrs));
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException ioException)
+                    throws IOException {
+                if (ioException instanceof NoSuchFileException) {
+                    LOGGER.info("File {} could not be accessed, it has likely already been deleted", file,
+                            ioException);
+                    return FileVisitResult.CONTINUE;
+                }
+                return super.visitFileFailed(file, ioException);
+            }
+        });
+        dirty = true;
+        save();
+        final double duration = System.nanoTime() - start;
+        LOGGER.debug("Indexed {} files in {} in {} seconds", entries.size(), basePath,
+                duration / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Persists the index to its index file if it changed since it was last saved. Does nothing if this index has
+     * no index file.
+     */
+    public synchronized void save() {
+        if (indexFile == null || !dirty) {
+            return;
+        }
+        refreshPending();
+        final Path temp = indexFile.resolveSibling(indexFile.getFileName() + TEMP_SUFFIX);
+        try {
+            final Path parent = indexFile.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (final BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                writer.write(HEADER);
+                writer.newLine();
+                for (final Map.Entry<Path, IndexedFileAttributes> entry : entries.entrySet()) {
+                    final IndexedFileAttributes attrs = entry.getValue();
+                    writer.write(Long.toString(attrs.size));
+                    writer.write(' ');
+                    writer.write(Long.toString(attrs.lastModified));
+                    writer.write(' ');
+                    writer.write(basePath.relativize(entry.getKey()).toString());
+                    writer.newLine();
+                }
+            }
+            try {
+                Files.move(temp, indexFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException ex) {
+                Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            dirty = false;
+        } catch (final IOException ex) {
+            LOGGER.error("Unable to save archived file index {}: {}", indexFile, ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Removes a file from this index.
+     *
+     * @param file the file to remove
+     */
+    public synchronized void remove(final Path file) {
+        final Path path = normalize(file);
+        final boolean removed = entries.remove(path) != null;
+        if (pending.remove(path) || removed) {
+            dirty = true;
+        }
+    }
+
+    private synchronized void add(final Path file) {
+        if (contains(file)) {
+            pending.add(file);
+            dirty = true;
+        }
+    }
+
+    private boolean contains(final Path file) {
+        if (!file.startsWith(basePath) || file.equals(basePath) || isIndexFile(file)) {
+            return false;
+        }
+        return basePath.relativize(file).getNameCount() <= maxDepth;
+    }
+
+    private boolean isIndexFile(final Path file) {
+        if (indexFile == null) {
+            return false;
+        }
+        final Path path = normalize(file);
+        return path.equals(indexFile) || path.equals(indexFile.resolveSibling(indexFile.getFileName() + TEMP_SUFFIX));
+    }
+
+    private void refreshPending() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (final Path file : pending) {
+            try {
+                entries.put(file, new IndexedFileAttributes(
+                        Files.readAttributes(file, BasicFileAttributes.class, linkOptions)));
+            } catch (final IOException ex) {
+                LOGGER.trace("Not indexing {}: {}", file, ex.toString());
+                entries.remove(file);
+            }
+        }
+        pending.clear();
+    }
+
+    private synchronized void initialize() {
+        if (indexFile != null && Files.exists(indexFile)) {
+            try {
+                load();
+                return;
+            } catch (final IOException | RuntimeException ex) {
+                LOGGER.warn("Unable to load archived file index {}, rescanning {}: {}", indexFile, basePath,
+                        ex.getMessage());
+            }
+        }
+        try {
+            rescan();
+        } catch (final IOException ex) {
+            LOGGER.error("Unable to index {}: {}", basePath, ex.getMessage(), ex);
+        }
+    }
+
+    private void load() throws IOException {
+        final Map<Path, IndexedFileAttributes> loaded = new HashMap<>();
+        try (final BufferedReader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.charAt(0) == '#') {
+                    continue;
+                }
+                final int first = line.indexOf(' ');
+                final int second = line.indexOf(' ', first + 1);
+                if (first <= 0 || second <= first + 1 || second == line.length() - 1) {
+                    throw new IOException("Malformed index entry: " + line);
+                }
+                final Path file = normalize(basePath.resolve(line.substring(second + 1)));
+                loaded.put(file, new IndexedFileAttributes(Long.parseLong(line.substring(0, first)),
+                        Long.parseLong(line.substring(first + 1, second))));
+            }
+        }
+        entries.clear();
+        entries.putAll(loaded);
+        LOGGER.debug("Loaded {} entries for {} from {}", entries.size(), basePath, indexFile);
+    }
+
+    @Override
+    public String toString() {
+        return "ArchivedFileIndex[basePath=" + basePath + ", maxDepth=" + maxDepth + ", indexFile=" + indexFile + "]";
+    }
+
+    /**
+     * Immutable snapshot of the attributes the delete conditions and path sorters look at.
+     */
+    private static final class IndexedFileAttributes implements BasicFileAttributes {
+
+        private final long size;
+        private final long lastModified;
+
+        IndexedFileAttributes(final BasicFileAttributes attrs) {
+            this(attrs.size(), attrs.lastModifiedTime().toMillis());
+        }
+
+        IndexedFileAttributes(final long size, final long lastModified) {
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+
+        @Override
+        public FileTime lastModifiedTime() {
+            return FileTime.fromMillis(lastModified);
+        }
+
+        @Override
+        public FileTime lastAccessTime() {
+            return lastModifiedTime();
+        }
+
+        @Override
+        public FileTime creationTime() {
+            return lastModifiedTime();
+        }
+
+        @Override
+        public boolean isRegularFile() {
+            return true;
+        }
+
+        @Override
+        public boolean isDirectory() {
+            return false;
+        }
+
+        @Override
+        public boolean isSymbolicLink() {
+            return false;
+        }
+
+        @Override
+        public boolean isOther() {
+            return false;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public Object fileKey() {
+            return null;
+        }
+    }
+}
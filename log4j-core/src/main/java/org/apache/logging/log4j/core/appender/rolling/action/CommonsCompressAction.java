@@ -82,7 +82,11 @@ public final class CommonsCompressAction extends AbstractAction {
      */
     @Override
     public boolean execute() throws IOException {
-        return execute(name, source, destination, deleteSource);
+        final boolean compressed = execute(name, source, destination, deleteSource);
+        if (compressed) {
+            ArchivedFileIndex.fileCompressed(source.toPath(), destination.toPath());
+        }
+        return compressed;
     }
 
     /**
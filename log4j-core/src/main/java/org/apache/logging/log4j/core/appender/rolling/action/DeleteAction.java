@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 import java.util.Objects;
 
@@ -42,6 +43,8 @@ public class DeleteAction extends AbstractPathAction {
     private final PathSorter pathSorter;
     private final boolean testMode;
     private final ScriptCondition scriptCondition;
+    private final boolean useIndex;
+    private final String indexFile;
 
     /**
      * Creates a new DeleteAction that starts scanning for files to delete from the specified base path.
@@ -62,10 +65,27 @@ public class DeleteAction extends AbstractPathAction {
     DeleteAction(final String basePath, final boolean followSymbolicLinks, final int maxDepth, final boolean testMode,
             final PathSorter sorter, final PathCondition[] pathConditions, final ScriptCondition scriptCondition,
             final StrSubstitutor subst) {
+        this(basePath, followSymbolicLinks, maxDepth, testMode, sorter, pathConditions, scriptCondition, false, null,
+                subst);
+    }
+
+    /**
+     * Creates a new DeleteAction that optionally evaluates its conditions against an {@link ArchivedFileIndex}
+     * instead of scanning the base path on every execution.
+     *
+     * @param useIndex whether to evaluate the conditions against the index of the base path
+     * @param indexFile the file the index is persisted to, may be {@code null}
+     * @since 2.14.0
+     */
+    DeleteAction(final String basePath, final boolean followSymbolicLinks, final int maxDepth, final boolean testMode,
+            final PathSorter sorter, final PathCondition[] pathConditions, final ScriptCondition scriptCondition,
+            final boolean useIndex, final String indexFile, final StrSubstitutor subst) {
         super(basePath, followSymbolicLinks, maxDepth, pathConditions, subst);
         this.testMode = testMode;
         this.pathSorter = Objects.requireNonNull(sorter, "sorter");
         this.scriptCondition = scriptCondition;
+        this.useIndex = useIndex;
+        this.indexFile = indexFile;
         if (scriptCondition == null && (pathConditions == null || pathConditions.length == 0)) {
             LOGGER.error("Missing Delete conditions: unconditional Delete not supported");
             throw new IllegalArgumentException("Unconditional Delete not supported");
@@ -79,7 +99,11 @@ public class DeleteAction extends AbstractPathAction {
      */
     @Override
     public boolean execute() throws IOException {
-        return scriptCondition != null ? executeScript() : super.execute();
+        if (scriptCondition != null) {
+            return executeScript();
+        }
+        return useIndex ? execute(createFileVisitor(getArchivedFileIndex().getBasePath(), getPathConditions()))
+                : super.execute();
     }
 
     private boolean executeScript() throws IOException {
@@ -95,7 +119,8 @@ public class DeleteAction extends AbstractPathAction {
     private List<PathWithAttributes> callScript() throws IOException {
         final List<PathWithAttributes> sortedPaths = getSortedPaths();
         trace("Sorted paths:", sortedPaths);
-        final List<PathWithAttributes> result = scriptCondition.selectFilesToDelete(getBasePath(), sortedPaths);
+        final Path basePath = useIndex ? getArchivedFileIndex().getBasePath() : getBasePath();
+        final List<PathWithAttributes> result = scriptCondition.selectFilesToDelete(basePath, sortedPaths);
         return result;
     }
 
@@ -120,6 +145,7 @@ public class DeleteAction extends AbstractPathAction {
     protected void delete(final Path path) throws IOException {
         LOGGER.trace("Deleting {}", path);
         Files.deleteIfExists(path);
+        ArchivedFileIndex.fileDeleted(path);
     }
 
     /*
@@ -140,6 +166,9 @@ public class DeleteAction extends AbstractPathAction {
                 visitor.visitFileFailed(element.getPath(), ioex);
             }
         }
+        if (useIndex) {
+            getArchivedFileIndex().save();
+        }
         // TODO return (visitor.success || ignoreProcessingFailure)
         return true; // do not abort rollover even if processing failed
     }
@@ -158,6 +187,9 @@ public class DeleteAction extends AbstractPathAction {
      * @throws IOException
      */
     List<PathWithAttributes> getSortedPaths() throws IOException {
+        if (useIndex) {
+            return getArchivedFileIndex().getSortedPaths(pathSorter);
+        }
         final SortingVisitor sort = new SortingVisitor(pathSorter);
         super.execute(sort);
         final List<PathWithAttributes> sortedPaths = sort.getSortedPaths();
@@ -173,6 +205,29 @@ public class DeleteAction extends AbstractPathAction {
         return testMode;
     }
 
+    /**
+     * Returns {@code true} if the conditions are evaluated against an {@link ArchivedFileIndex} of the base path
+     * instead of a scan of the file tree.
+     *
+     * @return whether the archived file index is used
+     * @since 2.14.0
+     */
+    public boolean isUseIndex() {
+        return useIndex;
+    }
+
+    /**
+     * Returns the index of the base path, building it with a full scan (or loading it from the index file) the first
+     * time it is requested.
+     *
+     * @return the archived file index of the base path
+     * @since 2.14.0
+     */
+    public ArchivedFileIndex getArchivedFileIndex() {
+        final Path file = indexFile == null ? null : Paths.get(getStrSubstitutor().replace(indexFile));
+        return ArchivedFileIndex.getIndex(getBasePath(), getOptions(), getMaxDepth(), file);
+    }
+
     @Override
     protected FileVisitor<Path> createFileVisitor(final Path visitorBaseDir, final List<PathCondition> conditions) {
         return new DeletingVisitor(visitorBaseDir, conditions, testMode);
@@ -196,6 +251,35 @@ public class DeleteAction extends AbstractPathAction {
      * @param config The Configuration.
      * @return A DeleteAction.
      */
+    public static DeleteAction createDeleteAction(final String basePath, final boolean followLinks,
+            final int maxDepth, final boolean testMode, final PathSorter sorterParameter,
+            final PathCondition[] pathConditions, final ScriptCondition scriptCondition, final Configuration config) {
+        return createDeleteAction(basePath, followLinks, maxDepth, testMode, sorterParameter, pathConditions,
+                scriptCondition, false, null, config);
+    }
+
+    /**
+     * Create a DeleteAction.
+     *
+     * @param basePath base path from where to start scanning for files to delete.
+     * @param followLinks whether to follow symbolic links. Default is false.
+     * @param maxDepth The maxDepth parameter is the maximum number of levels of directories to visit. A value of 0
+     *            means that only the starting file is visited, unless denied by the security manager. A value of
+     *            MAX_VALUE may be used to indicate that all levels should be visited.
+     * @param testMode if true, files are not deleted but instead a message is printed to the <a
+     *            href="http://logging.apache.org/log4j/2.x/manual/configuration.html#StatusMessages">status logger</a>
+     *            at INFO level. Users can use this to do a dry run to test if their configuration works as expected.
+     *            Default is false.
+     * @param PathSorter a plugin implementing the {@link PathSorter} interface
+     * @param PathConditions an array of path conditions (if more than one, they all need to accept a path before it is
+     *            deleted).
+     * @param useIndex if true, the conditions are evaluated against an in-memory index of the base path that is
+     *            updated as rollovers happen, instead of scanning the base path on every rollover. Default is false.
+     * @param indexFile the file the index is persisted to so that it need not be rebuilt at startup, optional.
+     * @param config The Configuration.
+     * @return A DeleteAction.
+     * @since 2.14.0
+     */
     @PluginFactory
     public static DeleteAction createDeleteAction(
             // @formatter:off
@@ -206,10 +290,12 @@ public class DeleteAction extends AbstractPathAction {
             @PluginElement("PathSorter") final PathSorter sorterParameter,
             @PluginElement("PathConditions") final PathCondition[] pathConditions,
             @PluginElement("ScriptCondition") final ScriptCondition scriptCondition,
+            @PluginAttribute(value = "useIndex") final boolean useIndex,
+            @PluginAttribute("indexFile") final String indexFile,
             @PluginConfiguration final Configuration config) {
             // @formatter:on
         final PathSorter sorter = sorterParameter == null ? new PathSortByModificationTime(true) : sorterParameter;
         return new DeleteAction(basePath, followLinks, maxDepth, testMode, sorter, pathConditions, scriptCondition,
-                config.getStrSubstitutor());
+                useIndex, indexFile, config.getStrSubstitutor());
     }
 }
@@ -97,6 +97,7 @@ public class DeletingVisitor extends SimpleFileVisitor<Path> {
     protected void delete(final Path file) throws IOException {
         LOGGER.trace("Deleting {}", file);
         Files.deleteIfExists(file);
+        ArchivedFileIndex.fileDeleted(file);
     }
 
     /**
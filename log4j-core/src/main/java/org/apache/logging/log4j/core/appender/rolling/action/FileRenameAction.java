@@ -65,7 +65,11 @@ public class FileRenameAction extends AbstractAction {
      */
     @Override
     public boolean execute() {
-        return execute(source, destination, renameEmptyFiles);
+        final boolean renamed = execute(source, destination, renameEmptyFiles);
+        if (renamed) {
+            ArchivedFileIndex.fileRenamed(source.toPath(), destination.toPath());
+        }
+        return renamed;
     }
 
     /**
@@ -94,7 +94,11 @@ public final class GzCompressAction extends AbstractAction {
      */
     @Override
     public boolean execute() throws IOException {
-        return execute(source, destination, deleteSource, compressionLevel);
+        final boolean compressed = execute(source, destination, deleteSource, compressionLevel);
+        if (compressed) {
+            ArchivedFileIndex.fileCompressed(source.toPath(), destination.toPath());
+        }
+        return compressed;
     }
 
     /**
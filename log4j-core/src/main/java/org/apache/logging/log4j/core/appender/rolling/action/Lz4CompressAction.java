@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.commons.compress.compressors.lz4.BlockLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream.BlockSize;
+import org.apache.commons.compress.compressors.lz4.FramedLZ4CompressorOutputStream.Parameters;
+import org.apache.commons.compress.compressors.lz77support.Parameters.Builder;
+
+/**
+ * Compresses a file to the LZ4 frame format. Requires Apache Commons Compress.
+ * <p>
+ * LZ4 has no numbered levels: a compression level of 1 through 3 tunes the compressor for speed, 7 through 9 tunes
+ * it for compression ratio, and any other value uses the default settings.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class Lz4CompressAction extends AbstractStreamCompressAction {
+
+    private final int compressionLevel;
+
+    /**
+     * Creates new instance of Lz4CompressAction.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     1 through 3 for speed, 7 through 9 for compression ratio, otherwise the default settings.
+     * @param bufferSize   size in bytes of the buffer used to read the source file, at least 1.
+     */
+    public Lz4CompressAction(final File source, final File destination, final boolean deleteSource,
+            final int compressionLevel, final int bufferSize) {
+        super(source, destination, deleteSource, bufferSize);
+        this.compressionLevel = compressionLevel;
+    }
+
+    @Override
+    protected String getFormatName() {
+        return "lz4";
+    }
+
+    @Override
+    protected OutputStream createCompressorOutputStream(final OutputStream out) throws IOException {
+        final Builder builder = BlockLZ4CompressorOutputStream.createParameterBuilder();
+        if (compressionLevel >= 1 && compressionLevel <= 3) {
+            builder.tunedForSpeed();
+        } else if (compressionLevel >= 7 && compressionLevel <= 9) {
+            builder.tunedForCompressionRatio();
+        }
+        return new FramedLZ4CompressorOutputStream(out, new Parameters(BlockSize.M4, builder.build()));
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses a file using GZ compression on several threads.
+ * <p>
+ * The source file is split into blocks that are deflated in parallel on a bounded fork-join pool. Each block is
+ * written as a separate GZIP member, in order, so the destination is a standard multi-member GZIP file that
+ * {@code gunzip} and {@link java.util.zip.GZIPInputStream} read as a single stream. Splitting into independent blocks
+ * costs a little compression ratio compared to {@link GzCompressAction}, which is negligible for blocks of 128 KB or
+ * more.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class ParallelGzCompressAction extends AbstractAction {
+
+    /**
+     * Default size of the blocks that are compressed independently: 128 KB.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    private static final int BUF_SIZE = 8192;
+
+    private static final byte[] GZIP_HEADER = new byte[] {
+            (byte) 0x1f, (byte) 0x8b, // magic number
+            Deflater.DEFLATED,        // compression method
+            0,                        // flags
+            0, 0, 0, 0,               // modification time
+            0,                        // extra flags
+            0                         // operating system
+    };
+
+    /**
+     * Source file.
+     */
+    private final File source;
+
+    /**
+     * Destination file.
+     */
+    private final File destination;
+
+    /**
+     * If true, attempt to delete file on completion.
+     */
+    private final boolean deleteSource;
+
+    /**
+     * GZIP compression level to use.
+     *
+     * @see Deflater#setLevel(int)
+     */
+    private final int compressionLevel;
+
+    /**
+     * Number of threads compressing blocks.
+     */
+    private final int threads;
+
+    /**
+     * Size of the blocks that are compressed independently.
+     */
+    private final int blockSize;
+
+    /**
+     * Create new instance of ParallelGzCompressAction.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     Gzip deflater compression level.
+     * @param threads      number of threads compressing blocks, at least 1.
+     * @param blockSize    size in bytes of the blocks that are compressed independently, at least 1.
+     */
+    public ParallelGzCompressAction(final File source, final File destination, final boolean deleteSource,
+            final int compressionLevel, final int threads, final int blockSize) {
+        Objects.requireNonNull(source, "source");
+        Objects.requireNonNull(destination, "destination");
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be at least 1: " + blockSize);
+        }
+
+        this.source = source;
+        this.destination = destination;
+        this.deleteSource = deleteSource;
+        this.compressionLevel = compressionLevel;
+        this.threads = threads;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Compress.
+     *
+     * @return true if successfully compressed.
+     * @throws IOException on IO exception.
+     */
+    @Override
+    public boolean execute() throws IOException {
+        final boolean compressed = execute(source, destination, deleteSource, compressionLevel, threads, blockSize);
+        if (compressed) {
+            ArchivedFileIndex.fileCompressed(source.toPath(), destination.toPath());
+        }
+        return compressed;
+    }
+
+    /**
+     * Compress a file.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     Gzip deflater compression level.
+     * @param threads      number of threads compressing blocks, at least 1.
+     * @param blockSize    size in bytes of the blocks that are compressed independently, at least 1.
+     * @return true if source file compressed.
+     * @throws IOException on IO exception.
+     */
+    public static boolean execute(final File source, final File destination, final boolean deleteSource,
+            final int compressionLevel, final int threads, final int blockSize) throws IOException {
+        if (source.exists()) {
+            final ForkJoinPool pool = new ForkJoinPool(threads);
+            try (final InputStream fis = new FileInputStream(source);
+                 final OutputStream fos = new FileOutputStream(destination)) {
+                // bound the number of blocks held in memory: two per thread keeps all threads busy
+                final int maxPending = 2 * threads;
+                final Queue<Future<byte[]>> pending = new ArrayDeque<>(maxPending);
+                byte[] block;
+                while ((block = readBlock(fis, blockSize)) != null) {
+                    if (pending.size() == maxPending) {
+                        fos.write(await(pending.remove()));
+                    }
+                    pending.add(pool.submit(new CompressBlock(block, compressionLevel)));
+                }
+                if (pending.isEmpty()) {
+                    // an empty source still becomes a valid GZIP file
+                    fos.write(compress(new byte[0], compressionLevel));
+                }
+                while (!pending.isEmpty()) {
+                    fos.write(await(pending.remove()));
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+
+            if (deleteSource && !source.delete()) {
+                LOGGER.warn("Unable to delete {}.", source);
+            }
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Reads the next block, returning {@code null} at the end of the stream. The last block may be shorter.
+     */
+    private static byte[] readBlock(final InputStream in, final int blockSize) throws IOException {
+        final byte[] block = new byte[blockSize];
+        int length = 0;
+        int n;
+        while (length < blockSize && (n = in.read(block, length, blockSize - length)) != -1) {
+            length += n;
+        }
+        if (length == 0) {
+            return null;
+        }
+        if (length < blockSize) {
+            final byte[] last = new byte[length];
+            System.arraycopy(block, 0, last, 0, length);
+            return last;
+        }
+        return block;
+    }
+
+    private static byte[] await(final Future<byte[]> future) throws IOException {
+        try {
+            return future.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing", ex);
+        } catch (final ExecutionException ex) {
+            throw new IOException("Unable to compress block", ex.getCause());
+        }
+    }
+
+    /**
+     * Compresses the specified data into a complete GZIP member.
+     */
+    static byte[] compress(final byte[] data, final int compressionLevel) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + GZIP_HEADER.length + 8);
+        out.write(GZIP_HEADER, 0, GZIP_HEADER.length);
+        final Deflater deflater = new Deflater(compressionLevel, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            final byte[] buf = new byte[BUF_SIZE];
+            while (!deflater.finished()) {
+                final int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+            }
+        } finally {
+            deflater.end();
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length);
+        writeIntLE(out, (int) crc.getValue());
+        writeIntLE(out, data.length);
+        return out.toByteArray();
+    }
+
+    private static void writeIntLE(final ByteArrayOutputStream out, final int value) {
+        out.write(value & 0xff);
+        out.write((value >> 8) & 0xff);
+        out.write((value >> 16) & 0xff);
+        out.write((value >> 24) & 0xff);
+    }
+
+    private static final class CompressBlock implements Callable<byte[]> {
+
+        private final byte[] data;
+        private final int compressionLevel;
+
+        CompressBlock(final byte[] data, final int compressionLevel) {
+            this.data = data;
+            this.compressionLevel = compressionLevel;
+        }
+
+        @Override
+        public byte[] call() {
+            return compress(data, compressionLevel);
+        }
+    }
+
+    /**
+     * Capture exception.
+     *
+     * @param ex exception.
+     */
+    @Override
+    protected void reportException(final Exception ex) {
+        LOGGER.warn("Exception during compression of '" + source.toString() + "'.", ex);
+    }
+
+    @Override
+    public String toString() {
+        return ParallelGzCompressAction.class.getSimpleName() + '[' + source + " to " + destination
+                + ", deleteSource=" + deleteSource + ", threads=" + threads + ", blockSize=" + blockSize + ']';
+    }
+
+    public File getSource() {
+        return source;
+    }
+
+    public File getDestination() {
+        return destination;
+    }
+
+    public boolean isDeleteSource() {
+        return deleteSource;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+}
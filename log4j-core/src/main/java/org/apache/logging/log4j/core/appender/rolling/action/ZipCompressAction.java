@@ -78,7 +78,11 @@ public final class ZipCompressAction extends AbstractAction {
      */
     @Override
     public boolean execute() throws IOException {
-        return execute(source, destination, deleteSource, level);
+        final boolean compressed = execute(source, destination, deleteSource, level);
+        if (compressed) {
+            ArchivedFileIndex.fileCompressed(source.toPath(), destination.toPath());
+        }
+        return compressed;
     }
 
     /**
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdUtils;
+
+/**
+ * Compresses a file using Zstandard compression. Requires Apache Commons Compress and zstd-jni.
+ *
+ * @since 2.14.0
+ */
+public final class ZstdCompressAction extends AbstractStreamCompressAction {
+
+    /**
+     * Compression level used when none is specified, the Zstandard default.
+     */
+    public static final int DEFAULT_LEVEL = 3;
+
+    /**
+     * Highest Zstandard compression level.
+     */
+    public static final int MAX_LEVEL = 22;
+
+    private final int compressionLevel;
+
+    /**
+     * Creates new instance of ZstdCompressAction.
+     *
+     * @param source       file to compress, may not be null.
+     * @param destination  compressed file, may not be null.
+     * @param deleteSource if true, attempt to delete file on completion.  Failure to delete
+     *                     does not cause an exception to be thrown or affect return value.
+     * @param compressionLevel
+     *                     Zstandard compression level, 1 through 22; other values select {@value #DEFAULT_LEVEL}.
+     * @param bufferSize   size in bytes of the buffer used to read the source file, at least 1.
+     */
+    public ZstdCompressAction(final File source, final File destination, final boolean deleteSource,
+            final int compressionLevel, final int bufferSize) {
+        super(source, destination, deleteSource, bufferSize);
+        this.compressionLevel = compressionLevel >= 1 && compressionLevel <= MAX_LEVEL
+                ? compressionLevel : DEFAULT_LEVEL;
+    }
+
+    @Override
+    protected String getFormatName() {
+        return "zstd";
+    }
+
+    @Override
+    public boolean execute() throws IOException {
+        if (!ZstdUtils.isZstdCompressionAvailable()) {
+            throw new IOException("Zstandard compression requires zstd-jni (com.github.luben:zstd-jni)");
+        }
+        return super.execute();
+    }
+
+    @Override
+    protected OutputStream createCompressorOutputStream(final OutputStream out) throws IOException {
+        return new ZstdCompressorOutputStream(out, compressionLevel);
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+}
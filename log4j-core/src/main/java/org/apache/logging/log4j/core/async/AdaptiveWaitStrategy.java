@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.lmax.disruptor.AlertException;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.util.ThreadHints;
+
+/**
+ * Disruptor wait strategy that adapts to the measured load.
+ * <p>
+ * The strategy keeps a moving average of how long the consumer had to wait for the next event. While events arrive
+ * faster than the configured spin rate, the consumer busy spins. As the rate drops it first yields, then parks for
+ * increasing periods, and once the ring buffer has been idle for a while it blocks until a producer signals it. Phases
+ * that the average wait time has already outgrown are skipped, so an idle consumer goes straight to blocking while a
+ * consumer under load never gets descheduled.
+ * </p>
+ * <p>
+ * With a spin rate of {@code R} events per second the consumer spins for up to {@code 1/R} seconds, yields for up to
+ * ten times as long and parks for up to a thousand times as long before it blocks. Blocking waits time out
+ * periodically, like {@link com.lmax.disruptor.TimeoutBlockingWaitStrategy}, to check for alerts.
+ * </p>
+ * <p>
+ * The time spent in each phase is accumulated in counters that can be read while the strategy is in use.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class AdaptiveWaitStrategy implements WaitStrategy {
+
+    /** Default spin rate: spin while the consumer waits less than 10 microseconds for each batch of events. */
+    public static final long DEFAULT_SPIN_RATE = 100_000L;
+
+    private static final int YIELD_FACTOR = 10;
+    private static final int PARK_FACTOR = 1000;
+    private static final long MIN_PARK_NANOS = 1_000L;
+    private static final long MAX_PARK_NANOS = 100_000L;
+    private static final int AVERAGE_SHIFT = 3; // each wait contributes 1/8 to the moving average
+    private static final int SPIN = 0;
+    private static final int YIELD = 1;
+    private static final int PARK = 2;
+
+    private final long spinRate;
+    private final long spinNanos;
+    private final long yieldNanos;
+    private final long parkNanos;
+    private final long timeoutNanos;
+    private final Lock lock = new ReentrantLock();
+    private final Condition processorNotifyCondition = lock.newCondition();
+    private final AtomicBoolean signalNeeded = new AtomicBoolean(false);
+    private final AtomicLong spinTime = new AtomicLong();
+    private final AtomicLong yieldTime = new AtomicLong();
+    private final AtomicLong parkTime = new AtomicLong();
+    private final AtomicLong blockTime = new AtomicLong();
+
+    // written by the consumer threads without synchronization: a lost update only skews the average slightly
+    private volatile long averageWaitNanos;
+
+    /**
+     * Creates an adaptive wait strategy.
+     *
+     * @param spinRate the number of events per second above which the consumer busy spins
+     * @param timeout the maximum time to block before checking for alerts
+     * @param unit the unit of the timeout
+     */
+    public AdaptiveWaitStrategy(final long spinRate, final long timeout, final TimeUnit unit) {
+        if (spinRate <= 0) {
+            throw new IllegalArgumentException("Spin rate must be positive: " + spinRate);
+        }
+        this.spinRate = spinRate;
+        this.spinNanos = Math.max(1L, TimeUnit.SECONDS.toNanos(1) / spinRate);
+        this.yieldNanos = spinNanos * YIELD_FACTOR;
+        this.parkNanos = spinNanos * PARK_FACTOR;
+        this.timeoutNanos = Math.max(1L, unit.toNanos(timeout));
+    }
+
+    @Override
+    public long waitFor(final long sequence, final Sequence cursor, final Sequence dependentSequence,
+            final SequenceBarrier barrier) throws AlertException, InterruptedException {
+        long availableSequence = dependentSequence.get();
+        if (availableSequence >= sequence) {
+            final long average = averageWaitNanos;
+            if (average != 0) {
+                averageWaitNanos = average - (average >> AVERAGE_SHIFT) - 1;
+            }
+            return availableSequence;
+        }
+        final long average = averageWaitNanos;
+        final long start = System.nanoTime();
+        long phaseStart = start;
+        if (average <= spinNanos) {
+            availableSequence = backOff(SPIN, sequence, dependentSequence, barrier, start + spinNanos);
+            phaseStart = endPhase(spinTime, phaseStart);
+            if (availableSequence >= sequence) {
+                return waited(availableSequence, average, start, phaseStart);
+            }
+        }
+        if (average <= yieldNanos) {
+            availableSequence = backOff(YIELD, sequence, dependentSequence, barrier, start + yieldNanos);
+            phaseStart = endPhase(yieldTime, phaseStart);
+            if (availableSequence >= sequence) {
+                return waited(availableSequence, average, start, phaseStart);
+            }
+        }
+        if (average <= parkNanos) {
+            availableSequence = backOff(PARK, sequence, dependentSequence, barrier, start + parkNanos);
+            phaseStart = endPhase(parkTime, phaseStart);
+            if (availableSequence >= sequence) {
+                return waited(availableSequence, average, start, phaseStart);
+            }
+        }
+        availableSequence = block(sequence, cursor, dependentSequence, barrier);
+        return waited(availableSequence, average, start, endPhase(blockTime, phaseStart));
+    }
+
+    private long backOff(final int phase, final long sequence, final Sequence dependentSequence,
+            final SequenceBarrier barrier, final long deadline) throws AlertException {
+        long availableSequence;
+        long parkPeriod = MIN_PARK_NANOS;
+        while ((availableSequence = dependentSequence.get()) < sequence) {
+            barrier.checkAlert();
+            if (System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            if (phase == SPIN) {
+                ThreadHints.onSpinWait();
+            } else if (phase == YIELD) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkPeriod);
+                parkPeriod = Math.min(parkPeriod << 1, MAX_PARK_NANOS);
+            }
+        }
+        return availableSequence;
+    }
+
+    private long block(final long sequence, final Sequence cursor, final Sequence dependentSequence,
+            final SequenceBarrier barrier) throws AlertException, InterruptedException {
+        if (cursor.get() < sequence) {
+            lock.lock();
+            try {
+                // announce the waiting consumer before re-checking the cursor, so a concurrent producer signals it
+                signalNeeded.set(true);
+                while (cursor.get() < sequence) {
+                    barrier.checkAlert();
+                    processorNotifyCondition.awaitNanos(timeoutNanos);
+                    signalNeeded.set(true);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        // the event is published, but other consumers this one depends on may still be processing it
+        long availableSequence;
+        long parkPeriod = MIN_PARK_NANOS;
+        while ((availableSequence = dependentSequence.get()) < sequence) {
+            barrier.checkAlert();
+            LockSupport.parkNanos(parkPeriod);
+            parkPeriod = Math.min(parkPeriod << 1, MAX_PARK_NANOS);
+        }
+        return availableSequence;
+    }
+
+    private static long endPhase(final AtomicLong phaseTime, final long phaseStart) {
+        final long now = System.nanoTime();
+        phaseTime.addAndGet(now - phaseStart);
+        return now;
+    }
+
+    private long waited(final long availableSequence, final long average, final long start, final long end) {
+        // long idle periods are capped, so the average recovers quickly when the next burst starts
+        final long waitNanos = Math.min(end - start, parkNanos << 1);
+        averageWaitNanos = average + ((waitNanos - average) >> AVERAGE_SHIFT);
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+        // called by producers on every publish: only take the lock if a consumer is blocked
+        if (signalNeeded.get() && signalNeeded.getAndSet(false)) {
+            lock.lock();
+            try {
+                processorNotifyCondition.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of events per second above which the consumer busy spins.
+     *
+     * @return the spin rate in events per second
+     */
+    public long getSpinRate() {
+        return spinRate;
+    }
+
+    /**
+     * Returns the total time consumers spent busy spinning while waiting for events.
+     *
+     * @return the spin time in nanoseconds
+     */
+    public long getSpinTimeNanos() {
+        return spinTime.get();
+    }
+
+    /**
+     * Returns the total time consumers spent yielding while waiting for events.
+     *
+     * @return the yield time in nanoseconds
+     */
+    public long getYieldTimeNanos() {
+        return yieldTime.get();
+    }
+
+    /**
+     * Returns the total time consumers spent parked while waiting for events.
+     *
+     * @return the park time in nanoseconds
+     */
+    public long getParkTimeNanos() {
+        return parkTime.get();
+    }
+
+    /**
+     * Returns the total time consumers spent blocked while waiting for events.
+     *
+     * @return the block time in nanoseconds
+     */
+    public long getBlockTimeNanos() {
+        return blockTime.get();
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveWaitStrategy[spinRate=" + spinRate + ", spinTimeNanos=" + spinTime.get() + ", yieldTimeNanos="
+                + yieldTime.get() + ", parkTimeNanos=" + parkTime.get() + ", blockTimeNanos=" + blockTime.get() + ']';
+    }
+}
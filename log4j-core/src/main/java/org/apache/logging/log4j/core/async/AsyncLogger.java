@@ -23,14 +23,17 @@ import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.ThreadContext;
 import org.apache.logging.log4j.ThreadContext.ContextStack;
 import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.AppenderSelector;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.ReliabilityStrategy;
 import org.apache.logging.log4j.core.impl.ContextDataFactory;
 import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
 import org.apache.logging.log4j.core.util.Clock;
 import org.apache.logging.log4j.core.util.ClockFactory;
 import org.apache.logging.log4j.core.util.NanoClock;
@@ -63,6 +66,9 @@ import com.lmax.disruptor.dsl.Disruptor;
  * immediateFlush=false. These appenders have built-in support for the batching mechanism used by the Disruptor library,
  * and they will flush to disk at the end of each batch. This means that even with immediateFlush=false, there will
  * never be any items left in the buffer; all log events will all be written to disk in a very efficient manner.
+ * <p>
+ * In a {@link HybridLoggerContext}, an AsyncLogger whose {@code LoggerConfig} is not an {@link AsyncLoggerConfig}
+ * logs synchronously in the calling thread instead.
  */
 public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBufferLogEvent> {
     // Implementation note: many methods in this class are tuned for performance. MODIFY WITH CARE!
@@ -78,9 +84,11 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
 
     private final ThreadLocal<RingBufferLogEventTranslator> threadLocalTranslator = new ThreadLocal<>();
     private final AsyncLoggerDisruptor loggerDisruptor;
+    private final boolean hybrid;
 
     private volatile boolean includeLocation; // reconfigurable
     private volatile NanoClock nanoClock; // reconfigurable
+    private volatile boolean synchronous; // reconfigurable
 
     /**
      * Constructs an {@code AsyncLogger} with the specified context, name and message factory.
@@ -94,8 +102,10 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
             final AsyncLoggerDisruptor loggerDisruptor) {
         super(context, name, messageFactory);
         this.loggerDisruptor = loggerDisruptor;
+        this.hybrid = context instanceof HybridLoggerContext;
         includeLocation = privateConfig.loggerConfig.isIncludeLocation();
         nanoClock = context.getConfiguration().getNanoClock();
+        synchronous = isSynchronous(privateConfig.loggerConfig);
     }
 
     /*
@@ -106,15 +116,30 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
     @Override
     protected void updateConfiguration(final Configuration newConfig) {
         nanoClock = newConfig.getNanoClock();
-        includeLocation = newConfig.getLoggerConfig(name).isIncludeLocation();
+        final LoggerConfig loggerConfig = newConfig.getLoggerConfig(name);
+        includeLocation = loggerConfig.isIncludeLocation();
+        synchronous = isSynchronous(loggerConfig);
         super.updateConfiguration(newConfig);
     }
 
+    private boolean isSynchronous(final LoggerConfig loggerConfig) {
+        return hybrid && !(loggerConfig instanceof AsyncLoggerConfig);
+    }
+
     // package protected for unit tests
     NanoClock getNanoClock() {
         return nanoClock;
     }
 
+    /**
+     * Returns whether this logger calls its appenders in the calling thread, which is only the case in a
+     * {@link HybridLoggerContext} when this logger's {@code LoggerConfig} is not an {@code AsyncLoggerConfig}.
+     */
+    // package protected for unit tests
+    boolean isSynchronous() {
+        return synchronous;
+    }
+
     private RingBufferLogEventTranslator getCachedTranslator() {
         RingBufferLogEventTranslator result = threadLocalTranslator.get();
         if (result == null) {
@@ -172,7 +197,27 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         }
     };
 
+    /**
+     * Used in a {@link HybridLoggerContext} for loggers whose {@code LoggerConfig} is synchronous: bypasses the ring
+     * buffer and logs in the calling thread like a plain {@code Logger}.
+     */
+    private final TranslatorType synchronousTranslatorType = new TranslatorType() {
+        @Override
+        void log(String fqcn, StackTraceElement location, Level level, Marker marker, Message message,
+            Throwable thrown) {
+            AsyncLogger.super.log(level, marker, fqcn, location, message, thrown);
+        }
+
+        @Override
+        void log(String fqcn, Level level, Marker marker, Message message, Throwable thrown) {
+            AsyncLogger.super.logMessage(fqcn, level, marker, message, thrown);
+        }
+    };
+
     private TranslatorType getTranslatorType() {
+        if (synchronous) {
+            return synchronousTranslatorType;
+        }
         return loggerDisruptor.isUseThreadLocals() ? threadLocalTranslatorType : varargTranslatorType;
     }
 
@@ -339,7 +384,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         }
         StackTraceElement location = null;
         // calls the translateTo method on this AsyncLogger
-        if (!disruptor.getRingBuffer().tryPublishEvent(this,
+        if (loggerDisruptor.isCapacityReserved(level) || !disruptor.getRingBuffer().tryPublishEvent(this,
                 this, // asyncLogger: 0
                 (location = calcLocationIfRequested(fqcn)), // location: 1
                 fqcn, // 2
@@ -378,7 +423,7 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
             InternalAsyncUtil.makeMessageImmutable(message);
         }
         // calls the translateTo method on this AsyncLogger
-        if (!disruptor.getRingBuffer().tryPublishEvent(this,
+        if (loggerDisruptor.isCapacityReserved(level) || !disruptor.getRingBuffer().tryPublishEvent(this,
             this, // asyncLogger: 0
             location, // location: 1
             fqcn, // 2
@@ -488,9 +533,38 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
         privateConfigLoggerConfig.getReliabilityStrategy().log(this, event);
     }
 
-    @SuppressWarnings("ForLoopReplaceableByForEach") // Avoid iterator allocation
+    /**
+     * This method is called by the EventHandler of an appender group, which processes the RingBufferLogEvent in its
+     * own thread. The specified event is that handler's private copy of the RingBufferLogEvent, so the configuration
+     * properties can be merged into its contextData without affecting other appender groups.
+     *
+     * @param event the copy of the event to log
+     * @param selector selects the appenders of the appender group
+     */
+    void actualAsyncLog(final MutableLogEvent event, final AppenderSelector selector) {
+        final LoggerConfig privateConfigLoggerConfig = privateConfig.loggerConfig;
+        final List<Property> properties = privateConfigLoggerConfig.getPropertyList();
+
+        if (properties != null) {
+            putProperties(event, (StringMap) event.getContextData(), properties);
+        }
+
+        final LoggerConfig config = privateConfigLoggerConfig.getReliabilityStrategy().getActiveLoggerConfig(this);
+        try {
+            config.log(event, selector);
+        } finally {
+            config.getReliabilityStrategy().afterLogEvent();
+        }
+    }
+
     private void onPropertiesPresent(final RingBufferLogEvent event, final List<Property> properties) {
-        StringMap contextData = getContextData(event);
+        final StringMap contextData = getContextData(event);
+        putProperties(event, contextData, properties);
+        event.setContextData(contextData);
+    }
+
+    @SuppressWarnings("ForLoopReplaceableByForEach") // Avoid iterator allocation
+    private void putProperties(final LogEvent event, final StringMap contextData, final List<Property> properties) {
         for (int i = 0, size = properties.size(); i < size; i++) {
             final Property prop = properties.get(i);
             if (contextData.getValue(prop.getName()) != null) {
@@ -501,7 +575,6 @@ public class AsyncLogger extends Logger implements EventTranslatorVararg<RingBuf
                     : prop.getValue();
             contextData.putValue(prop.getName(), value);
         }
-        event.setContextData(contextData);
     }
 
     private static StringMap getContextData(final RingBufferLogEvent event) {
@@ -25,6 +25,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.AppenderRef;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.LoggerConfig;
@@ -68,6 +69,10 @@ import org.apache.logging.log4j.util.Strings;
  * and they will flush to disk at the end of each batch. This means that even
  * with immediateFlush=false, there will never be any items left in the buffer;
  * all log events will all be written to disk in a very efficient manner.
+ * <p>
+ * In a {@link HybridLoggerContext}, AsyncLoggerConfig does not use a ring buffer of its own: the
+ * {@link AsyncLogger}s that resolve to it already deliver their events in the background thread of the context, so
+ * it behaves like a plain {@code LoggerConfig}.
  */
 @Plugin(name = "asyncLogger", category = Node.CATEGORY, printObject = true)
 public class AsyncLoggerConfig extends LoggerConfig {
@@ -79,7 +84,7 @@ public class AsyncLoggerConfig extends LoggerConfig {
         }
     };
 
-    private final AsyncLoggerConfigDelegate delegate;
+    private final AsyncLoggerConfigDelegate delegate; // null in a HybridLoggerContext
 
     protected AsyncLoggerConfig(final String name,
             final List<AppenderRef> appenders, final Filter filter,
@@ -88,14 +93,27 @@ public class AsyncLoggerConfig extends LoggerConfig {
             final boolean includeLocation) {
         super(name, appenders, filter, level, additive, properties, config,
                 includeLocation);
-        delegate = config.getAsyncLoggerConfigDelegate();
-        delegate.setLogEventFactory(getLogEventFactory());
+        if (isHybrid(config)) {
+            delegate = null;
+        } else {
+            delegate = config.getAsyncLoggerConfigDelegate();
+            delegate.setLogEventFactory(getLogEventFactory());
+        }
+    }
+
+    private static boolean isHybrid(final Configuration config) {
+        final LoggerContext context = config == null ? null : config.getLoggerContext();
+        if (context != null) {
+            return context instanceof HybridLoggerContext;
+        }
+        return HybridLoggerContextSelector.isSelected();
     }
 
     @Override
     protected void log(final LogEvent event, final LoggerConfigPredicate predicate) {
         // See LOG4J2-2301
         if (predicate == LoggerConfigPredicate.ALL &&
+                delegate != null &&
                 ASYNC_LOGGER_ENTERED.get() == Boolean.FALSE &&
                 // Optimization: AsyncLoggerConfig is identical to LoggerConfig
                 // when no appenders are present. Avoid splitting for synchronous
@@ -193,12 +211,30 @@ public class AsyncLoggerConfig extends LoggerConfig {
      * ringbuffer of this {@code AsyncLoggerConfig}.
      *
      * @param contextName name of the {@code LoggerContext}
-     * @return a new {@code RingBufferAdmin} that instruments the ringbuffer
+     * @return a new {@code RingBufferAdmin} that instruments the ringbuffer, or {@code null} in a
+     *          {@link HybridLoggerContext}, where this {@code AsyncLoggerConfig} has no ringbuffer of its own
      */
     public RingBufferAdmin createRingBufferAdmin(final String contextName) {
+        if (delegate == null) {
+            return null;
+        }
         return delegate.createRingBufferAdmin(contextName, getName());
     }
 
+    /**
+     * Returns the latency and queue depth histograms of the ringbuffer shared by the {@code AsyncLoggerConfig}
+     * objects of the configuration, or {@code null} if queue metrics are disabled or the ringbuffer is not an
+     * {@link AsyncLoggerConfigDisruptor}.
+     *
+     * @return the queue metrics, or {@code null}
+     * @since 2.14.0
+     */
+    public AsyncQueueMetrics getQueueMetrics() {
+        return delegate instanceof AsyncLoggerConfigDisruptor
+                ? ((AsyncLoggerConfigDisruptor) delegate).getQueueMetrics()
+                : null;
+    }
+
     /**
      * Factory method to create a LoggerConfig.
      *
@@ -31,6 +31,7 @@ import org.apache.logging.log4j.core.util.Log4jThreadFactory;
 import org.apache.logging.log4j.core.util.Throwables;
 import org.apache.logging.log4j.message.ReusableMessage;
 
+import com.lmax.disruptor.Cursored;
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventTranslatorTwoArg;
 import com.lmax.disruptor.ExceptionHandler;
@@ -72,6 +73,7 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
 
         private AsyncLoggerConfig loggerConfig;
         private LogEvent event;
+        private long enqueueNanos;
 
         /**
          * Release references held by ring buffer to allow objects to be garbage-collected.
@@ -96,9 +98,16 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
      */
     private static class Log4jEventWrapperHandler implements SequenceReportingEventHandler<Log4jEventWrapper> {
         private static final int NOTIFY_PROGRESS_THRESHOLD = 50;
+        private final AsyncQueueMetrics queueMetrics;
+        private final Cursored cursor;
         private Sequence sequenceCallback;
         private int counter;
 
+        Log4jEventWrapperHandler(final AsyncQueueMetrics queueMetrics, final Cursored cursor) {
+            this.queueMetrics = queueMetrics;
+            this.cursor = cursor;
+        }
+
         @Override
         public void setSequenceCallback(final Sequence sequenceCallback) {
             this.sequenceCallback = sequenceCallback;
@@ -110,6 +119,9 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
             event.event.setEndOfBatch(endOfBatch);
             event.loggerConfig.logToAsyncLoggerConfigsOnCurrentThread(event.event);
             event.clear();
+            if (queueMetrics != null) {
+                queueMetrics.recordProcessed(event.enqueueNanos, cursor.getCursor() - sequence);
+            }
 
             notifyIntermediateProgress(sequence);
         }
@@ -159,6 +171,7 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
                 final LogEvent logEvent, final AsyncLoggerConfig loggerConfig) {
             ringBufferElement.event = logEvent;
             ringBufferElement.loggerConfig = loggerConfig;
+            ringBufferElement.enqueueNanos = AsyncQueueMetrics.enqueueNanos();
         }
     };
 
@@ -173,11 +186,14 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
                 final LogEvent logEvent, final AsyncLoggerConfig loggerConfig) {
             ((MutableLogEvent) ringBufferElement.event).initFrom(logEvent);
             ringBufferElement.loggerConfig = loggerConfig;
+            ringBufferElement.enqueueNanos = AsyncQueueMetrics.enqueueNanos();
         }
     };
 
     private int ringBufferSize;
     private AsyncQueueFullPolicy asyncQueueFullPolicy;
+    private PriorityAsyncQueueFullPolicy priorityQueueFullPolicy;
+    private WaitStrategy waitStrategy;
     private Boolean mutable = Boolean.FALSE;
 
     private volatile Disruptor<Log4jEventWrapper> disruptor;
@@ -185,6 +201,7 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
     private EventFactory<Log4jEventWrapper> factory;
     private EventTranslatorTwoArg<Log4jEventWrapper, LogEvent, AsyncLoggerConfig> translator;
     private volatile boolean alreadyLoggedWarning = false;
+    private AsyncQueueMetrics queueMetrics;
 
     private final Object queueFullEnqueueLock = new Object();
 
@@ -214,7 +231,7 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
         }
         LOGGER.trace("AsyncLoggerConfigDisruptor creating new disruptor for this configuration.");
         ringBufferSize = DisruptorUtil.calculateRingBufferSize("AsyncLoggerConfig.RingBufferSize");
-        final WaitStrategy waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLoggerConfig.WaitStrategy");
+        waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLoggerConfig.WaitStrategy");
 
         final ThreadFactory threadFactory = new Log4jThreadFactory("AsyncLoggerConfig", true, Thread.NORM_PRIORITY) {
             @Override
@@ -225,6 +242,9 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
             }
         };
         asyncQueueFullPolicy = AsyncQueueFullPolicyFactory.create();
+        priorityQueueFullPolicy = asyncQueueFullPolicy instanceof PriorityAsyncQueueFullPolicy
+                ? (PriorityAsyncQueueFullPolicy) asyncQueueFullPolicy
+                : null;
 
         translator = mutable ? MUTABLE_TRANSLATOR : TRANSLATOR;
         factory = mutable ? MUTABLE_FACTORY : FACTORY;
@@ -233,7 +253,9 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
         final ExceptionHandler<Log4jEventWrapper> errorHandler = DisruptorUtil.getAsyncLoggerConfigExceptionHandler();
         disruptor.setDefaultExceptionHandler(errorHandler);
 
-        final Log4jEventWrapperHandler[] handlers = {new Log4jEventWrapperHandler()};
+        queueMetrics = AsyncQueueMetrics.create("AsyncLoggerConfig");
+        final Log4jEventWrapperHandler[] handlers = {
+                new Log4jEventWrapperHandler(queueMetrics, disruptor.getRingBuffer())};
         disruptor.handleEventsWith(handlers);
 
         LOGGER.debug("Starting AsyncLoggerConfig disruptor for this configuration with ringbufferSize={}, "
@@ -282,6 +304,16 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
             LOGGER.trace("AsyncLoggerConfigDisruptor: {} discarded {} events.", asyncQueueFullPolicy,
                     DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy));
         }
+        if (PriorityAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy) > 0) {
+            LOGGER.trace("AsyncLoggerConfigDisruptor: {} discarded {} events.", asyncQueueFullPolicy,
+                    PriorityAsyncQueueFullPolicy.getDiscardCounts(asyncQueueFullPolicy));
+        }
+        if (waitStrategy instanceof AdaptiveWaitStrategy) {
+            LOGGER.debug("AsyncLoggerConfigDisruptor: {}", waitStrategy);
+        }
+        if (queueMetrics != null) {
+            LOGGER.debug("AsyncLoggerConfigDisruptor: {}", queueMetrics);
+        }
         setStopped();
         return true;
     }
@@ -388,8 +420,14 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
 
     @Override
     public boolean tryEnqueue(final LogEvent event, final AsyncLoggerConfig asyncLoggerConfig) {
+        final RingBuffer<Log4jEventWrapper> ringBuffer = disruptor.getRingBuffer();
+        if (priorityQueueFullPolicy != null && priorityQueueFullPolicy.isCapacityReserved(event.getLevel(),
+                ringBuffer.remainingCapacity(), ringBufferSize)) {
+            // the remaining capacity is kept free for more specific levels: handle as if the queue were full
+            return false;
+        }
         final LogEvent logEvent = prepareEvent(event);
-        return disruptor.getRingBuffer().tryPublishEvent(translator, logEvent, asyncLoggerConfig);
+        return ringBuffer.tryPublishEvent(translator, logEvent, asyncLoggerConfig);
     }
 
     private LogEvent ensureImmutable(final LogEvent event) {
@@ -406,6 +444,17 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
         return result;
     }
 
+    /**
+     * Returns the latency and queue depth histograms of the ringbuffer shared by the {@code AsyncLoggerConfig} objects
+     * of this configuration, or {@code null} if queue metrics are disabled or the disruptor has not been started.
+     *
+     * @return the queue metrics, or {@code null}
+     * @since 2.14.0
+     */
+    public AsyncQueueMetrics getQueueMetrics() {
+        return queueMetrics;
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -414,6 +463,7 @@ public class AsyncLoggerConfigDisruptor extends AbstractLifeCycle implements Asy
      */
     @Override
     public RingBufferAdmin createRingBufferAdmin(final String contextName, final String loggerConfigName) {
-        return RingBufferAdmin.forAsyncLoggerConfig(disruptor.getRingBuffer(), contextName, loggerConfigName);
+        return RingBufferAdmin.forAsyncLoggerConfig(disruptor.getRingBuffer(), waitStrategy, asyncQueueFullPolicy,
+                contextName, loggerConfigName);
     }
 }
@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.core.async;
 
 import java.net.URI;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.logging.log4j.core.Logger;
@@ -117,6 +118,28 @@ public class AsyncLoggerContext extends LoggerContext {
         return loggerDisruptor.createRingBufferAdmin(getName());
     }
 
+    /**
+     * Returns the latency and queue depth histograms of the ringbuffer of the {@code AsyncLogger} objects in this
+     * {@code LoggerContext}, or {@code null} if queue metrics are disabled.
+     *
+     * @return the queue metrics, or {@code null}
+     * @since 2.14.0
+     */
+    public AsyncQueueMetrics getQueueMetrics() {
+        return loggerDisruptor.getQueueMetrics();
+    }
+
+    /**
+     * Creates and returns a new {@code RingBufferAdmin} for each appender group that consumes the ringbuffer of the
+     * {@code AsyncLogger} objects in this {@code LoggerContext}.
+     *
+     * @return a new {@code RingBufferAdmin} for each appender group, empty if no appender groups are configured
+     * @since 2.14.0
+     */
+    public List<RingBufferAdmin> createAppenderGroupRingBufferAdmins() {
+        return loggerDisruptor.createAppenderGroupRingBufferAdmins(getName());
+    }
+
     /**
      * Signals this context whether it is allowed to use ThreadLocal objects for efficiency.
      * @param useThreadLocals whether this context is allowed to use ThreadLocal objects
@@ -17,9 +17,15 @@
 
 package org.apache.logging.log4j.core.async;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
+import com.lmax.disruptor.Cursored;
+import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventTranslatorVararg;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
@@ -45,6 +51,7 @@ import org.apache.logging.log4j.message.Message;
 class AsyncLoggerDisruptor extends AbstractLifeCycle {
     private static final int SLEEP_MILLIS_BETWEEN_DRAIN_ATTEMPTS = 50;
     private static final int MAX_DRAIN_ATTEMPTS_BEFORE_SHUTDOWN = 200;
+    private static final RingBufferAppenderGroupHandler[] NO_APPENDER_GROUPS = {};
 
     private final Object queueFullEnqueueLock = new Object();
 
@@ -54,7 +61,11 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
     private boolean useThreadLocalTranslator = true;
     private long backgroundThreadId;
     private AsyncQueueFullPolicy asyncQueueFullPolicy;
+    private PriorityAsyncQueueFullPolicy priorityQueueFullPolicy;
     private int ringBufferSize;
+    private WaitStrategy waitStrategy;
+    private volatile RingBufferAppenderGroupHandler[] appenderGroupHandlers = NO_APPENDER_GROUPS;
+    private AsyncQueueMetrics queueMetrics;
 
     AsyncLoggerDisruptor(final String contextName) {
         this.contextName = contextName;
@@ -87,7 +98,7 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         }
         LOGGER.trace("[{}] AsyncLoggerDisruptor creating new disruptor for this context.", contextName);
         ringBufferSize = DisruptorUtil.calculateRingBufferSize("AsyncLogger.RingBufferSize");
-        final WaitStrategy waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLogger.WaitStrategy");
+        waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLogger.WaitStrategy");
 
         final ThreadFactory threadFactory = new Log4jThreadFactory("AsyncLogger[" + contextName + "]", true, Thread.NORM_PRIORITY) {
             @Override
@@ -98,6 +109,9 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
             }
         };
         asyncQueueFullPolicy = AsyncQueueFullPolicyFactory.create();
+        priorityQueueFullPolicy = asyncQueueFullPolicy instanceof PriorityAsyncQueueFullPolicy
+                ? (PriorityAsyncQueueFullPolicy) asyncQueueFullPolicy
+                : null;
 
         disruptor = new Disruptor<>(RingBufferLogEvent.FACTORY, ringBufferSize, threadFactory, ProducerType.MULTI,
                 waitStrategy);
@@ -105,8 +119,21 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         final ExceptionHandler<RingBufferLogEvent> errorHandler = DisruptorUtil.getAsyncLoggerExceptionHandler();
         disruptor.setDefaultExceptionHandler(errorHandler);
 
-        final RingBufferLogEventHandler[] handlers = {new RingBufferLogEventHandler()};
-        disruptor.handleEventsWith(handlers);
+        queueMetrics = AsyncQueueMetrics.create("AsyncLogger[" + contextName + "]");
+        final List<Set<String>> appenderGroups = DisruptorUtil.getAppenderGroups("AsyncLogger.AppenderGroups");
+        if (appenderGroups.isEmpty()) {
+            final RingBufferLogEventHandler[] handlers = {new RingBufferLogEventHandler()};
+            handlers[0].setQueueMetrics(queueMetrics, disruptor.getRingBuffer());
+            disruptor.handleEventsWith(handlers);
+        } else {
+            // each appender group drains the ring buffer with its own thread; the slots are cleared after all groups
+            // have processed them, so producers are only gated by the slowest group
+            appenderGroupHandlers = createAppenderGroupHandlers(appenderGroups);
+            disruptor.handleEventsWith(appenderGroupHandlers).then(
+                    new ClearingEventHandler(queueMetrics, disruptor.getRingBuffer()));
+            LOGGER.debug("[{}] AsyncLogger disruptor uses {} appender groups: {}", contextName,
+                    appenderGroupHandlers.length, appenderGroups);
+        }
 
         LOGGER.debug("[{}] Starting AsyncLogger disruptor for this context with ringbufferSize={}, waitStrategy={}, "
                 + "exceptionHandler={}...", contextName, disruptor.getRingBuffer().getBufferSize(), waitStrategy
@@ -118,6 +145,28 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         super.start();
     }
 
+    private RingBufferAppenderGroupHandler[] createAppenderGroupHandlers(final List<Set<String>> appenderGroups) {
+        final List<RingBufferAppenderGroupHandler> result = new ArrayList<>();
+        final Set<String> grouped = new HashSet<>();
+        for (final Set<String> group : appenderGroups) {
+            final Set<String> appenderNames = new HashSet<>();
+            for (final String appenderName : group) {
+                if (grouped.add(appenderName)) {
+                    appenderNames.add(appenderName);
+                } else {
+                    LOGGER.warn("[{}] Appender {} is listed in more than one AsyncLogger appender group, "
+                            + "ignoring all but the first occurrence.", contextName, appenderName);
+                }
+            }
+            if (!appenderNames.isEmpty()) {
+                result.add(new RingBufferAppenderGroupHandler(String.join(",", group), appenderNames, true));
+            }
+        }
+        // all appenders that are not listed explicitly
+        result.add(new RingBufferAppenderGroupHandler("default", grouped, false));
+        return result.toArray(new RingBufferAppenderGroupHandler[result.size()]);
+    }
+
     /**
      * Decreases the reference count. If the reference count reached zero, the Disruptor and its associated thread are
      * shut down and their references set to {@code null}.
@@ -158,6 +207,17 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
             LOGGER.trace("AsyncLoggerDisruptor: {} discarded {} events.", asyncQueueFullPolicy,
                     DiscardingAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy));
         }
+        if (PriorityAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy) > 0) {
+            LOGGER.trace("AsyncLoggerDisruptor: {} discarded {} events.", asyncQueueFullPolicy,
+                    PriorityAsyncQueueFullPolicy.getDiscardCounts(asyncQueueFullPolicy));
+        }
+        if (waitStrategy instanceof AdaptiveWaitStrategy) {
+            LOGGER.debug("[{}] AsyncLoggerDisruptor: {}", contextName, waitStrategy);
+        }
+        if (queueMetrics != null) {
+            LOGGER.debug("[{}] AsyncLoggerDisruptor: {}", contextName, queueMetrics);
+        }
+        appenderGroupHandlers = NO_APPENDER_GROUPS;
         setStopped();
         return true;
     }
@@ -178,7 +238,36 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
      */
     public RingBufferAdmin createRingBufferAdmin(final String jmxContextName) {
         final RingBuffer<RingBufferLogEvent> ring = disruptor == null ? null : disruptor.getRingBuffer();
-        return RingBufferAdmin.forAsyncLogger(ring, jmxContextName);
+        return RingBufferAdmin.forAsyncLogger(ring, waitStrategy, asyncQueueFullPolicy, jmxContextName);
+    }
+
+    /**
+     * Returns the latency and queue depth histograms of the ringbuffer of the {@code AsyncLogger}, or {@code null} if
+     * queue metrics are disabled or the disruptor has not been started.
+     *
+     * @return the queue metrics, or {@code null}
+     */
+    public AsyncQueueMetrics getQueueMetrics() {
+        return queueMetrics;
+    }
+
+    /**
+     * Creates and returns a new {@code RingBufferAdmin} for each appender group that consumes the ringbuffer of the
+     * {@code AsyncLogger}. The list is empty if no appender groups are configured.
+     *
+     * @param jmxContextName name of the {@code AsyncLoggerContext}
+     * @return a new {@code RingBufferAdmin} for each appender group
+     */
+    public List<RingBufferAdmin> createAppenderGroupRingBufferAdmins(final String jmxContextName) {
+        final List<RingBufferAdmin> result = new ArrayList<>();
+        final Disruptor<RingBufferLogEvent> temp = disruptor;
+        if (temp != null) {
+            for (final RingBufferAppenderGroupHandler handler : appenderGroupHandlers) {
+                result.add(RingBufferAdmin.forAsyncLoggerAppenderGroup(temp.getRingBuffer(), handler.getSequence(),
+                        jmxContextName, handler.getName()));
+            }
+        }
+        return result;
     }
 
     EventRoute getEventRoute(final Level logLevel) {
@@ -186,7 +275,19 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         if (remainingCapacity < 0) {
             return EventRoute.DISCARD;
         }
-        return asyncQueueFullPolicy.getRoute(backgroundThreadId, logLevel);
+        // LOG4J2-471: if an appender group thread logs, the policy must treat it as the background thread
+        final long threadId = isAppenderGroupThread() ? Thread.currentThread().getId() : backgroundThreadId;
+        return asyncQueueFullPolicy.getRoute(threadId, logLevel);
+    }
+
+    private boolean isAppenderGroupThread() {
+        final long currentThreadId = Thread.currentThread().getId();
+        for (final RingBufferAppenderGroupHandler handler : appenderGroupHandlers) {
+            if (handler.getThreadId() == currentThreadId) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private int remainingDisruptorCapacity() {
@@ -207,7 +308,28 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         return false;
     }
 
+    /**
+     * Returns {@code true} if a {@link PriorityAsyncQueueFullPolicy} keeps the remaining capacity of the ring buffer
+     * free for levels more specific than the specified level. Events of this level are then handled as if the ring
+     * buffer were full.
+     *
+     * @param level the level of the event
+     * @return {@code true} if the event must not be published
+     */
+    boolean isCapacityReserved(final Level level) {
+        final PriorityAsyncQueueFullPolicy policy = priorityQueueFullPolicy;
+        if (policy == null) {
+            return false;
+        }
+        final Disruptor<RingBufferLogEvent> temp = disruptor;
+        return temp != null && policy.isCapacityReserved(level, temp.getRingBuffer().remainingCapacity(),
+                ringBufferSize);
+    }
+
     boolean tryPublish(final RingBufferLogEventTranslator translator) {
+        if (isCapacityReserved(translator.level)) {
+            return false;
+        }
         try {
             // Note: we deliberately access the volatile disruptor field afresh here.
             // Avoiding this and using an older reference could result in adding a log event to the disruptor after it
@@ -281,7 +403,8 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
     private boolean synchronizeEnqueueWhenQueueFull() {
         return DisruptorUtil.ASYNC_LOGGER_SYNCHRONIZE_ENQUEUE_WHEN_QUEUE_FULL
                 // Background thread must never block
-                && backgroundThreadId != Thread.currentThread().getId();
+                && backgroundThreadId != Thread.currentThread().getId()
+                && !isAppenderGroupThread();
     }
 
     private void logWarningOnNpeFromDisruptorPublish(final RingBufferLogEventTranslator translator) {
@@ -322,4 +445,27 @@ class AsyncLoggerDisruptor extends AbstractLifeCycle {
         LOGGER.trace("[{}] AsyncLoggers have been modified to use a {} translator", contextName,
                 useThreadLocalTranslator ? "threadlocal" : "vararg");
     }
+
+    /**
+     * Clears the RingBufferLogEvents after all appender groups have processed them.
+     */
+    private static class ClearingEventHandler implements EventHandler<RingBufferLogEvent> {
+        private final AsyncQueueMetrics queueMetrics;
+        private final Cursored cursor;
+
+        ClearingEventHandler(final AsyncQueueMetrics queueMetrics, final Cursored cursor) {
+            this.queueMetrics = queueMetrics;
+            this.cursor = cursor;
+        }
+
+        @Override
+        public void onEvent(final RingBufferLogEvent event, final long sequence, final boolean endOfBatch) {
+            // runs after all appender groups, so the latency is that of the slowest group
+            final long enqueueNanos = event.getEnqueueNanos();
+            event.clear();
+            if (queueMetrics != null) {
+                queueMetrics.recordProcessed(enqueueNanos, cursor.getCursor() - sequence);
+            }
+        }
+    }
 }
@@ -16,6 +16,9 @@
  */
 package org.apache.logging.log4j.core.async;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.util.Loader;
@@ -35,6 +38,12 @@ import org.apache.logging.log4j.util.PropertiesUtil;
  * This can be adjusted with property {@code "log4j2.DiscardThreshold"} (name of the level at which to start
  * discarding).
  * </p> <p>
+ * If this property has value {@code "Priority"}, this factory creates {@link PriorityAsyncQueueFullPolicy} objects.
+ * By default, this router keeps 50% of the queue capacity free for events more specific than {@code DEBUG}, 25% for
+ * events more specific than {@code INFO} and 5% for events more specific than {@code WARN}. This can be adjusted with
+ * property {@code "log4j2.PriorityReservedCapacity"}, a comma-separated list of {@code LEVEL=ratio} pairs such as
+ * {@code "INFO=0.25,DEBUG=0.5"}.
+ * </p> <p>
  * For any other value, this
  * factory interprets the value as the fully qualified name of a class implementing the {@link AsyncQueueFullPolicy}
  * interface. The class must have a default constructor.
@@ -47,6 +56,9 @@ public class AsyncQueueFullPolicyFactory {
     static final String PROPERTY_VALUE_DEFAULT_ASYNC_EVENT_ROUTER = "Default";
     static final String PROPERTY_VALUE_DISCARDING_ASYNC_EVENT_ROUTER = "Discard";
     static final String PROPERTY_NAME_DISCARDING_THRESHOLD_LEVEL = "log4j2.DiscardThreshold";
+    static final String PROPERTY_VALUE_PRIORITY_ASYNC_EVENT_ROUTER = "Priority";
+    static final String PROPERTY_NAME_PRIORITY_RESERVED_CAPACITY = "log4j2.PriorityReservedCapacity";
+    static final String DEFAULT_PRIORITY_RESERVED_CAPACITY = "WARN=0.05,INFO=0.25,DEBUG=0.5";
 
     private static final Logger LOGGER = StatusLogger.getLogger();
 
@@ -58,6 +70,8 @@ public class AsyncQueueFullPolicyFactory {
      * </p> <p>
      * If this property has value {@code "Discard"}, this method returns {@link DiscardingAsyncQueueFullPolicy} objects.
      * </p> <p>
+     * If this property has value {@code "Priority"}, this method returns {@link PriorityAsyncQueueFullPolicy} objects.
+     * </p> <p>
      * For any other value, this method interprets the value as the fully qualified name of a class implementing the
      * {@link AsyncQueueFullPolicy} interface. The class must have a default constructor.
      * </p>
@@ -74,6 +88,10 @@ public class AsyncQueueFullPolicyFactory {
                 router, DiscardingAsyncQueueFullPolicy.class, PROPERTY_VALUE_DISCARDING_ASYNC_EVENT_ROUTER)) {
             return createDiscardingAsyncQueueFullPolicy();
         }
+        if (isRouterSelected(
+                router, PriorityAsyncQueueFullPolicy.class, PROPERTY_VALUE_PRIORITY_ASYNC_EVENT_ROUTER)) {
+            return createPriorityAsyncQueueFullPolicy();
+        }
         return createCustomRouter(router);
     }
 
@@ -105,4 +123,43 @@ public class AsyncQueueFullPolicyFactory {
         LOGGER.debug("Creating custom DiscardingAsyncQueueFullPolicy(discardThreshold:{})", thresholdLevel);
         return new DiscardingAsyncQueueFullPolicy(thresholdLevel);
     }
+
+    private static AsyncQueueFullPolicy createPriorityAsyncQueueFullPolicy() {
+        final PropertiesUtil util = PropertiesUtil.getProperties();
+        final String value = util.getStringProperty(PROPERTY_NAME_PRIORITY_RESERVED_CAPACITY,
+                DEFAULT_PRIORITY_RESERVED_CAPACITY);
+        Map<Level, Double> reservedRatios;
+        try {
+            reservedRatios = parseReservedRatios(value);
+        } catch (final IllegalArgumentException ex) {
+            LOGGER.error("Invalid {} '{}', using '{}': {}", PROPERTY_NAME_PRIORITY_RESERVED_CAPACITY, value,
+                    DEFAULT_PRIORITY_RESERVED_CAPACITY, ex.getMessage());
+            reservedRatios = parseReservedRatios(DEFAULT_PRIORITY_RESERVED_CAPACITY);
+        }
+        LOGGER.debug("Creating custom PriorityAsyncQueueFullPolicy(reservedRatios:{})", reservedRatios);
+        return new PriorityAsyncQueueFullPolicy(reservedRatios);
+    }
+
+    static Map<Level, Double> parseReservedRatios(final String value) {
+        final Map<Level, Double> result = new HashMap<>();
+        for (final String pair : value.split(",")) {
+            if (pair.trim().isEmpty()) {
+                continue;
+            }
+            final int separator = pair.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected LEVEL=ratio but was '" + pair.trim() + "'");
+            }
+            final Level level = Level.toLevel(pair.substring(0, separator).trim(), null);
+            if (level == null) {
+                throw new IllegalArgumentException("Unknown level '" + pair.substring(0, separator).trim() + "'");
+            }
+            final double ratio = Double.parseDouble(pair.substring(separator + 1).trim());
+            if (ratio < 0 || ratio > 1) {
+                throw new IllegalArgumentException("Ratio of level " + level + " must be between 0 and 1");
+            }
+            result.put(level, ratio);
+        }
+        return result;
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.util.Loader;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Latency and queue depth histograms of the queue of an AsyncLogger, AsyncLoggerConfig or AsyncAppender.
+ * <p>
+ * Measurements are disabled by default. They are enabled with system property {@code "log4j2.asyncQueueMetrics=true"},
+ * or by configuring an {@link AsyncQueueMetricsListener} with system property
+ * {@code "log4j2.asyncQueueMetricsListener"}. When enabled, the time is taken when an event is enqueued and again
+ * when the appenders have processed it on the background thread. The queue depth is the number of events that were
+ * waiting behind the event when it was processed. Both are recorded in {@link LogLinearHistogram}s with fixed memory,
+ * so no objects are allocated per event.
+ * </p> <p>
+ * The histograms are exposed through JMX by
+ * {@link org.apache.logging.log4j.core.jmx.AsyncQueueMetricsAdmin AsyncQueueMetricsAdmin} MBeans.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class AsyncQueueMetrics {
+
+    static final String PROPERTY_NAME_ENABLED = "log4j2.asyncQueueMetrics";
+    static final String PROPERTY_NAME_LISTENER = "log4j2.asyncQueueMetricsListener";
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+    private static final AsyncQueueMetricsListener LISTENER = createListener(
+            PropertiesUtil.getProperties().getStringProperty(PROPERTY_NAME_LISTENER));
+
+    /**
+     * {@code true} if queue metrics are measured.
+     */
+    public static final boolean ENABLED = LISTENER != null
+            || PropertiesUtil.getProperties().getBooleanProperty(PROPERTY_NAME_ENABLED, false);
+
+    private final String name;
+    private final LogLinearHistogram latencyNanos = new LogLinearHistogram();
+    private final LogLinearHistogram queueDepth = new LogLinearHistogram();
+    private final AsyncQueueMetricsListener listener;
+
+    AsyncQueueMetrics(final String name, final AsyncQueueMetricsListener listener) {
+        this.name = name;
+        this.listener = listener;
+    }
+
+    /**
+     * Returns a new {@code AsyncQueueMetrics} for the queue with the specified name, or {@code null} if queue metrics
+     * are disabled.
+     *
+     * @param name the name of the queue
+     * @return a new AsyncQueueMetrics, or {@code null}
+     */
+    public static AsyncQueueMetrics create(final String name) {
+        return ENABLED ? new AsyncQueueMetrics(name, LISTENER) : null;
+    }
+
+    /**
+     * Returns the current value of {@link System#nanoTime()} if queue metrics are enabled, zero otherwise. Called
+     * when an event is enqueued.
+     *
+     * @return the enqueue time in nanoseconds, or zero
+     */
+    public static long enqueueNanos() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    private static AsyncQueueMetricsListener createListener(final String className) {
+        if (Strings.isEmpty(className)) {
+            return null;
+        }
+        try {
+            final Class<? extends AsyncQueueMetricsListener> cls = Loader.loadClass(className)
+                    .asSubclass(AsyncQueueMetricsListener.class);
+            LOGGER.debug("Creating AsyncQueueMetricsListener '{}'", className);
+            return cls.newInstance();
+        } catch (final Exception ex) {
+            LOGGER.error("Could not create AsyncQueueMetricsListener '{}': {}", className, ex.toString());
+            return null;
+        }
+    }
+
+    /**
+     * Records an event that has been processed by the background thread.
+     *
+     * @param enqueueNanos the value returned by {@link #enqueueNanos()} when the event was enqueued
+     * @param depth the number of events waiting in the queue behind the processed event
+     */
+    public void recordProcessed(final long enqueueNanos, final long depth) {
+        recordLatency(System.nanoTime() - enqueueNanos, depth);
+    }
+
+    /**
+     * Records an event that has been processed by the background thread.
+     *
+     * @param latency the time between enqueueing and processing the event, in nanoseconds
+     * @param depth the number of events waiting in the queue behind the processed event
+     */
+    public void recordLatency(final long latency, final long depth) {
+        latencyNanos.record(latency);
+        queueDepth.record(depth);
+        if (listener != null) {
+            listener.onEventProcessed(name, latency, depth);
+        }
+    }
+
+    /**
+     * Returns the name of the queue.
+     *
+     * @return the name of the queue
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the histogram of the times between enqueueing an event and the appenders returning, in nanoseconds.
+     *
+     * @return the latency histogram
+     */
+    public LogLinearHistogram getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    /**
+     * Returns the histogram of the number of events waiting in the queue behind each processed event.
+     *
+     * @return the queue depth histogram
+     */
+    public LogLinearHistogram getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Discards all recorded values.
+     */
+    public void reset() {
+        latencyNanos.reset();
+        queueDepth.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncQueueMetrics[" + name + ", latencyNanos=" + latencyNanos + ", queueDepth=" + queueDepth + "]";
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+/**
+ * Receives the latency and queue depth measured for every event taken from the queue of an AsyncLogger,
+ * AsyncLoggerConfig or AsyncAppender, for example to feed an external metrics library.
+ * <p>
+ * A listener is configured with system property {@code "log4j2.asyncQueueMetricsListener"}, the fully qualified name
+ * of a class implementing this interface with a default constructor. One instance is shared by all queues.
+ * </p> <p>
+ * The listener is called on the background thread of the queue after the event was passed to the appenders. It
+ * delays all following events, so implementations must be fast, should not allocate, and must not log.
+ * </p>
+ *
+ * @see AsyncQueueMetrics
+ * @since 2.14.0
+ */
+public interface AsyncQueueMetricsListener {
+
+    /**
+     * Called after an event has been taken from the queue and passed to the appenders.
+     *
+     * @param queueName the name of the queue, see {@link AsyncQueueMetrics#getName()}
+     * @param latencyNanos the time between enqueueing the event and the appenders returning, in nanoseconds
+     * @param queueDepth the number of events that were waiting in the queue behind this event
+     */
+    void onEventProcessed(String queueName, long latencyNanos, long queueDepth);
+}
@@ -17,7 +17,11 @@
 
 package org.apache.logging.log4j.core.async;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -36,6 +40,7 @@ import org.apache.logging.log4j.core.util.Integers;
 import org.apache.logging.log4j.core.util.Loader;
 import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.Strings;
 
 /**
  * Utility methods for getting Disruptor related configuration.
@@ -87,11 +92,56 @@ final class DisruptorUtil {
             return new BusySpinWaitStrategy();
         case "TIMEOUT":
             return new TimeoutBlockingWaitStrategy(timeoutMillis, TimeUnit.MILLISECONDS);
+        case "ADAPTIVE":
+            final String spinRateKey = propertyName.startsWith("AsyncLogger.")
+                    ? "AsyncLogger.AdaptiveSpinRate"
+                    : "AsyncLoggerConfig.AdaptiveSpinRate";
+            return new AdaptiveWaitStrategy(getSpinRate(spinRateKey), timeoutMillis, TimeUnit.MILLISECONDS);
         default:
             return new TimeoutBlockingWaitStrategy(timeoutMillis, TimeUnit.MILLISECONDS);
         }
     }
 
+    private static long getSpinRate(final String propertyName) {
+        final long spinRate = PropertiesUtil.getProperties().getLongProperty(propertyName,
+                AdaptiveWaitStrategy.DEFAULT_SPIN_RATE);
+        if (spinRate <= 0) {
+            LOGGER.warn("Invalid {} {}, using default spin rate {}.", propertyName, spinRate,
+                    AdaptiveWaitStrategy.DEFAULT_SPIN_RATE);
+            return AdaptiveWaitStrategy.DEFAULT_SPIN_RATE;
+        }
+        return spinRate;
+    }
+
+    /**
+     * Returns the appender groups configured with the specified property. Groups are separated by semicolons, the
+     * names of the appenders within a group by commas. For example, {@code RollingFile;Socket,Kafka} defines one group
+     * for the RollingFile appender and one for the Socket and Kafka appenders.
+     *
+     * @param propertyName the name of the property
+     * @return the sets of appender names, empty if the property is not set
+     */
+    static List<Set<String>> getAppenderGroups(final String propertyName) {
+        final List<Set<String>> result = new ArrayList<>();
+        final String groups = PropertiesUtil.getProperties().getStringProperty(propertyName);
+        LOGGER.trace("property {}={}", propertyName, groups);
+        if (Strings.isBlank(groups)) {
+            return result;
+        }
+        for (final String group : groups.split(";")) {
+            final Set<String> appenderNames = new LinkedHashSet<>();
+            for (final String appenderName : group.split(",")) {
+                if (Strings.isNotBlank(appenderName)) {
+                    appenderNames.add(appenderName.trim());
+                }
+            }
+            if (!appenderNames.isEmpty()) {
+                result.add(appenderNames);
+            }
+        }
+        return result;
+    }
+
     static int calculateRingBufferSize(final String propertyName) {
         int ringBufferSize = Constants.ENABLE_THREADLOCALS ? RINGBUFFER_NO_GC_DEFAULT_SIZE : RINGBUFFER_DEFAULT_SIZE;
         final String userPreferredRBSize = PropertiesUtil.getProperties().getStringProperty(propertyName,
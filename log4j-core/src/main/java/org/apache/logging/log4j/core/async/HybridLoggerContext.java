@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.net.URI;
+
+/**
+ * {@code LoggerContext} whose loggers are routed to the synchronous or the asynchronous path according to the type
+ * of the {@code LoggerConfig} they resolve to.
+ * <p>
+ * Loggers that resolve to an {@code <AsyncLogger>} or {@code <AsyncRoot>} publish their events directly to the
+ * ring buffer shared by all {@code AsyncLogger}s of this context, like in an all-async context. All other loggers
+ * call their appenders in the caller thread. {@code AsyncLoggerConfig}s in this context do not have a ring buffer of
+ * their own: events of a logger, including those passed on to additive parents, are all delivered on the thread
+ * chosen for that logger's {@code LoggerConfig}.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public class HybridLoggerContext extends AsyncLoggerContext {
+
+    public HybridLoggerContext(final String name) {
+        super(name);
+    }
+
+    public HybridLoggerContext(final String name, final Object externalContext) {
+        super(name, externalContext);
+    }
+
+    public HybridLoggerContext(final String name, final Object externalContext, final URI configLocn) {
+        super(name, externalContext, configLocn);
+    }
+
+    public HybridLoggerContext(final String name, final Object externalContext, final String configLocn) {
+        super(name, externalContext, configLocn);
+    }
+}
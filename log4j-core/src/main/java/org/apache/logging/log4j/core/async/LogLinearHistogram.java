@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of non-negative {@code long} values with a fixed memory footprint, in the style of HdrHistogram. Values
+ * below 16 are counted exactly; larger values are counted in 16 linear sub-buckets per power of two, so a recorded
+ * value is reported with a relative error of at most 1/16 (6.25%). The whole {@code long} range fits in 960 buckets.
+ * <p>
+ * Recording does not allocate and does not take locks, so it can be done on the background thread of an asynchronous
+ * logger for every event. Readers see a snapshot that may be slightly inconsistent while values are being recorded.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong maxValue = new AtomicLong();
+
+    /**
+     * Records the specified value. Negative values are recorded as zero.
+     *
+     * @param value the value to record
+     */
+    public void record(final long value) {
+        final long nonNegative = value < 0 ? 0 : value;
+        counts.incrementAndGet(bucketIndex(nonNegative));
+        totalCount.incrementAndGet();
+        long max;
+        while (nonNegative > (max = maxValue.get())) {
+            if (maxValue.compareAndSet(max, nonNegative)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of recorded values.
+     *
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the largest recorded value, or zero if no values were recorded.
+     *
+     * @return the largest recorded value
+     */
+    public long getMax() {
+        return maxValue.get();
+    }
+
+    /**
+     * Returns the value at the specified percentile: the largest value in the bucket that contains the value below
+     * which the specified percentage of the recorded values fall. Returns zero if no values were recorded.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the value at the specified percentile, at most {@link #getMax()}
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        final double ratio = Math.min(Math.max(percentile, 0.0), 100.0) / 100.0;
+        final long target = Math.max(1, (long) Math.ceil(ratio * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestValueInBucket(i), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Discards all recorded values. Values recorded concurrently with this method may or may not be discarded.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        maxValue.set(0);
+    }
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int magnitude = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & SUB_BUCKET_MASK;
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long lowestValueInBucket(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int magnitude = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final long subBucket = index & SUB_BUCKET_MASK;
+        return (1L << magnitude) | (subBucket << (magnitude - SUB_BUCKET_BITS));
+    }
+
+    static long highestValueInBucket(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int magnitude = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        return lowestValueInBucket(index) + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "LogLinearHistogram[count=" + getCount() + ", p50=" + getValueAtPercentile(50) + ", p99="
+                + getValueAtPercentile(99) + ", max=" + getMax() + "]";
+    }
+}
@@ -0,0 +1,309 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.core.util.Integers;
+
+/**
+ * Bounded, lock-free multiple producer single consumer queue of preallocated {@link MutableLogEvent} slots.
+ * <p>
+ * Unlike other {@code BlockingQueue} implementations, this queue does not store the offered event itself: producers
+ * claim a slot with a single CAS and copy the event into it with {@link MutableLogEvent#copyFrom(LogEvent)}, so
+ * callers do not need to create an immutable snapshot before enqueueing. Events without a message (control events
+ * such as shutdown markers) are passed through by reference.
+ * </p>
+ * <p>
+ * The events returned by {@link #take()}, {@link #poll()} and {@link #drainTo(Collection)} are the slots
+ * themselves. They remain valid until the consumer calls {@link #release()}, after which they may be overwritten by
+ * producers. Only a single thread may consume from this queue.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class MpscLogEventQueue extends AbstractQueue<LogEvent> implements BlockingQueue<LogEvent> {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+
+    private final int capacity;
+    private final int mask;
+    private final MutableLogEvent[] slots;
+    private final LogEvent[] entries;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;
+    private volatile long released;
+    private volatile Thread waitingConsumer;
+    private volatile Boolean includeLocation;
+
+    public MpscLogEventQueue(final int capacity) {
+        this.capacity = Integers.ceilingNextPowerOfTwo(Math.max(capacity, 2));
+        this.mask = this.capacity - 1;
+        this.slots = new MutableLogEvent[this.capacity];
+        this.entries = new LogEvent[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            slots[i] = new MutableLogEvent();
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Sets whether the copied events include location information. By default an event's location is copied if the
+     * event itself {@linkplain LogEvent#isIncludeLocation() includes location}; the owner of the queue can override
+     * this so that the location is neither computed nor copied when it does not need it.
+     *
+     * @param includeLocation whether the copied events include location information
+     */
+    public void setIncludeLocation(final boolean includeLocation) {
+        this.includeLocation = includeLocation;
+    }
+
+    /**
+     * Returns the number of slots in this queue. This is the requested capacity rounded up to a power of two.
+     *
+     * @return the number of slots in this queue
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public boolean offer(final LogEvent event) {
+        if (event == null) {
+            throw new NullPointerException();
+        }
+        for (;;) {
+            final long pos = tail.get();
+            final int index = (int) (pos & mask);
+            final long sequence = sequences.get(index);
+            if (sequence == pos) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    publish(index, pos, event);
+                    return true;
+                }
+            } else if (sequence < pos) {
+                return false; // full: the consumer has not released this slot yet
+            }
+            // another producer claimed this position first, try again
+        }
+    }
+
+    private void publish(final int index, final long pos, final LogEvent event) {
+        try {
+            if (event.getMessage() == null) {
+                entries[index] = event;
+            } else {
+                final MutableLogEvent slot = slots[index];
+                final Boolean location = includeLocation;
+                slot.copyFrom(event, location == null ? event.isIncludeLocation() : location);
+                entries[index] = slot;
+            }
+        } finally {
+            // always publish a claimed slot, otherwise the consumer would stall on it forever
+            sequences.set(index, pos + 1);
+            final Thread consumer = waitingConsumer;
+            if (consumer != null) {
+                LockSupport.unpark(consumer);
+            }
+        }
+    }
+
+    @Override
+    public LogEvent poll() {
+        final long pos = head;
+        final int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) {
+            return null;
+        }
+        final LogEvent result = entries[index];
+        head = pos + 1;
+        return result;
+    }
+
+    @Override
+    public LogEvent peek() {
+        final long pos = head;
+        final int index = (int) (pos & mask);
+        return sequences.get(index) == pos + 1 ? entries[index] : null;
+    }
+
+    /**
+     * Makes all slots handed out to the consumer so far available to producers again. Must only be called by the
+     * consumer thread, once it no longer references the events it retrieved from this queue.
+     */
+    public void release() {
+        final long limit = head;
+        for (long pos = released; pos < limit; pos++) {
+            final int index = (int) (pos & mask);
+            slots[index].clear();
+            entries[index] = null;
+            sequences.set(index, pos + capacity);
+        }
+        released = limit;
+    }
+
+    @Override
+    public void put(final LogEvent event) throws InterruptedException {
+        int idleCounter = 0;
+        while (!offer(event)) {
+            idleCounter = idle(idleCounter);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+    }
+
+    @Override
+    public boolean offer(final LogEvent event, final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int idleCounter = 0;
+        while (!offer(event)) {
+            if (System.nanoTime() - deadline > 0) {
+                return false;
+            }
+            idleCounter = idle(idleCounter);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public LogEvent take() throws InterruptedException {
+        return poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public LogEvent poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long timeoutNanos = unit.toNanos(timeout);
+        final long deadline = System.nanoTime() + timeoutNanos;
+        int idleCounter = 0;
+        for (;;) {
+            LogEvent result = poll();
+            if (result != null) {
+                return result;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (timeoutNanos != Long.MAX_VALUE && remaining <= 0) {
+                return null;
+            }
+            if (idleCounter < YIELD_TRIES) {
+                idleCounter = idle(idleCounter);
+                continue;
+            }
+            // announce ourselves before re-checking so that a concurrent producer is guaranteed to unpark us
+            waitingConsumer = Thread.currentThread();
+            try {
+                result = poll();
+                if (result != null) {
+                    return result;
+                }
+                if (timeoutNanos == Long.MAX_VALUE) {
+                    LockSupport.park(this);
+                } else {
+                    LockSupport.parkNanos(this, remaining);
+                }
+            } finally {
+                waitingConsumer = null;
+            }
+        }
+    }
+
+    private static int idle(final int idleCounter) {
+        if (idleCounter >= YIELD_TRIES) {
+            LockSupport.parkNanos(1L);
+        } else if (idleCounter >= SPIN_TRIES) {
+            Thread.yield();
+        }
+        return idleCounter + 1;
+    }
+
+    @Override
+    public int drainTo(final Collection<? super LogEvent> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(final Collection<? super LogEvent> c, final int maxElements) {
+        int count = 0;
+        LogEvent event;
+        while (count < maxElements && (event = poll()) != null) {
+            c.add(event);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of published events that have not been retrieved by the consumer yet.
+     *
+     * @return the number of events waiting to be consumed
+     */
+    @Override
+    public int size() {
+        final long size = tail.get() - head;
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tail.get() == head;
+    }
+
+    /**
+     * Returns the number of slots that can be claimed without blocking. Slots handed out to the consumer but not
+     * {@linkplain #release() released} yet are not available.
+     *
+     * @return the number of free slots
+     */
+    @Override
+    public int remainingCapacity() {
+        final long used = tail.get() - released;
+        return (int) Math.max(0, Math.min(capacity - used, capacity));
+    }
+
+    /**
+     * Not supported: the slots of this queue are only meant to be accessed by its consumer.
+     *
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public Iterator<LogEvent> iterator() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        return "MpscLogEventQueue[capacity=" + capacity + ", size=" + size() + ']';
+    }
+}
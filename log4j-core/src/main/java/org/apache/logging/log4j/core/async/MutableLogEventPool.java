@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.core.util.Integers;
+
+/**
+ * Bounded, lock-free pool of preallocated {@link MutableLogEvent} instances that any thread may acquire and release.
+ * <p>
+ * Components that hand a snapshot of an event to another thread, like AsyncAppender, can copy the event into a
+ * pooled instance with {@link MutableLogEvent#copyFrom(org.apache.logging.log4j.core.LogEvent)} instead of creating a new immutable event, and
+ * release it once all appenders have processed it. Acquiring and releasing do not allocate. When all instances are in
+ * use, {@link #acquire()} returns {@code null} and the caller falls back to an allocated snapshot.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public final class MutableLogEventPool {
+
+    private final int capacity;
+    private final int mask;
+    private final MutableLogEvent[] events;
+    private final AtomicLongArray sequences;
+    private final AtomicLong releasePosition;
+    private final AtomicLong acquirePosition = new AtomicLong();
+
+    /**
+     * Creates a pool with at least the specified number of instances, rounded up to a power of two.
+     *
+     * @param size the minimum number of pooled instances
+     */
+    public MutableLogEventPool(final int size) {
+        this.capacity = Integers.ceilingNextPowerOfTwo(Math.max(size, 2));
+        this.mask = capacity - 1;
+        this.events = new MutableLogEvent[capacity];
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new MutableLogEvent();
+            sequences.set(i, i + 1); // every slot starts out released
+        }
+        this.releasePosition = new AtomicLong(capacity);
+    }
+
+    /**
+     * Returns the number of instances in this pool.
+     *
+     * @return the number of instances in this pool
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Takes an instance out of the pool.
+     *
+     * @return a cleared MutableLogEvent, or {@code null} if all instances are in use
+     */
+    public MutableLogEvent acquire() {
+        for (;;) {
+            final long pos = acquirePosition.get();
+            final int index = (int) (pos & mask);
+            final long sequence = sequences.get(index);
+            if (sequence == pos + 1) {
+                if (acquirePosition.compareAndSet(pos, pos + 1)) {
+                    final MutableLogEvent result = events[index];
+                    events[index] = null;
+                    sequences.set(index, pos + capacity);
+                    return result;
+                }
+            } else if (sequence < pos + 1 && releasePosition.get() <= pos) {
+                return null; // empty: all instances are in use
+            }
+            // another thread acquired this position first, or a release into it is not complete yet: try again
+        }
+    }
+
+    /**
+     * Clears the specified instance and puts it back into the pool. Releasing an instance that was not acquired from
+     * this pool has no effect once the pool is full.
+     *
+     * @param event an instance returned by {@link #acquire()}
+     */
+    public void release(final MutableLogEvent event) {
+        event.clear();
+        for (;;) {
+            final long pos = releasePosition.get();
+            final int index = (int) (pos & mask);
+            final long sequence = sequences.get(index);
+            if (sequence == pos) {
+                if (releasePosition.compareAndSet(pos, pos + 1)) {
+                    events[index] = event;
+                    sequences.set(index, pos + 1);
+                    return;
+                }
+            } else if (sequence < pos && pos - acquirePosition.get() >= capacity) {
+                return; // full: the instance was not acquired from this pool
+            }
+            // another thread released into this position first, or an acquire from it is not complete yet: try again
+        }
+    }
+
+    /**
+     * Returns the number of instances currently available in the pool.
+     *
+     * @return the number of available instances
+     */
+    public int available() {
+        return (int) Math.max(0, releasePosition.get() - acquirePosition.get());
+    }
+
+    @Override
+    public String toString() {
+        return "MutableLogEventPool[capacity=" + capacity + ", available=" + available() + ']';
+    }
+}
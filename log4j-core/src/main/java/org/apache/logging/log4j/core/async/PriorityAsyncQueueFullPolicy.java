@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Router that keeps a share of the queue capacity free for more specific levels, so that, under overload, events of
+ * verbose levels are discarded first while {@code ERROR} and {@code WARN} events still find room in the queue.
+ * <p>
+ * Each configured level has a reserved ratio: an event of that level is only enqueued while more than that ratio of
+ * the queue capacity is free. An event whose level is not configured uses the ratio of the nearest configured level
+ * that is {@linkplain Level#isMoreSpecificThan(Level) equal or more specific}; if there is none, nothing is reserved
+ * for it. For example, with {@code INFO=0.25,DEBUG=0.5} a {@code TRACE} event is discarded once half of the queue is
+ * used, an {@code INFO} event once three quarters are used, and {@code WARN} events may use the whole queue.
+ * </p><p>
+ * The ring buffers of Async Loggers and AsyncLoggerConfigs check the reserved capacity before publishing an event.
+ * Other queues only consult this router when they are full, at which point events of levels with a reserved ratio are
+ * discarded and the {@linkplain DefaultAsyncQueueFullPolicy default routing rules} hold for the others.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public class PriorityAsyncQueueFullPolicy extends DefaultAsyncQueueFullPolicy {
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private final int[] intLevels;
+    private final double[] reservedRatios;
+    private final Map<Level, Double> reservedRatiosByLevel;
+    private final ConcurrentMap<Level, AtomicLong> discardCounts = new ConcurrentHashMap<>();
+    private final AtomicLong discardCount = new AtomicLong();
+
+    /**
+     * Constructs a router that keeps the specified ratio of the queue capacity free for events more specific than
+     * each level.
+     *
+     * @param reservedRatios ratio of the queue capacity, between 0 and 1, that events of each level may not use
+     */
+    public PriorityAsyncQueueFullPolicy(final Map<Level, Double> reservedRatios) {
+        Objects.requireNonNull(reservedRatios, "reservedRatios");
+        final Map<Integer, Double> sorted = new TreeMap<>();
+        final Map<Level, Double> byLevel = new TreeMap<>();
+        for (final Map.Entry<Level, Double> entry : reservedRatios.entrySet()) {
+            final double ratio = Objects.requireNonNull(entry.getValue(), "ratio");
+            if (ratio < 0 || ratio > 1) {
+                throw new IllegalArgumentException("Reserved ratio of level " + entry.getKey()
+                        + " must be between 0 and 1 but was " + ratio);
+            }
+            sorted.put(entry.getKey().intLevel(), ratio);
+            byLevel.put(entry.getKey(), ratio);
+        }
+        this.intLevels = new int[sorted.size()];
+        this.reservedRatios = new double[sorted.size()];
+        int i = 0;
+        for (final Map.Entry<Integer, Double> entry : sorted.entrySet()) {
+            intLevels[i] = entry.getKey();
+            this.reservedRatios[i++] = entry.getValue();
+        }
+        this.reservedRatiosByLevel = Collections.unmodifiableMap(byLevel);
+    }
+
+    /**
+     * Returns the ratio of the queue capacity that events of the specified level may not use.
+     *
+     * @param level the level of the event
+     * @return the reserved ratio, between 0 and 1
+     */
+    public double getReservedRatio(final Level level) {
+        final int intLevel = level.intLevel();
+        for (int i = intLevels.length - 1; i >= 0; i--) {
+            if (intLevels[i] <= intLevel) {
+                return reservedRatios[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns {@code true} if the remaining capacity of the queue is reserved for levels more specific than the
+     * specified level, in which case the caller should handle the event as if the queue were full.
+     *
+     * @param level the level of the event
+     * @param remainingCapacity the number of free slots in the queue
+     * @param capacity the total number of slots in the queue
+     * @return {@code true} if an event of this level must not be enqueued
+     */
+    public boolean isCapacityReserved(final Level level, final long remainingCapacity, final long capacity) {
+        final long reserved = (long) (getReservedRatio(level) * capacity);
+        return reserved > 0 && remainingCapacity <= reserved;
+    }
+
+    @Override
+    public EventRoute getRoute(final long backgroundThreadId, final Level level) {
+        if (Thread.currentThread().getId() != backgroundThreadId && getReservedRatio(level) > 0) {
+            countDiscard(level);
+            return EventRoute.DISCARD;
+        }
+        return super.getRoute(backgroundThreadId, level);
+    }
+
+    private void countDiscard(final Level level) {
+        AtomicLong count = discardCounts.get(level);
+        if (count == null) {
+            final AtomicLong existing = discardCounts.putIfAbsent(level, count = new AtomicLong());
+            if (existing != null) {
+                count = existing;
+            }
+        }
+        count.incrementAndGet();
+        if (discardCount.getAndIncrement() == 0) {
+            LOGGER.warn("Async queue is full for level {}, discarding event. " +
+                    "This message will only appear once; future events of levels with reserved capacity " +
+                    "are silently discarded until queue capacity becomes available.", level);
+        }
+    }
+
+    /**
+     * Returns the number of events of the specified level that were discarded.
+     *
+     * @param level the level
+     * @return the number of discarded events of this level
+     */
+    public long getDiscardCount(final Level level) {
+        final AtomicLong count = discardCounts.get(level);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns the number of discarded events by level name, for the levels of which events were discarded.
+     *
+     * @param router the router, may be any AsyncQueueFullPolicy
+     * @return the discard counts by level name, empty if the router is not a PriorityAsyncQueueFullPolicy
+     */
+    public static Map<String, Long> getDiscardCounts(final AsyncQueueFullPolicy router) {
+        if (!(router instanceof PriorityAsyncQueueFullPolicy)) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Long> result = new TreeMap<>();
+        for (final Map.Entry<Level, AtomicLong> entry : ((PriorityAsyncQueueFullPolicy) router).discardCounts
+                .entrySet()) {
+            result.put(entry.getKey().name(), entry.getValue().get());
+        }
+        return result;
+    }
+
+    public static long getDiscardCount(final AsyncQueueFullPolicy router) {
+        if (router instanceof PriorityAsyncQueueFullPolicy) {
+            return ((PriorityAsyncQueueFullPolicy) router).discardCount.get();
+        }
+        return 0;
+    }
+
+    public Map<Level, Double> getReservedRatios() {
+        return reservedRatiosByLevel;
+    }
+
+    @Override
+    public String toString() {
+        return "PriorityAsyncQueueFullPolicy[reservedRatios=" + reservedRatiosByLevel + ']';
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.Set;
+
+import org.apache.logging.log4j.core.config.AppenderSelector;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.SequenceReportingEventHandler;
+
+/**
+ * Event handler that passes the events of the RingBuffer to one group of appenders. Each appender group has its own
+ * handler, sequence and thread, so slow appenders in one group do not hold up the other groups; producers are only
+ * gated by the slowest group.
+ * <p>
+ * The RingBufferLogEvent is shared by all groups and must not be modified, so each handler works on its own
+ * {@link MutableLogEvent} copy of the event. The events are cleared by a handler that runs after all groups.
+ * </p>
+ */
+public class RingBufferAppenderGroupHandler implements
+        SequenceReportingEventHandler<RingBufferLogEvent>, LifecycleAware, AppenderSelector {
+
+    private static final int NOTIFY_PROGRESS_THRESHOLD = 50;
+    private final String name;
+    private final Set<String> appenderNames;
+    private final boolean includeAppenderNames;
+    private final MutableLogEvent copy = new MutableLogEvent();
+    private Sequence sequenceCallback;
+    private int counter;
+    private volatile long threadId = -1;
+
+    /**
+     * Creates a handler for an appender group.
+     *
+     * @param name the name of the appender group
+     * @param appenderNames the names of appenders
+     * @param includeAppenderNames {@code true} if the group consists of the specified appenders, {@code false} if it
+     *            consists of all appenders except the specified ones
+     */
+    public RingBufferAppenderGroupHandler(final String name, final Set<String> appenderNames,
+            final boolean includeAppenderNames) {
+        this.name = name;
+        this.appenderNames = appenderNames;
+        this.includeAppenderNames = includeAppenderNames;
+    }
+
+    @Override
+    public void setSequenceCallback(final Sequence sequenceCallback) {
+        this.sequenceCallback = sequenceCallback;
+    }
+
+    /**
+     * Returns the sequence of this handler, or {@code null} if the handler has not been added to a Disruptor yet.
+     *
+     * @return the sequence of this handler
+     */
+    public Sequence getSequence() {
+        return sequenceCallback;
+    }
+
+    @Override
+    public void onEvent(final RingBufferLogEvent event, final long sequence, final boolean endOfBatch)
+            throws Exception {
+        try {
+            event.execute(copy, endOfBatch, this);
+        } finally {
+            // notify the BatchEventProcessor that the sequence has progressed.
+            // Without this callback the sequence would not be progressed
+            // until the batch has completely finished.
+            notifyCallback(sequence);
+        }
+    }
+
+    private void notifyCallback(final long sequence) {
+        if (++counter > NOTIFY_PROGRESS_THRESHOLD) {
+            sequenceCallback.set(sequence);
+            counter = 0;
+        }
+    }
+
+    @Override
+    public boolean isSelected(final String appenderName) {
+        return appenderNames.contains(appenderName) == includeAppenderNames;
+    }
+
+    /**
+     * Returns the name of the appender group.
+     *
+     * @return the name of the appender group
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the thread ID of the background consumer thread, or {@code -1} if the background thread has not started
+     * yet.
+     * @return the thread ID of the background consumer thread, or {@code -1}
+     */
+    public long getThreadId() {
+        return threadId;
+    }
+
+    @Override
+    public void onStart() {
+        threadId = Thread.currentThread().getId();
+    }
+
+    @Override
+    public void onShutdown() {
+    }
+
+    @Override
+    public String toString() {
+        return "RingBufferAppenderGroupHandler[" + name + "]";
+    }
+}
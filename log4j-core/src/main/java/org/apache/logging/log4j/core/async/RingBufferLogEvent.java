@@ -24,9 +24,11 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.ThreadContext.ContextStack;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.AppenderSelector;
 import org.apache.logging.log4j.core.impl.ContextDataFactory;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.impl.MementoMessage;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
 import org.apache.logging.log4j.core.impl.ThrowableProxy;
 import org.apache.logging.log4j.core.util.*;
 import org.apache.logging.log4j.core.time.Instant;
@@ -66,6 +68,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
     private long threadId;
     private final MutableInstant instant = new MutableInstant();
     private long nanoTime;
+    private long enqueueNanos;
     private short parameterCount;
     private boolean includeLocation;
     private boolean endOfBatch = false;
@@ -99,6 +102,7 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
         setMessage(msg);
         initTime(clock);
         this.nanoTime = nanoClock.nanoTime();
+        this.enqueueNanos = AsyncQueueMetrics.enqueueNanos();
         this.thrown = aThrowable;
         this.thrownProxy = null;
         this.marker = aMarker;
@@ -117,6 +121,16 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
         }
     }
 
+    /**
+     * Returns the {@link System#nanoTime()} at which this event was enqueued if queue metrics are enabled, zero
+     * otherwise.
+     *
+     * @return the enqueue time in nanoseconds, or zero
+     */
+    long getEnqueueNanos() {
+        return enqueueNanos;
+    }
+
     @Override
     public LogEvent toImmutable() {
         return createMemento();
@@ -154,6 +168,25 @@ public class RingBufferLogEvent implements LogEvent, ReusableMessage, CharSequen
         asyncLogger.actualAsyncLog(this);
     }
 
+    /**
+     * Event processors of appender groups can call this method. Several of these processors may read the same event
+     * concurrently, so this event is not modified: it is copied into the specified processor-owned event, which is
+     * passed to the appenders selected by the specified selector and cleared afterwards.
+     *
+     * @param copy the event owned by the calling event processor
+     * @param endOfBatch flag to indicate if this is the last event in a batch for the calling event processor
+     * @param selector selects the appenders of the appender group
+     */
+    void execute(final MutableLogEvent copy, final boolean endOfBatch, final AppenderSelector selector) {
+        try {
+            copy.copyFrom(this);
+            copy.setEndOfBatch(endOfBatch);
+            asyncLogger.actualAsyncLog(copy, selector);
+        } finally {
+            copy.clear();
+        }
+    }
+
     /**
      * Returns {@code true} if this event is the end of a batch, {@code false} otherwise.
      *
@@ -16,6 +16,7 @@
  */
 package org.apache.logging.log4j.core.async;
 
+import com.lmax.disruptor.Cursored;
 import com.lmax.disruptor.LifecycleAware;
 import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceReportingEventHandler;
@@ -33,6 +34,19 @@ public class RingBufferLogEventHandler implements
     private Sequence sequenceCallback;
     private int counter;
     private long threadId = -1;
+    private AsyncQueueMetrics queueMetrics;
+    private Cursored cursor;
+
+    /**
+     * Makes this handler record the latency and queue depth of every event it processes.
+     *
+     * @param metrics the metrics to record to, or {@code null}
+     * @param ringBufferCursor the cursor of the ring buffer, used to calculate the queue depth
+     */
+    void setQueueMetrics(final AsyncQueueMetrics metrics, final Cursored ringBufferCursor) {
+        this.queueMetrics = metrics;
+        this.cursor = ringBufferCursor;
+    }
 
     @Override
     public void setSequenceCallback(final Sequence sequenceCallback) {
@@ -42,11 +56,15 @@ public class RingBufferLogEventHandler implements
     @Override
     public void onEvent(final RingBufferLogEvent event, final long sequence,
             final boolean endOfBatch) throws Exception {
+        final long enqueueNanos = event.getEnqueueNanos();
         try {
             event.execute(endOfBatch);
         }
         finally {
             event.clear();
+            if (queueMetrics != null) {
+                queueMetrics.recordProcessed(enqueueNanos, cursor.getCursor() - sequence);
+            }
             // notify the BatchEventProcessor that the sequence has progressed.
             // Without this callback the sequence would not be progressed
             // until the batch has completely finished.
@@ -134,6 +134,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     private final ConfigurationScheduler configurationScheduler = new ConfigurationScheduler();
     private final WatchManager watchManager = new WatchManager(configurationScheduler);
     private AsyncLoggerConfigDisruptor asyncLoggerConfigDisruptor;
+    private AsyncAppenderDispatcher asyncAppenderDispatcher;
     private NanoClock nanoClock = new DummyNanoClock();
     private final WeakReference<LoggerContext> loggerContext;
 
@@ -208,6 +209,18 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         return asyncLoggerConfigDisruptor;
     }
 
+    /**
+     * Returns the dispatcher shared by all {@code AppenderRef}s with {@code async="true"}, creating it on first use.
+     *
+     * @return the AsyncAppenderDispatcher of this configuration
+     */
+    AsyncAppenderDispatcher getAsyncAppenderDispatcher() {
+        if (asyncAppenderDispatcher == null) {
+            asyncAppenderDispatcher = new AsyncAppenderDispatcher();
+        }
+        return asyncAppenderDispatcher;
+    }
+
     /**
      * Initialize the configuration.
      */
@@ -303,6 +316,9 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         for (final Appender appender : appenders.values()) {
             appender.start();
         }
+        if (asyncAppenderDispatcher != null) {
+            asyncAppenderDispatcher.start();
+        }
         if (!alreadyStarted.contains(root)) { // LOG4J2-392
             root.start(); // LOG4J2-336
         }
@@ -336,13 +352,15 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         // 2. Stop the LoggerConfig objects (this may stop nested Filters)
         // 3. Stop the AsyncLoggerConfigDelegate. This shuts down the AsyncLoggerConfig Disruptor
         //    and waits until all events in the RingBuffer have been processed.
-        // 4. Stop all AsyncAppenders. This shuts down the associated thread and
+        // 4. Stop the AsyncAppenderDispatcher. This shuts down the thread of the asynchronous
+        //    AppenderRefs and waits until all events in their rings have been processed.
+        // 5. Stop all AsyncAppenders. This shuts down the associated thread and
         //    waits until all events in the queue have been processed. (With optional timeout.)
-        // 5. Notify all LoggerConfigs' ReliabilityStrategy that appenders will be stopped.
+        // 6. Notify all LoggerConfigs' ReliabilityStrategy that appenders will be stopped.
         //    This guarantees that any event received by a LoggerConfig before reconfiguration
         //    are passed on to the Appenders before the Appenders are stopped.
-        // 6. Stop the remaining running Appenders. (It should now be safe to do so.)
-        // 7. Notify all LoggerConfigs that their Appenders can be cleaned up.
+        // 7. Stop the remaining running Appenders. (It should now be safe to do so.)
+        // 8. Notify all LoggerConfigs that their Appenders can be cleaned up.
 
         for (final LoggerConfig loggerConfig : loggerConfigs.values()) {
             loggerConfig.getReliabilityStrategy().beforeStopConfiguration(this);
@@ -369,6 +387,11 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             asyncLoggerConfigDisruptor.stop(timeout, timeUnit);
         }
 
+        if (asyncAppenderDispatcher != null) {
+            LOGGER.trace("{} stopping AsyncAppenderDispatcher.", cls);
+            asyncAppenderDispatcher.stop(timeout, timeUnit);
+        }
+
         // Stop the appenders in reverse order in case they still have activity.
         final Appender[] array = appenders.values().toArray(new Appender[appenders.size()]);
         final List<Appender> async = getAsyncAppenders(array);
@@ -603,7 +626,10 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             final LoggerConfig loggerConfig = entry.getValue();
             for (final AppenderRef ref : loggerConfig.getAppenderRefs()) {
                 final Appender app = appenders.get(ref.getRef());
-                if (app != null) {
+                if (app != null && ref.isAsync()) {
+                    loggerConfig.addAppender(getAsyncAppenderDispatcher().createAppenderControl(app, ref.getLevel(),
+                            ref.getFilter()));
+                } else if (app != null) {
                     loggerConfig.addAppender(app, ref.getLevel(), ref.getFilter());
                 } else {
                     LOGGER.error("Unable to locate appender \"{}\" for logger config \"{}\"", ref.getRef(),
@@ -16,13 +16,17 @@
  */
 package org.apache.logging.log4j.core.config;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.BatchAppender;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.BatchAppenderLoggingException;
 import org.apache.logging.log4j.core.filter.AbstractFilterable;
 import org.apache.logging.log4j.core.filter.Filterable;
 import org.apache.logging.log4j.util.PerformanceSensitive;
@@ -84,7 +88,38 @@ public class AppenderControl extends AbstractFilterable {
         callAppenderPreventRecursion(event);
     }
 
-    private boolean shouldSkip(final LogEvent event) {
+    /**
+     * Call the appender with a batch of events. A {@link BatchAppender} receives all events accepted by this control
+     * and by the appender's filter in a single call, other appenders are called once per event.
+     *
+     * @param events The events to process, in order.
+     * @since 2.14.0
+     */
+    public void callAppender(final List<LogEvent> events) {
+        callAppender(events, null);
+    }
+
+    /**
+     * Call the appender with a batch of events, collecting the events that could not be appended. If the appender
+     * does not ignore exceptions, the first failure is rethrown once the rest of the batch has been processed.
+     *
+     * @param events The events to process, in order.
+     * @param failed If not {@code null}, receives the events of the batch that the appender failed to append, in
+     *            order.
+     * @since 2.14.0
+     */
+    public void callAppender(final List<LogEvent> events, final List<LogEvent> failed) {
+        if (!(appender instanceof BatchAppender)) {
+            callAppenderOneByOne(events, true, failed);
+            return;
+        }
+        if (isRecursiveCall()) {
+            return;
+        }
+        callBatchAppenderPreventRecursion(events, true, failed);
+    }
+
+    boolean shouldSkip(final LogEvent event) {
         return isFilteredByAppenderControl(event) || isFilteredByLevel(event) || isRecursiveCall();
     }
 
@@ -114,7 +149,7 @@ public class AppenderControl extends AbstractFilterable {
         return result;
     }
 
-    private void callAppenderPreventRecursion(final LogEvent event) {
+    void callAppenderPreventRecursion(final LogEvent event) {
         try {
             recursive.set(this);
             callAppender0(event);
@@ -123,6 +158,99 @@ public class AppenderControl extends AbstractFilterable {
         }
     }
 
+    /**
+     * Calls the appender with a batch of events that were already accepted by the level and filter of this control.
+     *
+     * @param events The events to process, in order.
+     */
+    void callAppenderPreventRecursion(final List<LogEvent> events) {
+        if (!(appender instanceof BatchAppender)) {
+            callAppenderOneByOne(events, false, null);
+            return;
+        }
+        callBatchAppenderPreventRecursion(events, false, null);
+    }
+
+    private void callAppenderOneByOne(final List<LogEvent> events, final boolean filter,
+            final List<LogEvent> failed) {
+        // keep appending the rest of the batch if one event fails, then report the first failure
+        RuntimeException failure = null;
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                if (filter) {
+                    callAppender(events.get(i));
+                } else {
+                    callAppenderPreventRecursion(events.get(i));
+                }
+            } catch (final RuntimeException ex) {
+                if (failed != null) {
+                    failed.add(events.get(i));
+                }
+                if (failure == null) {
+                    failure = ex;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Returns the events of the batch that are not filtered, without copying the batch if all events are accepted.
+     */
+    private List<LogEvent> acceptedEvents(final List<LogEvent> events, final boolean filter) {
+        List<LogEvent> result = events;
+        for (int i = 0; i < events.size(); i++) {
+            final LogEvent event = events.get(i);
+            final boolean accepted = !(filter && (isFilteredByAppenderControl(event) || isFilteredByLevel(event)))
+                    && !isFilteredByAppender(event);
+            if (!accepted && result == events) {
+                result = new ArrayList<>(events.subList(0, i));
+            } else if (accepted && result != events) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    private void callBatchAppenderPreventRecursion(final List<LogEvent> events, final boolean filter,
+            final List<LogEvent> failed) {
+        try {
+            recursive.set(this);
+            ensureAppenderStarted();
+            final List<LogEvent> accepted = acceptedEvents(events, filter);
+            if (!accepted.isEmpty()) {
+                tryCallAppender(accepted, failed);
+            }
+        } finally {
+            recursive.set(null);
+        }
+    }
+
+    private void tryCallAppender(final List<LogEvent> events, final List<LogEvent> failed) {
+        try {
+            ((BatchAppender) appender).append(events);
+        } catch (final BatchAppenderLoggingException ex) {
+            // only the events from the failing one onward were not written
+            final int appended = Math.max(0, Math.min(ex.getAppendedCount(), events.size() - 1));
+            if (failed != null) {
+                failed.addAll(events.subList(appended, events.size()));
+            }
+            handleAppenderError(events.get(appended), ex);
+        } catch (final RuntimeException ex) {
+            if (failed != null) {
+                failed.addAll(events);
+            }
+            handleAppenderError(events.get(events.size() - 1), ex);
+        } catch (final Exception ex) {
+            if (failed != null) {
+                failed.addAll(events);
+            }
+            handleAppenderError(events.get(events.size() - 1), new AppenderLoggingException(ex));
+        }
+    }
+
     private void callAppender0(final LogEvent event) {
         ensureAppenderStarted();
         if (!isFilteredByAppender(event)) {
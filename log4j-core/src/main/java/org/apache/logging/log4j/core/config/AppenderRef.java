@@ -37,11 +37,13 @@ public final class AppenderRef {
     private final String ref;
     private final Level level;
     private final Filter filter;
+    private final boolean async;
 
-    private AppenderRef(final String ref, final Level level, final Filter filter) {
+    private AppenderRef(final String ref, final Level level, final Filter filter, final boolean async) {
         this.ref = ref;
         this.level = level;
         this.filter = filter;
+        this.async = async;
     }
 
     public String getRef() {
@@ -56,6 +58,17 @@ public final class AppenderRef {
         return filter;
     }
 
+    /**
+     * Returns {@code true} if the events accepted by this reference are passed to the Appender by the background thread
+     * shared by all asynchronous references of the configuration instead of the calling thread.
+     *
+     * @return {@code true} if the Appender is called asynchronously
+     * @since 2.14.0
+     */
+    public boolean isAsync() {
+        return async;
+    }
+
     @Override
     public String toString() {
         return ref;
@@ -68,16 +81,31 @@ public final class AppenderRef {
      * @param filter The filter(s) to use.
      * @return The name of the Appender.
      */
+    public static AppenderRef createAppenderRef(final String ref, final Level level, final Filter filter) {
+        return createAppenderRef(ref, level, filter, false);
+    }
+
+    /**
+     * Create an Appender reference.
+     * @param ref The name of the Appender.
+     * @param level The Level to filter against.
+     * @param filter The filter(s) to use.
+     * @param async If true, the Appender is called by the background thread shared by all asynchronous references of
+     *            the configuration.
+     * @return The name of the Appender.
+     * @since 2.14.0
+     */
     @PluginFactory
     public static AppenderRef createAppenderRef(
             @PluginAttribute("ref") final String ref,
             @PluginAttribute("level") final Level level,
-            @PluginElement("Filter") final Filter filter) {
+            @PluginElement("Filter") final Filter filter,
+            @PluginAttribute("async") final boolean async) {
 
         if (ref == null) {
             LOGGER.error("Appender references must contain a reference");
             return null;
         }
-        return new AppenderRef(ref, level, filter);
+        return new AppenderRef(ref, level, filter, async);
     }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.async.MpscLogEventQueue;
+
+/**
+ * AppenderControl for an {@code AppenderRef} with {@code async="true"}. The level and filters of the reference are
+ * evaluated in the calling thread; accepted events are copied into the ring of this control and passed on to the
+ * appender by the {@link AsyncAppenderDispatcher} of the configuration.
+ */
+final class AsyncAppenderControl extends AppenderControl {
+
+    private final AsyncAppenderDispatcher dispatcher;
+    private final MpscLogEventQueue queue;
+
+    AsyncAppenderControl(final Appender appender, final Level level, final Filter filter,
+            final AsyncAppenderDispatcher dispatcher, final int queueSize) {
+        super(appender, level, filter);
+        this.dispatcher = dispatcher;
+        this.queue = new MpscLogEventQueue(queueSize);
+    }
+
+    @Override
+    public void callAppender(final LogEvent event) {
+        if (shouldSkip(event)) {
+            return;
+        }
+        dispatcher.enqueue(this, event);
+    }
+
+    @Override
+    public void callAppender(final List<LogEvent> events) {
+        for (int i = 0; i < events.size(); i++) {
+            callAppender(events.get(i));
+        }
+    }
+
+    @Override
+    public void callAppender(final List<LogEvent> events, final List<LogEvent> failed) {
+        // enqueuing does not fail per event, failures are handled by the dispatcher thread
+        callAppender(events);
+    }
+
+    /**
+     * Passes the event to the appender in the current thread, without evaluating the level and filters of this
+     * control again.
+     *
+     * @param event the event that was accepted by {@link #callAppender(LogEvent)}
+     */
+    void callAppenderInCurrentThread(final LogEvent event) {
+        callAppenderPreventRecursion(event);
+    }
+
+    /**
+     * Passes a batch of events to the appender in the current thread, without evaluating the level and filters of
+     * this control again. A {@link org.apache.logging.log4j.core.BatchAppender BatchAppender} receives the whole batch
+     * in one call.
+     *
+     * @param events the events that were accepted by {@link #callAppender(LogEvent)}
+     */
+    void callAppenderInCurrentThread(final List<LogEvent> events) {
+        callAppenderPreventRecursion(events);
+    }
+
+    MpscLogEventQueue getQueue() {
+        return queue;
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.AbstractLifeCycle;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.async.AsyncQueueFullMessageUtil;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicyFactory;
+import org.apache.logging.log4j.core.async.EventRoute;
+import org.apache.logging.log4j.core.async.MpscLogEventQueue;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.spi.AbstractLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Passes the events of all {@code AppenderRef}s with {@code async="true"} of a configuration to their appenders in a
+ * single background thread.
+ * <p>
+ * Each asynchronous reference has its own bounded ring of preallocated events (see {@link MpscLogEventQueue}), so the
+ * calling thread only copies the event into a free slot: no immutable snapshot of the event is created and a slow
+ * appender only fills its own ring. When a ring is full, the {@link AsyncQueueFullPolicy} decides whether the event
+ * is enqueued once space is available, appended in the calling thread or discarded.
+ * </p>
+ */
+final class AsyncAppenderDispatcher extends AbstractLifeCycle {
+
+    /** Property that sets the number of events each asynchronous appender reference can buffer. */
+    static final String QUEUE_SIZE_PROPERTY = "AsyncAppenderRef.QueueSize";
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+    private static final int MAX_BATCH_SIZE = 256;
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+    private static final AsyncAppenderControl[] NO_CONTROLS = {};
+    private static final AtomicLong THREAD_SEQUENCE = new AtomicLong(1);
+
+    private final int queueSize;
+    private volatile AsyncAppenderControl[] controls = NO_CONTROLS;
+    private volatile DispatcherThread thread;
+    private AsyncQueueFullPolicy asyncQueueFullPolicy;
+
+    AsyncAppenderDispatcher() {
+        this.queueSize = PropertiesUtil.getProperties().getIntegerProperty(QUEUE_SIZE_PROPERTY, DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * Creates an AppenderControl that passes the events accepted by the level and filter of an appender reference to
+     * the appender in the background thread of this dispatcher.
+     *
+     * @param appender The target Appender.
+     * @param level the Level to filter on.
+     * @param filter the Filter(s) to apply.
+     * @return a new AppenderControl
+     */
+    synchronized AppenderControl createAppenderControl(final Appender appender, final Level level,
+            final Filter filter) {
+        final AsyncAppenderControl control = new AsyncAppenderControl(appender, level, filter, this, queueSize);
+        final AsyncAppenderControl[] copy = Arrays.copyOf(controls, controls.length + 1);
+        copy[controls.length] = control;
+        controls = copy;
+        return control;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        setStarting();
+        asyncQueueFullPolicy = AsyncQueueFullPolicyFactory.create();
+        thread = new DispatcherThread();
+        thread.start();
+        LOGGER.debug("Started {} for {} asynchronous appender references with queueSize={}", thread.getName(),
+                controls.length, queueSize);
+        super.start();
+    }
+
+    @Override
+    public synchronized boolean stop(final long timeout, final TimeUnit timeUnit) {
+        final DispatcherThread temp = thread;
+        if (temp == null) {
+            return true;
+        }
+        setStopping();
+        temp.shutdown();
+        try {
+            temp.join(timeUnit.toMillis(timeout));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while stopping {}", temp.getName());
+        }
+        thread = null;
+        if (!temp.isAlive()) {
+            // events enqueued while the background thread was exiting
+            final int count = dispatchAll(new ArrayList<LogEvent>(MAX_BATCH_SIZE));
+            LOGGER.trace("{} stopped, appended {} remaining events in the stopping thread.", temp.getName(), count);
+        } else {
+            LOGGER.warn("{} did not stop within {} {}, asynchronous appender references may lose events.",
+                    temp.getName(), timeout, timeUnit);
+        }
+        setStopped();
+        return true;
+    }
+
+    /**
+     * Enqueues an event accepted by the specified control, or appends it in the current thread if this dispatcher is
+     * not running or the {@link AsyncQueueFullPolicy} decides so.
+     *
+     * @param control the control that accepted the event
+     * @param event the event, which is copied before this method returns
+     */
+    void enqueue(final AsyncAppenderControl control, final LogEvent event) {
+        final DispatcherThread background = thread;
+        if (background == null || !isStarted()) {
+            control.callAppenderInCurrentThread(event);
+            return;
+        }
+        final MpscLogEventQueue queue = control.getQueue();
+        if (queue.offer(event)) {
+            background.signal();
+            return;
+        }
+        if (AbstractLogger.getRecursionDepth() > 1) { // LOG4J2-1518, LOG4J2-2031
+            // queue is full AND we are in a recursive call: call the appender directly to prevent deadlock
+            AsyncQueueFullMessageUtil.logWarningToStatusLogger();
+            control.callAppenderInCurrentThread(event);
+            return;
+        }
+        final EventRoute route = asyncQueueFullPolicy.getRoute(background.getId(), event.getLevel());
+        if (route == EventRoute.SYNCHRONOUS) {
+            control.callAppenderInCurrentThread(event);
+        } else if (route == EventRoute.ENQUEUE) {
+            enqueueOrBlockIfQueueFull(background, control, event);
+        }
+        // EventRoute.DISCARD: drop the event
+    }
+
+    private void enqueueOrBlockIfQueueFull(final DispatcherThread background, final AsyncAppenderControl control,
+            final LogEvent event) {
+        final MpscLogEventQueue queue = control.getQueue();
+        int idleCounter = 0;
+        while (!queue.offer(event)) {
+            if (!isStarted() || Thread.currentThread().isInterrupted()) {
+                control.callAppenderInCurrentThread(event);
+                return;
+            }
+            background.signal();
+            idleCounter = idle(idleCounter);
+        }
+        background.signal();
+    }
+
+    private static int idle(final int idleCounter) {
+        if (idleCounter >= YIELD_TRIES) {
+            LockSupport.parkNanos(1000L);
+        } else if (idleCounter >= SPIN_TRIES) {
+            Thread.yield();
+        }
+        return idleCounter + 1;
+    }
+
+    /**
+     * Passes the events of all rings to their appenders. Must only be called by one thread at a time.
+     *
+     * @param batch an empty list used to drain the rings
+     * @return the number of events passed on
+     */
+    private int dispatchAll(final List<LogEvent> batch) {
+        int count = 0;
+        for (final AsyncAppenderControl control : controls) {
+            final MpscLogEventQueue queue = control.getQueue();
+            final int size = queue.drainTo(batch, MAX_BATCH_SIZE);
+            if (size > 0) {
+                for (int i = 0; i < size; i++) {
+                    batch.get(i).setEndOfBatch(i == size - 1 && queue.isEmpty());
+                }
+                try {
+                    control.callAppenderInCurrentThread(batch);
+                } catch (final Exception ex) {
+                    // the error handler of the appender has already reported the error
+                }
+            }
+            batch.clear();
+            queue.release();
+            count += size;
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncAppenderDispatcher[controls=" + controls.length + ", queueSize=" + queueSize + ']';
+    }
+
+    private class DispatcherThread extends Log4jThread {
+
+        private volatile boolean shutdown;
+        private volatile boolean waiting;
+
+        DispatcherThread() {
+            super("AsyncAppenderDispatcher-" + THREAD_SEQUENCE.getAndIncrement());
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            final List<LogEvent> batch = new ArrayList<>(MAX_BATCH_SIZE);
+            int idleCounter = 0;
+            while (!shutdown) {
+                if (dispatchAll(batch) > 0) {
+                    idleCounter = 0;
+                } else if (idleCounter < YIELD_TRIES) {
+                    idleCounter = idle(idleCounter);
+                } else {
+                    // announce ourselves before checking the rings again so that a producer is guaranteed to wake us
+                    waiting = true;
+                    try {
+                        if (!shutdown && dispatchAll(batch) == 0) {
+                            LockSupport.park(this);
+                        }
+                    } finally {
+                        waiting = false;
+                    }
+                }
+            }
+            // process the events that are still enqueued
+            while (dispatchAll(batch) > 0) {
+                // keep going until all rings are empty
+            }
+        }
+
+        void signal() {
+            if (waiting) {
+                LockSupport.unpark(this);
+            }
+        }
+
+        void shutdown() {
+            shutdown = true;
+            LockSupport.unpark(this);
+        }
+    }
+}
@@ -34,6 +34,7 @@ import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
 import org.apache.logging.log4j.core.async.AsyncLoggerContext;
 import org.apache.logging.log4j.core.async.AsyncLoggerContextSelector;
+import org.apache.logging.log4j.core.async.HybridLoggerContext;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
@@ -206,6 +207,15 @@ public class LoggerConfig extends AbstractFilterable implements LocationAware {
         appenders.add(new AppenderControl(appender, level, filter));
     }
 
+    /**
+     * Adds an AppenderControl to the LoggerConfig, for example one that calls its Appender asynchronously.
+     *
+     * @param control The AppenderControl to add.
+     */
+    void addAppender(final AppenderControl control) {
+        appenders.add(control);
+    }
+
     /**
      * Removes the Appender with the specific name.
      *
@@ -486,6 +496,30 @@ public class LoggerConfig extends AbstractFilterable implements LocationAware {
         }
     }
 
+    /**
+     * Logs an event to the appenders of this LoggerConfig and its additive parents that are accepted by the specified
+     * selector. Appenders are called directly on the current thread, also for {@code AsyncLoggerConfig} parents.
+     *
+     * @param event The log event.
+     * @param selector selects the appenders to pass the event to.
+     * @since 2.14.0
+     */
+    public void log(final LogEvent event, final AppenderSelector selector) {
+        if (!isFiltered(event)) {
+            event.setIncludeLocation(isIncludeLocation());
+            final AppenderControl[] controls = appenders.get();
+            //noinspection ForLoopReplaceableByForEach
+            for (int i = 0; i < controls.length; i++) {
+                if (selector.isSelected(controls[i].getAppenderName())) {
+                    controls[i].callAppender(event);
+                }
+            }
+            if (additive && parent != null) {
+                parent.log(event, selector);
+            }
+        }
+    }
+
     /**
      * Returns the object responsible for ensuring log events are delivered to a working appender, even during or after
      * a reconfiguration.
@@ -636,7 +670,7 @@ public class LoggerConfig extends AbstractFilterable implements LocationAware {
                 context = configuration.getLoggerContext();
             }
             if (context != null) {
-                return !(context instanceof AsyncLoggerContext);
+                return !(context instanceof AsyncLoggerContext) || context instanceof HybridLoggerContext;
             } else {
                 return !AsyncLoggerContextSelector.isSelected();
             }
@@ -42,6 +42,12 @@ import org.apache.logging.log4j.util.Strings;
  */
 public class MutableLogEvent implements LogEvent, ReusableMessage, ParameterVisitable {
     private static final Message EMPTY = new SimpleMessage(Strings.EMPTY);
+    private static final ParameterConsumer<Object[]> PARAMETER_COPIER = new ParameterConsumer<Object[]>() {
+        @Override
+        public void accept(final Object parameter, final int parameterIndex, final Object[] state) {
+            state[parameterIndex] = parameter;
+        }
+    };
 
     private int threadPriority;
     private long threadId;
@@ -92,6 +98,43 @@ public class MutableLogEvent implements LogEvent, ReusableMessage, ParameterVisi
      * @param event the event to copy data from
      */
     public void initFrom(final LogEvent event) {
+        initFieldsFrom(event, event.isIncludeLocation());
+        setMessage(event.getMessage());
+    }
+
+    /**
+     * Initialize the fields of this {@code MutableLogEvent} from another event without modifying the other event.
+     * <p>
+     * Unlike {@link #initFrom(LogEvent)}, the parameters of a {@link ReusableMessage} are copied instead of swapped,
+     * so the specified event can still be passed to other appenders after this call. This method is used by
+     * components that take a snapshot of an event while the caller is still processing it.
+     * </p>
+     *
+     * @param event the event to copy data from
+     * @since 2.14.0
+     */
+    public void copyFrom(final LogEvent event) {
+        copyFrom(event, event.isIncludeLocation());
+    }
+
+    /**
+     * Initialize the fields of this {@code MutableLogEvent} from another event without modifying the other event,
+     * including location information only if requested.
+     * <p>
+     * The location of the specified event is only computed if {@code includeLocation} is {@code true}, so copying
+     * with {@code false} never walks the caller's stack.
+     * </p>
+     *
+     * @param event the event to copy data from
+     * @param includeLocation whether this event should include the location of the specified event
+     * @since 2.14.0
+     */
+    public void copyFrom(final LogEvent event, final boolean includeLocation) {
+        initFieldsFrom(event, includeLocation);
+        copyMessage(event.getMessage());
+    }
+
+    private void initFieldsFrom(final LogEvent event, final boolean includeLocation) {
         this.loggerFqcn = event.getLoggerFqcn();
         this.marker = event.getMarker();
         this.level = event.getLevel();
@@ -107,14 +150,13 @@ public class MutableLogEvent implements LogEvent, ReusableMessage, ParameterVisi
         this.contextData.putAll(event.getContextData());
 
         this.contextStack = event.getContextStack();
-        this.source = event.isIncludeLocation() ? event.getSource() : null;
+        this.source = includeLocation ? event.getSource() : null;
         this.threadId = event.getThreadId();
         this.threadName = event.getThreadName();
         this.threadPriority = event.getThreadPriority();
         this.endOfBatch = event.isEndOfBatch();
-        this.includeLocation = event.isIncludeLocation();
+        this.includeLocation = includeLocation;
         this.nanoTime = event.getNanoTime();
-        setMessage(event.getMessage());
     }
 
     /**
@@ -218,6 +260,25 @@ public class MutableLogEvent implements LogEvent, ReusableMessage, ParameterVisi
         }
     }
 
+    private void copyMessage(final Message msg) {
+        if (msg instanceof ReusableMessage && msg instanceof ParameterVisitable) {
+            final ReusableMessage reusable = (ReusableMessage) msg;
+            reusable.formatTo(getMessageTextForWriting());
+            this.message = null;
+            this.messageFormat = msg.getFormat();
+            final short count = reusable.getParameterCount();
+            if (parameters == null || parameters.length < count) {
+                parameters = new Object[Math.max(count, 10)];
+            }
+            ((ParameterVisitable) msg).forEachParameter(PARAMETER_COPIER, parameters);
+            parameterCount = count;
+        } else if (msg instanceof ReusableMessage) {
+            this.message = ((ReusableMessage) msg).memento();
+        } else {
+            this.message = InternalAsyncUtil.makeMessageImmutable(msg);
+        }
+    }
+
     private StringBuilder getMessageTextForWriting() {
         if (messageText == null) {
             // Happens the first time messageText is requested
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+import java.util.Objects;
+
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.core.async.AsyncQueueMetrics;
+
+/**
+ * Instruments the latency and queue depth histograms of the queue of an AsyncLogger, AsyncLoggerConfig or
+ * AsyncAppender.
+ *
+ * @since 2.14.0
+ */
+public class AsyncQueueMetricsAdmin implements AsyncQueueMetricsAdminMBean {
+
+    private final String queueName;
+    private final AsyncQueueMetrics metrics;
+    private final ObjectName objectName;
+
+    /**
+     * Constructs a new {@code AsyncQueueMetricsAdmin} with the specified contextName, queue name and metrics.
+     *
+     * @param contextName used in the {@code ObjectName} for this mbean
+     * @param queueName used in the {@code ObjectName} for this mbean
+     * @param metrics the instrumented object
+     */
+    public AsyncQueueMetricsAdmin(final String contextName, final String queueName, final AsyncQueueMetrics metrics) {
+        this.queueName = Objects.requireNonNull(queueName, "queueName");
+        this.metrics = Objects.requireNonNull(metrics, "metrics");
+        try {
+            final String ctxName = Server.escape(Objects.requireNonNull(contextName, "contextName"));
+            final String name = String.format(PATTERN, ctxName, Server.escape(queueName));
+            objectName = new ObjectName(name);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the {@code ObjectName} of this mbean.
+     *
+     * @return the {@code ObjectName}
+     * @see AsyncQueueMetricsAdminMBean#PATTERN
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public String getQueueName() {
+        return queueName;
+    }
+
+    @Override
+    public long getEventCount() {
+        return metrics.getLatencyNanos().getCount();
+    }
+
+    @Override
+    public long getLatencyMedianNanos() {
+        return getLatencyNanosAtPercentile(50);
+    }
+
+    @Override
+    public long getLatency99thPercentileNanos() {
+        return getLatencyNanosAtPercentile(99);
+    }
+
+    @Override
+    public long getLatency999thPercentileNanos() {
+        return getLatencyNanosAtPercentile(99.9);
+    }
+
+    @Override
+    public long getLatencyMaxNanos() {
+        return metrics.getLatencyNanos().getMax();
+    }
+
+    @Override
+    public long getQueueDepthMedian() {
+        return getQueueDepthAtPercentile(50);
+    }
+
+    @Override
+    public long getQueueDepth99thPercentile() {
+        return getQueueDepthAtPercentile(99);
+    }
+
+    @Override
+    public long getQueueDepthMax() {
+        return metrics.getQueueDepth().getMax();
+    }
+
+    @Override
+    public long getLatencyNanosAtPercentile(final double percentile) {
+        return metrics.getLatencyNanos().getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public long getQueueDepthAtPercentile(final double percentile) {
+        return metrics.getQueueDepth().getValueAtPercentile(percentile);
+    }
+
+    @Override
+    public void reset() {
+        metrics.reset();
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+/**
+ * The MBean interface for monitoring the latency and queue depth histograms of the queue of an AsyncLogger,
+ * AsyncLoggerConfig or AsyncAppender. Histograms are only recorded if system property
+ * {@code "log4j2.asyncQueueMetrics"} is {@code true}.
+ *
+ * @see org.apache.logging.log4j.core.async.AsyncQueueMetrics
+ * @since 2.14.0
+ */
+public interface AsyncQueueMetricsAdminMBean {
+    /**
+     * ObjectName pattern ({@value}) for AsyncQueueMetricsAdmin MBeans.
+     * This pattern contains two variables, where the first is the name of the
+     * context and the second is the name of the queue: {@code AsyncLogger}, {@code AsyncLoggerConfig} or
+     * {@code AsyncAppender.} followed by the name of the appender.
+     * <p>
+     * You can find all registered AsyncQueueMetricsAdmin MBeans like this:
+     * </p>
+     * <pre>
+     * MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+     * String pattern = String.format(AsyncQueueMetricsAdminMBean.PATTERN, &quot;*&quot;, &quot;*&quot;);
+     * Set&lt;ObjectName&gt; queueMetricsNames = mbs.queryNames(new ObjectName(pattern), null);
+     * </pre>
+     */
+    String PATTERN = Server.DOMAIN + ":type=%s,component=AsyncQueueMetrics,name=%s";
+
+    /**
+     * Returns the name of the instrumented queue.
+     *
+     * @return the name of the queue
+     */
+    String getQueueName();
+
+    /**
+     * Returns the number of events processed since the histograms were created or last reset.
+     *
+     * @return the number of recorded events
+     */
+    long getEventCount();
+
+    /**
+     * Returns the median time between enqueueing an event and the appenders returning.
+     *
+     * @return the median latency in nanoseconds
+     */
+    long getLatencyMedianNanos();
+
+    /**
+     * Returns the 99th percentile of the time between enqueueing an event and the appenders returning.
+     *
+     * @return the 99th percentile latency in nanoseconds
+     */
+    long getLatency99thPercentileNanos();
+
+    /**
+     * Returns the 99.9th percentile of the time between enqueueing an event and the appenders returning.
+     *
+     * @return the 99.9th percentile latency in nanoseconds
+     */
+    long getLatency999thPercentileNanos();
+
+    /**
+     * Returns the largest time between enqueueing an event and the appenders returning.
+     *
+     * @return the maximum latency in nanoseconds
+     */
+    long getLatencyMaxNanos();
+
+    /**
+     * Returns the median number of events waiting in the queue behind a processed event.
+     *
+     * @return the median queue depth
+     */
+    long getQueueDepthMedian();
+
+    /**
+     * Returns the 99th percentile of the number of events waiting in the queue behind a processed event.
+     *
+     * @return the 99th percentile queue depth
+     */
+    long getQueueDepth99thPercentile();
+
+    /**
+     * Returns the largest number of events waiting in the queue behind a processed event.
+     *
+     * @return the maximum queue depth
+     */
+    long getQueueDepthMax();
+
+    /**
+     * Returns the latency at the specified percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in nanoseconds
+     */
+    long getLatencyNanosAtPercentile(double percentile);
+
+    /**
+     * Returns the queue depth at the specified percentile.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the queue depth
+     */
+    long getQueueDepthAtPercentile(double percentile);
+
+    /**
+     * Discards the recorded latencies and queue depths.
+     */
+    void reset();
+}
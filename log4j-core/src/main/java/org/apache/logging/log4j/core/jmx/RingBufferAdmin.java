@@ -16,9 +16,17 @@
  */
 package org.apache.logging.log4j.core.jmx;
 
+import java.util.Map;
+
 import javax.management.ObjectName;
 
+import org.apache.logging.log4j.core.async.AdaptiveWaitStrategy;
+import org.apache.logging.log4j.core.async.AsyncQueueFullPolicy;
+import org.apache.logging.log4j.core.async.PriorityAsyncQueueFullPolicy;
+
 import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.WaitStrategy;
 
 /**
  * Instruments an LMAX Disruptor ring buffer.
@@ -26,24 +34,89 @@ import com.lmax.disruptor.RingBuffer;
 public class RingBufferAdmin implements RingBufferAdminMBean {
 
     private final RingBuffer<?> ringBuffer;
+    private final Sequence sequence;
+    private final AdaptiveWaitStrategy adaptiveWaitStrategy;
+    private final AsyncQueueFullPolicy asyncQueueFullPolicy;
     private final ObjectName objectName;
 
     public static RingBufferAdmin forAsyncLogger(final RingBuffer<?> ringBuffer, final String contextName) {
+        return forAsyncLogger(ringBuffer, null, null, contextName);
+    }
+
+    /**
+     * Creates a RingBufferAdmin that instruments the {@code AsyncLogger} ring buffer, the wait strategy of its
+     * consumers and the policy applied when it is full.
+     *
+     * @param ringBuffer the ring buffer
+     * @param waitStrategy the wait strategy of the ring buffer, may be {@code null}
+     * @param asyncQueueFullPolicy the policy applied when the ring buffer is full, may be {@code null}
+     * @param contextName name of the {@code AsyncLoggerContext}
+     * @return a new RingBufferAdmin
+     * @since 2.14.0
+     */
+    public static RingBufferAdmin forAsyncLogger(final RingBuffer<?> ringBuffer, final WaitStrategy waitStrategy,
+            final AsyncQueueFullPolicy asyncQueueFullPolicy, final String contextName) {
         final String ctxName = Server.escape(contextName);
         final String name = String.format(PATTERN_ASYNC_LOGGER, ctxName);
-        return new RingBufferAdmin(ringBuffer, name);
+        return new RingBufferAdmin(ringBuffer, null, waitStrategy, asyncQueueFullPolicy, name);
     }
 
     public static RingBufferAdmin forAsyncLoggerConfig(final RingBuffer<?> ringBuffer,
             final String contextName, final String configName) {
+        return forAsyncLoggerConfig(ringBuffer, null, null, contextName, configName);
+    }
+
+    /**
+     * Creates a RingBufferAdmin that instruments an {@code AsyncLoggerConfig} ring buffer, the wait strategy of its
+     * consumer and the policy applied when it is full.
+     *
+     * @param ringBuffer the ring buffer
+     * @param waitStrategy the wait strategy of the ring buffer, may be {@code null}
+     * @param asyncQueueFullPolicy the policy applied when the ring buffer is full, may be {@code null}
+     * @param contextName name of the {@code LoggerContext}
+     * @param configName name of the {@code AsyncLoggerConfig}
+     * @return a new RingBufferAdmin
+     * @since 2.14.0
+     */
+    public static RingBufferAdmin forAsyncLoggerConfig(final RingBuffer<?> ringBuffer, final WaitStrategy waitStrategy,
+            final AsyncQueueFullPolicy asyncQueueFullPolicy, final String contextName, final String configName) {
         final String ctxName = Server.escape(contextName);
         final String cfgName = Server.escape(configName);
         final String name = String.format(PATTERN_ASYNC_LOGGER_CONFIG, ctxName, cfgName);
-        return new RingBufferAdmin(ringBuffer, name);
+        return new RingBufferAdmin(ringBuffer, null, waitStrategy, asyncQueueFullPolicy, name);
+    }
+
+    /**
+     * Creates a RingBufferAdmin that instruments one appender group consuming the {@code AsyncLogger} ring buffer.
+     * The remaining capacity it reports is the number of events this group can fall behind before it blocks producers.
+     *
+     * @param ringBuffer the ring buffer
+     * @param sequence the sequence of the event handler of the appender group
+     * @param contextName name of the {@code AsyncLoggerContext}
+     * @param groupName name of the appender group
+     * @return a new RingBufferAdmin
+     * @since 2.14.0
+     */
+    public static RingBufferAdmin forAsyncLoggerAppenderGroup(final RingBuffer<?> ringBuffer, final Sequence sequence,
+            final String contextName, final String groupName) {
+        final String ctxName = Server.escape(contextName);
+        final String grpName = Server.escape(groupName);
+        final String name = String.format(PATTERN_ASYNC_LOGGER_APPENDER_GROUP, ctxName, grpName);
+        return new RingBufferAdmin(ringBuffer, sequence, null, null, name);
     }
 
     protected RingBufferAdmin(final RingBuffer<?> ringBuffer, final String mbeanName) {
+        this(ringBuffer, null, null, null, mbeanName);
+    }
+
+    private RingBufferAdmin(final RingBuffer<?> ringBuffer, final Sequence sequence, final WaitStrategy waitStrategy,
+            final AsyncQueueFullPolicy asyncQueueFullPolicy, final String mbeanName) {
         this.ringBuffer = ringBuffer;
+        this.sequence = sequence;
+        this.adaptiveWaitStrategy = waitStrategy instanceof AdaptiveWaitStrategy
+                ? (AdaptiveWaitStrategy) waitStrategy
+                : null;
+        this.asyncQueueFullPolicy = asyncQueueFullPolicy;
         try {
             objectName = new ObjectName(mbeanName);
         } catch (final Exception e) {
@@ -58,7 +131,44 @@ public class RingBufferAdmin implements RingBufferAdminMBean {
 
     @Override
     public long getRemainingCapacity() {
-        return ringBuffer == null ? 0 : ringBuffer.remainingCapacity();
+        if (ringBuffer == null) {
+            return 0;
+        }
+        if (sequence == null) {
+            return ringBuffer.remainingCapacity();
+        }
+        final long backlog = ringBuffer.getCursor() - sequence.get();
+        return Math.max(0, ringBuffer.getBufferSize() - backlog);
+    }
+
+    @Override
+    public long getWaitSpinTimeNanos() {
+        return adaptiveWaitStrategy == null ? 0 : adaptiveWaitStrategy.getSpinTimeNanos();
+    }
+
+    @Override
+    public long getWaitYieldTimeNanos() {
+        return adaptiveWaitStrategy == null ? 0 : adaptiveWaitStrategy.getYieldTimeNanos();
+    }
+
+    @Override
+    public long getWaitParkTimeNanos() {
+        return adaptiveWaitStrategy == null ? 0 : adaptiveWaitStrategy.getParkTimeNanos();
+    }
+
+    @Override
+    public long getWaitBlockTimeNanos() {
+        return adaptiveWaitStrategy == null ? 0 : adaptiveWaitStrategy.getBlockTimeNanos();
+    }
+
+    @Override
+    public long getDiscardCount() {
+        return PriorityAsyncQueueFullPolicy.getDiscardCount(asyncQueueFullPolicy);
+    }
+
+    @Override
+    public Map<String, Long> getDiscardCountsByLevel() {
+        return PriorityAsyncQueueFullPolicy.getDiscardCounts(asyncQueueFullPolicy);
     }
 
     /**
@@ -67,6 +177,7 @@ public class RingBufferAdmin implements RingBufferAdminMBean {
      * @return the {@code ObjectName}
      * @see RingBufferAdminMBean#PATTERN_ASYNC_LOGGER
      * @see RingBufferAdminMBean#PATTERN_ASYNC_LOGGER_CONFIG
+     * @see RingBufferAdminMBean#PATTERN_ASYNC_LOGGER_APPENDER_GROUP
      */
     public ObjectName getObjectName() {
         return objectName;
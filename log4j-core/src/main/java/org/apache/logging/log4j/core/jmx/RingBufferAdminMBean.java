@@ -16,6 +16,8 @@
  */
 package org.apache.logging.log4j.core.jmx;
 
+import java.util.Map;
+
 /**
  * The MBean interface for monitoring and managing an LMAX Disruptor ring
  * buffer.
@@ -52,6 +54,25 @@ public interface RingBufferAdminMBean {
      */
     String PATTERN_ASYNC_LOGGER_CONFIG = Server.DOMAIN + ":type=%s,component=Loggers,name=%s,subtype=RingBuffer";
 
+    /**
+     * ObjectName pattern ({@value}) for RingBufferAdmin MBeans that instrument
+     * the appender groups consuming the global {@code AsyncLogger} ring buffer.
+     * This pattern contains two variables, where the first is the name of the
+     * context and the second is the name of the appender group.
+     * <p>
+     * You can find all registered appender group MBeans of the global AsyncLogger like this:
+     * </p>
+     * <pre>
+     * MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+     * String pattern = String.format(RingBufferAdminMBean.PATTERN_ASYNC_LOGGER_APPENDER_GROUP, &quot;*&quot;, &quot;*&quot;);
+     * Set&lt;ObjectName&gt; appenderGroupNames = mbs.queryNames(new ObjectName(pattern), null);
+     * </pre>
+     *
+     * @since 2.14.0
+     */
+    String PATTERN_ASYNC_LOGGER_APPENDER_GROUP = Server.DOMAIN
+            + ":type=%s,component=AsyncLoggerRingBuffer,subtype=AppenderGroup,name=%s";
+
     /**
      * Returns the number of slots that the ring buffer was configured with.
      * Disruptor ring buffers are bounded-size data structures, this number does
@@ -63,9 +84,64 @@ public interface RingBufferAdminMBean {
 
     /**
      * Returns the number of available slots in the ring buffer. May vary wildly
-     * between invocations.
+     * between invocations. For an appender group, this is the number of slots
+     * available before the events not yet processed by that group fill the ring buffer.
      *
      * @return the number of available slots in the ring buffer
      */
     long getRemainingCapacity();
+
+    /**
+     * Returns the total time the consumers of the ring buffer spent busy spinning while waiting for events.
+     * Only measured if the ring buffer uses the {@code Adaptive} wait strategy, zero otherwise.
+     *
+     * @return the spin time in nanoseconds
+     * @since 2.14.0
+     */
+    long getWaitSpinTimeNanos();
+
+    /**
+     * Returns the total time the consumers of the ring buffer spent yielding while waiting for events.
+     * Only measured if the ring buffer uses the {@code Adaptive} wait strategy, zero otherwise.
+     *
+     * @return the yield time in nanoseconds
+     * @since 2.14.0
+     */
+    long getWaitYieldTimeNanos();
+
+    /**
+     * Returns the total time the consumers of the ring buffer spent parked while waiting for events.
+     * Only measured if the ring buffer uses the {@code Adaptive} wait strategy, zero otherwise.
+     *
+     * @return the park time in nanoseconds
+     * @since 2.14.0
+     */
+    long getWaitParkTimeNanos();
+
+    /**
+     * Returns the total time the consumers of the ring buffer spent blocked while waiting for events.
+     * Only measured if the ring buffer uses the {@code Adaptive} wait strategy, zero otherwise.
+     *
+     * @return the block time in nanoseconds
+     * @since 2.14.0
+     */
+    long getWaitBlockTimeNanos();
+
+    /**
+     * Returns the number of events that were discarded because the ring buffer had no capacity left for their level.
+     * Only counted if the {@code Priority} AsyncQueueFullPolicy is used, zero otherwise.
+     *
+     * @return the number of discarded events
+     * @since 2.14.0
+     */
+    long getDiscardCount();
+
+    /**
+     * Returns the number of events that were discarded because the ring buffer had no capacity left for their level,
+     * by level name. Only counted if the {@code Priority} AsyncQueueFullPolicy is used, empty otherwise.
+     *
+     * @return the number of discarded events by level name
+     * @since 2.14.0
+     */
+    Map<String, Long> getDiscardCountsByLevel();
 }
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+import java.util.Objects;
+
+import javax.management.ObjectName;
+
+import org.apache.logging.log4j.core.appender.rolling.RolloverExecutor;
+
+/**
+ * Instruments the {@link RolloverExecutor} of a LoggerContext.
+ *
+ * @since 2.14.0
+ */
+public class RolloverExecutorAdmin implements RolloverExecutorAdminMBean {
+
+    private final RolloverExecutor executor;
+    private final ObjectName objectName;
+
+    /**
+     * Constructs a new {@code RolloverExecutorAdmin} with the specified contextName and executor.
+     *
+     * @param contextName used in the {@code ObjectName} for this mbean
+     * @param executor the instrumented object
+     */
+    public RolloverExecutorAdmin(final String contextName, final RolloverExecutor executor) {
+        this.executor = Objects.requireNonNull(executor, "executor");
+        try {
+            final String ctxName = Server.escape(Objects.requireNonNull(contextName, "contextName"));
+            final String name = String.format(PATTERN, ctxName);
+            objectName = new ObjectName(name);
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the {@code ObjectName} of this mbean.
+     *
+     * @return the {@code ObjectName}
+     * @see RolloverExecutorAdminMBean#PATTERN
+     */
+    public ObjectName getObjectName() {
+        return objectName;
+    }
+
+    @Override
+    public int getThreads() {
+        return executor.getThreads();
+    }
+
+    @Override
+    public int getQueueSize() {
+        return executor.getQueueSize();
+    }
+
+    @Override
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    @Override
+    public long getCompletedActionCount() {
+        return executor.getDurationNanos().getCount();
+    }
+
+    @Override
+    public long getQueueDepthMedian() {
+        return executor.getQueueDepth().getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getQueueDepthMax() {
+        return executor.getQueueDepth().getMax();
+    }
+
+    @Override
+    public long getWaitMedianNanos() {
+        return executor.getWaitNanos().getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getWaitMaxNanos() {
+        return executor.getWaitNanos().getMax();
+    }
+
+    @Override
+    public long getDurationMedianNanos() {
+        return executor.getDurationNanos().getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getDuration99thPercentileNanos() {
+        return executor.getDurationNanos().getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getDurationMaxNanos() {
+        return executor.getDurationNanos().getMax();
+    }
+
+    @Override
+    public void reset() {
+        executor.reset();
+    }
+}
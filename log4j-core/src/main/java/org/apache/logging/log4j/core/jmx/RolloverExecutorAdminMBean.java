@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.jmx;
+
+/**
+ * The MBean interface for monitoring the rollover executor that runs the asynchronous rollover actions (compression,
+ * deletion) of all rolling file appenders of a LoggerContext.
+ *
+ * @see org.apache.logging.log4j.core.appender.rolling.RolloverExecutor
+ * @since 2.14.0
+ */
+public interface RolloverExecutorAdminMBean {
+    /**
+     * ObjectName pattern ({@value}) for RolloverExecutorAdmin MBeans.
+     * This pattern contains a variable, which is the name of the logger context.
+     * <p>
+     * You can find all registered RolloverExecutorAdmin MBeans like this:
+     * </p>
+     * <pre>
+     * MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+     * String pattern = String.format(RolloverExecutorAdminMBean.PATTERN, &quot;*&quot;);
+     * Set&lt;ObjectName&gt; rolloverExecutorNames = mbs.queryNames(new ObjectName(pattern), null);
+     * </pre>
+     */
+    String PATTERN = Server.DOMAIN + ":type=%s,component=RolloverExecutor";
+
+    /**
+     * Returns the maximum number of rollover actions run at the same time.
+     *
+     * @return the number of rollover threads
+     */
+    int getThreads();
+
+    /**
+     * Returns the number of rollover actions waiting for a thread.
+     *
+     * @return the current queue size
+     */
+    int getQueueSize();
+
+    /**
+     * Returns the number of rollover actions being run.
+     *
+     * @return the number of running actions
+     */
+    int getActiveCount();
+
+    /**
+     * Returns the number of rollover actions that have completed since the statistics were last reset.
+     *
+     * @return the number of completed actions
+     */
+    long getCompletedActionCount();
+
+    /**
+     * Returns the median number of actions already waiting when an action was submitted.
+     *
+     * @return the median queue depth
+     */
+    long getQueueDepthMedian();
+
+    /**
+     * Returns the largest number of actions already waiting when an action was submitted.
+     *
+     * @return the maximum queue depth
+     */
+    long getQueueDepthMax();
+
+    /**
+     * Returns the median time actions waited for a thread.
+     *
+     * @return the median wait time in nanoseconds
+     */
+    long getWaitMedianNanos();
+
+    /**
+     * Returns the longest time an action waited for a thread.
+     *
+     * @return the maximum wait time in nanoseconds
+     */
+    long getWaitMaxNanos();
+
+    /**
+     * Returns the median time actions took to run.
+     *
+     * @return the median duration in nanoseconds
+     */
+    long getDurationMedianNanos();
+
+    /**
+     * Returns the 99th percentile of the time actions took to run.
+     *
+     * @return the 99th percentile duration in nanoseconds
+     */
+    long getDuration99thPercentileNanos();
+
+    /**
+     * Returns the longest time an action took to run.
+     *
+     * @return the maximum duration in nanoseconds
+     */
+    long getDurationMaxNanos();
+
+    /**
+     * Discards the recorded queue depths, wait times and durations.
+     */
+    void reset();
+}
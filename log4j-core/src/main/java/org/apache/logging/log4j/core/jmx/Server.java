@@ -35,8 +35,10 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.appender.rolling.RolloverExecutor;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
 import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.apache.logging.log4j.core.async.AsyncQueueMetrics;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.impl.Log4jContextFactory;
 import org.apache.logging.log4j.core.selector.ContextSelector;
@@ -173,6 +175,12 @@ public final class Server {
                     	// don't register if Disruptor not started (DefaultConfiguration: config not found)
                     	register(mbs, rbmbean, rbmbean.getObjectName());
                     }
+                    for (final RingBufferAdmin groupMBean
+                            : ((AsyncLoggerContext) ctx).createAppenderGroupRingBufferAdmins()) {
+                        register(mbs, groupMBean, groupMBean.getObjectName());
+                    }
+                    registerAsyncQueueMetrics(ctx.getName(), "AsyncLogger",
+                            ((AsyncLoggerContext) ctx).getQueueMetrics(), mbs);
                 }
 
                 // register the status logger and the context selector
@@ -185,6 +193,10 @@ public final class Server {
 
                 registerLoggerConfigs(ctx, mbs, executor);
                 registerAppenders(ctx, mbs, executor);
+
+                final RolloverExecutorAdmin rolloverMBean = new RolloverExecutorAdmin(ctx.getName(),
+                        RolloverExecutor.getInstance(ctx));
+                register(mbs, rolloverMBean, rolloverMBean.getObjectName());
             }
         } catch (final Exception ex) {
             LOGGER.error("Could not register mbeans", ex);
@@ -214,9 +226,12 @@ public final class Server {
 			unregisterContexts(mbs);
 			unregisterLoggerConfigs(CONTEXT_NAME_ALL, mbs);
 			unregisterAsyncLoggerRingBufferAdmins(CONTEXT_NAME_ALL, mbs);
+			unregisterAsyncLoggerAppenderGroupRingBufferAdmins(CONTEXT_NAME_ALL, mbs);
 			unregisterAsyncLoggerConfigRingBufferAdmins(CONTEXT_NAME_ALL, mbs);
 			unregisterAppenders(CONTEXT_NAME_ALL, mbs);
 			unregisterAsyncAppenders(CONTEXT_NAME_ALL, mbs);
+			unregisterAsyncQueueMetrics(CONTEXT_NAME_ALL, mbs);
+			unregisterRolloverExecutor(CONTEXT_NAME_ALL, mbs);
 		}
 	}
 
@@ -267,7 +282,10 @@ public final class Server {
         unregisterAppenders(contextName, mbs);
         unregisterAsyncAppenders(contextName, mbs);
         unregisterAsyncLoggerRingBufferAdmins(contextName, mbs);
+        unregisterAsyncLoggerAppenderGroupRingBufferAdmins(contextName, mbs);
         unregisterAsyncLoggerConfigRingBufferAdmins(contextName, mbs);
+        unregisterAsyncQueueMetrics(contextName, mbs);
+        unregisterRolloverExecutor(contextName, mbs);
     }
 
     private static void registerStatusLogger(final String contextName, final MBeanServer mbs, final Executor executor)
@@ -325,12 +343,30 @@ public final class Server {
         unregisterAllMatching(search1, mbs);
     }
 
+    private static void unregisterAsyncLoggerAppenderGroupRingBufferAdmins(final String contextName,
+            final MBeanServer mbs) {
+        final String pattern = RingBufferAdminMBean.PATTERN_ASYNC_LOGGER_APPENDER_GROUP;
+        final String search = String.format(pattern, escape(contextName), "*");
+        unregisterAllMatching(search, mbs);
+    }
+
     private static void unregisterAsyncLoggerConfigRingBufferAdmins(final String contextName, final MBeanServer mbs) {
         final String pattern2 = RingBufferAdminMBean.PATTERN_ASYNC_LOGGER_CONFIG;
         final String search2 = String.format(pattern2, escape(contextName), "*");
         unregisterAllMatching(search2, mbs);
     }
 
+    private static void unregisterAsyncQueueMetrics(final String contextName, final MBeanServer mbs) {
+        final String pattern = AsyncQueueMetricsAdminMBean.PATTERN;
+        final String search = String.format(pattern, escape(contextName), "*");
+        unregisterAllMatching(search, mbs);
+    }
+
+    private static void unregisterRolloverExecutor(final String contextName, final MBeanServer mbs) {
+        final String search = String.format(RolloverExecutorAdminMBean.PATTERN, escape(contextName));
+        unregisterAllMatching(search, mbs);
+    }
+
     private static void unregisterAllMatching(final String search, final MBeanServer mbs) {
         try {
             final ObjectName pattern = new ObjectName(search);
@@ -356,6 +392,7 @@ public final class Server {
             throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
 
         final Map<String, LoggerConfig> map = ctx.getConfiguration().getLoggers();
+        AsyncQueueMetrics asyncLoggerConfigMetrics = null;
         for (final String name : map.keySet()) {
             final LoggerConfig cfg = map.get(name);
             final LoggerConfigAdmin mbean = new LoggerConfigAdmin(ctx, cfg);
@@ -364,9 +401,17 @@ public final class Server {
             if (cfg instanceof AsyncLoggerConfig) {
                 final AsyncLoggerConfig async = (AsyncLoggerConfig) cfg;
                 final RingBufferAdmin rbmbean = async.createRingBufferAdmin(ctx.getName());
-                register(mbs, rbmbean, rbmbean.getObjectName());
+                if (rbmbean != null) {
+                    // null in a HybridLoggerContext: the AsyncLoggerConfig has no ringbuffer of its own
+                    register(mbs, rbmbean, rbmbean.getObjectName());
+                }
+                if (asyncLoggerConfigMetrics == null) {
+                    asyncLoggerConfigMetrics = async.getQueueMetrics();
+                }
             }
         }
+        // all AsyncLoggerConfigs of a configuration share one ringbuffer
+        registerAsyncQueueMetrics(ctx.getName(), "AsyncLoggerConfig", asyncLoggerConfigMetrics, mbs);
     }
 
     private static void registerAppenders(final LoggerContext ctx, final MBeanServer mbs, final Executor executor)
@@ -380,6 +425,8 @@ public final class Server {
                 final AsyncAppender async = ((AsyncAppender) appender);
                 final AsyncAppenderAdmin mbean = new AsyncAppenderAdmin(ctx.getName(), async);
                 register(mbs, mbean, mbean.getObjectName());
+                registerAsyncQueueMetrics(ctx.getName(), "AsyncAppender." + async.getName(),
+                        async.getQueueMetrics(), mbs);
             } else {
                 final AppenderAdmin mbean = new AppenderAdmin(ctx.getName(), appender);
                 register(mbs, mbean, mbean.getObjectName());
@@ -387,6 +434,15 @@ public final class Server {
         }
     }
 
+    private static void registerAsyncQueueMetrics(final String contextName, final String queueName,
+            final AsyncQueueMetrics metrics, final MBeanServer mbs)
+            throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
+        if (metrics != null) { // null if queue metrics are disabled
+            final AsyncQueueMetricsAdmin mbean = new AsyncQueueMetricsAdmin(contextName, queueName, metrics);
+            register(mbs, mbean, mbean.getObjectName());
+        }
+    }
+
     private static void register(final MBeanServer mbs, final Object mbean, final ObjectName objectName)
             throws InstanceAlreadyExistsException, MBeanRegistrationException, NotCompliantMBeanException {
         LOGGER.debug("Registering MBean {}", objectName);
@@ -16,6 +16,8 @@
  */
 package org.apache.logging.log4j.core.layout;
 
+import org.apache.logging.log4j.core.appender.AbstractManager;
+import org.apache.logging.log4j.core.appender.AbstractManager.LockedOperation;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.status.StatusLogger;
 
@@ -30,9 +32,19 @@ import java.util.Objects;
  */
 public class LockingStringBuilderEncoder implements Encoder<StringBuilder> {
 
+    private static final LockedOperation<ByteBufferDestination, Object[], StringBuilder> ENCODE_TEXT =
+            (destination, state, source, offset, length) -> {
+                // This lock is needed to be able to call destination.getByteBuffer()
+                state[2] = destination.getByteBuffer();
+                TextEncoderHelper.encodeText(state, source, destination);
+                return true;
+            };
+
     private final Charset charset;
     private final CharsetEncoder charsetEncoder;
     private final CharBuffer cachedCharBuffer;
+    // the encoding state passed to TextEncoderHelper, see StringBuilderEncoder; the ByteBuffer is set while locked
+    private final Object[] state;
 
     public LockingStringBuilderEncoder(final Charset charset) {
         this(charset, Constants.ENCODER_CHAR_BUFFER_SIZE);
@@ -43,6 +55,7 @@ public class LockingStringBuilderEncoder implements Encoder<StringBuilder> {
         this.charsetEncoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
                 .onUnmappableCharacter(CodingErrorAction.REPLACE);
         this.cachedCharBuffer = CharBuffer.wrap(new char[charBufferSize]);
+        this.state = new Object[] {charsetEncoder, cachedCharBuffer, null};
     }
 
     private CharBuffer getCharBuffer() {
@@ -52,11 +65,7 @@ public class LockingStringBuilderEncoder implements Encoder<StringBuilder> {
     @Override
     public void encode(final StringBuilder source, final ByteBufferDestination destination) {
         try {
-            // This synchronized is needed to be able to call destination.getByteBuffer()
-            synchronized (destination) {
-                TextEncoderHelper.encodeText(charsetEncoder, cachedCharBuffer, destination.getByteBuffer(), source,
-                    destination);
-            }
+            AbstractManager.runLocked(destination, ENCODE_TEXT, state, source, 0, 0);
         } catch (final Exception ex) {
             logEncodeTextException(ex, source, destination);
             TextEncoderHelper.encodeTextFallBack(charset, source, destination);
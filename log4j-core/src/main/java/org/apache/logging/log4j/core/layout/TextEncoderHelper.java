@@ -23,6 +23,9 @@ import java.nio.charset.Charset;
 import java.nio.charset.CharsetEncoder;
 import java.nio.charset.CoderResult;
 
+import org.apache.logging.log4j.core.appender.AbstractManager;
+import org.apache.logging.log4j.core.appender.AbstractManager.LockedOperation;
+
 /**
  * Helper class to encode text to binary data without allocating temporary objects.
  *
@@ -30,6 +33,23 @@ import java.nio.charset.CoderResult;
  */
 public class TextEncoderHelper {
 
+    private static final LockedOperation<ByteBufferDestination, Object[], StringBuilder> WRITE_REMAINING_TEXT =
+            (destination, state, text, start, length) -> {
+                writeAndEncodeRemainingText((CharsetEncoder) state[0], (CharBuffer) state[1], (ByteBuffer) state[2],
+                        text, start, destination, CoderResult.OVERFLOW);
+                return true;
+            };
+    private static final LockedOperation<ByteBufferDestination, CharsetEncoder, ByteBuffer> FLUSH_REMAINING_BYTES =
+            (destination, charsetEncoder, byteBuf, offset, length) -> {
+                flushRemainingBytes(charsetEncoder, destination, byteBuf);
+                return true;
+            };
+    private static final LockedOperation<ByteBufferDestination, CharsetEncoder, CharBuffer> ENCODE_AND_FLUSH_TEXT =
+            (destination, charsetEncoder, charBuf, offset, length) -> {
+                encodeAndFlushText(charsetEncoder, charBuf, destination);
+                return true;
+            };
+
     private TextEncoderHelper() {
     }
 
@@ -43,47 +63,48 @@ public class TextEncoderHelper {
      * Converts the specified text to bytes and writes the resulting bytes to the specified destination.
      * Attempts to postpone synchronizing on the destination as long as possible to minimize lock contention.
      *
-     * @param charsetEncoder thread-local encoder instance for converting chars to bytes
-     * @param charBuf thread-local text buffer for converting text to bytes
-     * @param byteBuf thread-local buffer to temporarily hold converted bytes before copying them to the destination
+     * @param state thread-local encoding state: the encoder instance for converting chars to bytes, the text buffer
+     *            for converting text to bytes and the buffer to temporarily hold converted bytes before copying them
+     *            to the destination, in that order
      * @param text the text to convert and write to the destination
      * @param destination the destination to write the bytes to
-     * @throws CharacterCodingException if conversion failed
      */
-    static void encodeText(final CharsetEncoder charsetEncoder, final CharBuffer charBuf, final ByteBuffer byteBuf,
-            final StringBuilder text, final ByteBufferDestination destination)
-            throws CharacterCodingException {
+    static void encodeText(final Object[] state, final StringBuilder text, final ByteBufferDestination destination) {
+        final CharsetEncoder charsetEncoder = (CharsetEncoder) state[0];
+        final CharBuffer charBuf = (CharBuffer) state[1];
+        final ByteBuffer byteBuf = (ByteBuffer) state[2];
         charsetEncoder.reset();
         if (text.length() > charBuf.capacity()) {
-            encodeChunkedText(charsetEncoder, charBuf, byteBuf, text, destination);
+            encodeChunkedText(state, charsetEncoder, charBuf, byteBuf, text, destination);
             return;
         }
         charBuf.clear();
         text.getChars(0, text.length(), charBuf.array(), charBuf.arrayOffset());
         charBuf.limit(text.length());
         final CoderResult result = charsetEncoder.encode(charBuf, byteBuf, true);
-        writeEncodedText(charsetEncoder, charBuf, byteBuf, destination, result);
+        writeEncodedText(state, charsetEncoder, byteBuf, text, destination, result);
     }
 
     /**
      * This method is called when the CharEncoder has encoded (but not yet flushed) content from the CharBuffer
      * into the ByteBuffer. A CoderResult of UNDERFLOW means that the contents fit into the ByteBuffer and we can move
-     * on to the next step, flushing. Otherwise, we need to synchronize on the destination, copy the ByteBuffer to the
+     * on to the next step, flushing. Otherwise, we need to lock the destination, copy the ByteBuffer to the
      * destination and encode the remainder of the CharBuffer while holding the lock on the destination.
      *
      * @since 2.9
      */
-    private static void writeEncodedText(final CharsetEncoder charsetEncoder, final CharBuffer charBuf,
-            final ByteBuffer byteBuf, final ByteBufferDestination destination, CoderResult result) {
+    private static void writeEncodedText(final Object[] state, final CharsetEncoder charsetEncoder,
+            final ByteBuffer byteBuf, final StringBuilder text, final ByteBufferDestination destination,
+            CoderResult result) {
         if (!result.isUnderflow()) {
-            writeChunkedEncodedText(charsetEncoder, charBuf, destination, byteBuf, result);
+            // the ByteBuffer is too small to hold all the content: the whole text is in the CharBuffer
+            throwIfNotOverflow(result);
+            AbstractManager.runLocked(destination, WRITE_REMAINING_TEXT, state, text, text.length(), 0);
             return;
         }
         result = charsetEncoder.flush(byteBuf);
         if (!result.isUnderflow()) {
-            synchronized (destination) {
-                flushRemainingBytes(charsetEncoder, destination, byteBuf);
-            }
+            AbstractManager.runLocked(destination, FLUSH_REMAINING_BYTES, charsetEncoder, byteBuf, 0, 0);
             return;
         }
         // Thread-safety note: no explicit synchronization on ByteBufferDestination below. This is safe, because
@@ -98,23 +119,6 @@ public class TextEncoderHelper {
         }
     }
 
-    /**
-     * This method is called when the CharEncoder has encoded (but not yet flushed) content from the CharBuffer
-     * into the ByteBuffer and we found that the ByteBuffer is too small to hold all the content.
-     * Therefore, we need to synchronize on the destination, copy the ByteBuffer to the
-     * destination and encode the remainder of the CharBuffer while holding the lock on the destination.
-     *
-     * @since 2.9
-     */
-    private static void writeChunkedEncodedText(final CharsetEncoder charsetEncoder, final CharBuffer charBuf,
-            final ByteBufferDestination destination, ByteBuffer byteBuf, final CoderResult result) {
-        synchronized (destination) {
-            byteBuf = writeAndEncodeAsMuchAsPossible(charsetEncoder, charBuf, true, destination, byteBuf,
-                    result);
-            flushRemainingBytes(charsetEncoder, destination, byteBuf);
-        }
-    }
-
     /**
      * This method is called <em>before</em> the CharEncoder has encoded any content from the CharBuffer
      * into the ByteBuffer, but we have already detected that the CharBuffer contents is too large to fit into the
@@ -123,8 +127,9 @@ public class TextEncoderHelper {
      *
      * @since 2.9
      */
-    private static void encodeChunkedText(final CharsetEncoder charsetEncoder, final CharBuffer charBuf,
-            ByteBuffer byteBuf, final StringBuilder text, final ByteBufferDestination destination) {
+    private static void encodeChunkedText(final Object[] state, final CharsetEncoder charsetEncoder,
+            final CharBuffer charBuf, final ByteBuffer byteBuf, final StringBuilder text,
+            final ByteBufferDestination destination) {
 
         // LOG4J2-1874 ByteBuffer, CharBuffer and CharsetEncoder are thread-local, so no need to synchronize while
         // modifying these objects. Postpone synchronization until accessing the ByteBufferDestination.
@@ -140,27 +145,40 @@ public class TextEncoderHelper {
             result = charsetEncoder.encode(charBuf, byteBuf, endOfInput);
         }
         if (endOfInput) {
-            writeEncodedText(charsetEncoder, charBuf, byteBuf, destination, result);
+            writeEncodedText(state, charsetEncoder, byteBuf, text, destination, result);
             return;
         }
-        synchronized (destination) {
+        throwIfNotOverflow(result);
+        AbstractManager.runLocked(destination, WRITE_REMAINING_TEXT, state, text, start, 0);
+    }
+
+    /**
+     * Writes the already encoded bytes to the destination, then encodes the rest of the CharBuffer and of the text
+     * starting at the specified offset, and writes it to the destination.
+     * <p>
+     * Thread-safety note: This method should be called while holding the lock on the ByteBufferDestination.
+     * </p>
+     */
+    private static void writeAndEncodeRemainingText(final CharsetEncoder charsetEncoder, final CharBuffer charBuf,
+            ByteBuffer byteBuf, final StringBuilder text, int start, final ByteBufferDestination destination,
+            CoderResult result) {
+        boolean endOfInput = start >= text.length();
+        byteBuf = writeAndEncodeAsMuchAsPossible(charsetEncoder, charBuf, endOfInput, destination, byteBuf,
+                result);
+        while (!endOfInput) {
+            result = CoderResult.UNDERFLOW;
+            while (!endOfInput && result.isUnderflow()) {
+                charBuf.clear();
+                final int copied = copy(text, start, charBuf);
+                start += copied;
+                endOfInput = start >= text.length();
+                charBuf.flip();
+                result = charsetEncoder.encode(charBuf, byteBuf, endOfInput);
+            }
             byteBuf = writeAndEncodeAsMuchAsPossible(charsetEncoder, charBuf, endOfInput, destination, byteBuf,
                     result);
-            while (!endOfInput) {
-                result = CoderResult.UNDERFLOW;
-                while (!endOfInput && result.isUnderflow()) {
-                    charBuf.clear();
-                    final int copied = copy(text, start, charBuf);
-                    start += copied;
-                    endOfInput = start >= text.length();
-                    charBuf.flip();
-                    result = charsetEncoder.encode(charBuf, byteBuf, endOfInput);
-                }
-                byteBuf = writeAndEncodeAsMuchAsPossible(charsetEncoder, charBuf, endOfInput, destination, byteBuf,
-                        result);
-            }
-            flushRemainingBytes(charsetEncoder, destination, byteBuf);
         }
+        flushRemainingBytes(charsetEncoder, destination, byteBuf);
     }
 
     /**
@@ -170,11 +188,14 @@ public class TextEncoderHelper {
     public static void encodeText(final CharsetEncoder charsetEncoder, final CharBuffer charBuf,
             final ByteBufferDestination destination) {
         charsetEncoder.reset();
-        synchronized (destination) {
-            ByteBuffer byteBuf = destination.getByteBuffer();
-            byteBuf = encodeAsMuchAsPossible(charsetEncoder, charBuf, true, destination, byteBuf);
-            flushRemainingBytes(charsetEncoder, destination, byteBuf);
-        }
+        AbstractManager.runLocked(destination, ENCODE_AND_FLUSH_TEXT, charsetEncoder, charBuf, 0, 0);
+    }
+
+    private static void encodeAndFlushText(final CharsetEncoder charsetEncoder, final CharBuffer charBuf,
+            final ByteBufferDestination destination) {
+        ByteBuffer byteBuf = destination.getByteBuffer();
+        byteBuf = encodeAsMuchAsPossible(charsetEncoder, charBuf, true, destination, byteBuf);
+        flushRemainingBytes(charsetEncoder, destination, byteBuf);
     }
 
     /**
@@ -208,6 +229,12 @@ public class TextEncoderHelper {
         return temp;
     }
 
+    private static void throwIfNotOverflow(final CoderResult result) {
+        if (!result.isOverflow()) {
+            throwException(result);
+        }
+    }
+
     // @since 2.9
     private static void throwException(final CoderResult result) {
         try {
@@ -231,11 +258,13 @@ public class TextEncoderHelper {
     }
 
     /**
-     * If the CoderResult indicates the ByteBuffer is full, synchronize on the destination and write the content
-     * of the ByteBuffer to the destination. If the specified ByteBuffer is owned by the destination, we have
-     * reached the end of a MappedBuffer and we call drain() on the destination to remap().
+     * If the CoderResult indicates the ByteBuffer is full, write the content of the ByteBuffer to the destination. If
+     * the specified ByteBuffer is owned by the destination, we have reached the end of a MappedBuffer and we call drain() on the destination to remap().
      * <p>
      * If the CoderResult indicates more can be encoded, this method does nothing and returns the temp ByteBuffer.
+     * </p><p>
+     * Thread-safety note: This method should be called while holding the lock on the ByteBufferDestination, as the
+     * call to drain() may cause the destination to swap in a new ByteBuffer object.
      * </p>
      *
      * @param destination the destination to write bytes to
@@ -247,18 +276,14 @@ public class TextEncoderHelper {
     private static ByteBuffer drainIfByteBufferFull(final ByteBufferDestination destination, final ByteBuffer temp,
             final CoderResult result) {
         if (result.isOverflow()) { // byte buffer full
-            // all callers already synchronize on destination but for safety ensure we are synchronized because
-            // below calls to drain() may cause destination to swap in a new ByteBuffer object
-            synchronized (destination) {
-                final ByteBuffer destinationBuffer = destination.getByteBuffer();
-                if (destinationBuffer != temp) {
-                    temp.flip();
-                    ByteBufferDestinationHelper.writeToUnsynchronized(temp, destination);
-                    temp.clear();
-                    return destination.getByteBuffer();
-                } else {
-                    return destination.drain(destinationBuffer);
-                }
+            final ByteBuffer destinationBuffer = destination.getByteBuffer();
+            if (destinationBuffer != temp) {
+                temp.flip();
+                ByteBufferDestinationHelper.writeToUnsynchronized(temp, destination);
+                temp.clear();
+                return destination.getByteBuffer();
+            } else {
+                return destination.drain(destinationBuffer);
             }
         } else {
             return temp;
@@ -0,0 +1,337 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.Serializable;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.appender.SpillBufferConfiguration;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Manager that keeps a connection open to each of several endpoints and spreads events across them.
+ * <p>
+ * The endpoints are either given explicitly or are all the addresses the host name resolves to. Each one is served
+ * by its own {@link NioSocketManager}, so every endpoint has its own ring buffer and I/O thread and whole events are
+ * always sent over a single connection. Endpoints that are not connected are left out of the rotation while their
+ * I/O thread keeps trying to reconnect in the background; they rejoin as soon as the connection is back. When no
+ * endpoint is connected events are still queued, in rotation, subject to the ring full policy.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public class LoadBalancedSocketManager extends AbstractSocketManager {
+
+    /**
+     * How the next endpoint is chosen.
+     */
+    public enum Strategy {
+        /** Take connected endpoints in turn. */
+        ROUND_ROBIN,
+        /** Take the connected endpoint with the fewest bytes waiting to be sent. */
+        LEAST_OUTSTANDING_BYTES
+    }
+
+    private static final int DEFAULT_PORT = 4560;
+
+    private static final LoadBalancedSocketManagerFactory FACTORY = new LoadBalancedSocketManagerFactory();
+
+    private final NioSocketManager[] endpoints;
+    private final Strategy strategy;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Constructs.
+     *
+     * @param name The unique name of this manager.
+     * @param endpoints The managers of the individual endpoints.
+     * @param strategy How the next endpoint is chosen.
+     * @param inetAddress The Internet address of the first endpoint.
+     * @param host The name of the host.
+     * @param port The port number on the host.
+     * @param layout The Layout.
+     * @param bufferSize The buffer size.
+     */
+    protected LoadBalancedSocketManager(final String name, final NioSocketManager[] endpoints,
+            final Strategy strategy, final InetAddress inetAddress, final String host, final int port,
+            final Layout<? extends Serializable> layout, final int bufferSize) {
+        super(name, NullOutputStream.getInstance(), inetAddress, host, port, layout, false, bufferSize);
+        this.endpoints = endpoints;
+        this.strategy = strategy == null ? Strategy.ROUND_ROBIN : strategy;
+    }
+
+    /**
+     * Obtains a LoadBalancedSocketManager.
+     *
+     * @param host The host whose addresses are used as endpoints when no endpoints are given.
+     * @param port The port on the host, also the default port of the endpoints.
+     * @param endpoints A comma separated list of {@code host:port} endpoints, may be null.
+     * @param strategy How the next endpoint is chosen.
+     * @param connectTimeoutMillis the connect timeout in milliseconds.
+     * @param reconnectDelayMillis The interval between attempts to reconnect to an endpoint.
+     * @param layout The layout.
+     * @param bufferSize The buffer size.
+     * @param ringBufferSize The size in bytes of the ring buffer of each endpoint.
+     * @param ringFullPolicy What to do with events that do not fit in the ring buffer of their endpoint.
+     * @param spillBufferConfiguration The configuration of the spill buffer of each endpoint, may be null.
+     * @param socketOptions The socket options, may be null.
+     * @return A LoadBalancedSocketManager.
+     */
+    public static LoadBalancedSocketManager getSocketManager(final String host, int port, final String endpoints,
+            final Strategy strategy, final int connectTimeoutMillis, final int reconnectDelayMillis,
+            final Layout<? extends Serializable> layout, final int bufferSize, final int ringBufferSize,
+            final NioSocketManager.RingFullPolicy ringFullPolicy,
+            final SpillBufferConfiguration spillBufferConfiguration, final SocketOptions socketOptions) {
+        if (Strings.isEmpty(host) && Strings.isBlank(endpoints)) {
+            throw new IllegalArgumentException("A host name or a list of endpoints is required");
+        }
+        if (port <= 0) {
+            port = DEFAULT_PORT;
+        }
+        final String target = Strings.isBlank(endpoints) ? host + ':' + port : endpoints.trim();
+        return (LoadBalancedSocketManager) getManager("LB:" + strategy + ':' + target, new FactoryData(host, port,
+                endpoints, strategy, connectTimeoutMillis, reconnectDelayMillis, layout, bufferSize, ringBufferSize,
+                ringFullPolicy, spillBufferConfiguration, socketOptions), FACTORY);
+    }
+
+    /**
+     * Parses a comma separated list of {@code host:port} endpoints. A missing port defaults to the given port; IPv6
+     * literals must be enclosed in brackets when followed by a port.
+     */
+    static List<InetSocketAddress> parseEndpoints(final String endpoints, final int defaultPort) {
+        final List<InetSocketAddress> result = new ArrayList<>();
+        for (final String item : endpoints.split(",")) {
+            final String endpoint = item.trim();
+            if (endpoint.isEmpty()) {
+                continue;
+            }
+            String endpointHost = endpoint;
+            String endpointPort = null;
+            if (endpoint.startsWith("[")) {
+                final int bracket = endpoint.indexOf(']');
+                if (bracket < 0) {
+                    throw new IllegalArgumentException("Invalid endpoint: " + endpoint);
+                }
+                endpointHost = endpoint.substring(1, bracket);
+                if (endpoint.length() > bracket + 1 && endpoint.charAt(bracket + 1) == ':') {
+                    endpointPort = endpoint.substring(bracket + 2);
+                }
+            } else if (endpoint.indexOf(':') >= 0 && endpoint.indexOf(':') == endpoint.lastIndexOf(':')) {
+                endpointHost = endpoint.substring(0, endpoint.indexOf(':'));
+                endpointPort = endpoint.substring(endpoint.indexOf(':') + 1);
+            }
+            result.add(InetSocketAddress.createUnresolved(endpointHost,
+                    endpointPort == null ? defaultPort : Integer.parseInt(endpointPort.trim())));
+        }
+        return result;
+    }
+
+    @Override
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        select().write(bytes, offset, length, immediateFlush);
+    }
+
+    @Override
+    protected void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        select().write(bytes, offset, length, false);
+    }
+
+    /**
+     * Events are handed to the endpoint I/O threads as soon as they are written, there is nothing to flush.
+     */
+    @Override
+    public void flush() {
+        // nothing to do
+    }
+
+    private NioSocketManager select() {
+        final int count = endpoints.length;
+        if (count == 1) {
+            return endpoints[0];
+        }
+        final int start = Math.floorMod(next.getAndIncrement(), count);
+        if (strategy == Strategy.ROUND_ROBIN) {
+            for (int i = 0; i < count; i++) {
+                final NioSocketManager endpoint = endpoints[(start + i) % count];
+                if (endpoint.isConnected()) {
+                    return endpoint;
+                }
+            }
+            return endpoints[start];
+        }
+        // start the scan at a rotating position so that ties do not always favor the first endpoint
+        NioSocketManager best = null;
+        long bestPending = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            final NioSocketManager endpoint = endpoints[(start + i) % count];
+            if (endpoint.isConnected()) {
+                final long pending = endpoint.getPendingBytes();
+                if (pending < bestPending) {
+                    best = endpoint;
+                    bestPending = pending;
+                }
+            }
+        }
+        return best != null ? best : endpoints[start];
+    }
+
+    /**
+     * Returns the managers of the individual endpoints.
+     *
+     * @return an unmodifiable list of the endpoint managers.
+     */
+    public List<NioSocketManager> getEndpointManagers() {
+        return Collections.unmodifiableList(Arrays.asList(endpoints));
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Returns the number of endpoints currently connected.
+     *
+     * @return the number of healthy endpoints.
+     */
+    public int getConnectedCount() {
+        int connected = 0;
+        for (final NioSocketManager endpoint : endpoints) {
+            if (endpoint.isConnected()) {
+                connected++;
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * Releases the endpoint managers, each of which sends the layout footer on its own connection.
+     */
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        boolean stopped = true;
+        for (final NioSocketManager endpoint : endpoints) {
+            stopped &= endpoint.stop(timeout, timeUnit);
+        }
+        return stopped;
+    }
+
+    @Override
+    public String toString() {
+        return "LoadBalancedSocketManager [strategy=" + strategy + ", endpoints=" + Arrays.toString(endpoints) + "]";
+    }
+
+    /**
+     * Data for the factory.
+     */
+    static class FactoryData {
+        protected final String host;
+        protected final int port;
+        protected final String endpoints;
+        protected final Strategy strategy;
+        protected final int connectTimeoutMillis;
+        protected final int reconnectDelayMillis;
+        protected final Layout<? extends Serializable> layout;
+        protected final int bufferSize;
+        protected final int ringBufferSize;
+        protected final NioSocketManager.RingFullPolicy ringFullPolicy;
+        protected final SpillBufferConfiguration spillBufferConfiguration;
+        protected final SocketOptions socketOptions;
+
+        public FactoryData(final String host, final int port, final String endpoints, final Strategy strategy,
+                final int connectTimeoutMillis, final int reconnectDelayMillis,
+                final Layout<? extends Serializable> layout, final int bufferSize, final int ringBufferSize,
+                final NioSocketManager.RingFullPolicy ringFullPolicy,
+                final SpillBufferConfiguration spillBufferConfiguration, final SocketOptions socketOptions) {
+            this.host = host;
+            this.port = port;
+            this.endpoints = endpoints;
+            this.strategy = strategy;
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.reconnectDelayMillis = reconnectDelayMillis;
+            this.layout = layout;
+            this.bufferSize = bufferSize;
+            this.ringBufferSize = ringBufferSize;
+            this.ringFullPolicy = ringFullPolicy;
+            this.spillBufferConfiguration = spillBufferConfiguration;
+            this.socketOptions = socketOptions;
+        }
+
+        @Override
+        public String toString() {
+            return "FactoryData [host=" + host + ", port=" + port + ", endpoints=" + endpoints + ", strategy="
+                    + strategy + ", connectTimeoutMillis=" + connectTimeoutMillis + ", reconnectDelayMillis="
+                    + reconnectDelayMillis + ", layout=" + layout + ", bufferSize=" + bufferSize
+                    + ", ringBufferSize=" + ringBufferSize + ", ringFullPolicy=" + ringFullPolicy
+                    + ", spillBufferConfiguration=" + spillBufferConfiguration + ", socketOptions=" + socketOptions
+                    + "]";
+        }
+    }
+
+    /**
+     * Factory to create a LoadBalancedSocketManager.
+     */
+    protected static class LoadBalancedSocketManagerFactory
+            implements ManagerFactory<LoadBalancedSocketManager, FactoryData> {
+
+        @Override
+        public LoadBalancedSocketManager createManager(final String name, final FactoryData data) {
+            final List<InetSocketAddress> addresses;
+            try {
+                if (Strings.isBlank(data.endpoints)) {
+                    addresses = TcpSocketManager.TcpSocketManagerFactory.resolver.resolveHost(data.host, data.port);
+                } else {
+                    addresses = parseEndpoints(data.endpoints, data.port);
+                }
+            } catch (final UnknownHostException | IllegalArgumentException ex) {
+                LOGGER.error("LoadBalancedSocketManager ({}) could not determine its endpoints: {}", name, ex, ex);
+                return null;
+            }
+            if (addresses.isEmpty()) {
+                LOGGER.error("LoadBalancedSocketManager ({}) has no endpoints", name);
+                return null;
+            }
+            final NioSocketManager[] endpoints = new NioSocketManager[addresses.size()];
+            for (int i = 0; i < endpoints.length; i++) {
+                final InetSocketAddress address = addresses.get(i);
+                final String endpointHost = address.isUnresolved() ? address.getHostString()
+                        : address.getAddress().getHostAddress();
+                endpoints[i] = NioSocketManager.getSocketManager(endpointHost, address.getPort(),
+                        data.connectTimeoutMillis, data.reconnectDelayMillis, data.layout, data.bufferSize,
+                        data.ringBufferSize, data.ringFullPolicy, data.spillBufferConfiguration, data.socketOptions);
+                if (endpoints[i] == null) {
+                    for (int j = 0; j < i; j++) {
+                        endpoints[j].close();
+                    }
+                    return null;
+                }
+            }
+            return new LoadBalancedSocketManager(name, endpoints, data.strategy, endpoints[0].inetAddress,
+                    data.host, data.port, data.layout, data.bufferSize);
+        }
+    }
+}
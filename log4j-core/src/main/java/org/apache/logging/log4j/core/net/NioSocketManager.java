@@ -0,0 +1,723 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.appender.ManagerFactory;
+import org.apache.logging.log4j.core.appender.SpillBuffer;
+import org.apache.logging.log4j.core.appender.SpillBufferConfiguration;
+import org.apache.logging.log4j.core.util.Closer;
+import org.apache.logging.log4j.core.util.Log4jThread;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * Manager of a TCP connection that never blocks the logging threads on the network.
+ * <p>
+ * Events are copied into a bounded, off-heap ring buffer and a single daemon I/O thread moves them into a
+ * non-blocking {@link SocketChannel} driven by a {@link Selector}. When the ring wraps, both segments are written
+ * with one gathering write; partial writes simply leave the remainder in the ring until the channel becomes
+ * writable again. Connecting and reconnecting are done by the I/O thread as well, so a stalled or unreachable
+ * collector only fills the ring. What happens when the ring is full is controlled by the {@link RingFullPolicy}.
+ * </p>
+ * <p>
+ * With {@link RingFullPolicy#SPILL}, events that do not fit go to a {@link SpillBuffer} on disk, and so do all events
+ * that follow until the spill buffer has been emptied, which keeps them in order. While connected, the I/O thread
+ * moves spilled events back into the ring as room becomes available.
+ * </p>
+ * <p>
+ * The ring holds raw bytes, not events: if a connection breaks in the middle of an event, the rest of that event is
+ * the first thing sent on the next connection.
+ * </p>
+ *
+ * @since 2.14.0
+ */
+public class NioSocketManager extends AbstractSocketManager {
+
+    /**
+     * What to do with an event that does not fit in the ring buffer.
+     */
+    public enum RingFullPolicy {
+        /** Discard the event and count it as dropped. */
+        DROP,
+        /** Wait until the I/O thread has made room for the event. */
+        BLOCK,
+        /** Write the event to the spill buffer on disk, to be sent once the ring has room again. */
+        SPILL
+    }
+
+    /**
+     * The default size of the ring buffer in bytes.
+     */
+    public static final int DEFAULT_RING_BUFFER_SIZE = 1024 * 1024;
+
+    /**
+     * The default reconnection delay (30000 milliseconds or 30 seconds).
+     */
+    public static final int DEFAULT_RECONNECTION_DELAY_MILLIS = TcpSocketManager.DEFAULT_RECONNECTION_DELAY_MILLIS;
+
+    private static final int DEFAULT_SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private static final int DEFAULT_PORT = 4560;
+
+    private static final int READ_BUFFER_SIZE = 512;
+
+    private static final NioSocketManagerFactory FACTORY = new NioSocketManagerFactory();
+
+    private final int connectTimeoutMillis;
+    private final int reconnectDelayMillis;
+    private final SocketOptions socketOptions;
+    private final RingFullPolicy ringFullPolicy;
+    private final SpillBuffer spillBuffer;
+
+    private final int capacity;
+    private final ByteBuffer producerView;
+    private final ByteBuffer[] consumerViews;
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+
+    private final ReentrantLock ringLock = new ReentrantLock();
+    private final Condition notFull = ringLock.newCondition();
+
+    // ring positions, guarded by ringLock; only ever increase
+    private long head;
+    private long tail;
+    private long droppedEvents;
+    private boolean dropReported;
+
+    private final Selector selector;
+    private final Thread ioThread;
+    private volatile boolean closing;
+    private volatile boolean ioStopped;
+    private volatile long closeDeadlineNanos;
+
+    // only touched by the I/O thread
+    private SocketChannel channel;
+    private SelectionKey key;
+    private volatile boolean connected;
+    private long nextConnectNanos;
+    private long connectDeadlineNanos;
+
+    /**
+     * Constructs.
+     *
+     * @param name The unique name of this connection.
+     * @param selector The selector used by the I/O thread.
+     * @param inetAddress The Internet address of the host.
+     * @param host The name of the host.
+     * @param port The port number on the host.
+     * @param connectTimeoutMillis the connect timeout in milliseconds.
+     * @param reconnectDelayMillis Reconnection interval.
+     * @param layout The Layout.
+     * @param bufferSize The buffer size.
+     * @param ringBufferSize The size in bytes of the off-heap ring buffer.
+     * @param ringFullPolicy What to do with events that do not fit in the ring buffer.
+     * @param spillBuffer The spill buffer, required with {@link RingFullPolicy#SPILL} and ignored otherwise.
+     * @param socketOptions The socket options, may be null.
+     */
+    protected NioSocketManager(final String name, final Selector selector, final InetAddress inetAddress,
+            final String host, final int port, final int connectTimeoutMillis, final int reconnectDelayMillis,
+            final Layout<? extends Serializable> layout, final int bufferSize, final int ringBufferSize,
+            final RingFullPolicy ringFullPolicy, final SpillBuffer spillBuffer, final SocketOptions socketOptions) {
+        super(name, NullOutputStream.getInstance(), inetAddress, host, port, layout, false, bufferSize);
+        this.selector = selector;
+        this.connectTimeoutMillis = connectTimeoutMillis;
+        this.reconnectDelayMillis = reconnectDelayMillis;
+        this.socketOptions = socketOptions;
+        this.spillBuffer = ringFullPolicy == RingFullPolicy.SPILL ? spillBuffer : null;
+        this.ringFullPolicy = ringFullPolicy == null || ringFullPolicy == RingFullPolicy.SPILL && spillBuffer == null
+                ? RingFullPolicy.DROP : ringFullPolicy;
+        this.capacity = ringBufferSize > 0 ? ringBufferSize : DEFAULT_RING_BUFFER_SIZE;
+        final ByteBuffer ring = ByteBuffer.allocateDirect(capacity);
+        this.producerView = ring.duplicate();
+        this.consumerViews = new ByteBuffer[] {ring.duplicate(), ring.duplicate()};
+        if (layout != null) {
+            final byte[] header = layout.getHeader();
+            if (header != null) {
+                enqueue(header, 0, header.length);
+            }
+        }
+        this.ioThread = new Log4jThread(new IoLoop(), "NioSocketManager-" + name);
+        this.ioThread.setDaemon(true);
+        this.ioThread.start();
+    }
+
+    /**
+     * Obtains a NioSocketManager.
+     *
+     * @param host The host to connect to.
+     * @param port The port on the host.
+     * @param connectTimeoutMillis the connect timeout in milliseconds.
+     * @param reconnectDelayMillis The interval to pause between retries.
+     * @param layout The layout.
+     * @param bufferSize The buffer size.
+     * @param ringBufferSize The size in bytes of the off-heap ring buffer.
+     * @param ringFullPolicy What to do with events that do not fit in the ring buffer.
+     * @param socketOptions The socket options, may be null.
+     * @return A NioSocketManager.
+     */
+    public static NioSocketManager getSocketManager(final String host, final int port, final int connectTimeoutMillis,
+            final int reconnectDelayMillis, final Layout<? extends Serializable> layout, final int bufferSize,
+            final int ringBufferSize, final RingFullPolicy ringFullPolicy, final SocketOptions socketOptions) {
+        return getSocketManager(host, port, connectTimeoutMillis, reconnectDelayMillis, layout, bufferSize,
+                ringBufferSize, ringFullPolicy, null, socketOptions);
+    }
+
+    /**
+     * Obtains a NioSocketManager.
+     *
+     * @param host The host to connect to.
+     * @param port The port on the host.
+     * @param connectTimeoutMillis the connect timeout in milliseconds.
+     * @param reconnectDelayMillis The interval to pause between retries.
+     * @param layout The layout.
+     * @param bufferSize The buffer size.
+     * @param ringBufferSize The size in bytes of the off-heap ring buffer.
+     * @param ringFullPolicy What to do with events that do not fit in the ring buffer.
+     * @param spillBufferConfiguration The spill buffer configuration, required with {@link RingFullPolicy#SPILL}.
+     * @param socketOptions The socket options, may be null.
+     * @return A NioSocketManager.
+     */
+    public static NioSocketManager getSocketManager(final String host, int port, final int connectTimeoutMillis,
+            int reconnectDelayMillis, final Layout<? extends Serializable> layout, final int bufferSize,
+            final int ringBufferSize, final RingFullPolicy ringFullPolicy,
+            final SpillBufferConfiguration spillBufferConfiguration, final SocketOptions socketOptions) {
+        if (Strings.isEmpty(host)) {
+            throw new IllegalArgumentException("A host name is required");
+        }
+        if (port <= 0) {
+            port = DEFAULT_PORT;
+        }
+        if (reconnectDelayMillis <= 0) {
+            reconnectDelayMillis = DEFAULT_RECONNECTION_DELAY_MILLIS;
+        }
+        return (NioSocketManager) getManager("NIO:" + host + ':' + port, new FactoryData(host, port,
+                connectTimeoutMillis, reconnectDelayMillis, layout, bufferSize, ringBufferSize, ringFullPolicy,
+                spillBufferConfiguration, socketOptions), FACTORY);
+    }
+
+    @Override
+    protected void write(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        enqueue(bytes, offset, length);
+    }
+
+    @Override
+    protected void writeToDestination(final byte[] bytes, final int offset, final int length) {
+        enqueue(bytes, offset, length);
+    }
+
+    /**
+     * Events are handed to the I/O thread as soon as they are written, there is nothing to flush.
+     */
+    @Override
+    public void flush() {
+        // nothing to do
+    }
+
+    /**
+     * Copies the given bytes into the ring buffer and wakes up the I/O thread if it was idle.
+     *
+     * @return true if the bytes were queued, false if they were dropped.
+     */
+    private boolean enqueue(final byte[] bytes, final int offset, final int length) {
+        if (length <= 0) {
+            return true;
+        }
+        boolean wasEmpty = false;
+        ringLock.lock();
+        try {
+            if (length > capacity) {
+                return drop(length);
+            }
+            if (spillBuffer != null && (capacity - (tail - head) < length || !spillBuffer.isEmpty())) {
+                if (!spillBuffer.append(bytes, offset, length)) {
+                    return drop(length);
+                }
+                wasEmpty = tail == head;
+                return true;
+            }
+            while (capacity - (tail - head) < length) {
+                if (ringFullPolicy != RingFullPolicy.BLOCK || closing || ioStopped) {
+                    return drop(length);
+                }
+                try {
+                    notFull.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return drop(length);
+                }
+            }
+            wasEmpty = tail == head;
+            final int start = (int) (tail % capacity);
+            final int first = Math.min(length, capacity - start);
+            producerView.clear();
+            producerView.position(start);
+            producerView.put(bytes, offset, first);
+            if (first < length) {
+                producerView.clear();
+                producerView.put(bytes, offset + first, length - first);
+            }
+            tail += length;
+            if (dropReported) {
+                dropReported = false;
+                LOGGER.warn("{} resumed queueing events after dropping {} events in total", getName(), droppedEvents);
+            }
+            return true;
+        } finally {
+            ringLock.unlock();
+            if (wasEmpty) {
+                selector.wakeup();
+            }
+        }
+    }
+
+    // must be called while holding ringLock
+    private boolean drop(final int length) {
+        droppedEvents++;
+        if (!dropReported) {
+            dropReported = true;
+            LOGGER.warn("{} dropping events: {} bytes do not fit in the {} byte ring buffer ({} bytes pending)",
+                    getName(), length, capacity, tail - head);
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of events dropped because the ring buffer was full.
+     *
+     * @return the number of dropped events.
+     */
+    public long getDroppedEventCount() {
+        ringLock.lock();
+        try {
+            return droppedEvents;
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of bytes waiting in the ring buffer.
+     *
+     * @return the number of pending bytes.
+     */
+    public long getPendingBytes() {
+        ringLock.lock();
+        try {
+            return tail - head;
+        } finally {
+            ringLock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the I/O thread currently holds an established connection.
+     *
+     * @return true if connected.
+     */
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public RingFullPolicy getRingFullPolicy() {
+        return ringFullPolicy;
+    }
+
+    /**
+     * Returns the spill buffer.
+     *
+     * @return the spill buffer, or null unless the ring full policy is {@link RingFullPolicy#SPILL}.
+     */
+    public SpillBuffer getSpillBuffer() {
+        return spillBuffer;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closing;
+    }
+
+    /**
+     * Writes the footer, then gives the I/O thread up to the given timeout (five seconds when no timeout is given) to
+     * send what is left in the ring buffer before closing the connection.
+     */
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        writeFooter();
+        final long millis = timeout > 0 ? timeUnit.toMillis(timeout) : DEFAULT_SHUTDOWN_TIMEOUT_MILLIS;
+        closeDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        closing = true;
+        ringLock.lock();
+        try {
+            notFull.signalAll();
+        } finally {
+            ringLock.unlock();
+        }
+        selector.wakeup();
+        try {
+            // the I/O thread gives up on its own at the deadline, allow for a select() in progress
+            ioThread.join(millis + 1000);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final long pending = getPendingBytes();
+        if (pending > 0) {
+            LOGGER.warn("{} closed with {} bytes not sent", getName(), pending);
+        }
+        if (spillBuffer != null) {
+            if (!spillBuffer.isEmpty()) {
+                LOGGER.info("{} leaves {} spilled events in {} for the next start", getName(),
+                        spillBuffer.getPendingRecords(), spillBuffer.getDirectory());
+            }
+            spillBuffer.close();
+        }
+        return pending == 0 && !ioThread.isAlive();
+    }
+
+    @Override
+    public String toString() {
+        return "NioSocketManager [ringBufferSize=" + capacity + ", ringFullPolicy=" + ringFullPolicy
+                + ", reconnectDelayMillis=" + reconnectDelayMillis + ", connected=" + connected + ", inetAddress="
+                + inetAddress + ", host=" + host + ", port=" + port + "]";
+    }
+
+    /**
+     * The I/O thread: connects, reconnects, and moves bytes from the ring buffer into the channel.
+     */
+    private class IoLoop implements Runnable {
+
+        @Override
+        public void run() {
+            try {
+                while (true) {
+                    final long now = System.nanoTime();
+                    if (closing && (getPendingBytes() == 0 || now - closeDeadlineNanos >= 0)) {
+                        break;
+                    }
+                    if (channel == null && now - nextConnectNanos >= 0) {
+                        startConnect();
+                    } else if (channel != null && !connected && connectTimeoutMillis > 0
+                            && now - connectDeadlineNanos >= 0) {
+                        disconnect(new ConnectException("Connect timed out after " + connectTimeoutMillis + " ms"));
+                    }
+                    if (connected) {
+                        writePending();
+                    }
+                    selector.select(selectTimeoutMillis());
+                    final Iterator<SelectionKey> iter = selector.selectedKeys().iterator();
+                    while (iter.hasNext()) {
+                        final SelectionKey selected = iter.next();
+                        iter.remove();
+                        if (selected.isValid()) {
+                            handle(selected);
+                        }
+                    }
+                }
+            } catch (final IOException | RuntimeException e) {
+                LOGGER.error("{} I/O thread terminated", getName(), e);
+            } finally {
+                closeChannel();
+                Closer.closeSilently(selector);
+                ringLock.lock();
+                try {
+                    ioStopped = true;
+                    notFull.signalAll();
+                } finally {
+                    ringLock.unlock();
+                }
+            }
+        }
+
+        private long selectTimeoutMillis() {
+            final long now = System.nanoTime();
+            long deadline = Long.MAX_VALUE;
+            if (channel == null) {
+                deadline = nextConnectNanos - now;
+            } else if (!connected && connectTimeoutMillis > 0) {
+                deadline = connectDeadlineNanos - now;
+            }
+            if (closing) {
+                deadline = Math.min(deadline, closeDeadlineNanos - now);
+            }
+            if (deadline == Long.MAX_VALUE) {
+                return 0; // until woken up
+            }
+            return Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline) + 1);
+        }
+
+        private void startConnect() {
+            try {
+                final List<InetSocketAddress> addresses = TcpSocketManager.TcpSocketManagerFactory.resolver
+                        .resolveHost(host, port);
+                final SocketChannel newChannel = SocketChannel.open();
+                try {
+                    if (socketOptions != null) {
+                        socketOptions.apply(newChannel.socket());
+                    }
+                    newChannel.configureBlocking(false);
+                    channel = newChannel;
+                    connectDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectTimeoutMillis);
+                    if (newChannel.connect(addresses.get(0))) {
+                        connected();
+                    } else {
+                        key = newChannel.register(selector, SelectionKey.OP_CONNECT);
+                    }
+                } catch (final IOException | RuntimeException e) {
+                    if (channel != newChannel) {
+                        Closer.closeSilently(newChannel);
+                    }
+                    throw e;
+                }
+            } catch (final IOException | RuntimeException e) {
+                disconnect(e);
+            }
+        }
+
+        private void connected() throws IOException {
+            if (socketOptions != null) {
+                socketOptions.apply(channel.socket());
+            }
+            connected = true;
+            if (key == null) {
+                key = channel.register(selector, SelectionKey.OP_READ);
+            } else {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+            LOGGER.debug("{} connected to {}:{}", getName(), host, port);
+        }
+
+        private void handle(final SelectionKey selected) {
+            try {
+                if (selected.isConnectable()) {
+                    if (channel.finishConnect()) {
+                        connected();
+                    }
+                    return;
+                }
+                if (selected.isReadable()) {
+                    // nothing is expected from the peer, this only notices a closed connection
+                    readBuffer.clear();
+                    if (channel.read(readBuffer) < 0) {
+                        throw new IOException("Connection closed by peer");
+                    }
+                }
+                if (selected.isValid() && selected.isWritable()) {
+                    writePending();
+                }
+            } catch (final IOException | RuntimeException e) {
+                disconnect(e);
+            }
+        }
+
+        /**
+         * Writes as much of the ring buffer as the channel accepts, in a single gathering write when the pending
+         * bytes wrap around the end of the ring.
+         */
+        private void writePending() {
+            final long start;
+            final long end;
+            ringLock.lock();
+            try {
+                if (spillBuffer != null) {
+                    refillFromSpill();
+                }
+                start = head;
+                end = tail;
+            } finally {
+                ringLock.unlock();
+            }
+            if (start == end) {
+                key.interestOps(SelectionKey.OP_READ);
+                return;
+            }
+            final int from = (int) (start % capacity);
+            final int pending = (int) (end - start);
+            final int first = Math.min(pending, capacity - from);
+            final ByteBuffer firstView = consumerViews[0];
+            firstView.limit(from + first).position(from);
+            final long written;
+            try {
+                if (first < pending) {
+                    final ByteBuffer secondView = consumerViews[1];
+                    secondView.limit(pending - first).position(0);
+                    written = channel.write(consumerViews, 0, 2);
+                } else {
+                    written = channel.write(firstView);
+                }
+            } catch (final IOException | RuntimeException e) {
+                disconnect(e);
+                return;
+            }
+            final boolean more;
+            ringLock.lock();
+            try {
+                head += written;
+                more = head != tail || spillBuffer != null && !spillBuffer.isEmpty();
+                notFull.signalAll();
+            } finally {
+                ringLock.unlock();
+            }
+            // producers only wake the selector when the ring was empty, so keep asking for OP_WRITE while anything
+            // is left, be it because the socket send buffer is full or because more events arrived meanwhile
+            key.interestOps(more ? SelectionKey.OP_READ | SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        /**
+         * Moves spilled events into the ring for as long as they fit. Must be called while holding the ring lock.
+         */
+        private void refillFromSpill() {
+            ByteBuffer record;
+            while ((record = spillBuffer.peek()) != null) {
+                final int length = record.remaining();
+                if (capacity - (tail - head) < length) {
+                    return;
+                }
+                final int start = (int) (tail % capacity);
+                final int first = Math.min(length, capacity - start);
+                producerView.clear();
+                producerView.position(start);
+                record.limit(first);
+                producerView.put(record);
+                if (first < length) {
+                    producerView.clear();
+                    record.limit(length);
+                    producerView.put(record);
+                }
+                tail += length;
+                spillBuffer.remove();
+            }
+        }
+
+        private void disconnect(final Exception cause) {
+            if (connected) {
+                LOGGER.warn("{} lost connection to {}:{}, reconnecting in {} ms: {}", getName(), host, port,
+                        reconnectDelayMillis, cause.toString());
+            } else {
+                LOGGER.debug("{} cannot connect to {}:{}, retrying in {} ms: {}", getName(), host, port,
+                        reconnectDelayMillis, cause.toString());
+            }
+            closeChannel();
+            nextConnectNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(reconnectDelayMillis);
+        }
+
+        private void closeChannel() {
+            connected = false;
+            if (key != null) {
+                key.cancel();
+                key = null;
+            }
+            Closer.closeSilently(channel);
+            channel = null;
+        }
+    }
+
+    /**
+     * Data for the factory.
+     */
+    static class FactoryData {
+        protected final String host;
+        protected final int port;
+        protected final int connectTimeoutMillis;
+        protected final int reconnectDelayMillis;
+        protected final Layout<? extends Serializable> layout;
+        protected final int bufferSize;
+        protected final int ringBufferSize;
+        protected final RingFullPolicy ringFullPolicy;
+        protected final SpillBufferConfiguration spillBufferConfiguration;
+        protected final SocketOptions socketOptions;
+
+        public FactoryData(final String host, final int port, final int connectTimeoutMillis,
+                final int reconnectDelayMillis, final Layout<? extends Serializable> layout, final int bufferSize,
+                final int ringBufferSize, final RingFullPolicy ringFullPolicy,
+                final SpillBufferConfiguration spillBufferConfiguration, final SocketOptions socketOptions) {
+            this.host = host;
+            this.port = port;
+            this.connectTimeoutMillis = connectTimeoutMillis;
+            this.reconnectDelayMillis = reconnectDelayMillis;
+            this.layout = layout;
+            this.bufferSize = bufferSize;
+            this.ringBufferSize = ringBufferSize;
+            this.ringFullPolicy = ringFullPolicy;
+            this.spillBufferConfiguration = spillBufferConfiguration;
+            this.socketOptions = socketOptions;
+        }
+
+        @Override
+        public String toString() {
+            return "FactoryData [host=" + host + ", port=" + port + ", connectTimeoutMillis=" + connectTimeoutMillis
+                    + ", reconnectDelayMillis=" + reconnectDelayMillis + ", layout=" + layout + ", bufferSize="
+                    + bufferSize + ", ringBufferSize=" + ringBufferSize + ", ringFullPolicy=" + ringFullPolicy
+                    + ", spillBufferConfiguration=" + spillBufferConfiguration + ", socketOptions=" + socketOptions
+                    + "]";
+        }
+    }
+
+    /**
+     * Factory to create a NioSocketManager.
+     */
+    protected static class NioSocketManagerFactory implements ManagerFactory<NioSocketManager, FactoryData> {
+
+        @Override
+        public NioSocketManager createManager(final String name, final FactoryData data) {
+            final InetAddress inetAddress;
+            try {
+                inetAddress = InetAddress.getByName(data.host);
+            } catch (final UnknownHostException ex) {
+                LOGGER.error("Could not find address of {}: {}", data.host, ex, ex);
+                return null;
+            }
+            final Selector selector;
+            try {
+                selector = Selector.open();
+            } catch (final IOException ex) {
+                LOGGER.error("NioSocketManager ({}) could not open a selector", name, ex);
+                return null;
+            }
+            SpillBuffer spillBuffer = null;
+            if (data.ringFullPolicy == RingFullPolicy.SPILL) {
+                if (data.spillBufferConfiguration == null) {
+                    LOGGER.error("NioSocketManager ({}) needs a SpillBuffer to spill, dropping events instead", name);
+                } else {
+                    try {
+                        spillBuffer = SpillBuffer.open(data.spillBufferConfiguration, name);
+                    } catch (final IOException ex) {
+                        LOGGER.error("NioSocketManager ({}) could not open its spill buffer, dropping events instead",
+                                name, ex);
+                    }
+                }
+            }
+            return new NioSocketManager(name, selector, inetAddress, data.host, data.port, data.connectTimeoutMillis,
+                    data.reconnectDelayMillis, data.layout, data.bufferSize, data.ringBufferSize,
+                    data.ringFullPolicy, spillBuffer, data.socketOptions);
+        }
+    }
+}
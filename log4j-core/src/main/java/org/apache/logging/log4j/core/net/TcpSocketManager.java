@@ -54,6 +54,31 @@ public class TcpSocketManager extends AbstractSocketManager {
 
     private static final TcpSocketManagerFactory<TcpSocketManager, FactoryData> FACTORY = new TcpSocketManagerFactory<>();
 
+    private static final LockedOperation<TcpSocketManager, byte[], Void> WRITE =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length, false);
+                return true;
+            };
+    private static final LockedOperation<TcpSocketManager, byte[], Void> WRITE_AND_FLUSH =
+            (manager, bytes, b, offset, length) -> {
+                manager.writeLocked(bytes, offset, length, true);
+                return true;
+            };
+    private static final LockedOperation<TcpSocketManager, Void, Void> CLOSE_OUTPUT_STREAM =
+            (manager, a, b, offset, length) -> manager.closeOutputStreamLocked();
+    private static final LockedOperation<TcpSocketManager, Socket, OutputStream> REPLACE_SOCKET =
+            (manager, sock, newOS, offset, length) -> {
+                try {
+                    Closer.closeSilently(manager.getOutputStream());
+                } catch (final IOException e) {
+                    // ignored like an error closing the stream
+                }
+                manager.setOutputStream(newOS);
+                manager.socket = sock;
+                manager.reconnector = null;
+                return true;
+            };
+
     private final int reconnectionDelayMillis;
 
     private Reconnector reconnector;
@@ -214,30 +239,32 @@ public class TcpSocketManager extends AbstractSocketManager {
                 throw new AppenderLoggingException("Error writing to " + getName() + ": socket not available");
             }
         }
-        synchronized (this) {
-            try {
-                writeAndFlush(bytes, offset, length, immediateFlush);
-            } catch (final IOException causeEx) {
-                if (retry && reconnector == null) {
-                    final String config = inetAddress + ":" + port;
-                    reconnector = createReconnector();
-                    try {
-                        reconnector.reconnect();
-                    } catch (final IOException reconnEx) {
-                        LOGGER.debug("Cannot reestablish socket connection to {}: {}; starting reconnector thread {}",
-                                config, reconnEx.getLocalizedMessage(), reconnector.getName(), reconnEx);
-                        reconnector.start();
-                        throw new AppenderLoggingException(
-                                String.format("Error sending to %s for %s", getName(), config), causeEx);
-                    }
-                    try {
-                        writeAndFlush(bytes, offset, length, immediateFlush);
-                    } catch (final IOException e) {
-                        throw new AppenderLoggingException(
-                                String.format("Error writing to %s after reestablishing connection for %s", getName(),
-                                        config),
-                                causeEx);
-                    }
+        runLocked(this, immediateFlush ? WRITE_AND_FLUSH : WRITE, bytes, null, offset, length);
+    }
+
+    private void writeLocked(final byte[] bytes, final int offset, final int length, final boolean immediateFlush) {
+        try {
+            writeAndFlush(bytes, offset, length, immediateFlush);
+        } catch (final IOException causeEx) {
+            if (retry && reconnector == null) {
+                final String config = inetAddress + ":" + port;
+                reconnector = createReconnector();
+                try {
+                    reconnector.reconnect();
+                } catch (final IOException reconnEx) {
+                    LOGGER.debug("Cannot reestablish socket connection to {}: {}; starting reconnector thread {}",
+                            config, reconnEx.getLocalizedMessage(), reconnector.getName(), reconnEx);
+                    reconnector.start();
+                    throw new AppenderLoggingException(
+                            String.format("Error sending to %s for %s", getName(), config), causeEx);
+                }
+                try {
+                    writeAndFlush(bytes, offset, length, immediateFlush);
+                } catch (final IOException e) {
+                    throw new AppenderLoggingException(
+                            String.format("Error writing to %s after reestablishing connection for %s", getName(),
+                                    config),
+                            causeEx);
                 }
             }
         }
@@ -254,7 +281,11 @@ public class TcpSocketManager extends AbstractSocketManager {
     }
 
     @Override
-    protected synchronized boolean closeOutputStream() {
+    protected boolean closeOutputStream() {
+        return runLocked(this, CLOSE_OUTPUT_STREAM);
+    }
+
+    private boolean closeOutputStreamLocked() {
         final boolean closed = super.closeOutputStream();
         if (reconnector != null) {
             reconnector.shutdown();
@@ -304,11 +335,8 @@ public class TcpSocketManager extends AbstractSocketManager {
 
         private boolean shutdown = false;
 
-        private final Object owner;
-
-        public Reconnector(final OutputStreamManager owner) {
+        public Reconnector() {
             super("TcpSocketManager-Reconnector");
-            this.owner = owner;
         }
 
         public void latch() {
@@ -366,13 +394,8 @@ public class TcpSocketManager extends AbstractSocketManager {
             @SuppressWarnings("resource") // newOS is managed by the enclosing Manager.
             final OutputStream newOS = sock.getOutputStream();
             InetAddress prev = socket != null ? socket.getInetAddress() : null;
-            synchronized (owner) {
-                Closer.closeSilently(getOutputStream());
-                setOutputStream(newOS);
-                socket = sock;
-                reconnector = null;
-                shutdown = true;
-            }
+            runLocked(TcpSocketManager.this, REPLACE_SOCKET, sock, newOS, 0, 0);
+            shutdown = true;
             String type = prev != null && prev.getHostAddress().equals(socketAddress.getAddress().getHostAddress()) ?
                     "reestablished" : "established";
             LOGGER.debug("Connection to {}:{} {}: {}", host, port, type, socket);
@@ -385,7 +408,7 @@ public class TcpSocketManager extends AbstractSocketManager {
     }
 
     private Reconnector createReconnector() {
-        final Reconnector recon = new Reconnector(this);
+        final Reconnector recon = new Reconnector();
         recon.setDaemon(true);
         recon.setPriority(Thread.MIN_PRIORITY);
         return recon;
@@ -96,6 +96,20 @@ public final class Constants {
             // the alternative is to enable GC-free encoding only by default only when using all-async loggers:
             //AsyncLoggerContextSelector.class.getName().equals(PropertiesUtil.getProperties().getStringProperty(LOG4J_CONTEXT_SELECTOR)));
 
+    /**
+     * If {@code true}, managers guard their resources with a {@link java.util.concurrent.locks.ReentrantLock} instead
+     * of synchronizing on themselves. A virtual thread that blocks on I/O while holding a monitor pins its carrier
+     * thread, while one that holds a {@code ReentrantLock} does not, so this mode lets many virtual threads log to
+     * the same file without starving the carrier pool.
+     * <p>
+     * {@code False} by default. Enable by setting system property "log4j2.managerReentrantLock" to "true".
+     * Custom manager subclasses that synchronize on themselves should be reviewed before enabling this mode.
+     * </p>
+     * @since 2.14.0
+     */
+    public static final boolean MANAGER_REENTRANT_LOCK = PropertiesUtil.getProperties().getBooleanProperty(
+            "log4j2.managerReentrantLock", false);
+
     /**
      * Initial StringBuilder size used in RingBuffer LogEvents to store the contents of reusable Messages.
      * <p>
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.BatchAppender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.AppenderRef;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.config.Property;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.appender.ListAppender;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the error appender of an AsyncAppender only receives the events of a batch that were not written.
+ */
+public class AsyncAppenderBatchErrorTest {
+
+    private static final int EVENT_COUNT = 1000;
+
+    /**
+     * Fails on every third event, after the events of the batch before it were written.
+     */
+    private static class PartiallyFailingAppender extends AbstractAppender implements BatchAppender {
+
+        final List<String> written = new ArrayList<>();
+
+        PartiallyFailingAppender() {
+            super("Batch", null, null, false, Property.EMPTY_ARRAY);
+        }
+
+        private static boolean fails(final LogEvent event) {
+            return Integer.parseInt(event.getMessage().getFormattedMessage()) % 3 == 0;
+        }
+
+        @Override
+        public synchronized void append(final LogEvent event) {
+            if (fails(event)) {
+                throw new AppenderLoggingException("failing");
+            }
+            written.add(event.getMessage().getFormattedMessage());
+        }
+
+        @Override
+        public synchronized void append(final List<LogEvent> events) {
+            for (int i = 0; i < events.size(); i++) {
+                if (fails(events.get(i))) {
+                    throw new BatchAppenderLoggingException(i, new IllegalStateException("failing"));
+                }
+                written.add(events.get(i).getMessage().getFormattedMessage());
+            }
+        }
+    }
+
+    @Test
+    public void testErrorAppenderOnlyReceivesEventsNotWritten() {
+        final PartiallyFailingAppender primary = new PartiallyFailingAppender();
+        primary.start();
+        final ListAppender error = new ListAppender("Error");
+        error.start();
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        configuration.addAppender(primary);
+        configuration.addAppender(error);
+        final AsyncAppender async = AsyncAppender.newBuilder()
+                .setName("Async")
+                .setAppenderRefs(new AppenderRef[] {AppenderRef.createAppenderRef("Batch", null, null)})
+                .setErrorRef("Error")
+                .setBufferSize(EVENT_COUNT)
+                .setConfiguration(configuration)
+                .build();
+        async.start();
+        for (int i = 0; i < EVENT_COUNT; i++) {
+            async.append(Log4jLogEvent.newBuilder().setLevel(Level.INFO).setMessage(new SimpleMessage(String.valueOf(i)))
+                    .build());
+        }
+        async.stop(10, TimeUnit.SECONDS);
+
+        final Set<String> written = new HashSet<>(primary.written);
+        assertEquals("no event written twice", primary.written.size(), written.size());
+        final Set<String> reported = new HashSet<>();
+        for (final LogEvent event : error.getEvents()) {
+            final String message = event.getMessage().getFormattedMessage();
+            assertFalse("written event " + message + " sent to the error appender", written.contains(message));
+            assertTrue("event " + message + " sent to the error appender twice", reported.add(message));
+        }
+        assertEquals("every event is either written or reported", EVENT_COUNT, written.size() + reported.size());
+    }
+}
@@ -24,38 +24,41 @@ import org.apache.logging.log4j.junit.LoggerContextRule;
 import org.apache.logging.log4j.test.appender.ListAppender;
 import org.junit.After;
 import org.junit.Before;
-import org.junit.ClassRule;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
 
 import static org.junit.Assert.*;
 
 /**
  *
  */
+@RunWith(Parameterized.class)
 public class AsyncAppenderNoLocationTest {
     private ListAppender app;
 
-    @ClassRule
-    public static LoggerContextRule init = null;
+    @Parameterized.Parameters(name = "{0}")
+    public static Object[] data() {
+        return new String[]{
+            "log4j-asynch-no-location.xml",
+            // the location must not be copied into pooled events or queue slots either
+            "log4j-asynch-no-location-pooled-events.xml",
+            "log4j-asynch-no-location-mpsc.xml"
+        };
+    }
+
+    public AsyncAppenderNoLocationTest(final String configFileName) {
+        init = new LoggerContextRule(configFileName);
+    }
 
-            static {
-                try {
-                    init = new LoggerContextRule("log4j-asynch-no-location.xml");
-                } catch (final Exception ex) {
-                    ex.printStackTrace();
-                }
-            }
+    @Rule
+    public LoggerContextRule init;
 
     @Before
     public void setUp() throws Exception {
-                try {
-                    this.app = (ListAppender) init.getAppender("List");
-                    assertNotNull("No List appender found", app);
-                } catch (final Exception ex) {
-                    System.out.println("init = " + init == null ? "null" : init);
-
-                }
-
+        this.app = (ListAppender) init.getAppender("List");
+        assertNotNull("No List appender found", app);
     }
 
     @After
@@ -71,7 +74,6 @@ public class AsyncAppenderNoLocationTest {
         logger.error("This is a test");
         logger.warn("Hello world!");
         Thread.sleep(100);
-        System.out.println("app = " + app == null ? "null" : app);
         final List<String> list = app.getMessages();
         assertNotNull("No events generated", list);
         assertEquals("Incorrect number of events. Expected 2, got " + list.size(), list.size(), 2);
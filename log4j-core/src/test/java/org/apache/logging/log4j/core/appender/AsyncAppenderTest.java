@@ -49,11 +49,14 @@ public class AsyncAppenderTest {
         return new String[]{
             // default async config uses array blocking queue
             "log4j-asynch.xml",
+            // copies events into pooled MutableLogEvents instead of creating mementos
+            "log4j-asynch-pooled-events.xml",
             // override default blocking queue implementations
             "BlockingQueueFactory-ArrayBlockingQueue.xml",
             "BlockingQueueFactory-DisruptorBlockingQueue.xml",
             "BlockingQueueFactory-JCToolsBlockingQueue.xml",
-            "BlockingQueueFactory-LinkedTransferQueue.xml"
+            "BlockingQueueFactory-LinkedTransferQueue.xml",
+            "BlockingQueueFactory-MpscLogEventQueue.xml"
         };
     }
 
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Tests the batching mode of the HttpAppender against an embedded HTTP server.
+ */
+public class HttpAppenderBatchingTest {
+
+    private HttpServer server;
+    private final BlockingQueue<Request> requests = new LinkedBlockingQueue<>();
+    // the number of requests to fail with a server error before succeeding
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private static final class Request {
+        private final String body;
+        private final String contentEncoding;
+        private final int remotePort;
+
+        Request(final String body, final String contentEncoding, final int remotePort) {
+            this.body = body;
+            this.contentEncoding = contentEncoding;
+            this.remotePort = remotePort;
+        }
+    }
+
+    @Before
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/logs", new HttpHandler() {
+            @Override
+            public void handle(final HttpExchange exchange) throws IOException {
+                final String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+                InputStream in = exchange.getRequestBody();
+                if ("gzip".equals(contentEncoding)) {
+                    in = new GZIPInputStream(in);
+                }
+                final ByteArrayOutputStream body = new ByteArrayOutputStream();
+                final byte[] buffer = new byte[1024];
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    body.write(buffer, 0, n);
+                }
+                if (failures.getAndDecrement() > 0) {
+                    exchange.sendResponseHeaders(500, -1);
+                } else {
+                    requests.add(new Request(new String(body.toByteArray(), StandardCharsets.UTF_8), contentEncoding,
+                            exchange.getRemoteAddress().getPort()));
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                exchange.close();
+            }
+        });
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    private HttpAppender.Builder<?> newBuilder(final String pattern) throws IOException {
+        final DefaultConfiguration configuration = new DefaultConfiguration();
+        return HttpAppender.newBuilder().setName("Http").setConfiguration(configuration)
+                .setLayout(PatternLayout.newBuilder().withPattern(pattern).withConfiguration(configuration).build())
+                .setUrl(new URL("http://localhost:" + server.getAddress().getPort() + "/logs"));
+    }
+
+    private static Log4jLogEvent createLogEvent(final String message) {
+        return Log4jLogEvent.newBuilder().setLoggerName("HttpAppenderBatchingTest")
+                .setLoggerFqcn(HttpAppenderBatchingTest.class.getName()).setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message)).build();
+    }
+
+    @Test
+    public void testBatchSizeAndConnectionReuse() throws Exception {
+        final HttpAppender appender = newBuilder("%m%n").setBatchSize(3).setLingerMillis(60000).build();
+        for (int i = 0; i < 6; i++) {
+            appender.append(createLogEvent("m" + i));
+        }
+        final Request first = requests.poll(5, TimeUnit.SECONDS);
+        final Request second = requests.poll(5, TimeUnit.SECONDS);
+        assertNotNull(first);
+        assertNotNull(second);
+        assertEquals("m0\nm1\nm2\n", first.body);
+        assertEquals("m3\nm4\nm5\n", second.body);
+        assertEquals("keep-alive connection reused", first.remotePort, second.remotePort);
+        appender.stop(5, TimeUnit.SECONDS);
+        assertNull(requests.poll());
+    }
+
+    @Test
+    public void testLingerSendsCompressedJsonArray() throws Exception {
+        final HttpAppender appender = newBuilder("{\"m\":\"%m\"}%n").setBatchSize(100).setLingerMillis(50)
+                .setBatchFormat(BatchingHttpURLConnectionManager.BatchFormat.JSON_ARRAY).setCompress(true).build();
+        appender.append(createLogEvent("a"));
+        appender.append(createLogEvent("b"));
+        final Request request = requests.poll(5, TimeUnit.SECONDS);
+        assertNotNull("sent after the linger time", request);
+        assertEquals("gzip", request.contentEncoding);
+        assertEquals("[{\"m\":\"a\"},{\"m\":\"b\"}]", request.body);
+        appender.stop(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testRetryAndFlushOnStop() throws Exception {
+        failures.set(1);
+        final HttpAppender appender = newBuilder("%m").setBatchSize(10).setLingerMillis(60000).setMaxRetries(2)
+                .setRetryBackoffMillis(10).build();
+        appender.append(createLogEvent("x"));
+        appender.append(createLogEvent("y"));
+        assertNull(requests.poll());
+        appender.stop(5, TimeUnit.SECONDS);
+        final Request request = requests.poll(5, TimeUnit.SECONDS);
+        assertNotNull("sent on stop, after a retry", request);
+        assertEquals("x\ny\n", request.body);
+    }
+
+    @Test
+    public void testFailedBatchIsSpilledAndReplayed() throws Exception {
+        final Path directory = Files.createTempDirectory("spill");
+        failures.set(1);
+        final HttpAppender appender = newBuilder("%m%n").setBatchSize(1).setMaxRetries(0)
+                .setSpillBuffer(SpillBufferConfiguration.newBuilder().setDirectory(directory.toString())
+                        .setSegmentSize("1 KB").build())
+                .build();
+        try {
+            appender.append(createLogEvent("a"));
+            appender.append(createLogEvent("b"));
+            final Request first = requests.poll(5, TimeUnit.SECONDS);
+            final Request second = requests.poll(5, TimeUnit.SECONDS);
+            assertNotNull(first);
+            assertNotNull("spilled batch replayed after the next success", second);
+            assertEquals("b\n", first.body);
+            assertEquals("a\n", second.body);
+        } finally {
+            appender.stop(5, TimeUnit.SECONDS);
+            final String[] names = directory.toFile().list();
+            if (names != null) {
+                for (final String name : names) {
+                    Files.deleteIfExists(directory.resolve(name));
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.apache.logging.log4j.core.appender;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.BufferedReader;
@@ -64,6 +65,41 @@ public class MemoryMappedFileManagerTest {
         }
     }
 
+    @Test
+    public void testPreMapNextRegion() throws IOException {
+        final int mapSize = 64; // very small, on purpose
+        final File file = File.createTempFile("log4j2", "test");
+        file.deleteOnExit();
+
+        long expectedLength = 0;
+        final MemoryMappedFileManager manager = MemoryMappedFileManager.getFileManager(file.getAbsolutePath(),
+                false, false, mapSize, 0.75f, null, null);
+        try {
+            assertEquals(0.75f, manager.getPreMapThreshold(), 0);
+            byte[] msg;
+            for (int i = 0; i < 1000; i++) {
+                msg = ("Message " + i + "\n").getBytes();
+                manager.write(msg, 0, msg.length, false);
+                expectedLength += msg.length;
+            }
+            assertTrue("remapped", manager.getRemapCount() > 0);
+            assertTrue("remap time", manager.getRemapTimeNanos() > 0);
+        } finally {
+            manager.close();
+        }
+        assertEquals("truncated to the written length", expectedLength, file.length());
+
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            String line = reader.readLine();
+            for (int i = 0; i < 1000; i++) {
+                assertNotNull("line", line);
+                assertEquals("line incorrect", "Message " + i, line);
+                line = reader.readLine();
+            }
+            assertNull("no trailing content", line);
+        }
+    }
+
     @Test
     public void testAppendDoesNotOverwriteExistingFile() throws IOException {
         final File file = File.createTempFile("log4j2", "test");
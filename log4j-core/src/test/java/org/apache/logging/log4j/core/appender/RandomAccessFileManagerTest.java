@@ -21,6 +21,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
 import org.apache.logging.log4j.core.util.NullOutputStream;
 import org.junit.ClassRule;
@@ -115,6 +118,26 @@ public class RandomAccessFileManagerTest {
             assertEquals(size, raf.length()); // all data written to file now
         }}
 
+    @Test
+    public void testWrite_directBuffer() throws IOException {
+        final File file = folder.newFile();
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            final OutputStream os = NullOutputStream.getInstance();
+            final int bufferSize = 16;
+            final RandomAccessFileManager manager = new RandomAccessFileManager(null, raf, file.getName(),
+                    os, ByteBuffer.allocateDirect(bufferSize), null, null, true);
+
+            manager.write("0123456789".getBytes(StandardCharsets.US_ASCII));
+            assertEquals("buffered", 0, raf.length());
+            // exceeds the buffer: buffered and new bytes are written together
+            manager.write("abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII));
+            assertEquals(36, raf.length());
+            manager.write("ABC".getBytes(StandardCharsets.US_ASCII));
+            manager.flush();
+            assertEquals("0123456789abcdefghijklmnopqrstuvwxyzABC",
+                    new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII));
+        }}
+
     @Test
     public void testAppendDoesNotOverwriteExistingFile() throws IOException {
         final boolean isAppend = true;
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.logging.log4j.core.appender.SpillBuffer.OverflowPolicy;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link SpillBuffer}.
+ */
+public class SpillBufferTest {
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("spill");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        final File[] files = directory.toFile().listFiles();
+        if (files != null) {
+            for (final File file : files) {
+                Files.deleteIfExists(file.toPath());
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    private static boolean append(final SpillBuffer buffer, final String record) {
+        final byte[] bytes = record.getBytes(StandardCharsets.UTF_8);
+        return buffer.append(bytes, 0, bytes.length);
+    }
+
+    private static String take(final SpillBuffer buffer) {
+        final ByteBuffer record = buffer.peek();
+        if (record == null) {
+            return null;
+        }
+        final byte[] bytes = new byte[record.remaining()];
+        record.get(bytes);
+        buffer.remove();
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int countFiles() {
+        final String[] names = directory.toFile().list();
+        return names == null ? 0 : names.length;
+    }
+
+    @Test
+    public void testRecordsComeOutInOrderAcrossSegments() throws Exception {
+        // a 64 byte segment holds four of these records
+        try (final SpillBuffer buffer = new SpillBuffer(directory, "test", 64, 1024, OverflowPolicy.DROP_NEWEST)) {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(append(buffer, "record-" + i));
+            }
+            assertEquals(10, buffer.getPendingRecords());
+            assertEquals(3, countFiles());
+            for (int i = 0; i < 10; i++) {
+                assertEquals("record-" + i, take(buffer));
+            }
+            assertNull(buffer.peek());
+            assertTrue(buffer.isEmpty());
+            assertEquals(1, countFiles());
+        }
+        assertEquals(0, countFiles());
+    }
+
+    @Test
+    public void testRecordsSurviveReopening() throws Exception {
+        try (final SpillBuffer buffer = new SpillBuffer(directory, "test", 64, 1024, OverflowPolicy.DROP_NEWEST)) {
+            for (int i = 0; i < 5; i++) {
+                append(buffer, "record-" + i);
+            }
+            assertEquals("record-0", take(buffer));
+        }
+        try (final SpillBuffer buffer = new SpillBuffer(directory, "test", 64, 1024, OverflowPolicy.DROP_NEWEST)) {
+            assertEquals(4, buffer.getPendingRecords());
+            for (int i = 1; i < 5; i++) {
+                assertEquals("record-" + i, take(buffer));
+            }
+            assertTrue(append(buffer, "record-5"));
+            assertEquals("record-5", take(buffer));
+        }
+        try (final SpillBuffer buffer = new SpillBuffer(directory, "other", 64, 1024, OverflowPolicy.DROP_NEWEST)) {
+            assertTrue(buffer.isEmpty());
+        }
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        // two segments of one record each
+        try (final SpillBuffer buffer = new SpillBuffer(directory, "test", 24, 48, OverflowPolicy.DROP_NEWEST)) {
+            assertTrue(append(buffer, "record-0"));
+            assertTrue(append(buffer, "record-1"));
+            assertFalse(append(buffer, "record-2"));
+            assertEquals(1, buffer.getDroppedRecords());
+            assertEquals("record-0", take(buffer));
+            assertEquals("record-1", take(buffer));
+        }
+    }
+
+    @Test
+    public void testDropOldest() throws Exception {
+        try (final SpillBuffer buffer = new SpillBuffer(directory, "test", 24, 48, OverflowPolicy.DROP_OLDEST)) {
+            assertTrue(append(buffer, "record-0"));
+            assertTrue(append(buffer, "record-1"));
+            assertTrue(append(buffer, "record-2"));
+            assertEquals(1, buffer.getDroppedRecords());
+            assertEquals("record-1", take(buffer));
+            assertEquals("record-2", take(buffer));
+        }
+    }
+
+    @Test
+    public void testRecordLargerThanSegmentIsDropped() throws Exception {
+        try (final SpillBuffer buffer = new SpillBuffer(directory, "test", 24, 48, OverflowPolicy.DROP_OLDEST)) {
+            assertFalse(append(buffer, "a record that does not fit in a segment"));
+            assertEquals(1, buffer.getDroppedRecords());
+            assertTrue(buffer.isEmpty());
+        }
+    }
+}
@@ -43,10 +43,12 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.categories.Appenders;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.junit.LoggerContextRule;
 import org.apache.logging.log4j.message.SimpleMessage;
 import org.apache.logging.log4j.util.FilteredObjectInputStream;
+import org.apache.logging.log4j.util.StringMap;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Rule;
@@ -183,6 +185,37 @@ public class KafkaAppenderTest {
 		assertEquals(LOG_MESSAGE, new String(item.value(), StandardCharsets.UTF_8));
 	}
 
+	@Test
+	public void testAppendWithEventKeyLookup() throws Exception {
+		final Appender appender = ctx.getRequiredAppender("KafkaAppenderWithEventKeyLookup");
+		final StringMap contextData = ContextDataFactory.createContextData();
+		contextData.putValue("user", "alice");
+		appender.append(createLogEvent());
+		appender.append(new Log4jLogEvent.Builder(createLogEvent()).setContextData(contextData).build());
+		appender.append(new Log4jLogEvent.Builder(createLogEvent()).setContextData(contextData).build());
+		final List<ProducerRecord<byte[], byte[]>> history = kafka.history();
+		assertEquals(3, history.size());
+		assertEquals("user-nobody", new String(history.get(0).key(), StandardCharsets.UTF_8));
+		assertEquals("user-alice", new String(history.get(1).key(), StandardCharsets.UTF_8));
+		assertEquals("user-alice", new String(history.get(2).key(), StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testAppendWithBatchSize() throws Exception {
+		final Appender appender = ctx.getRequiredAppender("KafkaAppenderWithBatchSize");
+		for (int i = 0; i < 5; i++) {
+			appender.append(new Log4jLogEvent.Builder(createLogEvent()).setMessage(new SimpleMessage("message " + i))
+					.setEndOfBatch(i == 4).build());
+		}
+		final List<ProducerRecord<byte[], byte[]>> history = kafka.history();
+		assertEquals(5, history.size());
+		for (int i = 0; i < 5; i++) {
+			assertEquals(TOPIC_NAME, history.get(i).topic());
+			assertNull(history.get(i).key());
+			assertEquals("message " + i, new String(history.get(i).value(), StandardCharsets.UTF_8));
+		}
+	}
+
 	@Test
 	public void testAppendWithRetryCount() {
 		try {
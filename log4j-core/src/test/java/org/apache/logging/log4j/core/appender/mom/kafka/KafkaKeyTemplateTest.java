@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+
+package org.apache.logging.log4j.core.appender.mom.kafka;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.nio.charset.StandardCharsets;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.lookup.ContextMapLookup;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.util.StringMap;
+import org.junit.Test;
+
+public class KafkaKeyTemplateTest {
+
+	private final StrSubstitutor substitutor = new StrSubstitutor(new ContextMapLookup());
+
+	private static LogEvent createLogEvent(final String... keyValues) {
+		final StringMap contextData = ContextDataFactory.createContextData();
+		for (int i = 0; i < keyValues.length; i += 2) {
+			contextData.putValue(keyValues[i], keyValues[i + 1]);
+		}
+		return Log4jLogEvent.newBuilder().setContextData(contextData).build();
+	}
+
+	private static String toString(final byte[] bytes) {
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void testNullTemplate() {
+		assertNull(new KafkaKeyTemplate(null, substitutor).toBytes(createLogEvent()));
+	}
+
+	@Test
+	public void testConstantTemplateIsEncodedOnce() {
+		final KafkaKeyTemplate template = new KafkaKeyTemplate("key", substitutor);
+		final byte[] key = template.toBytes(createLogEvent());
+		assertArrayEquals("key".getBytes(StandardCharsets.UTF_8), key);
+		assertSame(key, template.toBytes(createLogEvent()));
+	}
+
+	@Test
+	public void testVariablesResolveAgainstEvent() {
+		final KafkaKeyTemplate template = new KafkaKeyTemplate("${tenant}/${user:-nobody}.", substitutor);
+		assertEquals("acme/alice.", toString(template.toBytes(createLogEvent("tenant", "acme", "user", "alice"))));
+		assertEquals("acme/nobody.", toString(template.toBytes(createLogEvent("tenant", "acme"))));
+		assertEquals("${tenant}/nobody.", toString(template.toBytes(createLogEvent())));
+	}
+
+	@Test
+	public void testRepeatedKeyReusesBytes() {
+		final KafkaKeyTemplate template = new KafkaKeyTemplate("user-${user}", substitutor);
+		final byte[] first = template.toBytes(createLogEvent("user", "alice"));
+		assertSame(first, template.toBytes(createLogEvent("user", "alice")));
+		assertEquals("user-bob", toString(template.toBytes(createLogEvent("user", "bob"))));
+	}
+
+	@Test
+	public void testComplexTemplateFallsBackToSubstitutor() {
+		final KafkaKeyTemplate escaped = new KafkaKeyTemplate("$${user}", substitutor);
+		assertEquals("${user}", toString(escaped.toBytes(createLogEvent("user", "alice"))));
+		final KafkaKeyTemplate nested = new KafkaKeyTemplate("${${field}}", substitutor);
+		assertEquals("alice", toString(nested.toBytes(createLogEvent("field", "user", "user", "alice"))));
+		final KafkaKeyTemplate recursive = new KafkaKeyTemplate("${alias}", substitutor);
+		assertEquals("alice", toString(recursive.toBytes(createLogEvent("alias", "${user}", "user", "alice"))));
+	}
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.junit.LoggerContextRule;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.RuleChain;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the DirectWriteRolloverStrategy compressing the active file while it is written.
+ */
+public class RollingAppenderDirectWriteCompressOnWriteTest {
+
+    private static final String CONFIG = "log4j-rolling-direct-compress-on-write.xml";
+
+    private static final String DIR = "target/rolling-direct-compress-on-write";
+
+    public static LoggerContextRule loggerContextRule = LoggerContextRule.createShutdownTimeoutLoggerContextRule(CONFIG);
+
+    @Rule
+    public RuleChain chain = loggerContextRule.withCleanFoldersRule(DIR);
+
+    private Logger logger;
+
+    @Before
+    public void setUp() throws Exception {
+        this.logger = loggerContextRule.getLogger(RollingAppenderDirectWriteCompressOnWriteTest.class.getName());
+    }
+
+    @Test
+    public void testAppender() throws Exception {
+        final RollingFileManager manager = loggerContextRule.getRequiredAppender("RollingFile",
+                RollingFileAppender.class).getManager();
+        assertTrue("Active file should keep its extension", manager.getFileName().endsWith(".log.gz"));
+
+        final int count = 1000;
+        for (int i = 0; i < count; ++i) {
+            logger.debug("This is test message number " + i);
+        }
+        // closing the files writes their last block
+        assertTrue(loggerContextRule.getLoggerContext().stop(30, TimeUnit.SECONDS));
+
+        final File dir = new File(DIR);
+        final File[] files = dir.listFiles();
+        assertNotNull(files);
+        assertTrue("Expected several files, found " + files.length, files.length > 1);
+        int found = 0;
+        for (final File file : files) {
+            assertTrue("Uncompressed file " + file, file.getName().endsWith(".log.gz"));
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new GZIPInputStream(new FileInputStream(file))))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    assertTrue("Unexpected line in " + file + ": " + line, line.contains("This is test message number"));
+                    ++found;
+                }
+            }
+        }
+        assertEquals("Incorrect number of events read", count, found);
+    }
+}
@@ -87,6 +87,8 @@ public class RollingAppenderSizeTest {
                {"log4j-rolling-pack200.xml", ".pack200", false},
                {"log4j-rolling-xz-lazy.xml", ".xz", true},
                {"log4j-rolling-xz.xml", ".xz", false},
+               {"log4j-rolling-zst.xml", ".zst", false},
+               {"log4j-rolling-lz4.xml", ".lz4", false},
                 });
                 // @formatter:on
     }
@@ -148,7 +150,9 @@ public class RollingAppenderSizeTest {
                 CompressorInputStream in = null;
                 try (FileInputStream fis = new FileInputStream(file)) {
                     try {
-                        in = new CompressorStreamFactory().createCompressorInputStream(ext.name().toLowerCase(), fis);
+                        final String name = FileExtension.LZ4 == ext
+                                ? CompressorStreamFactory.LZ4_FRAMED : ext.name().toLowerCase();
+                        in = new CompressorStreamFactory().createCompressorInputStream(name, fis);
                     } catch (final CompressorException ce) {
                         ce.printStackTrace();
                         fail("Error creating input stream from " + file.toString() + ": " + ce.getMessage());
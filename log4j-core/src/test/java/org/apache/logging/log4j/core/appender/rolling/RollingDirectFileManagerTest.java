@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.apache.logging.log4j.core.appender.AlignedBlockWriter;
+import org.apache.logging.log4j.core.util.NullOutputStream;
+import org.apache.logging.log4j.util.Strings;
+import org.junit.Test;
+
+/**
+ * Tests the RollingDirectFileManager class.
+ */
+public class RollingDirectFileManagerTest {
+
+    private static RollingDirectFileManager createManager(final File file, final boolean append, final int bufferSize)
+            throws IOException {
+        final AlignedBlockWriter writer = new AlignedBlockWriter(file.toPath(), bufferSize, true);
+        writer.open(file.toPath(), append);
+        final TriggeringPolicy triggerPolicy = new SizeBasedTriggeringPolicy(Long.MAX_VALUE);
+        return new RollingDirectFileManager(null, writer, file.getPath(), Strings.EMPTY,
+                NullOutputStream.getInstance(), append, writer.getLength(), System.currentTimeMillis(),
+                triggerPolicy, null, null, null, null, null, null);
+    }
+
+    @Test
+    public void testFlushPadsTailBlockAndCloseTruncates() throws IOException {
+        final File file = File.createTempFile("log4j2", "test");
+        file.deleteOnExit();
+        final RollingDirectFileManager manager = createManager(file, false, 1);
+        final int blockSize = manager.getBlockSize();
+        assertEquals(blockSize, manager.getBufferSize());
+
+        manager.write("0123456789".getBytes(StandardCharsets.US_ASCII), 0, 10, true);
+        assertEquals(blockSize, file.length());
+        manager.write("abcde".getBytes(StandardCharsets.US_ASCII), 0, 5, true);
+        assertEquals(blockSize, file.length());
+        assertEquals(15, manager.getFileSize());
+
+        assertTrue(manager.closeOutputStream());
+        assertEquals("0123456789abcde", new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testAppendContinuesPartialBlock() throws IOException {
+        final File file = File.createTempFile("log4j2", "test");
+        file.deleteOnExit();
+        Files.write(file.toPath(), "abc".getBytes(StandardCharsets.US_ASCII));
+
+        final RollingDirectFileManager manager = createManager(file, true, 1);
+        assertEquals(3, manager.getFileSize());
+        manager.write("def".getBytes(StandardCharsets.US_ASCII), 0, 3, false);
+        assertTrue(manager.closeOutputStream());
+        assertEquals("abcdef", new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII));
+    }
+
+    @Test
+    public void testWriteExceedingBufferSize() throws IOException {
+        final File file = File.createTempFile("log4j2", "test");
+        file.deleteOnExit();
+        final RollingDirectFileManager manager = createManager(file, false, 1);
+        final int size = manager.getBufferSize() * 3 + 7;
+        final byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        manager.write(data, 0, size, false);
+        // only whole blocks are written until the manager is flushed
+        assertEquals(manager.getBufferSize() * 3, file.length());
+        assertEquals(size, manager.getFileSize());
+
+        assertTrue(manager.closeOutputStream());
+        assertArrayEquals(data, Files.readAllBytes(file.toPath()));
+        assertEquals(0, manager.getByteBuffer().capacity());
+
+        // the next write opens the file again, as after a rollover
+        manager.write(data, 1, 2, true);
+        assertTrue(manager.closeOutputStream());
+        assertArrayEquals(Arrays.copyOfRange(data, 1, 3), Files.readAllBytes(file.toPath()));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import org.apache.logging.log4j.core.BasicConfigurationFactory;
+import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
+import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.CompositeAction;
+import org.apache.logging.log4j.core.appender.rolling.action.DeleteAction;
+import org.apache.logging.log4j.core.appender.rolling.action.FileRenameAction;
+import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.IfAccumulatedFileCount;
+import org.apache.logging.log4j.core.appender.rolling.action.PathCondition;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link RolloverExecutor}.
+ */
+public class RolloverExecutorTest {
+
+    @Test
+    public void testGetPriority() {
+        final Configuration config = new BasicConfigurationFactory().new BasicConfiguration();
+        final Action delete = DeleteAction.createDeleteAction("target", false, 1, true, null,
+                new PathCondition[] {IfAccumulatedFileCount.createFileCountCondition(1)}, null, config);
+        final Action compress = new GzCompressAction(new File("a"), new File("a.gz"), true,
+                Deflater.DEFAULT_COMPRESSION);
+        final Action rename = new FileRenameAction(new File("a"), new File("b"), true);
+
+        assertEquals(RolloverExecutor.PRIORITY_DELETE, RolloverExecutor.getPriority(delete));
+        assertEquals(RolloverExecutor.PRIORITY_COMPRESS, RolloverExecutor.getPriority(compress));
+        assertEquals(RolloverExecutor.PRIORITY_DEFAULT, RolloverExecutor.getPriority(rename));
+        assertEquals(RolloverExecutor.PRIORITY_DELETE, RolloverExecutor.getPriority(
+                new CompositeAction(Collections.singletonList(delete), false)));
+        assertEquals(RolloverExecutor.PRIORITY_COMPRESS, RolloverExecutor.getPriority(
+                new CompositeAction(Arrays.asList(compress, delete), false)));
+    }
+
+    @Test
+    public void testRunsDeletesBeforeCompressions() throws InterruptedException {
+        final RolloverExecutor executor = new RolloverExecutor("test", 1);
+        final List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(5);
+
+        // occupy the only thread so that the following actions are queued
+        executor.execute(new RecordingAction("first", order, blocked, done), RolloverExecutor.PRIORITY_COMPRESS);
+        executor.execute(new RecordingAction("compress1", order, null, done), RolloverExecutor.PRIORITY_COMPRESS);
+        executor.execute(new RecordingAction("rename", order, null, done), RolloverExecutor.PRIORITY_DEFAULT);
+        executor.execute(new RecordingAction("compress2", order, null, done), RolloverExecutor.PRIORITY_COMPRESS);
+        executor.execute(new RecordingAction("delete", order, null, done), RolloverExecutor.PRIORITY_DELETE);
+        assertEquals(4, executor.getQueueSize());
+        blocked.countDown();
+
+        assertTrue("Actions did not complete", done.await(10, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList("first", "delete", "rename", "compress1", "compress2"), order);
+        assertEquals(5, executor.getDurationNanos().getCount());
+        assertEquals(5, executor.getWaitNanos().getCount());
+        assertEquals(3, executor.getQueueDepth().getMax());
+    }
+
+    private static class RecordingAction extends AbstractAction {
+
+        private final String name;
+        private final List<String> order;
+        private final CountDownLatch blocked;
+        private final CountDownLatch done;
+
+        RecordingAction(final String name, final List<String> order, final CountDownLatch blocked,
+                final CountDownLatch done) {
+            this.name = name;
+            this.order = order;
+            this.blocked = blocked;
+            this.done = done;
+        }
+
+        @Override
+        public boolean execute() throws IOException {
+            try {
+                if (blocked != null) {
+                    blocked.await();
+                }
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            order.add(name);
+            done.countDown();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import org.apache.logging.log4j.core.LogEvent;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the thresholds {@link RollingFileManager#checkRollover(LogEvent)} compares without taking the lock.
+ */
+public class ThresholdTriggeringPolicyTest {
+
+    @Test
+    public void testSizeBasedPolicyThresholds() {
+        final SizeBasedTriggeringPolicy policy = SizeBasedTriggeringPolicy.createPolicy("1 KB");
+        assertEquals(1024, policy.getSizeThreshold());
+        assertEquals(Long.MAX_VALUE, policy.getTimeThreshold());
+    }
+
+    @Test
+    public void testNeverTriggeringPolicyThresholds() {
+        assertEquals(Long.MAX_VALUE, NoOpTriggeringPolicy.INSTANCE.getSizeThreshold());
+        assertEquals(Long.MAX_VALUE, NoOpTriggeringPolicy.INSTANCE.getTimeThreshold());
+    }
+
+    @Test
+    public void testCompositePolicyUsesLowestThresholds() {
+        final CompositeTriggeringPolicy policy = CompositeTriggeringPolicy.createPolicy(
+                SizeBasedTriggeringPolicy.createPolicy("2 KB"), NoOpTriggeringPolicy.INSTANCE,
+                SizeBasedTriggeringPolicy.createPolicy("1 KB"));
+        assertEquals(1024, policy.getSizeThreshold());
+        assertEquals(Long.MAX_VALUE, policy.getTimeThreshold());
+    }
+
+    @Test
+    public void testCompositePolicyChecksEveryEventWithUnknownPolicy() {
+        final TriggeringPolicy custom = new AbstractTriggeringPolicy() {
+            @Override
+            public void initialize(final RollingFileManager manager) {
+                // nothing to do
+            }
+
+            @Override
+            public boolean isTriggeringEvent(final LogEvent logEvent) {
+                return false;
+            }
+        };
+        final CompositeTriggeringPolicy policy = CompositeTriggeringPolicy.createPolicy(
+                SizeBasedTriggeringPolicy.createPolicy("1 KB"), custom);
+        assertTrue(policy.getSizeThreshold() < 0);
+        assertEquals(Long.MIN_VALUE, policy.getTimeThreshold());
+    }
+}
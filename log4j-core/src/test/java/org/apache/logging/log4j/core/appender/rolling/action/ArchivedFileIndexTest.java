@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.logging.log4j.core.BasicConfigurationFactory;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the {@code ArchivedFileIndex} class.
+ */
+public class ArchivedFileIndexTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Path createFile(final File dir, final String name, final int size, final long modified)
+            throws IOException {
+        final Path path = new File(dir, name).toPath();
+        Files.write(path, new byte[size]);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(modified));
+        return path;
+    }
+
+    private static ArchivedFileIndex getIndex(final File dir, final Path indexFile) {
+        return ArchivedFileIndex.getIndex(dir.toPath(), Collections.<FileVisitOption> emptySet(), 1, indexFile);
+    }
+
+    @Test
+    public void testInitialScanAndIncrementalUpdates() throws IOException {
+        final File dir = folder.newFolder();
+        final Path first = createFile(dir, "app-1.log", 10, 1000000L);
+        final Path second = createFile(dir, "app-2.log", 20, 2000000L);
+        final ArchivedFileIndex index = getIndex(dir, null);
+        assertEquals(2, index.size());
+
+        final Path third = createFile(dir, "app-3.log", 30, 3000000L);
+        assertEquals("New files are only indexed when reported", 2, index.size());
+        ArchivedFileIndex.fileArchived(third);
+        final List<PathWithAttributes> paths = index.getSortedPaths(new PathSortByModificationTime(true));
+        assertEquals(3, paths.size());
+        assertEquals(third.toAbsolutePath(), paths.get(0).getPath());
+        assertEquals(30, paths.get(0).getAttributes().size());
+        assertEquals(first.toAbsolutePath(), paths.get(2).getPath());
+
+        Files.delete(second);
+        ArchivedFileIndex.fileDeleted(second);
+        assertEquals(2, index.getSortedPaths(new PathSortByModificationTime(true)).size());
+
+        ArchivedFileIndex.fileArchived(folder.newFile("outside.log").toPath());
+        assertEquals("Files outside the base path are ignored", 2,
+                index.getSortedPaths(new PathSortByModificationTime(true)).size());
+    }
+
+    @Test
+    public void testIndexIsPersisted() throws IOException {
+        final File dir = folder.newFolder();
+        final Path indexFile = new File(folder.getRoot(), "index.txt").toPath();
+        createFile(dir, "app-1.log", 10, 1000000L);
+        createFile(dir, "app-2.log", 20, 2000000L);
+        getIndex(dir, indexFile);
+        assertTrue("Index file should have been written", Files.exists(indexFile));
+
+        // the same directory with a different depth is a different index, which must be loaded from the file
+        final File unindexed = new File(dir, "app-3.log");
+        createFile(dir, unindexed.getName(), 30, 3000000L);
+        final ArchivedFileIndex loaded = ArchivedFileIndex.getIndex(dir.toPath(),
+                Collections.<FileVisitOption> emptySet(), 2, indexFile);
+        final List<PathWithAttributes> paths = loaded.getSortedPaths(new PathSortByModificationTime(false));
+        assertEquals(2, paths.size());
+        assertEquals(10, paths.get(0).getAttributes().size());
+        assertEquals(2000000L, paths.get(1).getAttributes().lastModifiedTime().toMillis());
+
+        loaded.rescan();
+        assertEquals(3, loaded.size());
+    }
+
+    @Test
+    public void testDeleteActionUsesIndex() throws IOException {
+        final File dir = folder.newFolder();
+        for (int i = 1; i <= 5; i++) {
+            createFile(dir, "app-" + i + ".log", i, i * 1000000L);
+        }
+        final Configuration config = new BasicConfigurationFactory().new BasicConfiguration();
+        final PathCondition[] conditions = {IfAccumulatedFileCount.createFileCountCondition(3)};
+        final DeleteAction delete = DeleteAction.createDeleteAction(dir.getPath(), false, 1, false, null, conditions,
+                null, true, null, config);
+        assertTrue(delete.isUseIndex());
+        assertTrue(delete.execute());
+
+        assertTrue(new File(dir, "app-5.log").exists());
+        assertTrue(new File(dir, "app-4.log").exists());
+        assertTrue(new File(dir, "app-3.log").exists());
+        assertFalse(new File(dir, "app-2.log").exists());
+        assertFalse(new File(dir, "app-1.log").exists());
+        assertEquals("Deleted files are removed from the index", 3, delete.getArchivedFileIndex().size());
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests ParallelGzCompressAction.
+ */
+public class ParallelGzCompressActionTest {
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructorDisallowsNullSource() {
+        new ParallelGzCompressAction(null, new File("any"), true, Deflater.DEFAULT_COMPRESSION, 2, 1024);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorDisallowsZeroThreads() {
+        new ParallelGzCompressAction(new File("any"), new File("any2"), true, Deflater.DEFAULT_COMPRESSION, 0, 1024);
+    }
+
+    @Test
+    public void testExecuteReturnsFalseIfSourceDoesNotExist() throws IOException {
+        File source = new File("any");
+        while (source.exists()) {
+            source = new File(source.getName() + Math.random());
+        }
+        final boolean actual = ParallelGzCompressAction.execute(source, new File("any2"), true,
+                Deflater.DEFAULT_COMPRESSION, 2, 1024);
+        assertFalse("Cannot compress non-existing file", actual);
+    }
+
+    @Test
+    public void testExecuteCompressesSourceFileToMultiMemberGzip() throws IOException {
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        for (int i = 0; i < 10000; i++) {
+            expected.write(("Here is line " + i + ". Random text: ABCDEFGHIJKLMNOPQRSTUVWXYZ\r\n").getBytes());
+        }
+        final File source = new File("target/parallelgz-compressme");
+        try (FileOutputStream fos = new FileOutputStream(source, false)) {
+            expected.writeTo(fos);
+        }
+        final File destination = new File("target/parallelgz-compressme.gz");
+        destination.delete(); // just in case
+
+        // small blocks so that the file is split into many members compressed out of order
+        final boolean actual = new ParallelGzCompressAction(source, destination, true, Deflater.DEFAULT_COMPRESSION,
+                4, 4096).execute();
+        assertTrue("ParallelGzCompressAction should have succeeded", actual);
+        assertTrue("Destination should exist after ParallelGzCompressAction", destination.exists());
+        assertFalse("Source should have been deleted", source.exists());
+        assertTrue("Destination should be compressed", destination.length() < expected.size());
+
+        assertArrayEquals(expected.toByteArray(), gunzip(destination));
+        destination.delete();
+    }
+
+    @Test
+    public void testExecuteCompressesEmptyFile() throws IOException {
+        final File source = new File("target/parallelgz-empty");
+        new FileOutputStream(source, false).close();
+        final File destination = new File("target/parallelgz-empty.gz");
+        destination.delete(); // just in case
+
+        assertTrue(ParallelGzCompressAction.execute(source, destination, true, Deflater.DEFAULT_COMPRESSION, 2, 1024));
+        assertEquals(0, gunzip(destination).length);
+        destination.delete();
+    }
+
+    private static byte[] gunzip(final File file) throws IOException {
+        try (InputStream in = new GZIPInputStream(new FileInputStream(file))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            final byte[] buf = new byte[1024];
+            int n;
+            while ((n = in.read(buf)) > -1) {
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.apache.commons.compress.compressors.zstandard.ZstdUtils;
+import org.apache.commons.compress.utils.IOUtils;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests ZstdCompressAction.
+ */
+public class ZstdCompressActionTest {
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructorDisallowsNullSource() {
+        new ZstdCompressAction(null, new File("any"), true, -1, AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorDisallowsZeroBufferSize() {
+        new ZstdCompressAction(new File("any"), new File("any2"), true, -1, 0);
+    }
+
+    @Test
+    public void testOutOfRangeCompressionLevelSelectsDefault() {
+        final File any = new File("any");
+        assertEquals(ZstdCompressAction.DEFAULT_LEVEL,
+                new ZstdCompressAction(any, any, true, 0, 1024).getCompressionLevel());
+        assertEquals(ZstdCompressAction.DEFAULT_LEVEL,
+                new ZstdCompressAction(any, any, true, ZstdCompressAction.MAX_LEVEL + 1, 1024).getCompressionLevel());
+        assertEquals(ZstdCompressAction.MAX_LEVEL,
+                new ZstdCompressAction(any, any, true, ZstdCompressAction.MAX_LEVEL, 1024).getCompressionLevel());
+    }
+
+    @Test
+    public void testExecuteReturnsFalseIfSourceDoesNotExist() throws IOException {
+        assumeTrue(ZstdUtils.isZstdCompressionAvailable());
+        File source = new File("any");
+        while (source.exists()) {
+            source = new File(source.getName() + Math.random());
+        }
+        final boolean actual = new ZstdCompressAction(source, new File("any2"), true, -1,
+                AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE).execute();
+        assertFalse("Cannot compress non-existing file", actual);
+    }
+
+    @Test
+    public void testExecuteCompressesSourceFileToDestinationFile() throws IOException {
+        assumeTrue(ZstdUtils.isZstdCompressionAvailable());
+        final StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            expected.append("Here is line ").append(i).append(". Random text: ABCDEFGHIJKLMNOPQRSTUVWXYZ\r\n");
+        }
+        final File source = new File("target/zstd-compressme");
+        try (FileWriter fw = new FileWriter(source, false)) {
+            fw.write(expected.toString());
+        }
+        final File destination = new File("target/zstd-compressme.zst");
+        destination.delete(); // just in case
+
+        // a buffer smaller than the file, so that it is read in several blocks
+        final boolean actual = new ZstdCompressAction(source, destination, true, 9, 1024).execute();
+        assertTrue("ZstdCompressAction should have succeeded", actual);
+        assertTrue("Destination should exist after ZstdCompressAction", destination.exists());
+        assertFalse("Source should have been deleted", source.exists());
+
+        try (ZstdCompressorInputStream in = new ZstdCompressorInputStream(new FileInputStream(destination))) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            IOUtils.copy(in, out);
+            assertEquals(expected.toString(), new String(out.toByteArray()));
+        }
+        destination.delete();
+    }
+}
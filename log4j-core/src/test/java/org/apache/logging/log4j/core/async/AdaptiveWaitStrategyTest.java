@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.categories.AsyncLoggers;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.lmax.disruptor.EventFactory;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the AdaptiveWaitStrategy class.
+ */
+@Category(AsyncLoggers.class)
+public class AdaptiveWaitStrategyTest {
+
+    private static final EventFactory<long[]> FACTORY = new EventFactory<long[]>() {
+        @Override
+        public long[] newInstance() {
+            return new long[1];
+        }
+    };
+
+    private Disruptor<long[]> disruptor;
+
+    @After
+    public void after() {
+        System.clearProperty("AsyncLogger.WaitStrategy");
+        System.clearProperty("AsyncLogger.AdaptiveSpinRate");
+        PropertiesUtil.getProperties().reload();
+        if (disruptor != null) {
+            disruptor.shutdown();
+        }
+    }
+
+    private RingBuffer<long[]> start(final WaitStrategy waitStrategy, final CountDownLatch latch) {
+        disruptor = new Disruptor<>(FACTORY, 128, new Log4jThreadFactory("AdaptiveWaitStrategyTest", true,
+                Thread.NORM_PRIORITY), ProducerType.MULTI, waitStrategy);
+        disruptor.handleEventsWith(new EventHandler<long[]>() {
+            @Override
+            public void onEvent(final long[] event, final long sequence, final boolean endOfBatch) {
+                latch.countDown();
+            }
+        });
+        return disruptor.start();
+    }
+
+    private static void publish(final RingBuffer<long[]> ringBuffer) {
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence)[0] = sequence;
+        ringBuffer.publish(sequence);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSpinRateMustBePositive() {
+        new AdaptiveWaitStrategy(0, 10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(timeout = 5000)
+    public void testIdleConsumerPassesThroughAllPhasesAndIsSignalled() throws Exception {
+        // 1 ms spin phase, 10 ms yield phase, 1 s park phase; never time out of the blocking phase
+        final AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy(1000, 1, TimeUnit.HOURS);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final RingBuffer<long[]> ringBuffer = start(waitStrategy, latch);
+
+        while (waitStrategy.getBlockTimeNanos() == 0 && waitStrategy.getParkTimeNanos() == 0) {
+            Thread.sleep(100);
+        }
+        Thread.sleep(1100); // let the consumer run out of the park phase and block
+        publish(ringBuffer);
+        assertTrue("blocked consumer was not signalled", latch.await(2, TimeUnit.SECONDS));
+
+        assertTrue(waitStrategy.toString(), waitStrategy.getSpinTimeNanos() >= TimeUnit.MILLISECONDS.toNanos(1));
+        assertTrue(waitStrategy.toString(), waitStrategy.getYieldTimeNanos() > 0);
+        assertTrue(waitStrategy.toString(), waitStrategy.getParkTimeNanos() > 0);
+        assertTrue(waitStrategy.toString(), waitStrategy.getBlockTimeNanos() > 0);
+    }
+
+    @Test(timeout = 5000)
+    public void testConsumerKeepsUpWithBursts() throws Exception {
+        final int count = 10000;
+        final AdaptiveWaitStrategy waitStrategy = new AdaptiveWaitStrategy(AdaptiveWaitStrategy.DEFAULT_SPIN_RATE,
+                10, TimeUnit.MILLISECONDS);
+        final CountDownLatch latch = new CountDownLatch(count);
+        final RingBuffer<long[]> ringBuffer = start(waitStrategy, latch);
+        for (int i = 0; i < count; i++) {
+            publish(ringBuffer);
+            if (i % 1000 == 0) {
+                Thread.sleep(20); // pause long enough for the consumer to block
+            }
+        }
+        assertTrue(latch.await(4, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSelectedByWaitStrategyProperty() {
+        System.setProperty("AsyncLogger.WaitStrategy", "adaptive");
+        System.setProperty("AsyncLogger.AdaptiveSpinRate", "5000");
+        PropertiesUtil.getProperties().reload();
+        final WaitStrategy waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLogger.WaitStrategy");
+        assertTrue(waitStrategy instanceof AdaptiveWaitStrategy);
+        assertEquals(5000, ((AdaptiveWaitStrategy) waitStrategy).getSpinRate());
+    }
+
+    @Test
+    public void testInvalidSpinRateUsesDefault() {
+        System.setProperty("AsyncLogger.WaitStrategy", "Adaptive");
+        System.setProperty("AsyncLogger.AdaptiveSpinRate", "-1");
+        PropertiesUtil.getProperties().reload();
+        final WaitStrategy waitStrategy = DisruptorUtil.createWaitStrategy("AsyncLogger.WaitStrategy");
+        assertEquals(AdaptiveWaitStrategy.DEFAULT_SPIN_RATE, ((AdaptiveWaitStrategy) waitStrategy).getSpinRate());
+        System.setProperty("AsyncLogger.WaitStrategy", "Timeout");
+        PropertiesUtil.getProperties().reload();
+        assertTrue(DisruptorUtil.createWaitStrategy("AsyncLogger.WaitStrategy") instanceof TimeoutBlockingWaitStrategy);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.categories.AsyncLoggers;
+import org.apache.logging.log4j.core.jmx.RingBufferAdmin;
+import org.apache.logging.log4j.junit.LoggerContextRule;
+import org.apache.logging.log4j.test.appender.ListAppender;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that appender groups drain the AsyncLogger ring buffer independently of each other.
+ */
+@Category(AsyncLoggers.class)
+public class AsyncLoggerAppenderGroupsTest {
+
+    private static final int COUNT = 20;
+
+    @BeforeClass
+    public static void beforeClass() {
+        System.setProperty("AsyncLogger.AppenderGroups", "Blocking");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        System.clearProperty("AsyncLogger.AppenderGroups");
+    }
+
+    @Rule
+    public LoggerContextRule context = new LoggerContextRule(
+            "AsyncLoggerAppenderGroupsTest.xml", AsyncLoggerContextSelector.class);
+
+    @Test(timeout = 10000)
+    public void testBlockedGroupDoesNotHoldUpOtherGroup() throws Exception {
+        final BlockingAppender blocking = context.getRequiredAppender("Blocking", BlockingAppender.class);
+        final ListAppender list = context.getListAppender("List");
+        blocking.countDownLatch = new CountDownLatch(1);
+
+        final Logger logger = context.getLogger(getClass());
+        for (int i = 0; i < COUNT; i++) {
+            logger.info("message {}", i);
+        }
+
+        final List<String> messages = list.getMessages(COUNT, 5, TimeUnit.SECONDS);
+        assertEquals(COUNT, messages.size());
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals("message " + i, messages.get(i));
+        }
+        assertTrue("Blocking appender should be stuck on the first event", blocking.logEvents.size() <= 1);
+
+        blocking.countDownLatch.countDown();
+        while (blocking.logEvents.size() < COUNT) {
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals("message " + i, blocking.logEvents.get(i).getMessage().getFormattedMessage());
+        }
+    }
+
+    @Test
+    public void testRingBufferAdminPerAppenderGroup() {
+        final AsyncLoggerContext asyncContext = (AsyncLoggerContext) context.getLoggerContext();
+        final List<RingBufferAdmin> admins = asyncContext.createAppenderGroupRingBufferAdmins();
+        assertEquals(2, admins.size());
+        assertTrue(admins.get(0).getObjectName().toString(), admins.get(0).getObjectName().toString()
+                .contains("name=Blocking"));
+        assertTrue(admins.get(1).getObjectName().toString(), admins.get(1).getObjectName().toString()
+                .contains("name=default"));
+        for (final RingBufferAdmin admin : admins) {
+            assertEquals(admin.getBufferSize(), admin.getRemainingCapacity());
+        }
+    }
+}
@@ -39,6 +39,7 @@ public class AsyncQueueFullPolicyFactoryTest {
     public void resetProperties() throws Exception {
         System.clearProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_ASYNC_EVENT_ROUTER);
         System.clearProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_DISCARDING_THRESHOLD_LEVEL);
+        System.clearProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_PRIORITY_RESERVED_CAPACITY);
         PropertiesUtil.getProperties().reload();
     }
 
@@ -63,6 +64,31 @@ public class AsyncQueueFullPolicyFactoryTest {
         assertEquals(DiscardingAsyncQueueFullPolicy.class, AsyncQueueFullPolicyFactory.create().getClass());
     }
 
+    @Test
+    public void testCreateReturnsPriorityRouterIfSpecified() throws Exception {
+        System.setProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_ASYNC_EVENT_ROUTER,
+                AsyncQueueFullPolicyFactory.PROPERTY_VALUE_PRIORITY_ASYNC_EVENT_ROUTER);
+        final PriorityAsyncQueueFullPolicy router = (PriorityAsyncQueueFullPolicy) AsyncQueueFullPolicyFactory.create();
+        assertEquals(0.5, router.getReservedRatio(Level.DEBUG), 0);
+        assertEquals(0.25, router.getReservedRatio(Level.INFO), 0);
+        assertEquals(0, router.getReservedRatio(Level.ERROR), 0);
+
+        System.setProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_PRIORITY_RESERVED_CAPACITY, "info = 0.3");
+        assertEquals(0.3, ((PriorityAsyncQueueFullPolicy) AsyncQueueFullPolicyFactory.create())
+                .getReservedRatio(Level.TRACE), 0);
+    }
+
+    @Test
+    public void testCreatePriorityRouterIgnoresInvalidReservedCapacity() throws Exception {
+        System.setProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_ASYNC_EVENT_ROUTER,
+                AsyncQueueFullPolicyFactory.PROPERTY_VALUE_PRIORITY_ASYNC_EVENT_ROUTER);
+        for (final String value : new String[] {"INFO", "NOSUCHLEVEL=0.1", "INFO=abc", "INFO=1.5"}) {
+            System.setProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_PRIORITY_RESERVED_CAPACITY, value);
+            assertEquals(value, 0.25, ((PriorityAsyncQueueFullPolicy) AsyncQueueFullPolicyFactory.create())
+                    .getReservedRatio(Level.INFO), 0);
+        }
+    }
+
     @Test
     public void testCreateDiscardingRouterDefaultThresholdLevelInfo() throws Exception {
         System.setProperty(AsyncQueueFullPolicyFactory.PROPERTY_NAME_ASYNC_EVENT_ROUTER,
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.apache.logging.log4j.categories.AsyncLoggers;
+import org.apache.logging.log4j.junit.LoggerContextRule;
+import org.apache.logging.log4j.test.appender.ListAppender;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests that a HybridLoggerContext routes each logger to the synchronous or asynchronous path according to its
+ * LoggerConfig.
+ */
+@Category(AsyncLoggers.class)
+public class HybridLoggerContextTest {
+
+    @Rule
+    public LoggerContextRule context = new LoggerContextRule(
+            "HybridLoggerContextTest.xml", HybridLoggerContextSelector.class);
+
+    @Test
+    public void testPlainLoggerLogsInCallerThread() {
+        final ListAppender list = context.getListAppender("List");
+        final AsyncLogger logger = (AsyncLogger) context.getLogger("com.foo.sync");
+        assertTrue(logger.isSynchronous());
+
+        logger.info("sync message");
+        assertEquals(1, list.getMessages().size());
+        assertEquals("sync message", list.getMessages().get(0));
+    }
+
+    @Test(timeout = 10000)
+    public void testAsyncLoggerDoesNotWaitForAppender() throws Exception {
+        final BlockingAppender blocking = context.getRequiredAppender("Blocking", BlockingAppender.class);
+        blocking.countDownLatch = new CountDownLatch(1);
+        final AsyncLogger logger = (AsyncLogger) context.getLogger("com.foo.async.Bar");
+        assertFalse(logger.isSynchronous());
+
+        // would block until the latch is released if the appender were called in this thread
+        logger.info("async message");
+        blocking.countDownLatch.countDown();
+        while (blocking.logEvents.isEmpty()) {
+            Thread.sleep(10);
+        }
+        assertEquals("async message", blocking.logEvents.get(0).getMessage().getFormattedMessage());
+        assertTrue(context.getListAppender("List").getEvents().isEmpty());
+    }
+
+    @Test
+    public void testAsyncLoggerConfigHasNoRingBuffer() {
+        final AsyncLoggerConfig loggerConfig = (AsyncLoggerConfig) context.getConfiguration()
+                .getLoggerConfig("com.foo.async");
+        assertNull(loggerConfig.createRingBufferAdmin(context.getLoggerContext().getName()));
+    }
+}
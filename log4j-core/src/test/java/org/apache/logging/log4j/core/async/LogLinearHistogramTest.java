@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import org.apache.logging.log4j.categories.AsyncLoggers;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the LogLinearHistogram class.
+ */
+@Category(AsyncLoggers.class)
+public class LogLinearHistogramTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 0; i < 10; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10, histogram.getCount());
+        assertEquals(9, histogram.getMax());
+        assertEquals(4, histogram.getValueAtPercentile(50));
+        assertEquals(9, histogram.getValueAtPercentile(100));
+        assertEquals(0, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void testRelativeErrorOfLargeValues() {
+        final long[] values = {17, 100, 1000, 12345, 1_000_000, 123_456_789, Long.MAX_VALUE / 3, Long.MAX_VALUE};
+        for (final long value : values) {
+            final int index = LogLinearHistogram.bucketIndex(value);
+            final long lowest = LogLinearHistogram.lowestValueInBucket(index);
+            final long highest = LogLinearHistogram.highestValueInBucket(index);
+            assertTrue(value + " >= " + lowest, value >= lowest);
+            assertTrue(value + " <= " + highest, value <= highest);
+            assertTrue("relative error of " + value, (highest - lowest) <= value / 16);
+        }
+    }
+
+    @Test
+    public void testBucketsAreContiguous() {
+        for (int i = 1; i < 960; i++) {
+            assertEquals("bucket " + i, LogLinearHistogram.highestValueInBucket(i - 1) + 1,
+                    LogLinearHistogram.lowestValueInBucket(i));
+        }
+        assertEquals(Long.MAX_VALUE, LogLinearHistogram.highestValueInBucket(959));
+    }
+
+    @Test
+    public void testPercentiles() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        assertEquals(1_000_000, histogram.getMax());
+        final long median = histogram.getValueAtPercentile(50);
+        assertTrue("median " + median, median >= 500_000 && median <= 500_000 + 500_000 / 16);
+        final long p99 = histogram.getValueAtPercentile(99);
+        assertTrue("p99 " + p99, p99 >= 990_000 && p99 <= 1_000_000);
+    }
+
+    @Test
+    public void testNegativeValuesAreRecordedAsZero() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testReset() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.categories.AsyncLoggers;
+import org.apache.logging.log4j.core.AbstractLogEvent;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.message.ReusableMessageFactory;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the MpscLogEventQueue class.
+ */
+@Category(AsyncLoggers.class)
+public class MpscLogEventQueueTest {
+
+    private static LogEvent event(final String message) {
+        return Log4jLogEvent.newBuilder().setLoggerName("test").setLevel(Level.INFO)
+                .setMessage(new SimpleMessage(message)).build();
+    }
+
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() {
+        final MpscLogEventQueue queue = new MpscLogEventQueue(100);
+        assertEquals(128, queue.capacity());
+        assertEquals(128, queue.remainingCapacity());
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testOfferCopiesEventIntoSlot() {
+        final MpscLogEventQueue queue = new MpscLogEventQueue(4);
+        final LogEvent original = event("msg");
+        assertTrue(queue.offer(original));
+        assertEquals(1, queue.size());
+
+        final LogEvent polled = queue.poll();
+        assertNotSame(original, polled);
+        assertTrue(polled instanceof MutableLogEvent);
+        assertEquals("msg", polled.getMessage().getFormattedMessage());
+        assertEquals(Level.INFO, polled.getLevel());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testOfferDoesNotModifyReusableMessage() {
+        final MpscLogEventQueue queue = new MpscLogEventQueue(4);
+        final Message message = new ReusableMessageFactory().newMessage("a={} b={}", "1", "2");
+        final LogEvent original = Log4jLogEvent.newBuilder().setLevel(Level.INFO).setMessage(message).build();
+        queue.offer(original);
+
+        final LogEvent polled = queue.poll();
+        assertEquals("a=1 b=2", polled.getMessage().getFormattedMessage());
+        assertArrayEquals(new Object[] {"1", "2"}, polled.getMessage().getParameters());
+        assertEquals("a=1 b=2", message.getFormattedMessage());
+        assertArrayEquals(new Object[] {"1", "2"}, message.getParameters());
+    }
+
+    /**
+     * An event that includes location, but fails if its location is actually computed.
+     */
+    private static LogEvent locationEvent(final String message) {
+        return new AbstractLogEvent() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Message getMessage() {
+                return new SimpleMessage(message);
+            }
+
+            @Override
+            public boolean isIncludeLocation() {
+                return true;
+            }
+
+            @Override
+            public StackTraceElement getSource() {
+                throw new AssertionError("location should not be computed");
+            }
+        };
+    }
+
+    @Test
+    public void testOfferWithoutLocationDoesNotComputeLocation() {
+        final MpscLogEventQueue queue = new MpscLogEventQueue(4);
+        queue.setIncludeLocation(false);
+        assertTrue(queue.offer(locationEvent("msg")));
+
+        final LogEvent polled = queue.poll();
+        assertFalse(polled.isIncludeLocation());
+        assertNull(polled.getSource());
+        assertEquals("msg", polled.getMessage().getFormattedMessage());
+    }
+
+    @Test
+    public void testOfferWithLocationCopiesLocation() {
+        final StackTraceElement source = new StackTraceElement("Class", "method", "Class.java", 42);
+        final LogEvent original = Log4jLogEvent.newBuilder().setLevel(Level.INFO).setMessage(new SimpleMessage("msg"))
+                .setIncludeLocation(true).setSource(source).build();
+        final MpscLogEventQueue queue = new MpscLogEventQueue(4);
+        queue.setIncludeLocation(true);
+        queue.offer(original);
+
+        final LogEvent polled = queue.poll();
+        assertTrue(polled.isIncludeLocation());
+        assertEquals(source, polled.getSource());
+    }
+
+    @Test
+    public void testEventsWithoutMessagePassedByReference() {
+        final MpscLogEventQueue queue = new MpscLogEventQueue(4);
+        final LogEvent marker = new AbstractLogEvent() {
+            private static final long serialVersionUID = 1L;
+        };
+        queue.offer(marker);
+        assertSame(marker, queue.poll());
+    }
+
+    @Test
+    public void testSlotsReusedOnlyAfterRelease() {
+        final MpscLogEventQueue queue = new MpscLogEventQueue(2);
+        assertTrue(queue.offer(event("1")));
+        assertTrue(queue.offer(event("2")));
+        assertFalse("queue should be full", queue.offer(event("3")));
+
+        final List<LogEvent> batch = new ArrayList<>();
+        assertEquals(2, queue.drainTo(batch));
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.remainingCapacity());
+        assertFalse("slots not released yet", queue.offer(event("3")));
+        assertEquals("1", batch.get(0).getMessage().getFormattedMessage());
+        assertEquals("2", batch.get(1).getMessage().getFormattedMessage());
+
+        queue.release();
+        assertEquals(2, queue.remainingCapacity());
+        assertTrue(queue.offer(event("3")));
+        assertEquals("3", queue.poll().getMessage().getFormattedMessage());
+    }
+
+    @Test
+    public void testPollTimesOut() throws InterruptedException {
+        final MpscLogEventQueue queue = new MpscLogEventQueue(2);
+        assertNull(queue.poll(10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test(timeout = 10000)
+    public void testMultipleProducers() throws InterruptedException {
+        final int producers = 4;
+        final int perProducer = 10000;
+        final MpscLogEventQueue queue = new MpscLogEventQueue(64);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            final String prefix = p + ":";
+            final Thread thread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perProducer; i++) {
+                            queue.put(event(prefix + i));
+                        }
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            };
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        final int[] next = new int[producers];
+        final List<LogEvent> batch = new ArrayList<>();
+        int received = 0;
+        while (received < producers * perProducer) {
+            batch.add(queue.take());
+            queue.drainTo(batch);
+            for (final LogEvent event : batch) {
+                final String[] parts = event.getMessage().getFormattedMessage().split(":");
+                final int producer = Integer.parseInt(parts[0]);
+                assertEquals("events of a producer must arrive in order", next[producer]++,
+                        Integer.parseInt(parts[1]));
+            }
+            received += batch.size();
+            batch.clear();
+            queue.release();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.categories.AsyncLoggers;
+import org.apache.logging.log4j.core.impl.MutableLogEvent;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the MutableLogEventPool class.
+ */
+@Category(AsyncLoggers.class)
+public class MutableLogEventPoolTest {
+
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() {
+        final MutableLogEventPool pool = new MutableLogEventPool(100);
+        assertEquals(128, pool.capacity());
+        assertEquals(128, pool.available());
+    }
+
+    @Test
+    public void testAcquireReturnsNullWhenAllInstancesInUse() {
+        final MutableLogEventPool pool = new MutableLogEventPool(4);
+        final Set<MutableLogEvent> acquired = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            acquired.add(pool.acquire());
+        }
+        assertEquals("distinct instances", 4, acquired.size());
+        assertFalse(acquired.contains(null));
+        assertNull(pool.acquire());
+        assertEquals(0, pool.available());
+    }
+
+    @Test
+    public void testReleasedInstanceIsClearedAndReused() {
+        final MutableLogEventPool pool = new MutableLogEventPool(2);
+        final MutableLogEvent first = pool.acquire();
+        final MutableLogEvent second = pool.acquire();
+        first.setLevel(Level.WARN);
+        first.setLoggerName("test");
+        pool.release(first);
+
+        final MutableLogEvent reused = pool.acquire();
+        assertSame(first, reused);
+        assertEquals("cleared level", Level.OFF, reused.getLevel());
+        assertNull(reused.getLoggerName());
+        assertNull(pool.acquire());
+        pool.release(second);
+        pool.release(reused);
+        assertEquals(2, pool.available());
+    }
+
+    @Test
+    public void testReleaseIntoFullPoolIsIgnored() {
+        final MutableLogEventPool pool = new MutableLogEventPool(2);
+        pool.release(new MutableLogEvent());
+        assertEquals(2, pool.available());
+    }
+
+    @Test(timeout = 10000)
+    public void testConcurrentAcquireAndRelease() throws Exception {
+        final MutableLogEventPool pool = new MutableLogEventPool(8);
+        final int threadCount = 4;
+        final int iterations = 10000;
+        final AtomicInteger misses = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            threads.add(new Thread() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < iterations; i++) {
+                        final MutableLogEvent event = pool.acquire();
+                        if (event == null) {
+                            misses.incrementAndGet();
+                        } else {
+                            pool.release(event);
+                        }
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals("no instance may be lost or duplicated", 8, pool.available());
+        final Set<MutableLogEvent> acquired = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            acquired.add(pool.acquire());
+        }
+        assertEquals(8, acquired.size());
+        assertEquals("4 threads never hold more than 8 instances", 0, misses.get());
+    }
+
+    @Test(timeout = 30000)
+    public void testConcurrentAcquireAndReleaseOnFullAndEmptyPool() throws Exception {
+        // more threads than instances, so releases regularly race with acquires on the same slot
+        final MutableLogEventPool pool = new MutableLogEventPool(2);
+        final int threadCount = 8;
+        final int iterations = 200000;
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threadCount);
+        for (int t = 0; t < threadCount; t++) {
+            new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < iterations; i++) {
+                            final MutableLogEvent event = pool.acquire();
+                            if (event != null) {
+                                pool.release(event);
+                            }
+                        }
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    done.countDown();
+                }
+            }.start();
+        }
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        assertEquals("released instances must not be dropped", pool.capacity(), pool.available());
+        final Set<MutableLogEvent> acquired = new HashSet<>();
+        for (int i = 0; i < pool.capacity(); i++) {
+            acquired.add(pool.acquire());
+        }
+        assertFalse(acquired.contains(null));
+        assertEquals(pool.capacity(), acquired.size());
+    }
+}
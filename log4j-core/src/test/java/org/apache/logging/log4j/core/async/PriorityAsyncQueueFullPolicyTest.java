@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.async;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.categories.AsyncLoggers;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the PriorityAsyncQueueFullPolicy class.
+ */
+@Category(AsyncLoggers.class)
+public class PriorityAsyncQueueFullPolicyTest {
+
+    private static long currentThreadId() {
+        return Thread.currentThread().getId();
+    }
+
+    private static long otherThreadId() {
+        return -1;
+    }
+
+    private static PriorityAsyncQueueFullPolicy createRouter() {
+        final Map<Level, Double> ratios = new HashMap<>();
+        ratios.put(Level.INFO, 0.25);
+        ratios.put(Level.DEBUG, 0.5);
+        return new PriorityAsyncQueueFullPolicy(ratios);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testConstructorDisallowsNullRatios() {
+        new PriorityAsyncQueueFullPolicy(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorDisallowsRatioGreaterThanOne() {
+        final Map<Level, Double> ratios = new HashMap<>();
+        ratios.put(Level.INFO, 1.5);
+        new PriorityAsyncQueueFullPolicy(ratios);
+    }
+
+    @Test
+    public void testReservedRatioOfUnconfiguredLevelIsThatOfNearestMoreSpecificLevel() {
+        final PriorityAsyncQueueFullPolicy router = createRouter();
+        assertEquals(0.5, router.getReservedRatio(Level.ALL), 0);
+        assertEquals(0.5, router.getReservedRatio(Level.TRACE), 0);
+        assertEquals(0.5, router.getReservedRatio(Level.DEBUG), 0);
+        assertEquals(0.25, router.getReservedRatio(Level.forName("PriorityTestNotice", 450)), 0);
+        assertEquals(0.25, router.getReservedRatio(Level.INFO), 0);
+        assertEquals(0, router.getReservedRatio(Level.WARN), 0);
+        assertEquals(0, router.getReservedRatio(Level.FATAL), 0);
+    }
+
+    @Test
+    public void testCapacityReservedForMoreSpecificLevels() {
+        final PriorityAsyncQueueFullPolicy router = createRouter();
+        assertFalse(router.isCapacityReserved(Level.DEBUG, 51, 100));
+        assertTrue(router.isCapacityReserved(Level.DEBUG, 50, 100));
+        assertFalse(router.isCapacityReserved(Level.INFO, 26, 100));
+        assertTrue(router.isCapacityReserved(Level.INFO, 25, 100));
+        assertFalse(router.isCapacityReserved(Level.WARN, 0, 100));
+        assertFalse(router.isCapacityReserved(Level.ERROR, 0, 100));
+    }
+
+    @Test
+    public void testGetRouteDiscardsIfLevelHasReservedRatio() {
+        final PriorityAsyncQueueFullPolicy router = createRouter();
+        for (final Level level : new Level[] {Level.INFO, Level.DEBUG, Level.TRACE}) {
+            assertEquals(level.name(), EventRoute.DISCARD, router.getRoute(otherThreadId(), level));
+            assertEquals(level.name(), EventRoute.SYNCHRONOUS, router.getRoute(currentThreadId(), level));
+        }
+    }
+
+    @Test
+    public void testGetRouteUsesDefaultRulesIfLevelHasNoReservedRatio() {
+        final PriorityAsyncQueueFullPolicy router = createRouter();
+        for (final Level level : new Level[] {Level.WARN, Level.ERROR, Level.FATAL}) {
+            assertEquals(level.name(), EventRoute.ENQUEUE, router.getRoute(otherThreadId(), level));
+            assertEquals(level.name(), EventRoute.SYNCHRONOUS, router.getRoute(currentThreadId(), level));
+        }
+    }
+
+    @Test
+    public void testGetDiscardCounts() {
+        final PriorityAsyncQueueFullPolicy router = createRouter();
+        assertEquals("initially", 0, PriorityAsyncQueueFullPolicy.getDiscardCount(router));
+        assertTrue("initially", PriorityAsyncQueueFullPolicy.getDiscardCounts(router).isEmpty());
+
+        router.getRoute(otherThreadId(), Level.INFO);
+        router.getRoute(otherThreadId(), Level.DEBUG);
+        router.getRoute(otherThreadId(), Level.DEBUG);
+        router.getRoute(otherThreadId(), Level.WARN);
+
+        assertEquals(3, PriorityAsyncQueueFullPolicy.getDiscardCount(router));
+        assertEquals(1, router.getDiscardCount(Level.INFO));
+        assertEquals(2, router.getDiscardCount(Level.DEBUG));
+        assertEquals(0, router.getDiscardCount(Level.WARN));
+        final Map<String, Long> counts = PriorityAsyncQueueFullPolicy.getDiscardCounts(router);
+        assertEquals(2, counts.size());
+        assertEquals(Long.valueOf(2), counts.get("DEBUG"));
+        assertEquals(0, PriorityAsyncQueueFullPolicy.getDiscardCount(new DefaultAsyncQueueFullPolicy()));
+    }
+}
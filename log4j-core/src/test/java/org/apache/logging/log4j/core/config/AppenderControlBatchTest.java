@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.BatchAppender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.BatchAppenderLoggingException;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.appender.ListAppender;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests {@link AppenderControl#callAppender(List)}.
+ */
+public class AppenderControlBatchTest {
+
+    private static class RecordingBatchAppender extends AbstractAppender implements BatchAppender {
+
+        final List<List<String>> batches = new ArrayList<>();
+        int singleEvents;
+        int failAt = -1;
+
+        RecordingBatchAppender() {
+            this(true);
+        }
+
+        RecordingBatchAppender(final boolean ignoreExceptions) {
+            super("Batch", null, null, ignoreExceptions, Property.EMPTY_ARRAY);
+            start();
+        }
+
+        @Override
+        public void append(final LogEvent event) {
+            singleEvents++;
+        }
+
+        @Override
+        public void append(final List<LogEvent> events) {
+            final List<String> messages = new ArrayList<>();
+            batches.add(messages);
+            for (int i = 0; i < events.size(); i++) {
+                if (i == failAt) {
+                    throw new BatchAppenderLoggingException(i, new IllegalStateException("failing"));
+                }
+                messages.add(events.get(i).getMessage().getFormattedMessage());
+            }
+        }
+    }
+
+    private static LogEvent event(final Level level, final String message) {
+        return Log4jLogEvent.newBuilder().setLevel(level).setMessage(new SimpleMessage(message)).build();
+    }
+
+    private static List<LogEvent> batch() {
+        return Arrays.asList(event(Level.INFO, "a"), event(Level.DEBUG, "b"), event(Level.WARN, "c"));
+    }
+
+    @Test
+    public void testBatchAppenderReceivesAcceptedEventsInOneCall() {
+        final RecordingBatchAppender appender = new RecordingBatchAppender();
+        new AppenderControl(appender, Level.INFO, null).callAppender(batch());
+
+        assertEquals(0, appender.singleEvents);
+        assertEquals(1, appender.batches.size());
+        assertEquals(Arrays.asList("a", "c"), appender.batches.get(0));
+    }
+
+    @Test
+    public void testBatchAppenderNotCalledIfAllEventsFiltered() {
+        final RecordingBatchAppender appender = new RecordingBatchAppender();
+        new AppenderControl(appender, Level.ERROR, null).callAppender(batch());
+
+        assertTrue(appender.batches.isEmpty());
+    }
+
+    @Test
+    public void testOtherAppendersReceiveEventsOneByOne() {
+        final ListAppender appender = new ListAppender("List");
+        appender.start();
+        new AppenderControl(appender, Level.INFO, null).callAppender(batch());
+
+        assertEquals(2, appender.getEvents().size());
+        assertEquals("a", appender.getEvents().get(0).getMessage().getFormattedMessage());
+        assertEquals("c", appender.getEvents().get(1).getMessage().getFormattedMessage());
+    }
+
+    @Test
+    public void testBatchAppenderFailureReportsEventsNotWritten() {
+        final RecordingBatchAppender appender = new RecordingBatchAppender(false);
+        appender.failAt = 1;
+        final List<LogEvent> batch = batch();
+        final List<LogEvent> failed = new ArrayList<>();
+        try {
+            new AppenderControl(appender, Level.INFO, null).callAppender(batch, failed);
+            fail("the failure should be rethrown");
+        } catch (final BatchAppenderLoggingException expected) {
+            assertEquals(1, expected.getAppendedCount());
+        }
+        assertEquals(Arrays.asList("a"), appender.batches.get(0));
+        assertEquals("only the events from the failing one onward", Arrays.asList(batch.get(2)), failed);
+    }
+
+    @Test
+    public void testOtherAppenderFailuresAreCollected() {
+        final AbstractAppender appender = new AbstractAppender("Failing", null, null, false, Property.EMPTY_ARRAY) {
+            @Override
+            public void append(final LogEvent event) {
+                if ("b".equals(event.getMessage().getFormattedMessage())) {
+                    throw new AppenderLoggingException("failing");
+                }
+            }
+        };
+        appender.start();
+        final List<LogEvent> batch = batch();
+        final List<LogEvent> failed = new ArrayList<>();
+        try {
+            new AppenderControl(appender, null, null).callAppender(batch, failed);
+            fail("the failure should be rethrown");
+        } catch (final AppenderLoggingException expected) {
+            // the rest of the batch is still appended
+        }
+        assertEquals(Arrays.asList(batch.get(1)), failed);
+    }
+}
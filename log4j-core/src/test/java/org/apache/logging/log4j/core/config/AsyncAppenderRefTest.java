@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.async.BlockingAppender;
+import org.apache.logging.log4j.junit.LoggerContextRule;
+import org.apache.logging.log4j.test.appender.ListAppender;
+import org.junit.Rule;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests AppenderRefs with {@code async="true"}.
+ */
+public class AsyncAppenderRefTest {
+
+    private static final int COUNT = 20;
+
+    @Rule
+    public LoggerContextRule context = new LoggerContextRule("AsyncAppenderRefTest.xml");
+
+    @Test
+    public void testAsyncReferencesUseSharedDispatcher() {
+        final LoggerConfig root = context.getConfiguration().getRootLogger();
+        assertTrue(root.getAppenderRefs().get(0).isAsync());
+        assertFalse(root.getAppenderRefs().get(1).isAsync());
+        assertTrue(((AbstractConfiguration) context.getConfiguration()).getAsyncAppenderDispatcher().isStarted());
+    }
+
+    @Test(timeout = 10000)
+    public void testSlowAsyncAppenderDoesNotBlockCaller() throws Exception {
+        final BlockingAppender blocking = context.getRequiredAppender("Blocking", BlockingAppender.class);
+        final ListAppender list = context.getListAppender("List");
+        final ListAppender asyncList = context.getListAppender("AsyncList");
+        blocking.countDownLatch = new CountDownLatch(1);
+
+        final Logger logger = context.getLogger(getClass());
+        try {
+            for (int i = 0; i < COUNT; i++) {
+                logger.info("message {}", i);
+            }
+            assertEquals(COUNT, list.getMessages().size());
+            assertTrue("Blocking appender should be stuck on the first event", blocking.logEvents.size() <= 1);
+        } finally {
+            blocking.countDownLatch.countDown();
+        }
+
+        final List<String> messages = asyncList.getMessages(COUNT, 5, TimeUnit.SECONDS);
+        assertEquals(COUNT, messages.size());
+        while (blocking.logEvents.size() < COUNT) {
+            Thread.sleep(10);
+        }
+        for (int i = 0; i < COUNT; i++) {
+            assertEquals("message " + i, messages.get(i));
+            assertEquals("message " + i, blocking.logEvents.get(i).getMessage().getFormattedMessage());
+        }
+    }
+
+    @Test
+    public void testLevelOfAsyncReferenceEvaluatedByCaller() throws Exception {
+        final ListAppender list = context.getListAppender("List");
+        final ListAppender asyncList = context.getListAppender("AsyncList");
+        final Logger logger = context.getLogger(getClass());
+        logger.debug("debug");
+        logger.info("info");
+
+        assertEquals(2, list.getMessages().size());
+        final List<String> messages = asyncList.getMessages(1, 5, TimeUnit.SECONDS);
+        assertEquals(1, messages.size());
+        assertEquals("info", messages.get(0));
+    }
+
+    @Test
+    public void testEnqueuedEventsAreAppendedOnStop() {
+        final BlockingAppender blocking = context.getRequiredAppender("Blocking", BlockingAppender.class);
+        final ListAppender asyncList = context.getListAppender("AsyncList");
+        final Logger logger = context.getLogger(getClass());
+        for (int i = 0; i < COUNT; i++) {
+            logger.info("message {}", i);
+        }
+        context.getLoggerContext().stop();
+
+        assertEquals(COUNT, blocking.logEvents.size());
+        assertEquals(COUNT, asyncList.getMessages().size());
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.net.LoadBalancedSocketManager.Strategy;
+import org.apache.logging.log4j.core.net.NioSocketManager.RingFullPolicy;
+import org.junit.Test;
+
+/**
+ * Tests {@link LoadBalancedSocketManager}.
+ */
+public class LoadBalancedSocketManagerTest {
+
+    private static LoadBalancedSocketManager getManager(final String endpoints, final Strategy strategy) {
+        return LoadBalancedSocketManager.getSocketManager("localhost", 0, endpoints, strategy, 1000, 100, null,
+                8192, 4096, RingFullPolicy.BLOCK, null, null);
+    }
+
+    private static void awaitConnected(final LoadBalancedSocketManager manager, final int count)
+            throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (manager.getConnectedCount() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, manager.getConnectedCount());
+    }
+
+    private static void write(final LoadBalancedSocketManager manager, final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        manager.write(bytes, 0, bytes.length, true);
+    }
+
+    private static BufferedReader reader(final Socket socket) throws Exception {
+        return new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testParseEndpoints() {
+        final List<InetSocketAddress> endpoints = LoadBalancedSocketManager
+                .parseEndpoints("collector1:5000, collector2 ,[::1]:5001,::1", 4560);
+        assertEquals(4, endpoints.size());
+        assertEquals("collector1", endpoints.get(0).getHostString());
+        assertEquals(5000, endpoints.get(0).getPort());
+        assertEquals("collector2", endpoints.get(1).getHostString());
+        assertEquals(4560, endpoints.get(1).getPort());
+        assertEquals("::1", endpoints.get(2).getHostString());
+        assertEquals(5001, endpoints.get(2).getPort());
+        assertEquals("::1", endpoints.get(3).getHostString());
+        assertEquals(4560, endpoints.get(3).getPort());
+    }
+
+    @Test
+    public void testRoundRobin() throws Exception {
+        try (final ServerSocket server1 = new ServerSocket(0); final ServerSocket server2 = new ServerSocket(0)) {
+            server1.setSoTimeout(5000);
+            server2.setSoTimeout(5000);
+            final LoadBalancedSocketManager manager = getManager(
+                    "localhost:" + server1.getLocalPort() + ",localhost:" + server2.getLocalPort(),
+                    Strategy.ROUND_ROBIN);
+            try (final Socket client1 = server1.accept(); final Socket client2 = server2.accept()) {
+                awaitConnected(manager, 2);
+                for (int i = 0; i < 10; i++) {
+                    write(manager, "event-" + i + "\n");
+                }
+                final BufferedReader reader1 = reader(client1);
+                final BufferedReader reader2 = reader(client2);
+                final String first = reader1.readLine();
+                final int offset = first.equals("event-0") ? 0 : 1;
+                assertEquals("event-" + offset, first);
+                for (int i = 1; i < 5; i++) {
+                    assertEquals("event-" + (offset + 2 * i), reader1.readLine());
+                }
+                for (int i = 0; i < 5; i++) {
+                    assertEquals("event-" + (1 - offset + 2 * i), reader2.readLine());
+                }
+            } finally {
+                assertTrue(manager.stop(1, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    public void testUnreachableEndpointIsSkipped() throws Exception {
+        final int deadPort;
+        try (final ServerSocket dead = new ServerSocket(0)) {
+            deadPort = dead.getLocalPort();
+        }
+        try (final ServerSocket server = new ServerSocket(0)) {
+            server.setSoTimeout(5000);
+            final LoadBalancedSocketManager manager = getManager(
+                    "localhost:" + deadPort + ",localhost:" + server.getLocalPort(),
+                    Strategy.LEAST_OUTSTANDING_BYTES);
+            try (final Socket client = server.accept()) {
+                awaitConnected(manager, 1);
+                for (int i = 0; i < 6; i++) {
+                    write(manager, "event-" + i + "\n");
+                }
+                final BufferedReader reader = reader(client);
+                for (int i = 0; i < 6; i++) {
+                    assertEquals("event-" + i, reader.readLine());
+                }
+            } finally {
+                manager.stop(100, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+}
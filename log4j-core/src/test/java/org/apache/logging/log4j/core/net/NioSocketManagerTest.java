@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+package org.apache.logging.log4j.core.net;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.core.appender.SpillBufferConfiguration;
+import org.apache.logging.log4j.core.net.NioSocketManager.RingFullPolicy;
+import org.junit.Test;
+
+/**
+ * Tests {@link NioSocketManager}.
+ */
+public class NioSocketManagerTest {
+
+    private static void write(final NioSocketManager manager, final String text) {
+        final byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        manager.write(bytes, 0, bytes.length, true);
+    }
+
+    @Test
+    public void testEventsArriveInOrderThroughSmallRing() throws Exception {
+        try (final ServerSocket server = new ServerSocket(0)) {
+            server.setSoTimeout(5000);
+            // a 64 byte ring wraps constantly, exercising gathering and partial writes
+            final NioSocketManager manager = NioSocketManager.getSocketManager("localhost", server.getLocalPort(),
+                    1000, 100, null, 8192, 64, RingFullPolicy.BLOCK, null);
+            try (final Socket client = server.accept()) {
+                final Thread writer = new Thread() {
+                    @Override
+                    public void run() {
+                        for (int i = 0; i < 1000; i++) {
+                            write(manager, "event-" + i + "\n");
+                        }
+                    }
+                };
+                writer.start();
+                final BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                for (int i = 0; i < 1000; i++) {
+                    assertEquals("event-" + i, reader.readLine());
+                }
+                writer.join();
+                assertEquals(0, manager.getDroppedEventCount());
+            } finally {
+                assertTrue(manager.stop(2, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    @Test
+    public void testDropsWithoutBlockingWhenUnreachable() throws Exception {
+        final int port;
+        try (final ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+        }
+        final NioSocketManager manager = NioSocketManager.getSocketManager("localhost", port, 1000, 60000, null,
+                8192, 32, RingFullPolicy.DROP, null);
+        try {
+            for (int i = 0; i < 10; i++) {
+                write(manager, "event-" + i + "\n");
+            }
+            assertFalse(manager.isConnected());
+            assertTrue(manager.getPendingBytes() <= 32);
+            assertEquals(6, manager.getDroppedEventCount());
+        } finally {
+            manager.stop(100, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Test
+    public void testReconnectsAndSendsQueuedEvents() throws Exception {
+        try (final ServerSocket server = new ServerSocket(0)) {
+            server.setSoTimeout(5000);
+            final NioSocketManager manager = NioSocketManager.getSocketManager("localhost", server.getLocalPort(),
+                    1000, 100, null, 8192, 1024, RingFullPolicy.DROP, null);
+            try {
+                try (final Socket client = server.accept()) {
+                    write(manager, "first\n");
+                    final BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                    assertEquals("first", reader.readLine());
+                }
+                final long deadline = System.currentTimeMillis() + 5000;
+                while (manager.isConnected() && System.currentTimeMillis() < deadline) {
+                    Thread.sleep(10);
+                }
+                write(manager, "second\n");
+                try (final Socket client = server.accept()) {
+                    final BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                    assertEquals("second", reader.readLine());
+                }
+            } finally {
+                manager.stop(1, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    @Test
+    public void testSpillsWhileUnreachableAndReplaysInOrder() throws Exception {
+        final Path directory = Files.createTempDirectory("spill");
+        final int port;
+        try (final ServerSocket server = new ServerSocket(0)) {
+            port = server.getLocalPort();
+        }
+        final SpillBufferConfiguration spill = SpillBufferConfiguration.newBuilder()
+                .setDirectory(directory.toString()).setSegmentSize("1 KB").build();
+        final NioSocketManager manager = NioSocketManager.getSocketManager("localhost", port, 1000, 100, null,
+                8192, 32, RingFullPolicy.SPILL, spill, null);
+        try {
+            for (int i = 0; i < 10; i++) {
+                write(manager, "event-" + i + "\n");
+            }
+            assertEquals(0, manager.getDroppedEventCount());
+            assertEquals(6, manager.getSpillBuffer().getPendingRecords());
+            try (final ServerSocket server = new ServerSocket(port)) {
+                server.setSoTimeout(5000);
+                try (final Socket client = server.accept()) {
+                    final BufferedReader reader = new BufferedReader(
+                            new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                    for (int i = 0; i < 10; i++) {
+                        assertEquals("event-" + i, reader.readLine());
+                    }
+                }
+            }
+            assertTrue(manager.getSpillBuffer().isEmpty());
+        } finally {
+            manager.stop(100, TimeUnit.MILLISECONDS);
+            final String[] names = directory.toFile().list();
+            if (names != null) {
+                for (final String name : names) {
+                    Files.deleteIfExists(directory.resolve(name));
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
@@ -76,6 +76,7 @@ public class AsyncAppenderLog4j2Benchmark {
         "perf5AsyncApndNoLoc-noOpAppender.xml",
         "perf5AsyncApndDsrptrNoLoc-noOpAppender.xml",
         "perf5AsyncApndMpscQNoLoc-noOpAppender.xml",
+        "perf5AsyncApndMpscEvtQNoLoc-noOpAppender.xml",
         "perf5AsyncApndXferQNoLoc-noOpAppender.xml"
     })
     public String configFileName;
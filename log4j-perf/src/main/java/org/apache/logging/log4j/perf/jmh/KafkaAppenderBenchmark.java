@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.Properties;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.mom.kafka.KafkaBenchmarkAccess;
+import org.apache.logging.log4j.core.appender.mom.kafka.KafkaProducerFactory;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationFactory;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.impl.ContextDataFactory;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.StringMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the per-record synchronous Kafka appender with the batched one, with a constant key and with a key looked
+ * up from the event's context data. Records go to a {@code MockProducer} so only the appender overhead is measured.
+ */
+// ============================== HOW TO RUN THIS TEST: ====================================
+//
+// java -jar log4j-perf/target/benchmarks.jar ".*KafkaAppenderBenchmark.*" -f 1 -wi 5 -i 5
+//
+// Usage help:
+// java -jar log4j-perf/target/benchmarks.jar -help
+//
+@State(Scope.Thread)
+public class KafkaAppenderBenchmark {
+
+    private static final int MAX_HISTORY = 1024;
+
+    private Appender appender;
+    private Appender keyLookupAppender;
+    private Appender batchedAppender;
+    private Appender batchedKeyLookupAppender;
+    private LogEvent event;
+
+    /**
+     * Completes every record immediately and forgets the sent records regularly so the history does not grow.
+     */
+    private static final class BoundedMockProducer extends MockProducer<byte[], byte[]> {
+        private int sent;
+
+        BoundedMockProducer() {
+            super(true, null, null);
+        }
+
+        @Override
+        public synchronized Future<RecordMetadata> send(final ProducerRecord<byte[], byte[]> record,
+                final Callback callback) {
+            if (++sent == MAX_HISTORY) {
+                sent = 0;
+                clear();
+            }
+            return super.send(record, callback);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        final Producer<byte[], byte[]> producer = new BoundedMockProducer();
+        KafkaBenchmarkAccess.setProducerFactory(new KafkaProducerFactory() {
+            @Override
+            public Producer<byte[], byte[]> newKafkaProducer(final Properties config) {
+                return producer;
+            }
+        });
+        System.setProperty(ConfigurationFactory.CONFIGURATION_FILE_PROPERTY, "log4j2-kafka-appender.xml");
+        final LoggerContext context = LoggerContext.getContext(false);
+        if (context.getConfiguration() instanceof DefaultConfiguration) {
+            context.reconfigure();
+        }
+        StatusLogger.getLogger().reset();
+        final Configuration configuration = context.getConfiguration();
+        appender = configuration.getAppender("KafkaAppender");
+        keyLookupAppender = configuration.getAppender("KafkaKeyLookupAppender");
+        batchedAppender = configuration.getAppender("BatchedKafkaAppender");
+        batchedKeyLookupAppender = configuration.getAppender("BatchedKafkaKeyLookupAppender");
+
+        final StringMap contextData = ContextDataFactory.createContextData();
+        contextData.putValue("user", "alice");
+        event = Log4jLogEvent.newBuilder()
+                .setLoggerName(KafkaAppenderBenchmark.class.getName())
+                .setLevel(Level.INFO)
+                .setMessage(new SimpleMessage("Short message to measure the appender overhead"))
+                .setContextData(contextData)
+                .setThreadName("main")
+                .setTimeMillis(System.currentTimeMillis())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        System.clearProperty(ConfigurationFactory.CONFIGURATION_FILE_PROPERTY);
+        LoggerContext.getContext(false).stop();
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Benchmark
+    public void syncSend() {
+        appender.append(event);
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Benchmark
+    public void syncSendKeyLookup() {
+        keyLookupAppender.append(event);
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Benchmark
+    public void batchedSyncSend() {
+        batchedAppender.append(event);
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Benchmark
+    public void batchedSyncSendKeyLookup() {
+        batchedKeyLookupAppender.append(event);
+    }
+}
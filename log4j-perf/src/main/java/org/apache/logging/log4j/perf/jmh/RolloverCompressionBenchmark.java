@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+import org.apache.logging.log4j.core.appender.rolling.action.AbstractStreamCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.CommonsCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.GzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.Lz4CompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ParallelGzCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ZipCompressAction;
+import org.apache.logging.log4j.core.appender.rolling.action.ZstdCompressAction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the time taken by the rollover compression actions to compress a generated log file. The compressed size
+ * of each format is printed at the end of each trial.
+ * <pre>
+ * java -jar log4j-perf/target/benchmarks.jar ".*RolloverCompressionBenchmark.*" -p corpusMegabytes=256
+ * </pre>
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class RolloverCompressionBenchmark {
+
+    private static final String[] LEVELS = {"TRACE", "DEBUG", "INFO", "WARN", "ERROR"};
+    private static final String[] LOGGERS = {
+            "org.example.order.OrderService", "org.example.http.RequestHandler", "org.example.db.ConnectionPool",
+            "org.example.cache.RegionCache", "org.example.auth.TokenValidator"};
+
+    @Param({"gz", "gz-parallel", "zip", "bz2", "xz", "deflate", "zst", "lz4"})
+    private String format;
+
+    @Param({"64"})
+    private int corpusMegabytes;
+
+    private File source;
+    private File destination;
+    private Action action;
+
+    @Setup
+    public void setUp() throws IOException {
+        source = File.createTempFile("RolloverCompressionBenchmark", ".log");
+        destination = new File(source.getPath() + '.' + format);
+        writeCorpus(source, corpusMegabytes * 1024L * 1024L);
+        action = createAction(format, source, destination);
+    }
+
+    @TearDown
+    public void tearDown() {
+        source.delete();
+        destination.delete();
+    }
+
+    @Benchmark
+    public boolean compress() throws IOException {
+        return action.execute();
+    }
+
+    private static Action createAction(final String format, final File source, final File destination) {
+        final int level = Deflater.DEFAULT_COMPRESSION;
+        switch (format) {
+            case "gz":
+                return new GzCompressAction(source, destination, false, level);
+            case "gz-parallel":
+                return new ParallelGzCompressAction(source, destination, false, level,
+                        Runtime.getRuntime().availableProcessors(), ParallelGzCompressAction.DEFAULT_BLOCK_SIZE);
+            case "zip":
+                return new ZipCompressAction(source, destination, false, level);
+            case "bz2":
+                return new CommonsCompressAction("bzip2", source, destination, false);
+            case "xz":
+                return new CommonsCompressAction("xz", source, destination, false);
+            case "deflate":
+                return new CommonsCompressAction("deflate", source, destination, false);
+            case "zst":
+                return new ZstdCompressAction(source, destination, false, level,
+                        AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE);
+            case "lz4":
+                return new Lz4CompressAction(source, destination, false, level,
+                        AbstractStreamCompressAction.DEFAULT_BUFFER_SIZE);
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+    }
+
+    /**
+     * Writes pattern-layout-like lines with a mix of repeated and random content, so that the corpus compresses
+     * roughly like a real log file.
+     */
+    private static void writeCorpus(final File file, final long size) throws IOException {
+        final Random random = new Random(42);
+        final StringBuilder line = new StringBuilder(256);
+        long written = 0;
+        long timestamp = 1_600_000_000_000L;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file), 64 * 1024)) {
+            while (written < size) {
+                timestamp += random.nextInt(50);
+                line.setLength(0);
+                line.append(timestamp).append(' ').append(LEVELS[random.nextInt(LEVELS.length)])
+                        .append(" [worker-").append(random.nextInt(32)).append("] ")
+                        .append(LOGGERS[random.nextInt(LOGGERS.length)])
+                        .append(" - Processed request id=").append(Long.toHexString(random.nextLong()))
+                        .append(" user=").append(random.nextInt(100_000))
+                        .append(" elapsed=").append(random.nextInt(5_000)).append("ms\n");
+                final byte[] bytes = line.toString().getBytes(StandardCharsets.UTF_8);
+                out.write(bytes);
+                written += bytes.length;
+            }
+        }
+    }
+}
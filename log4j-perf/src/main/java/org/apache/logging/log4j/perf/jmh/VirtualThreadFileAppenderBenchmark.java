@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache license, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the license for the specific language governing permissions and
+ * limitations under the license.
+ */
+
+package org.apache.logging.log4j.perf.jmh;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LifeCycle;
+import org.apache.logging.log4j.perf.util.BenchmarkMessageParams;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests the throughput of thousands of virtual threads logging synchronously to the same file, with managers
+ * synchronizing on themselves or using a {@code ReentrantLock}. A virtual thread that blocks on file I/O inside a
+ * {@code synchronized} block pins its carrier thread, so with monitor locking the carrier pool is exhausted by
+ * threads waiting for the file.
+ * <p>
+ * Requires Java 21 or later to run on virtual threads; older runtimes fall back to a cached platform thread pool.
+ * </p>
+ * <pre>
+ * java -jar log4j-perf/target/benchmarks.jar ".*VirtualThreadFileAppenderBenchmark.*"
+ * </pre>
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class VirtualThreadFileAppenderBenchmark {
+
+    private static final String LOG_FILE = "target/VirtualThreadFileAppenderBenchmark.log";
+
+    @Param({"SYNCHRONIZED", "REENTRANT_LOCK"})
+    private LockMode lockMode;
+
+    @Param({"1000", "10000"})
+    private int threadCount;
+
+    @Param({"10"})
+    private int eventsPerThread;
+
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        new File(LOG_FILE).delete();
+        System.setProperty("log4j2.is.webapp", "false");
+        System.setProperty("log4j.configurationFile", "VirtualThreadFileAppenderBenchmark.xml");
+        // read once when the managers are first loaded: each @Param combination runs in its own fork
+        System.setProperty("log4j2.managerReentrantLock", String.valueOf(lockMode == LockMode.REENTRANT_LOCK));
+        logger = LogManager.getLogger(VirtualThreadFileAppenderBenchmark.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        ((LifeCycle) LogManager.getContext(false)).stop();
+        new File(LOG_FILE).delete();
+        logger = null;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void virtualThreadsLogToFile() throws InterruptedException {
+        final ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        final Runnable task = () -> {
+            for (int i = 0; i < eventsPerThread; i++) {
+                logger.info(BenchmarkMessageParams.TEST);
+            }
+        };
+        for (int i = 0; i < threadCount; i++) {
+            executor.execute(task);
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(5, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Logging threads did not finish");
+        }
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            // Java 21+ API: this module compiles against an older JDK
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    public enum LockMode {
+        SYNCHRONIZED,
+        REENTRANT_LOCK
+    }
+}